@@ -0,0 +1,123 @@
+package dev.cantrella.ms_wallet.benchmark;
+
+import dev.cantrella.ms_wallet.application.config.BalanceHistoryPolicy;
+import dev.cantrella.ms_wallet.application.config.CacheTtlPolicy;
+import dev.cantrella.ms_wallet.application.dto.BalanceHistoryQuery;
+import dev.cantrella.ms_wallet.application.dto.BalanceResponse;
+import dev.cantrella.ms_wallet.application.dto.TransactionStatementPage;
+import dev.cantrella.ms_wallet.application.usecase.ConsultBalanceHistoryUseCaseImpl;
+import dev.cantrella.ms_wallet.domain.model.Money;
+import dev.cantrella.ms_wallet.domain.model.Transaction;
+import dev.cantrella.ms_wallet.ports.out.CachePort;
+import dev.cantrella.ms_wallet.ports.out.TransactionLogRepositoryPort;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Reduction of the transaction log into a balance, the path taken when the log store can't aggregate.
+ * The ports are in-memory stubs and the cache always misses, so only the use-case work is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BalanceHistoryBenchmark {
+
+    @Param({"10", "1000"})
+    private int transactions;
+
+    private ConsultBalanceHistoryUseCaseImpl useCase;
+    private BalanceHistoryQuery query;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        UUID walletId = UUID.randomUUID();
+        UUID otherWalletId = UUID.randomUUID();
+        List<Transaction> log = new ArrayList<>(transactions);
+        for (int i = 0; i < transactions; i++) {
+            log.add(switch (i % 4) {
+                case 0 -> Transaction.createDeposit(walletId, Money.of("100.00"));
+                case 1 -> Transaction.createWithdraw(walletId, Money.of("10.00"));
+                case 2 -> Transaction.createTransfer(walletId, otherWalletId, Money.of("5.50"));
+                default -> Transaction.createTransfer(otherWalletId, walletId, Money.of("2.25"));
+            });
+        }
+        useCase = new ConsultBalanceHistoryUseCaseImpl(
+                new InMemoryTransactionLog(log), userId -> walletId, new MissingCache(),
+                new CacheTtlPolicy(Duration.ofMinutes(5), Duration.ofHours(1), Duration.ofMinutes(10)),
+                new BalanceHistoryPolicy(Duration.ofMinutes(1)));
+        query = new BalanceHistoryQuery("bench@mail.com", LocalDateTime.now());
+    }
+
+    @Benchmark
+    public BalanceResponse reduceHistory() {
+        return useCase.execute(query);
+    }
+
+    private record InMemoryTransactionLog(List<Transaction> log) implements TransactionLogRepositoryPort {
+
+        @Override
+        public List<Transaction> listByWalletId(UUID walletId, LocalDateTime timestamp) {
+            return log;
+        }
+
+        @Override
+        public Optional<Money> sumSignedAmountUntil(UUID walletId, LocalDateTime timestamp) {
+            return Optional.empty();
+        }
+
+        @Override
+        public Optional<Transaction> findLastUntil(UUID walletId, LocalDateTime timestamp) {
+            return log.isEmpty() ? Optional.empty() : Optional.of(log.get(log.size() - 1));
+        }
+
+        @Override
+        public TransactionStatementPage findStatementPage(UUID walletId, String cursor, int limit) {
+            return new TransactionStatementPage(log.subList(0, Math.min(limit, log.size())), null);
+        }
+
+        @Override
+        public Stream<Transaction> streamStatement(UUID walletId, String cursor) {
+            return log.stream();
+        }
+    }
+
+    private static class MissingCache implements CachePort {
+
+        @Override
+        public <T> T get(String key, Class<T> type) {
+            return null;
+        }
+
+        @Override
+        public void put(String key, Object value, Duration ttl) {
+        }
+
+        @Override
+        public boolean putIfAbsent(String key, Object value, Duration ttl) {
+            return true;
+        }
+
+        @Override
+        public boolean putIfNewer(String key, Object value, long version, Duration ttl) {
+            return true;
+        }
+
+        @Override
+        public void evict(String key) {
+        }
+
+        @Override
+        public <T> T getOrLoad(String key, Class<T> type, Duration ttl, Supplier<T> loader) {
+            return loader.get();
+        }
+    }
+}
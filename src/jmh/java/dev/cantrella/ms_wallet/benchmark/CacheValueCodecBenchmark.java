@@ -0,0 +1,58 @@
+package dev.cantrella.ms_wallet.benchmark;
+
+import dev.cantrella.ms_wallet.application.dto.BalanceResponse;
+import dev.cantrella.ms_wallet.infra.adapter.out.cache.BinaryCacheValueSerializer;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CacheValueCodecBenchmark {
+
+    @Param({"json", "binary"})
+    private String codec;
+
+    private RedisSerializer<Object> serializer;
+    private BalanceResponse balance;
+    private String walletId;
+    private byte[] serializedBalance;
+    private byte[] serializedWalletId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        GenericJackson2JsonRedisSerializer json = new GenericJackson2JsonRedisSerializer();
+        serializer = "json".equals(codec) ? json : new BinaryCacheValueSerializer(json);
+        balance = new BalanceResponse(UUID.randomUUID(), new BigDecimal("15230.75"));
+        walletId = UUID.randomUUID().toString();
+        serializedBalance = serializer.serialize(balance);
+        serializedWalletId = serializer.serialize(walletId);
+        System.out.printf("%n[%s] bytes per entry: balance=%d walletId=%d%n",
+                codec, serializedBalance.length, serializedWalletId.length);
+    }
+
+    @Benchmark
+    public byte[] serializeBalance() {
+        return serializer.serialize(balance);
+    }
+
+    @Benchmark
+    public Object deserializeBalance() {
+        return serializer.deserialize(serializedBalance);
+    }
+
+    @Benchmark
+    public byte[] serializeWalletId() {
+        return serializer.serialize(walletId);
+    }
+
+    @Benchmark
+    public Object deserializeWalletId() {
+        return serializer.deserialize(serializedWalletId);
+    }
+}
@@ -0,0 +1,35 @@
+package dev.cantrella.ms_wallet.benchmark;
+
+import dev.cantrella.ms_wallet.domain.id.IdGenerator;
+import dev.cantrella.ms_wallet.domain.id.UuidV7Generator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class IdGeneratorBenchmark {
+
+    @Param({"random", "uuid-v7"})
+    private String generator;
+
+    private IdGenerator idGenerator;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        idGenerator = "random".equals(generator) ? IdGenerator.random() : new UuidV7Generator();
+    }
+
+    @Benchmark
+    public UUID next() {
+        return idGenerator.next();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public UUID nextContended() {
+        return idGenerator.next();
+    }
+}
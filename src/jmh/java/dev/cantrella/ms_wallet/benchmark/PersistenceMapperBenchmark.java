@@ -0,0 +1,72 @@
+package dev.cantrella.ms_wallet.benchmark;
+
+import dev.cantrella.ms_wallet.domain.model.Money;
+import dev.cantrella.ms_wallet.domain.model.Transaction;
+import dev.cantrella.ms_wallet.domain.model.Wallet;
+import dev.cantrella.ms_wallet.infra.adapter.out.persistence.entity.TransactionEntity;
+import dev.cantrella.ms_wallet.infra.adapter.out.persistence.entity.TransactionMongoEntity;
+import dev.cantrella.ms_wallet.infra.adapter.out.persistence.entity.WalletEntity;
+import dev.cantrella.ms_wallet.infra.adapter.out.persistence.mapper.TransactionLogPersistenceMapper;
+import dev.cantrella.ms_wallet.infra.adapter.out.persistence.mapper.TransactionPersistenceMapper;
+import dev.cantrella.ms_wallet.infra.adapter.out.persistence.mapper.WalletPersistenceMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PersistenceMapperBenchmark {
+
+    private final WalletPersistenceMapper walletMapper = new WalletPersistenceMapper();
+    private final TransactionPersistenceMapper transactionMapper = new TransactionPersistenceMapper();
+    private final TransactionLogPersistenceMapper transactionLogMapper = new TransactionLogPersistenceMapper();
+
+    private Wallet wallet;
+    private WalletEntity walletEntity;
+    private Transaction transaction;
+    private TransactionEntity transactionEntity;
+    private TransactionMongoEntity transactionMongoEntity;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        wallet = Wallet.create("bench@mail.com").withBalance(Money.of("15230.75"));
+        walletEntity = walletMapper.toEntity(wallet);
+        transaction = Transaction.createTransfer(UUID.randomUUID(), UUID.randomUUID(), Money.of("42.10"));
+        transactionEntity = transactionMapper.toEntity(transaction);
+        transactionMongoEntity = TransactionMongoEntity.builder()
+                .transactionId(transaction.getId().toString())
+                .sourceWalletId(transaction.getSourceWalletId().toString())
+                .destinationWalletId(transaction.getDestinationWalletId().toString())
+                .type(transaction.getType().name())
+                .amount(transaction.getAmount().toBigDecimal())
+                .timestamp(System.currentTimeMillis())
+                .build();
+    }
+
+    @Benchmark
+    public WalletEntity walletToEntity() {
+        return walletMapper.toEntity(wallet);
+    }
+
+    @Benchmark
+    public Wallet walletToDomain() {
+        return walletMapper.toDomain(walletEntity);
+    }
+
+    @Benchmark
+    public TransactionEntity transactionToEntity() {
+        return transactionMapper.toEntity(transaction);
+    }
+
+    @Benchmark
+    public Transaction transactionToDomain() {
+        return transactionMapper.toDomain(transactionEntity);
+    }
+
+    @Benchmark
+    public Transaction transactionLogToDomain() {
+        return transactionLogMapper.toDomain(transactionMongoEntity);
+    }
+}
@@ -0,0 +1,69 @@
+package dev.cantrella.ms_wallet.benchmark;
+
+import dev.cantrella.ms_wallet.infra.adapter.out.directory.MappedWalletDirectoryAdapter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class WalletDirectoryBenchmark {
+
+    private static final int KEYS = 1 << 16;
+
+    @Param({"1000000", "10000000"})
+    private int users;
+
+    private MappedWalletDirectoryAdapter directory;
+    private String[] knownUserIds;
+    private String[] unknownUserIds;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Path file = Files.createTempDirectory("wallet-directory").resolve("directory.bin");
+        directory = new MappedWalletDirectoryAdapter(file, users, new SimpleMeterRegistry());
+        for (int i = 0; i < users; i++) {
+            directory.put(userId(i), UUID.randomUUID());
+        }
+        // Lookup keys are built up front so the benchmark measures the directory, not string concatenation.
+        knownUserIds = new String[KEYS];
+        unknownUserIds = new String[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            knownUserIds[i] = userId(ThreadLocalRandom.current().nextInt(users));
+            unknownUserIds[i] = userId(users + i);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        directory.destroy();
+    }
+
+    @Benchmark
+    public Optional<UUID> findKnownUser() {
+        return directory.find(knownUserIds[ThreadLocalRandom.current().nextInt(KEYS)]);
+    }
+
+    @Benchmark
+    public Optional<UUID> findUnknownUser() {
+        return directory.find(unknownUserIds[ThreadLocalRandom.current().nextInt(KEYS)]);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Optional<UUID> findKnownUserContended() {
+        return directory.find(knownUserIds[ThreadLocalRandom.current().nextInt(KEYS)]);
+    }
+
+    private static String userId(int i) {
+        return "user-" + i + "@mail.com";
+    }
+}
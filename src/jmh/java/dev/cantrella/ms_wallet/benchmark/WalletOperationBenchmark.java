@@ -0,0 +1,51 @@
+package dev.cantrella.ms_wallet.benchmark;
+
+import dev.cantrella.ms_wallet.domain.model.Money;
+import dev.cantrella.ms_wallet.domain.model.Transaction;
+import dev.cantrella.ms_wallet.domain.model.Wallet;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class WalletOperationBenchmark {
+
+    private final Money amount = Money.of("10.00");
+    private Wallet wallet;
+    private UUID sourceWalletId;
+    private UUID destinationWalletId;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        // Large enough that withdraw never runs out of funds within an iteration.
+        wallet = new Wallet(UUID.randomUUID(), "bench@mail.com", Money.of("1000000000000.00"), LocalDateTime.now());
+        sourceWalletId = UUID.randomUUID();
+        destinationWalletId = UUID.randomUUID();
+    }
+
+    @Benchmark
+    public Money deposit() {
+        wallet.deposit(amount);
+        return wallet.getBalance();
+    }
+
+    @Benchmark
+    public Money withdraw() {
+        wallet.withdraw(amount);
+        return wallet.getBalance();
+    }
+
+    @Benchmark
+    public Transaction createDeposit() {
+        return Transaction.createDeposit(sourceWalletId, amount);
+    }
+
+    @Benchmark
+    public Transaction createTransfer() {
+        return Transaction.createTransfer(sourceWalletId, destinationWalletId, amount);
+    }
+}
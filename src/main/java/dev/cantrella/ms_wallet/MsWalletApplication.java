@@ -2,12 +2,14 @@ package dev.cantrella.ms_wallet;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.util.TimeZone;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class MsWalletApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,14 @@
+package dev.cantrella.ms_wallet.application.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * {@code maxProjectionLag} bounds how long a committed transaction can take to reach the transaction log.
+ */
+@ConfigurationProperties(prefix = "wallet.history")
+public record BalanceHistoryPolicy(
+        @DefaultValue("1m") Duration maxProjectionLag) {
+}
@@ -0,0 +1,13 @@
+package dev.cantrella.ms_wallet.application.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "wallet.cache.ttl")
+public record CacheTtlPolicy(
+        @DefaultValue("5m") Duration balance,
+        @DefaultValue("1h") Duration walletId,
+        @DefaultValue("10m") Duration history) {
+}
@@ -0,0 +1,13 @@
+package dev.cantrella.ms_wallet.application.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "wallet.idempotency")
+public record IdempotencyPolicy(
+        @DefaultValue("24h") Duration ttl,
+        @DefaultValue("30s") Duration inFlightTtl,
+        @DefaultValue("5s") Duration replayWait) {
+}
@@ -0,0 +1,10 @@
+package dev.cantrella.ms_wallet.application.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "wallet.settlement")
+public record SettlementIngestionPolicy(
+        @DefaultValue("10000") int chunkSize,
+        @DefaultValue("1000") int maxReportedFailures) {
+}
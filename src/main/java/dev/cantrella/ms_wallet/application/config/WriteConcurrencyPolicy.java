@@ -0,0 +1,25 @@
+package dev.cantrella.ms_wallet.application.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * How transfers serialize on their wallets. {@code ADAPTIVE} writes optimistically unless one of the wallets' recent
+ * conflict rate reaches {@code conflictThreshold}. Optimistic writes are retried up to {@code maxAttempts} times with
+ * full-jitter exponential backoff starting at {@code backoff}, then done under row locks.
+ */
+@ConfigurationProperties(prefix = "wallet.write")
+public record WriteConcurrencyPolicy(
+        @DefaultValue("pessimistic") Mode mode,
+        @DefaultValue("3") int maxAttempts,
+        @DefaultValue("2ms") Duration backoff,
+        @DefaultValue("0.05") double conflictThreshold) {
+
+    public enum Mode {
+        PESSIMISTIC,
+        OPTIMISTIC,
+        ADAPTIVE
+    }
+}
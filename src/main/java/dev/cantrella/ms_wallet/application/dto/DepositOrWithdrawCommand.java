@@ -1,11 +1,11 @@
 package dev.cantrella.ms_wallet.application.dto;
 
 import dev.cantrella.ms_wallet.application.exception.InvalidDataException;
+import dev.cantrella.ms_wallet.domain.model.Money;
 
-import java.math.BigDecimal;
 import java.util.Objects;
 
-public record DepositOrWithdrawCommand(String userId, BigDecimal amount) {
+public record DepositOrWithdrawCommand(String userId, Money amount) {
 
     public DepositOrWithdrawCommand {
         try {
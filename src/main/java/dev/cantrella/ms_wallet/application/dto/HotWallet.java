@@ -0,0 +1,6 @@
+package dev.cantrella.ms_wallet.application.dto;
+
+import java.util.UUID;
+
+public record HotWallet(UUID walletId, double operationsPerSecond, double lockWaitMillisPerOperation) {
+}
@@ -0,0 +1,9 @@
+package dev.cantrella.ms_wallet.application.dto;
+
+import dev.cantrella.ms_wallet.domain.model.Transaction;
+
+/**
+ * Result of an idempotent request and the fingerprint of the request that produced it.
+ */
+public record IdempotencyRecord(String fingerprint, Transaction transaction) {
+}
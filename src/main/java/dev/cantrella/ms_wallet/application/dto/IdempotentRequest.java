@@ -0,0 +1,7 @@
+package dev.cantrella.ms_wallet.application.dto;
+
+/**
+ * Idempotency key and request fingerprint of a keyed request, for operations that record the key themselves.
+ */
+public record IdempotentRequest(String key, String fingerprint) {
+}
@@ -0,0 +1,16 @@
+package dev.cantrella.ms_wallet.application.dto;
+
+import dev.cantrella.ms_wallet.application.exception.InvalidDataException;
+
+import java.util.Objects;
+
+public record IngestSettlementFileCommand(String fileName) {
+
+    public IngestSettlementFileCommand {
+        try {
+            Objects.requireNonNull(fileName, "File name can not be null");
+        } catch (NullPointerException e) {
+            throw new InvalidDataException(e.getMessage());
+        }
+    }
+}
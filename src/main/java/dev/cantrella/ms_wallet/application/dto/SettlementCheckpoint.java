@@ -0,0 +1,28 @@
+package dev.cantrella.ms_wallet.application.dto;
+
+/**
+ * Progress of a settlement file, keyed by the SHA-256 of its content so the same file can't be credited twice
+ * under another name and a changed file is not resumed at an offset of its previous content.
+ */
+public record SettlementCheckpoint(
+        String contentHash,
+        String fileName,
+        long byteOffset,
+        long lineNumber,
+        long creditedLines,
+        long failedLines) {
+
+    public static SettlementCheckpoint start(String contentHash, String fileName) {
+        return new SettlementCheckpoint(contentHash, fileName, 0, 0, 0, 0);
+    }
+
+    public SettlementCheckpoint advance(SettlementChunk chunk, long credited, long failed) {
+        return new SettlementCheckpoint(
+                contentHash,
+                fileName,
+                chunk.endOffset(),
+                chunk.endLineNumber(),
+                creditedLines + credited,
+                failedLines + failed);
+    }
+}
@@ -0,0 +1,14 @@
+package dev.cantrella.ms_wallet.application.dto;
+
+import java.util.List;
+
+/**
+ * Consecutive lines of a settlement file. {@code endOffset} and {@code endLineNumber} point right after the last
+ * line of the chunk, which is where reading resumes after a restart.
+ */
+public record SettlementChunk(
+        List<SettlementLine> lines,
+        List<SettlementLineFailure> failures,
+        long endOffset,
+        long endLineNumber) {
+}
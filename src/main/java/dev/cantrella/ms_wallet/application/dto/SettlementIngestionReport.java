@@ -0,0 +1,16 @@
+package dev.cantrella.ms_wallet.application.dto;
+
+import java.util.List;
+
+/**
+ * Totals cover the whole file, including chunks applied by earlier runs. {@code failures} only lists the lines
+ * rejected during this run, up to the configured limit.
+ */
+public record SettlementIngestionReport(
+        String fileName,
+        long linesRead,
+        long creditedLines,
+        long failedLines,
+        long byteOffset,
+        List<SettlementLineFailure> failures) {
+}
@@ -0,0 +1,6 @@
+package dev.cantrella.ms_wallet.application.dto;
+
+import dev.cantrella.ms_wallet.domain.model.Money;
+
+public record SettlementLine(long lineNumber, String userId, Money amount) {
+}
@@ -0,0 +1,4 @@
+package dev.cantrella.ms_wallet.application.dto;
+
+public record SettlementLineFailure(long lineNumber, String reason) {
+}
@@ -0,0 +1,11 @@
+package dev.cantrella.ms_wallet.application.dto;
+
+import dev.cantrella.ms_wallet.domain.model.Transaction;
+
+import java.util.List;
+
+/**
+ * {@code nextCursor} is null on the last page.
+ */
+public record TransactionStatementPage(List<Transaction> transactions, String nextCursor) {
+}
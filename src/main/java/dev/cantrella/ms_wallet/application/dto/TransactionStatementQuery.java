@@ -0,0 +1,25 @@
+package dev.cantrella.ms_wallet.application.dto;
+
+import dev.cantrella.ms_wallet.application.exception.InvalidDataException;
+
+import java.util.Objects;
+
+/**
+ * One page of a wallet statement, newest first. {@code cursor} is the {@code nextCursor} of the previous page, or
+ * null for the first page.
+ */
+public record TransactionStatementQuery(String userId, String cursor, int limit) {
+
+    public static final int MAX_LIMIT = 500;
+
+    public TransactionStatementQuery {
+        try {
+            Objects.requireNonNull(userId, "User ID cannot be null");
+        } catch (NullPointerException e) {
+            throw new InvalidDataException(e.getMessage());
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new InvalidDataException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+    }
+}
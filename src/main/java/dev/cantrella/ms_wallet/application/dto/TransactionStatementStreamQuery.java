@@ -0,0 +1,19 @@
+package dev.cantrella.ms_wallet.application.dto;
+
+import dev.cantrella.ms_wallet.application.exception.InvalidDataException;
+
+import java.util.Objects;
+
+/**
+ * The whole wallet statement from {@code cursor} (or the newest transaction when null) back to the first one.
+ */
+public record TransactionStatementStreamQuery(String userId, String cursor) {
+
+    public TransactionStatementStreamQuery {
+        try {
+            Objects.requireNonNull(userId, "User ID cannot be null");
+        } catch (NullPointerException e) {
+            throw new InvalidDataException(e.getMessage());
+        }
+    }
+}
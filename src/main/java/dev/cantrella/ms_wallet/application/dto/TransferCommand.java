@@ -1,12 +1,12 @@
 package dev.cantrella.ms_wallet.application.dto;
 
 import dev.cantrella.ms_wallet.application.exception.InvalidDataException;
+import dev.cantrella.ms_wallet.domain.model.Money;
 
-import java.math.BigDecimal;
 import java.util.Objects;
 import java.util.UUID;
 
-public record TransferCommand(UUID sourceWalletId, UUID destinationWalletId, BigDecimal amount) {
+public record TransferCommand(UUID sourceWalletId, UUID destinationWalletId, Money amount) {
 
     public TransferCommand {
         try {
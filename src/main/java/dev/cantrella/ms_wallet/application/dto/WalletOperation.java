@@ -0,0 +1,30 @@
+package dev.cantrella.ms_wallet.application.dto;
+
+import dev.cantrella.ms_wallet.application.exception.InvalidDataException;
+import dev.cantrella.ms_wallet.domain.model.Money;
+import dev.cantrella.ms_wallet.domain.model.TransactionType;
+
+import java.util.Objects;
+
+/**
+ * A deposit or withdrawal to apply in a batch. {@code idempotentRequest} is set for keyed requests, whose key is
+ * recorded in the transaction that applies the operation.
+ */
+public record WalletOperation(TransactionType type, Money amount, IdempotentRequest idempotentRequest) {
+
+    public WalletOperation(TransactionType type, Money amount) {
+        this(type, amount, null);
+    }
+
+    public WalletOperation {
+        try {
+            Objects.requireNonNull(type, "Operation type can not be null");
+            Objects.requireNonNull(amount, "Amount can not be null");
+        } catch (NullPointerException e) {
+            throw new InvalidDataException(e.getMessage());
+        }
+        if (TransactionType.TRANSFER.equals(type)) {
+            throw new InvalidDataException("Transfers can not be applied as a wallet operation");
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package dev.cantrella.ms_wallet.application.dto;
+
+import dev.cantrella.ms_wallet.domain.model.Transaction;
+
+public record WalletOperationResult(Transaction transaction, RuntimeException error) {
+
+    public static WalletOperationResult success(Transaction transaction) {
+        return new WalletOperationResult(transaction, null);
+    }
+
+    public static WalletOperationResult failure(RuntimeException error) {
+        return new WalletOperationResult(null, error);
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+}
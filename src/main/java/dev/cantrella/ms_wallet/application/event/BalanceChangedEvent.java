@@ -0,0 +1,12 @@
+package dev.cantrella.ms_wallet.application.event;
+
+import dev.cantrella.ms_wallet.domain.model.Money;
+
+import java.util.UUID;
+
+/**
+ * {@code version} is the wallet version the balance was written at; a later write of the same wallet always has a
+ * higher one.
+ */
+public record BalanceChangedEvent(String userId, UUID walletId, Money balance, long version) {
+}
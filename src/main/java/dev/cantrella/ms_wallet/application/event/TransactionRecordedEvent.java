@@ -0,0 +1,9 @@
+package dev.cantrella.ms_wallet.application.event;
+
+import dev.cantrella.ms_wallet.domain.model.Transaction;
+
+/**
+ * Published inside the database transaction that stores a money-moving {@link Transaction}.
+ */
+public record TransactionRecordedEvent(Transaction transaction) {
+}
@@ -0,0 +1,6 @@
+package dev.cantrella.ms_wallet.application.event;
+
+import java.util.UUID;
+
+public record WalletCreatedEvent(String userId, UUID walletId) {
+}
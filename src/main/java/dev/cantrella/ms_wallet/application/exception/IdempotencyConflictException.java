@@ -0,0 +1,7 @@
+package dev.cantrella.ms_wallet.application.exception;
+
+public class IdempotencyConflictException extends ApplicationException {
+    public IdempotencyConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package dev.cantrella.ms_wallet.application.exception;
+
+public class IdempotencyKeyMismatchException extends ApplicationException {
+    public IdempotencyKeyMismatchException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package dev.cantrella.ms_wallet.application.exception;
+
+public class SettlementIngestionConflictException extends ApplicationException {
+    public SettlementIngestionConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,10 @@
+package dev.cantrella.ms_wallet.application.port;
+
+import dev.cantrella.ms_wallet.application.dto.WalletOperation;
+import dev.cantrella.ms_wallet.application.dto.WalletOperationResult;
+
+import java.util.List;
+
+public interface ApplyWalletOperationsUseCase {
+    List<WalletOperationResult> execute(String userId, List<WalletOperation> operations);
+}
@@ -0,0 +1,9 @@
+package dev.cantrella.ms_wallet.application.port;
+
+import dev.cantrella.ms_wallet.application.dto.HotWallet;
+
+import java.util.List;
+
+public interface ConsultHotWalletsUseCase {
+    List<HotWallet> execute();
+}
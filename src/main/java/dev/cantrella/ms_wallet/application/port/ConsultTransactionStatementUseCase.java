@@ -0,0 +1,9 @@
+package dev.cantrella.ms_wallet.application.port;
+
+import dev.cantrella.ms_wallet.application.dto.TransactionStatementPage;
+import dev.cantrella.ms_wallet.application.dto.TransactionStatementQuery;
+
+public interface ConsultTransactionStatementUseCase {
+
+    TransactionStatementPage execute(TransactionStatementQuery query);
+}
@@ -0,0 +1,24 @@
+package dev.cantrella.ms_wallet.application.port;
+
+import dev.cantrella.ms_wallet.application.dto.IdempotentRequest;
+import dev.cantrella.ms_wallet.domain.model.Transaction;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+public interface IdempotentTransactionExecutor {
+
+    /**
+     * Runs {@code action} at most once per idempotency key of the user and operation and returns its transaction to
+     * every retry. {@code request} is the command the action executes; reusing a key with a different one is
+     * rejected. A null key runs the action directly.
+     */
+    Transaction execute(String operation, String userId, String idempotencyKey, Object request,
+                        Supplier<Transaction> action);
+
+    /**
+     * The keyed request whose action is running on this thread, for actions that apply it in a transaction on
+     * another thread and have to record its key there.
+     */
+    Optional<IdempotentRequest> current();
+}
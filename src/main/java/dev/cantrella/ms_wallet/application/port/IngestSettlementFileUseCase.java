@@ -0,0 +1,8 @@
+package dev.cantrella.ms_wallet.application.port;
+
+import dev.cantrella.ms_wallet.application.dto.IngestSettlementFileCommand;
+import dev.cantrella.ms_wallet.application.dto.SettlementIngestionReport;
+
+public interface IngestSettlementFileUseCase {
+    SettlementIngestionReport execute(IngestSettlementFileCommand command);
+}
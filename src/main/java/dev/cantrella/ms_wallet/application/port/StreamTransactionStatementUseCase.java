@@ -0,0 +1,15 @@
+package dev.cantrella.ms_wallet.application.port;
+
+import dev.cantrella.ms_wallet.application.dto.TransactionStatementStreamQuery;
+import dev.cantrella.ms_wallet.domain.model.Transaction;
+
+import java.util.stream.Stream;
+
+public interface StreamTransactionStatementUseCase {
+
+    /**
+     * The wallet is resolved before returning, so an unknown user fails here rather than mid-stream. The caller
+     * must close the stream.
+     */
+    Stream<Transaction> execute(TransactionStatementStreamQuery query);
+}
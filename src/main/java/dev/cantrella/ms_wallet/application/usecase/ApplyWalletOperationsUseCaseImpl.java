@@ -0,0 +1,98 @@
+package dev.cantrella.ms_wallet.application.usecase;
+
+import dev.cantrella.ms_wallet.application.dto.IdempotencyRecord;
+import dev.cantrella.ms_wallet.application.dto.IdempotentRequest;
+import dev.cantrella.ms_wallet.application.dto.WalletOperation;
+import dev.cantrella.ms_wallet.application.dto.WalletOperationResult;
+import dev.cantrella.ms_wallet.application.event.BalanceChangedEvent;
+import dev.cantrella.ms_wallet.application.exception.WalletNotFoundException;
+import dev.cantrella.ms_wallet.application.port.ApplyWalletOperationsUseCase;
+import dev.cantrella.ms_wallet.domain.exception.DomainException;
+import dev.cantrella.ms_wallet.domain.model.Transaction;
+import dev.cantrella.ms_wallet.domain.model.TransactionType;
+import dev.cantrella.ms_wallet.domain.model.Wallet;
+import dev.cantrella.ms_wallet.ports.out.IdempotencyRecordPort;
+import dev.cantrella.ms_wallet.ports.out.TransactionRepositoryPort;
+import dev.cantrella.ms_wallet.ports.out.WalletContentionPort;
+import dev.cantrella.ms_wallet.ports.out.WalletRepositoryPort;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class ApplyWalletOperationsUseCaseImpl implements ApplyWalletOperationsUseCase {
+
+    private final WalletRepositoryPort walletRepositoryPort;
+    private final TransactionRepositoryPort transactionRepositoryPort;
+    private final ApplicationEventPublisher eventPublisher;
+    private final WalletContentionPort walletContentionPort;
+    private final IdempotencyRecordPort idempotencyRecordPort;
+
+    @Override
+    @Transactional
+    public List<WalletOperationResult> execute(String userId, List<WalletOperation> operations) {
+        long lockStart = System.nanoTime();
+        Wallet wallet = walletRepositoryPort
+                .findByUserIdForUpdate(userId)
+                .orElseThrow(()-> new WalletNotFoundException(userId));
+        walletContentionPort.record(wallet.getId(), operations.size(), System.nanoTime() - lockStart);
+        List<WalletOperationResult> results = new ArrayList<>(operations.size());
+        List<Transaction> transactions = new ArrayList<>(operations.size());
+        for (WalletOperation operation : operations) {
+            try {
+                Transaction transaction = apply(wallet, operation);
+                if (!recorded(operation, transaction)) {
+                    revert(wallet, operation);
+                    results.add(WalletOperationResult.failure(
+                            new IdempotentTransactionExecutorImpl.AlreadyRecordedException()));
+                    continue;
+                }
+                transactions.add(transaction);
+                results.add(WalletOperationResult.success(transaction));
+            } catch (DomainException e) {
+                results.add(WalletOperationResult.failure(e));
+            }
+        }
+        if (!transactions.isEmpty()) {
+            Wallet stored = walletRepositoryPort.update(wallet);
+            eventPublisher.publishEvent(
+                    new BalanceChangedEvent(userId, stored.getId(), stored.getBalance(), stored.getVersion()));
+            transactionRepositoryPort.saveAll(transactions);
+        }
+        return results;
+    }
+
+    /**
+     * Records the key of a keyed operation in this transaction. False when another execution of the same request
+     * already recorded it, in which case its result is replayed instead.
+     */
+    private boolean recorded(WalletOperation operation, Transaction transaction) {
+        IdempotentRequest request = operation.idempotentRequest();
+        return request == null
+                || idempotencyRecordPort.record(request.key(), new IdempotencyRecord(request.fingerprint(), transaction));
+    }
+
+    private void revert(Wallet wallet, WalletOperation operation) {
+        if (TransactionType.DEPOSIT.equals(operation.type())) {
+            wallet.withdraw(operation.amount());
+        } else {
+            wallet.deposit(operation.amount());
+        }
+    }
+
+    private Transaction apply(Wallet wallet, WalletOperation operation) {
+        if (TransactionType.DEPOSIT.equals(operation.type())) {
+            Transaction transaction = Transaction.createDeposit(wallet.getId(), operation.amount());
+            wallet.deposit(operation.amount());
+            return transaction;
+        }
+        Transaction transaction = Transaction.createWithdraw(wallet.getId(), operation.amount());
+        wallet.withdraw(operation.amount());
+        return transaction;
+    }
+}
@@ -1,54 +1,68 @@
 package dev.cantrella.ms_wallet.application.usecase;
 
+import dev.cantrella.ms_wallet.application.config.BalanceHistoryPolicy;
+import dev.cantrella.ms_wallet.application.config.CacheTtlPolicy;
 import dev.cantrella.ms_wallet.application.dto.BalanceHistoryQuery;
 import dev.cantrella.ms_wallet.application.dto.BalanceResponse;
-import dev.cantrella.ms_wallet.application.exception.WalletNotFoundException;
 import dev.cantrella.ms_wallet.application.port.ConsultBalanceHistoryUseCase;
+import dev.cantrella.ms_wallet.application.port.ConsultWalletIdUseCase;
+import dev.cantrella.ms_wallet.domain.model.Money;
 import dev.cantrella.ms_wallet.domain.model.Transaction;
 import dev.cantrella.ms_wallet.domain.model.TransactionType;
-import dev.cantrella.ms_wallet.domain.model.Wallet;
 import dev.cantrella.ms_wallet.ports.out.CachePort;
 import dev.cantrella.ms_wallet.ports.out.TransactionLogRepositoryPort;
-import dev.cantrella.ms_wallet.ports.out.WalletRepositoryPort;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
 public class ConsultBalanceHistoryUseCaseImpl implements ConsultBalanceHistoryUseCase {
 
     private final TransactionLogRepositoryPort transactionLogRepositoryPort;
-    private final WalletRepositoryPort walletRepositoryPort;
+    private final ConsultWalletIdUseCase consultWalletIdUseCase;
     private final CachePort cachePort;
+    private final CacheTtlPolicy cacheTtlPolicy;
+    private final BalanceHistoryPolicy balanceHistoryPolicy;
 
 
     @Override
     public BalanceResponse execute(BalanceHistoryQuery query) {
-        String key = buildCacheKey(query.userId(), query.timestamp());
-        BalanceResponse cachedBalance = cachePort.get(key, BalanceResponse.class);
-        if(cachedBalance != null) {
-            return cachedBalance;
+        UUID walletId = consultWalletIdUseCase.execute(query.userId());
+        Optional<Transaction> lastTransaction = transactionLogRepositoryPort.findLastUntil(walletId, query.timestamp());
+        Supplier<BalanceResponse> loader = () -> lastTransaction
+                .map(transaction -> new BalanceResponse(walletId, balanceUntil(walletId, query.timestamp()).toBigDecimal()))
+                .orElseGet(() -> new BalanceResponse(walletId, Money.ZERO.toBigDecimal()));
+        // A transaction still being projected can land before a recent timestamp without changing the last
+        // transaction the key is built from, so only points the projection can no longer reach are cached.
+        if (query.timestamp().isAfter(LocalDateTime.now().minus(balanceHistoryPolicy.maxProjectionLag()))) {
+            return loader.get();
         }
-        Wallet wallet = walletRepositoryPort.findByUserId(query.userId())
-                .orElseThrow(() -> new WalletNotFoundException(query.userId()));
-        List<Transaction> transactions = transactionLogRepositoryPort.listByWalletId(wallet.getId(), query.timestamp());
-        BigDecimal balance = transactions.stream()
-                .map(tx -> {
-                    if (isCashIn(tx, wallet.getId())) {
-                        return tx.getAmount();
-                    } else {
-                        return tx.getAmount().negate();
-                    }
-                })
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        BalanceResponse balanceResponse = new BalanceResponse(wallet.getId(), balance);
-        cachePort.put(key, balanceResponse);
-        return balanceResponse;
+        return cachePort.getOrLoad(buildCacheKey(walletId, lastTransaction), BalanceResponse.class,
+                cacheTtlPolicy.history(), loader);
+    }
+
+    private Money balanceUntil(UUID walletId, LocalDateTime timestamp) {
+        return transactionLogRepositoryPort
+                .sumSignedAmountUntil(walletId, timestamp)
+                .orElseGet(() -> sumTransactions(walletId, timestamp));
+    }
+
+    private Money sumTransactions(UUID walletId, LocalDateTime timestamp) {
+        List<Transaction> transactions = transactionLogRepositoryPort.listByWalletId(walletId, timestamp);
+        long balance = 0;
+        for (Transaction tx : transactions) {
+            long amount = tx.getAmount().minorUnits();
+            balance = isCashIn(tx, walletId)
+                    ? Math.addExact(balance, amount)
+                    : Math.subtractExact(balance, amount);
+        }
+        return Money.ofMinor(balance);
     }
 
     private boolean isCashIn(Transaction transaction, UUID walletId) {
@@ -61,7 +75,9 @@ public class ConsultBalanceHistoryUseCaseImpl implements ConsultBalanceHistoryUs
         return !walletId.equals(transaction.getSourceWalletId());
     }
 
-    private String buildCacheKey(String userId, LocalDateTime at) {
-        return String.format("wallet:%s:balance:%s", userId, at.toString());
+    private String buildCacheKey(UUID walletId, Optional<Transaction> lastTransaction) {
+        return lastTransaction
+                .map(transaction -> String.format("wallet:%s:balance:after:%s", walletId, transaction.getId()))
+                .orElseGet(() -> String.format("wallet:%s:balance:initial", walletId));
     }
 }
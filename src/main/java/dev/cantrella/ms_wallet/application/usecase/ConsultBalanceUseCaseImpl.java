@@ -1,5 +1,6 @@
 package dev.cantrella.ms_wallet.application.usecase;
 
+import dev.cantrella.ms_wallet.application.config.CacheTtlPolicy;
 import dev.cantrella.ms_wallet.application.dto.BalanceResponse;
 import dev.cantrella.ms_wallet.application.dto.ConsultBalanceQuery;
 import dev.cantrella.ms_wallet.application.exception.WalletNotFoundException;
@@ -7,27 +8,37 @@ import dev.cantrella.ms_wallet.application.port.ConsultBalanceUseCase;
 import dev.cantrella.ms_wallet.domain.model.Wallet;
 import dev.cantrella.ms_wallet.ports.out.CachePort;
 import dev.cantrella.ms_wallet.ports.out.WalletRepositoryPort;
-import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
-@RequiredArgsConstructor
 public class ConsultBalanceUseCaseImpl implements ConsultBalanceUseCase {
 
     private final WalletRepositoryPort walletRepositoryPort;
     private final CachePort cachePort;
+    private final CacheTtlPolicy cacheTtlPolicy;
+    private final TransactionTemplate primaryTransaction;
+
+    public ConsultBalanceUseCaseImpl(WalletRepositoryPort walletRepositoryPort, CachePort cachePort,
+                                     CacheTtlPolicy cacheTtlPolicy, PlatformTransactionManager transactionManager) {
+        this.walletRepositoryPort = walletRepositoryPort;
+        this.cachePort = cachePort;
+        this.cacheTtlPolicy = cacheTtlPolicy;
+        this.primaryTransaction = new TransactionTemplate(transactionManager);
+    }
 
     @Override
     public BalanceResponse execute(ConsultBalanceQuery query) {
-        BalanceResponse cachedBalance = cachePort.get(query.userId(), BalanceResponse.class);
-        if(cachedBalance != null) {
-            return cachedBalance;
-        }
-        Wallet wallet = walletRepositoryPort
-                .findByUserId(query.userId())
-                .orElseThrow(() -> new WalletNotFoundException(query.userId()));
-        var balanceResponse = new BalanceResponse(wallet.getId(), wallet.getBalance());
-        cachePort.put(query.userId(), balanceResponse);
-        return balanceResponse;
+        // Only a cache miss opens a transaction, and only around the database read. It is not read-only so the read
+        // goes to the primary: a replica behind a write whose cache update was evicted would cache the old balance
+        // for the whole TTL.
+        return cachePort.getOrLoad(query.userId(), BalanceResponse.class, cacheTtlPolicy.balance(),
+                () -> primaryTransaction.execute(status -> {
+                    Wallet wallet = walletRepositoryPort
+                            .findByUserId(query.userId())
+                            .orElseThrow(() -> new WalletNotFoundException(query.userId()));
+                    return new BalanceResponse(wallet.getId(), wallet.getBalance().toBigDecimal());
+                }));
     }
 }
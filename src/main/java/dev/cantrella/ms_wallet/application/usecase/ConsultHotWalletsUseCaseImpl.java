@@ -0,0 +1,21 @@
+package dev.cantrella.ms_wallet.application.usecase;
+
+import dev.cantrella.ms_wallet.application.dto.HotWallet;
+import dev.cantrella.ms_wallet.application.port.ConsultHotWalletsUseCase;
+import dev.cantrella.ms_wallet.ports.out.WalletContentionPort;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class ConsultHotWalletsUseCaseImpl implements ConsultHotWalletsUseCase {
+
+    private final WalletContentionPort walletContentionPort;
+
+    @Override
+    public List<HotWallet> execute() {
+        return walletContentionPort.hottest();
+    }
+}
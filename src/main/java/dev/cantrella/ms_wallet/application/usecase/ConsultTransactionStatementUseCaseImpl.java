@@ -0,0 +1,25 @@
+package dev.cantrella.ms_wallet.application.usecase;
+
+import dev.cantrella.ms_wallet.application.dto.TransactionStatementPage;
+import dev.cantrella.ms_wallet.application.dto.TransactionStatementQuery;
+import dev.cantrella.ms_wallet.application.port.ConsultTransactionStatementUseCase;
+import dev.cantrella.ms_wallet.application.port.ConsultWalletIdUseCase;
+import dev.cantrella.ms_wallet.ports.out.TransactionLogRepositoryPort;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class ConsultTransactionStatementUseCaseImpl implements ConsultTransactionStatementUseCase {
+
+    private final TransactionLogRepositoryPort transactionLogRepositoryPort;
+    private final ConsultWalletIdUseCase consultWalletIdUseCase;
+
+    @Override
+    public TransactionStatementPage execute(TransactionStatementQuery query) {
+        UUID walletId = consultWalletIdUseCase.execute(query.userId());
+        return transactionLogRepositoryPort.findStatementPage(walletId, query.cursor(), query.limit());
+    }
+}
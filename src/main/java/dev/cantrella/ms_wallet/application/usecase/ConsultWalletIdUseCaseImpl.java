@@ -1,30 +1,57 @@
 package dev.cantrella.ms_wallet.application.usecase;
 
+import dev.cantrella.ms_wallet.application.config.CacheTtlPolicy;
 import dev.cantrella.ms_wallet.application.exception.WalletNotFoundException;
 import dev.cantrella.ms_wallet.application.port.ConsultWalletIdUseCase;
 import dev.cantrella.ms_wallet.ports.out.CachePort;
+import dev.cantrella.ms_wallet.ports.out.WalletDirectoryPort;
 import dev.cantrella.ms_wallet.ports.out.WalletRepositoryPort;
-import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.Optional;
 import java.util.UUID;
 
+/**
+ * Answers from the in-memory wallet directory before any transaction is started; only a directory and cache miss
+ * opens a read-only transaction, around the database read alone.
+ */
 @Service
-@RequiredArgsConstructor
 public class ConsultWalletIdUseCaseImpl implements ConsultWalletIdUseCase {
 
     private final WalletRepositoryPort walletRepositoryPort;
     private final CachePort cachePort;
+    private final CacheTtlPolicy cacheTtlPolicy;
+    private final WalletDirectoryPort walletDirectoryPort;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ConsultWalletIdUseCaseImpl(WalletRepositoryPort walletRepositoryPort, CachePort cachePort,
+                                      CacheTtlPolicy cacheTtlPolicy, WalletDirectoryPort walletDirectoryPort,
+                                      PlatformTransactionManager transactionManager) {
+        this.walletRepositoryPort = walletRepositoryPort;
+        this.cachePort = cachePort;
+        this.cacheTtlPolicy = cacheTtlPolicy;
+        this.walletDirectoryPort = walletDirectoryPort;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
     @Override
     public UUID execute(String userId) {
-        String cacheKey = "wallet:id:".concat(userId);
-        String walletId = cachePort.get(cacheKey, String.class);
-        if(walletId != null) {
-            return UUID.fromString(walletId);
+        Optional<UUID> known = walletDirectoryPort.find(userId);
+        if (known.isPresent()) {
+            return known.get();
         }
-        UUID id = walletRepositoryPort.findByUserId(userId)
-                .orElseThrow(() -> new WalletNotFoundException(userId)).getId();
-        cachePort.put(cacheKey, id.toString());
+        String cacheKey = "wallet:id:".concat(userId);
+        String walletId = cachePort.getOrLoad(cacheKey, String.class, cacheTtlPolicy.walletId(),
+                () -> readOnlyTransaction.execute(status -> walletRepositoryPort
+                        .findByUserId(userId)
+                        .orElseThrow(() -> new WalletNotFoundException(userId))
+                        .getId()
+                        .toString()));
+        UUID id = UUID.fromString(walletId);
+        walletDirectoryPort.put(userId, id);
         return id;
     }
 }
@@ -1,10 +1,12 @@
 package dev.cantrella.ms_wallet.application.usecase;
 
+import dev.cantrella.ms_wallet.application.event.WalletCreatedEvent;
 import dev.cantrella.ms_wallet.application.exception.WalletAlreadyExistsException;
 import dev.cantrella.ms_wallet.domain.model.Wallet;
 import dev.cantrella.ms_wallet.application.port.CreateWalletUseCase;
 import dev.cantrella.ms_wallet.ports.out.WalletRepositoryPort;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,6 +18,7 @@ import java.util.UUID;
 public class CreateWalletUseCaseImpl implements CreateWalletUseCase {
 
     private final WalletRepositoryPort walletRepositoryPort;
+    private final ApplicationEventPublisher eventPublisher;
     @Override
     @Transactional
     public UUID execute(String userEmail) {
@@ -25,6 +28,7 @@ public class CreateWalletUseCaseImpl implements CreateWalletUseCase {
         }
         Wallet wallet = Wallet.create(userEmail);
         wallet = walletRepositoryPort.save(wallet);
+        eventPublisher.publishEvent(new WalletCreatedEvent(wallet.getUserId(), wallet.getId()));
         return wallet.getId();
 
     }
@@ -1,14 +1,17 @@
 package dev.cantrella.ms_wallet.application.usecase;
 
 import dev.cantrella.ms_wallet.application.dto.DepositOrWithdrawCommand;
+import dev.cantrella.ms_wallet.application.event.BalanceChangedEvent;
+import dev.cantrella.ms_wallet.application.event.TransactionRecordedEvent;
 import dev.cantrella.ms_wallet.application.exception.WalletNotFoundException;
 import dev.cantrella.ms_wallet.application.port.DepositUseCase;
 import dev.cantrella.ms_wallet.domain.model.Transaction;
 import dev.cantrella.ms_wallet.domain.model.Wallet;
-import dev.cantrella.ms_wallet.ports.out.CachePort;
 import dev.cantrella.ms_wallet.ports.out.TransactionRepositoryPort;
+import dev.cantrella.ms_wallet.ports.out.WalletContentionPort;
 import dev.cantrella.ms_wallet.ports.out.WalletRepositoryPort;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,19 +21,22 @@ public class DepositUseCaseImpl implements DepositUseCase {
 
     private final WalletRepositoryPort walletRepositoryPort;
     private final TransactionRepositoryPort transactionRepositoryPort;
-    private final CachePort cachePort;
+    private final ApplicationEventPublisher eventPublisher;
+    private final WalletContentionPort walletContentionPort;
 
     @Override
     @Transactional
     public Transaction execute(DepositOrWithdrawCommand command) {
+        Transaction.validateAmount(command.amount());
+        long lockStart = System.nanoTime();
         Wallet wallet = walletRepositoryPort
-                .findByUserIdForUpdate(command.userId())
+                .applyBalanceDelta(command.userId(), command.amount())
                 .orElseThrow(()-> new WalletNotFoundException(command.userId()));
+        walletContentionPort.record(wallet.getId(), 1, System.nanoTime() - lockStart);
         Transaction transaction = Transaction.createDeposit(wallet.getId(),command.amount());
-        wallet.deposit(command.amount());
-        walletRepositoryPort.update(wallet);
-        cachePort.evict(command.userId());
+        eventPublisher.publishEvent(new BalanceChangedEvent(command.userId(), wallet.getId(), wallet.getBalance(), wallet.getVersion()));
         transactionRepositoryPort.save(transaction);
+        eventPublisher.publishEvent(new TransactionRecordedEvent(transaction));
         return transaction;
     }
 }
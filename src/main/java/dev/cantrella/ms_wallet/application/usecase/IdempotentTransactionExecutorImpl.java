@@ -0,0 +1,225 @@
+package dev.cantrella.ms_wallet.application.usecase;
+
+import dev.cantrella.ms_wallet.application.config.IdempotencyPolicy;
+import dev.cantrella.ms_wallet.application.dto.IdempotencyRecord;
+import dev.cantrella.ms_wallet.application.dto.IdempotentRequest;
+import dev.cantrella.ms_wallet.application.event.TransactionRecordedEvent;
+import dev.cantrella.ms_wallet.application.exception.IdempotencyConflictException;
+import dev.cantrella.ms_wallet.application.exception.IdempotencyKeyMismatchException;
+import dev.cantrella.ms_wallet.application.exception.InvalidDataException;
+import dev.cantrella.ms_wallet.application.port.IdempotentTransactionExecutor;
+import dev.cantrella.ms_wallet.domain.model.Transaction;
+import dev.cantrella.ms_wallet.ports.out.IdempotencyRecordPort;
+import dev.cantrella.ms_wallet.ports.out.IdempotencyStorePort;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs a money-moving operation at most once per idempotency key. Retries of a completed request get the stored
+ * {@link Transaction} back; duplicates that arrive while the first execution is still running wait for its result,
+ * in this instance through an in-flight future and across instances by polling the store.
+ * <p>
+ * The store is only the fast path. The key is also recorded in the database transaction that stores the
+ * {@link Transaction}, so a result that never reached the store, or an execution that outlived its in-flight claim,
+ * is replayed from that record instead of running again. Group commit applies the request on its flush thread, so
+ * it takes the key from {@link #current()} into the batch transaction and records it there.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IdempotentTransactionExecutorImpl implements IdempotentTransactionExecutor {
+
+    static final int MAX_KEY_LENGTH = 255;
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(20);
+
+    private final ConcurrentHashMap<String, InFlight> inFlight = new ConcurrentHashMap<>();
+    private final ThreadLocal<IdempotentRequest> pending = new ThreadLocal<>();
+    private final IdempotencyStorePort idempotencyStorePort;
+    private final IdempotencyRecordPort idempotencyRecordPort;
+    private final IdempotencyPolicy idempotencyPolicy;
+
+    @Override
+    public Transaction execute(String operation, String userId, String idempotencyKey, Object request,
+                               Supplier<Transaction> action) {
+        if (idempotencyKey == null) {
+            return action.get();
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new InvalidDataException("Idempotency-Key must have between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+        String key = "idempotency:" + operation + ":" + userId + ":" + idempotencyKey;
+        String fingerprint = fingerprint(Objects.requireNonNull(request, "Request can not be null"));
+        InFlight mine = new InFlight(fingerprint, new CompletableFuture<>());
+        InFlight existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            if (!existing.fingerprint().equals(fingerprint)) {
+                throw mismatch(idempotencyKey);
+            }
+            return await(existing.future(), idempotencyKey);
+        }
+        try {
+            Transaction transaction = executeOnce(key, fingerprint, idempotencyKey, action);
+            mine.future().complete(transaction);
+            return transaction;
+        } catch (RuntimeException e) {
+            mine.future().completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    @Override
+    public Optional<IdempotentRequest> current() {
+        return Optional.ofNullable(pending.get());
+    }
+
+    /**
+     * Records the idempotency key of the request running on this thread in the transaction that stores its result.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onTransactionRecorded(TransactionRecordedEvent event) {
+        IdempotentRequest current = pending.get();
+        if (current == null) {
+            return;
+        }
+        if (!idempotencyRecordPort.record(current.key(), new IdempotencyRecord(current.fingerprint(), event.transaction()))) {
+            throw new AlreadyRecordedException();
+        }
+    }
+
+    private Transaction executeOnce(String key, String fingerprint, String idempotencyKey, Supplier<Transaction> action) {
+        long deadline = System.nanoTime() + idempotencyPolicy.replayWait().toNanos();
+        while (true) {
+            Optional<IdempotencyRecord> completed = idempotencyStorePort.findCompleted(key);
+            if (completed.isPresent()) {
+                return verified(completed.get(), fingerprint, idempotencyKey);
+            }
+            if (idempotencyStorePort.claim(key, idempotencyPolicy.inFlightTtl())) {
+                return run(key, fingerprint, idempotencyKey, action);
+            }
+            if (System.nanoTime() >= deadline) {
+                throw conflict(idempotencyKey);
+            }
+            sleep();
+        }
+    }
+
+    private Transaction run(String key, String fingerprint, String idempotencyKey, Supplier<Transaction> action) {
+        Optional<IdempotencyRecord> recorded = idempotencyRecordPort.find(key);
+        if (recorded.isPresent()) {
+            return replay(key, recorded.get(), fingerprint, idempotencyKey);
+        }
+        Transaction transaction;
+        pending.set(new IdempotentRequest(key, fingerprint));
+        try {
+            transaction = action.get();
+        } catch (AlreadyRecordedException e) {
+            // An execution whose claim had expired committed first, this one was rolled back.
+            return replay(key, idempotencyRecordPort.find(key).orElseThrow(() -> conflict(idempotencyKey)),
+                    fingerprint, idempotencyKey);
+        } catch (RuntimeException e) {
+            idempotencyStorePort.release(key);
+            throw e;
+        } finally {
+            pending.remove();
+        }
+        complete(key, new IdempotencyRecord(fingerprint, transaction));
+        return transaction;
+    }
+
+    private Transaction replay(String key, IdempotencyRecord record, String fingerprint, String idempotencyKey) {
+        complete(key, record);
+        return verified(record, fingerprint, idempotencyKey);
+    }
+
+    private void complete(String key, IdempotencyRecord record) {
+        try {
+            idempotencyStorePort.complete(key, record, idempotencyPolicy.ttl());
+        } catch (RuntimeException e) {
+            // The transaction is committed and its key recorded, so retries are replayed from the database.
+            log.warn("Could not store the result of idempotent request {}", key, e);
+        }
+    }
+
+    private static Transaction verified(IdempotencyRecord record, String fingerprint, String idempotencyKey) {
+        if (!record.fingerprint().equals(fingerprint)) {
+            throw mismatch(idempotencyKey);
+        }
+        return record.transaction();
+    }
+
+    private Transaction await(CompletableFuture<Transaction> future, String idempotencyKey) {
+        try {
+            return future.get(idempotencyPolicy.replayWait().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw conflict(idempotencyKey);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for an idempotent request", e);
+        }
+    }
+
+    /**
+     * SHA-256 of the request, stored with its key so a reuse of the key with another request is detected.
+     */
+    public static String fingerprint(Object request) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                    .digest(request.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static IdempotencyConflictException conflict(String idempotencyKey) {
+        return new IdempotencyConflictException("Request with Idempotency-Key " + idempotencyKey + " is still being processed");
+    }
+
+    private static IdempotencyKeyMismatchException mismatch(String idempotencyKey) {
+        return new IdempotencyKeyMismatchException("Idempotency-Key " + idempotencyKey + " was already used for a different request");
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(POLL_INTERVAL);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for an idempotent request", e);
+        }
+    }
+
+    private record InFlight(String fingerprint, CompletableFuture<Transaction> future) {
+    }
+
+    /**
+     * Aborts the commit of a second execution of an already recorded key, or fails its operation in a group commit.
+     */
+    static class AlreadyRecordedException extends RuntimeException {
+        AlreadyRecordedException() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package dev.cantrella.ms_wallet.application.usecase;
+
+import dev.cantrella.ms_wallet.application.config.SettlementIngestionPolicy;
+import dev.cantrella.ms_wallet.application.dto.IngestSettlementFileCommand;
+import dev.cantrella.ms_wallet.application.dto.SettlementCheckpoint;
+import dev.cantrella.ms_wallet.application.dto.SettlementChunk;
+import dev.cantrella.ms_wallet.application.dto.SettlementIngestionReport;
+import dev.cantrella.ms_wallet.application.dto.SettlementLineFailure;
+import dev.cantrella.ms_wallet.application.port.IngestSettlementFileUseCase;
+import dev.cantrella.ms_wallet.ports.out.SettlementCheckpointPort;
+import dev.cantrella.ms_wallet.ports.out.SettlementFilePort;
+import dev.cantrella.ms_wallet.ports.out.SettlementFilePort.SettlementFileCursor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class IngestSettlementFileUseCaseImpl implements IngestSettlementFileUseCase {
+
+    private final SettlementFilePort settlementFilePort;
+    private final SettlementCheckpointPort settlementCheckpointPort;
+    private final SettlementChunkWriter settlementChunkWriter;
+    private final SettlementIngestionPolicy settlementIngestionPolicy;
+
+    @Override
+    public SettlementIngestionReport execute(IngestSettlementFileCommand command) {
+        String contentHash = settlementFilePort.contentHash(command.fileName());
+        SettlementCheckpoint checkpoint = settlementCheckpointPort
+                .findOrCreate(SettlementCheckpoint.start(contentHash, command.fileName()));
+        if (checkpoint.byteOffset() > 0) {
+            log.info("Resuming settlement file {} at line {} (offset {})",
+                    command.fileName(), checkpoint.lineNumber(), checkpoint.byteOffset());
+        }
+        List<SettlementLineFailure> failures = new ArrayList<>();
+        try (SettlementFileCursor cursor = settlementFilePort.open(
+                command.fileName(), checkpoint.byteOffset(), checkpoint.lineNumber())) {
+            Optional<SettlementChunk> chunk;
+            while ((chunk = cursor.nextChunk(settlementIngestionPolicy.chunkSize())).isPresent()) {
+                SettlementChunkWriter.Result result = settlementChunkWriter.write(checkpoint, chunk.get());
+                checkpoint = result.checkpoint();
+                result.failures().stream()
+                        .limit(Math.max(0, settlementIngestionPolicy.maxReportedFailures() - failures.size()))
+                        .forEach(failures::add);
+            }
+        }
+        log.info("Settlement file {} ingested: {} lines credited, {} rejected",
+                command.fileName(), checkpoint.creditedLines(), checkpoint.failedLines());
+        return new SettlementIngestionReport(
+                command.fileName(),
+                checkpoint.lineNumber(),
+                checkpoint.creditedLines(),
+                checkpoint.failedLines(),
+                checkpoint.byteOffset(),
+                failures);
+    }
+}
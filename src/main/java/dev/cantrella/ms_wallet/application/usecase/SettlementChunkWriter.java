@@ -0,0 +1,79 @@
+package dev.cantrella.ms_wallet.application.usecase;
+
+import dev.cantrella.ms_wallet.application.dto.SettlementCheckpoint;
+import dev.cantrella.ms_wallet.application.dto.SettlementChunk;
+import dev.cantrella.ms_wallet.application.dto.SettlementLine;
+import dev.cantrella.ms_wallet.application.dto.SettlementLineFailure;
+import dev.cantrella.ms_wallet.application.event.BalanceChangedEvent;
+import dev.cantrella.ms_wallet.application.exception.SettlementIngestionConflictException;
+import dev.cantrella.ms_wallet.domain.model.Money;
+import dev.cantrella.ms_wallet.domain.model.Transaction;
+import dev.cantrella.ms_wallet.domain.model.Wallet;
+import dev.cantrella.ms_wallet.ports.out.SettlementCheckpointPort;
+import dev.cantrella.ms_wallet.ports.out.TransactionRepositoryPort;
+import dev.cantrella.ms_wallet.ports.out.WalletRepositoryPort;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Applies one chunk of a settlement file and moves its checkpoint in the same database transaction, so a chunk is
+ * either fully credited and checkpointed or not at all. The checkpoint is moved first and only from the offset the
+ * chunk was read at: a concurrent or retried ingestion of the same content waits on the checkpoint row and then
+ * aborts instead of crediting the chunk again.
+ */
+@Component
+@RequiredArgsConstructor
+public class SettlementChunkWriter {
+
+    private final WalletRepositoryPort walletRepositoryPort;
+    private final TransactionRepositoryPort transactionRepositoryPort;
+    private final SettlementCheckpointPort settlementCheckpointPort;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional
+    public Result write(SettlementCheckpoint checkpoint, SettlementChunk chunk) {
+        Set<String> userIds = new HashSet<>();
+        chunk.lines().forEach(line -> userIds.add(line.userId()));
+        Map<String, UUID> walletIds = walletRepositoryPort.findIdsByUserIds(userIds);
+
+        // Sorted by wallet id so the batched update locks rows in the same order as transfers do.
+        Map<UUID, Money> credits = new TreeMap<>();
+        List<Transaction> transactions = new ArrayList<>(chunk.lines().size());
+        List<SettlementLineFailure> failures = new ArrayList<>(chunk.failures());
+        for (SettlementLine line : chunk.lines()) {
+            UUID walletId = walletIds.get(line.userId());
+            if (walletId == null) {
+                failures.add(new SettlementLineFailure(line.lineNumber(), "Wallet for user ID " + line.userId() + " not found"));
+                continue;
+            }
+            credits.merge(walletId, line.amount(), Money::plus);
+            transactions.add(Transaction.createDeposit(walletId, line.amount()));
+        }
+
+        SettlementCheckpoint next = checkpoint.advance(chunk, transactions.size(), failures.size());
+        if (!settlementCheckpointPort.advance(checkpoint, next)) {
+            throw new SettlementIngestionConflictException("Settlement file " + checkpoint.fileName()
+                    + " was already ingested past offset " + checkpoint.byteOffset() + " by another request");
+        }
+        if (!credits.isEmpty()) {
+            List<Wallet> wallets = walletRepositoryPort.creditAll(credits);
+            transactionRepositoryPort.bulkInsert(transactions);
+            wallets.forEach(wallet -> eventPublisher.publishEvent(
+                    new BalanceChangedEvent(wallet.getUserId(), wallet.getId(), wallet.getBalance(), wallet.getVersion())));
+        }
+        return new Result(next, failures);
+    }
+
+    public record Result(SettlementCheckpoint checkpoint, List<SettlementLineFailure> failures) {
+    }
+}
@@ -0,0 +1,26 @@
+package dev.cantrella.ms_wallet.application.usecase;
+
+import dev.cantrella.ms_wallet.application.dto.TransactionStatementStreamQuery;
+import dev.cantrella.ms_wallet.application.port.ConsultWalletIdUseCase;
+import dev.cantrella.ms_wallet.application.port.StreamTransactionStatementUseCase;
+import dev.cantrella.ms_wallet.domain.model.Transaction;
+import dev.cantrella.ms_wallet.ports.out.TransactionLogRepositoryPort;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+public class StreamTransactionStatementUseCaseImpl implements StreamTransactionStatementUseCase {
+
+    private final TransactionLogRepositoryPort transactionLogRepositoryPort;
+    private final ConsultWalletIdUseCase consultWalletIdUseCase;
+
+    @Override
+    public Stream<Transaction> execute(TransactionStatementStreamQuery query) {
+        UUID walletId = consultWalletIdUseCase.execute(query.userId());
+        return transactionLogRepositoryPort.streamStatement(walletId, query.cursor());
+    }
+}
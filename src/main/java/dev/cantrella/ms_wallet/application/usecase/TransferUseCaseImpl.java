@@ -1,55 +1,68 @@
 package dev.cantrella.ms_wallet.application.usecase;
 
+import dev.cantrella.ms_wallet.application.config.WriteConcurrencyPolicy;
 import dev.cantrella.ms_wallet.application.dto.TransferCommand;
 import dev.cantrella.ms_wallet.application.exception.OperationNotAllowedException;
-import dev.cantrella.ms_wallet.application.exception.WalletNotFoundException;
 import dev.cantrella.ms_wallet.application.port.TransferUseCase;
 import dev.cantrella.ms_wallet.domain.model.Transaction;
-import dev.cantrella.ms_wallet.domain.model.Wallet;
-import dev.cantrella.ms_wallet.ports.out.CachePort;
-import dev.cantrella.ms_wallet.ports.out.TransactionRepositoryPort;
-import dev.cantrella.ms_wallet.ports.out.WalletRepositoryPort;
+import dev.cantrella.ms_wallet.ports.out.WalletContentionPort;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Not transactional itself: each {@link TransferWriter} attempt commits or rolls back on its own, which is what makes
+ * retrying an optimistic one meaningful.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class TransferUseCaseImpl implements TransferUseCase {
 
-    private final WalletRepositoryPort walletRepositoryPort;
-    private final TransactionRepositoryPort transactionRepositoryPort;
-    private final CachePort cachePort;
+    private final TransferWriter transferWriter;
+    private final WalletContentionPort walletContentionPort;
+    private final WriteConcurrencyPolicy writeConcurrencyPolicy;
 
     @Override
-    @Transactional
     public Transaction execute(TransferCommand command) {
         log.info("Transferring {} from wallet {} to wallet {}", command.amount(),
                 command.sourceWalletId(), command.destinationWalletId());
-        Wallet sourceWallet = walletRepositoryPort
-                .findByIdForUpdate(command.sourceWalletId())
-                .orElseThrow(()-> new WalletNotFoundException(command.sourceWalletId()));
-        Wallet destinationWallet = walletRepositoryPort
-                .findByIdForUpdate(command.destinationWalletId())
-                .orElseThrow(()-> new WalletNotFoundException(command.destinationWalletId()));
-        if(sourceWallet.equals(destinationWallet)) {
+        if(command.sourceWalletId().equals(command.destinationWalletId())) {
             throw new OperationNotAllowedException("Source wallet and destination wallet is same");
         }
+        if (writesOptimistically(command)) {
+            for (int attempt = 1; attempt <= writeConcurrencyPolicy.maxAttempts(); attempt++) {
+                try {
+                    return transferWriter.transferOptimistically(command);
+                } catch (WalletVersionConflictException e) {
+                    walletContentionPort.recordConflict(e.getWalletId());
+                    if (attempt < writeConcurrencyPolicy.maxAttempts()) {
+                        backOff(attempt);
+                    }
+                }
+            }
+            log.info("Transfer from wallet {} to wallet {} kept conflicting, retrying under row locks",
+                    command.sourceWalletId(), command.destinationWalletId());
+        }
+        return transferWriter.transferLocked(command);
+    }
+
+    private boolean writesOptimistically(TransferCommand command) {
+        return switch (writeConcurrencyPolicy.mode()) {
+            case PESSIMISTIC -> false;
+            case OPTIMISTIC -> true;
+            case ADAPTIVE -> Math.max(
+                    walletContentionPort.conflictRate(command.sourceWalletId()),
+                    walletContentionPort.conflictRate(command.destinationWalletId()))
+                    < writeConcurrencyPolicy.conflictThreshold();
+        };
+    }
 
-        Transaction transaction = Transaction.createTransfer(
-                command.sourceWalletId(),
-                command.destinationWalletId(),
-                command.amount());
-        sourceWallet.withdraw(command.amount());
-        destinationWallet.deposit(command.amount());
-        walletRepositoryPort.update(sourceWallet);
-        walletRepositoryPort.update(destinationWallet);
-        cachePort.evict(sourceWallet.getUserId());
-        cachePort.evict(destinationWallet.getUserId());
-        log.info("Transaction completed with transaction id: {}", transaction.getId());
-        transactionRepositoryPort.save(transaction);
-        return transaction;
+    private void backOff(int attempt) {
+        long ceiling = writeConcurrencyPolicy.backoff().toNanos() << Math.min(attempt - 1, 16);
+        LockSupport.parkNanos(ThreadLocalRandom.current().nextLong(ceiling + 1));
     }
 }
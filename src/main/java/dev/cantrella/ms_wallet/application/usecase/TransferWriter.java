@@ -0,0 +1,133 @@
+package dev.cantrella.ms_wallet.application.usecase;
+
+import dev.cantrella.ms_wallet.application.dto.TransferCommand;
+import dev.cantrella.ms_wallet.application.event.BalanceChangedEvent;
+import dev.cantrella.ms_wallet.application.event.TransactionRecordedEvent;
+import dev.cantrella.ms_wallet.application.exception.WalletNotFoundException;
+import dev.cantrella.ms_wallet.domain.model.Transaction;
+import dev.cantrella.ms_wallet.domain.model.Wallet;
+import dev.cantrella.ms_wallet.ports.out.OptimisticWalletWritePort;
+import dev.cantrella.ms_wallet.ports.out.TransactionRepositoryPort;
+import dev.cantrella.ms_wallet.ports.out.WalletContentionPort;
+import dev.cantrella.ms_wallet.ports.out.WalletRepositoryPort;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * One database transaction of a transfer, either under {@code SELECT ... FOR UPDATE} on both wallets or as an
+ * optimistic attempt that reads without locks and writes only if neither wallet changed in between.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TransferWriter {
+
+    private final WalletRepositoryPort walletRepositoryPort;
+    private final OptimisticWalletWritePort optimisticWalletWritePort;
+    private final TransactionRepositoryPort transactionRepositoryPort;
+    private final ApplicationEventPublisher eventPublisher;
+    private final WalletContentionPort walletContentionPort;
+
+    @Transactional
+    public Transaction transferLocked(TransferCommand command) {
+        long lockStart = System.nanoTime();
+        Map<UUID, Wallet> wallets = byId(walletRepositoryPort
+                .findAllByIdsForUpdate(Set.of(command.sourceWalletId(), command.destinationWalletId())));
+        long lockWait = System.nanoTime() - lockStart;
+        wallets.keySet().forEach(walletId -> walletContentionPort.record(walletId, 1, lockWait));
+        Wallet sourceWallet = wallets.get(command.sourceWalletId());
+        if(sourceWallet == null) {
+            throw new WalletNotFoundException(command.sourceWalletId());
+        }
+        Wallet destinationWallet = wallets.get(command.destinationWalletId());
+        if(destinationWallet == null) {
+            throw new WalletNotFoundException(command.destinationWalletId());
+        }
+
+        Transaction transaction = Transaction.createTransfer(
+                command.sourceWalletId(),
+                command.destinationWalletId(),
+                command.amount());
+        sourceWallet.withdraw(command.amount());
+        destinationWallet.deposit(command.amount());
+        // Wallet id order: with sharded balances the writes take the only row locks, and crossing transfers must
+        // take them in the same order.
+        Map<UUID, Wallet> stored = new HashMap<>();
+        for (Wallet wallet : inIdOrder(sourceWallet, destinationWallet)) {
+            stored.put(wallet.getId(), walletRepositoryPort.update(wallet));
+        }
+        publishBalances(stored.get(sourceWallet.getId()), stored.get(destinationWallet.getId()));
+        log.info("Transaction completed with transaction id: {}", transaction.getId());
+        transactionRepositoryPort.save(transaction);
+        eventPublisher.publishEvent(new TransactionRecordedEvent(transaction));
+        return transaction;
+    }
+
+    /**
+     * Throws {@link WalletVersionConflictException} when a concurrent write changed either wallet after it was read.
+     */
+    @Transactional
+    public Transaction transferOptimistically(TransferCommand command) {
+        Map<UUID, Wallet> wallets = byId(walletRepositoryPort
+                .findAllByIds(Set.of(command.sourceWalletId(), command.destinationWalletId())));
+        Wallet sourceWallet = wallets.get(command.sourceWalletId());
+        if(sourceWallet == null) {
+            throw new WalletNotFoundException(command.sourceWalletId());
+        }
+        Wallet destinationWallet = wallets.get(command.destinationWalletId());
+        if(destinationWallet == null) {
+            throw new WalletNotFoundException(command.destinationWalletId());
+        }
+
+        Transaction transaction = Transaction.createTransfer(
+                command.sourceWalletId(),
+                command.destinationWalletId(),
+                command.amount());
+        sourceWallet.withdraw(command.amount());
+        destinationWallet.deposit(command.amount());
+        // The conditional updates go last: the row locks they take are then held only until commit.
+        transactionRepositoryPort.save(transaction);
+        eventPublisher.publishEvent(new TransactionRecordedEvent(transaction));
+        long writeStart = System.nanoTime();
+        // Same id order as the locking path, so crossing transfers can't deadlock on those row locks.
+        Map<UUID, Wallet> stored = new HashMap<>();
+        for (Wallet wallet : inIdOrder(sourceWallet, destinationWallet)) {
+            stored.put(wallet.getId(), optimisticWalletWritePort.updateIfVersion(wallet)
+                    .orElseThrow(() -> new WalletVersionConflictException(wallet.getId())));
+        }
+        long writeWait = System.nanoTime() - writeStart;
+        wallets.keySet().forEach(walletId -> walletContentionPort.record(walletId, 1, writeWait));
+        publishBalances(stored.get(sourceWallet.getId()), stored.get(destinationWallet.getId()));
+        log.info("Transaction completed with transaction id: {}", transaction.getId());
+        return transaction;
+    }
+
+    private static List<Wallet> inIdOrder(Wallet sourceWallet, Wallet destinationWallet) {
+        return Stream.of(sourceWallet, destinationWallet).sorted(Comparator.comparing(Wallet::getId)).toList();
+    }
+
+    private Map<UUID, Wallet> byId(List<Wallet> wallets) {
+        return wallets.stream().collect(Collectors.toMap(Wallet::getId, Function.identity()));
+    }
+
+    private void publishBalances(Wallet sourceWallet, Wallet destinationWallet) {
+        eventPublisher.publishEvent(new BalanceChangedEvent(
+                sourceWallet.getUserId(), sourceWallet.getId(), sourceWallet.getBalance(), sourceWallet.getVersion()));
+        eventPublisher.publishEvent(new BalanceChangedEvent(
+                destinationWallet.getUserId(), destinationWallet.getId(), destinationWallet.getBalance(),
+                destinationWallet.getVersion()));
+    }
+}
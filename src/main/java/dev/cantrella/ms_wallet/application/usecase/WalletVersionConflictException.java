@@ -0,0 +1,20 @@
+package dev.cantrella.ms_wallet.application.usecase;
+
+import java.util.UUID;
+
+/**
+ * An optimistic write lost to a concurrent one. Rolls the attempt back so it can be retried.
+ */
+class WalletVersionConflictException extends RuntimeException {
+
+    private final UUID walletId;
+
+    WalletVersionConflictException(UUID walletId) {
+        super("Wallet " + walletId + " was changed by a concurrent write", null, false, false);
+        this.walletId = walletId;
+    }
+
+    UUID getWalletId() {
+        return walletId;
+    }
+}
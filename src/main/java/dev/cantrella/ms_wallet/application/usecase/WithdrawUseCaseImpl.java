@@ -1,14 +1,18 @@
 package dev.cantrella.ms_wallet.application.usecase;
 
 import dev.cantrella.ms_wallet.application.dto.DepositOrWithdrawCommand;
+import dev.cantrella.ms_wallet.application.event.BalanceChangedEvent;
+import dev.cantrella.ms_wallet.application.event.TransactionRecordedEvent;
 import dev.cantrella.ms_wallet.application.exception.WalletNotFoundException;
 import dev.cantrella.ms_wallet.application.port.WithdrawUseCase;
+import dev.cantrella.ms_wallet.domain.exception.WalletOperationException;
 import dev.cantrella.ms_wallet.domain.model.Transaction;
 import dev.cantrella.ms_wallet.domain.model.Wallet;
-import dev.cantrella.ms_wallet.ports.out.CachePort;
 import dev.cantrella.ms_wallet.ports.out.TransactionRepositoryPort;
+import dev.cantrella.ms_wallet.ports.out.WalletContentionPort;
 import dev.cantrella.ms_wallet.ports.out.WalletRepositoryPort;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,19 +22,29 @@ public class WithdrawUseCaseImpl implements WithdrawUseCase {
 
     private final WalletRepositoryPort walletRepositoryPort;
     private final TransactionRepositoryPort transactionRepositoryPort;
-    private final CachePort cachePort;
+    private final ApplicationEventPublisher eventPublisher;
+    private final WalletContentionPort walletContentionPort;
 
     @Override
     @Transactional
     public Transaction execute(DepositOrWithdrawCommand command) {
+        Transaction.validateAmount(command.amount());
+        long lockStart = System.nanoTime();
         Wallet wallet = walletRepositoryPort
-                .findByUserIdForUpdate(command.userId())
-                .orElseThrow(()-> new WalletNotFoundException(command.userId()));
+                .applyBalanceDelta(command.userId(), command.amount().negate())
+                .orElseThrow(()-> rejectedWithdraw(command.userId()));
+        walletContentionPort.record(wallet.getId(), 1, System.nanoTime() - lockStart);
         Transaction transaction = Transaction.createWithdraw(wallet.getId(),command.amount());
-        wallet.withdraw(command.amount());
-        walletRepositoryPort.update(wallet);
-        cachePort.evict(command.userId());
+        eventPublisher.publishEvent(new BalanceChangedEvent(command.userId(), wallet.getId(), wallet.getBalance(), wallet.getVersion()));
         transactionRepositoryPort.save(transaction);
+        eventPublisher.publishEvent(new TransactionRecordedEvent(transaction));
         return transaction;
     }
+
+    private RuntimeException rejectedWithdraw(String userId) {
+        if (walletRepositoryPort.existsByUserId(userId)) {
+            return new WalletOperationException("The wallet balance don't have enough amount to withdraw");
+        }
+        return new WalletNotFoundException(userId);
+    }
 }
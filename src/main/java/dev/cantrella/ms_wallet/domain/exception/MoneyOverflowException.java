@@ -0,0 +1,7 @@
+package dev.cantrella.ms_wallet.domain.exception;
+
+public class MoneyOverflowException extends DomainException {
+    public MoneyOverflowException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,13 @@
+package dev.cantrella.ms_wallet.domain.id;
+
+import java.util.UUID;
+
+@FunctionalInterface
+public interface IdGenerator {
+
+    UUID next();
+
+    static IdGenerator random() {
+        return UUID::randomUUID;
+    }
+}
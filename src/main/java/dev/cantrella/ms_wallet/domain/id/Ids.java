@@ -0,0 +1,18 @@
+package dev.cantrella.ms_wallet.domain.id;
+
+import java.util.UUID;
+
+/**
+ * Source of the ids of new wallets and transactions, always UUIDv7.
+ */
+public final class Ids {
+
+    private static final IdGenerator GENERATOR = new UuidV7Generator();
+
+    private Ids() {
+    }
+
+    public static UUID next() {
+        return GENERATOR.next();
+    }
+}
@@ -0,0 +1,12 @@
+package dev.cantrella.ms_wallet.domain.model;
+
+public record BalanceShard(int index, Money balance) {
+
+    public BalanceShard add(Money amount) {
+        return new BalanceShard(index, balance.plus(amount));
+    }
+
+    public BalanceShard subtract(Money amount) {
+        return new BalanceShard(index, balance.minus(amount));
+    }
+}
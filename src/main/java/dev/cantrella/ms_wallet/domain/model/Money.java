@@ -0,0 +1,88 @@
+package dev.cantrella.ms_wallet.domain.model;
+
+import dev.cantrella.ms_wallet.domain.exception.InvalidAmountTransactionException;
+import dev.cantrella.ms_wallet.domain.exception.MoneyOverflowException;
+
+import java.math.BigDecimal;
+
+/**
+ * Monetary amount stored as a long of cents. Arithmetic fails with {@link MoneyOverflowException} instead of
+ * wrapping around; conversion from and to {@link BigDecimal} only happens at the web and persistence edges.
+ */
+public record Money(long minorUnits) implements Comparable<Money> {
+
+    public static final int SCALE = 2;
+    public static final Money ZERO = new Money(0);
+
+    public static Money ofMinor(long minorUnits) {
+        return minorUnits == 0 ? ZERO : new Money(minorUnits);
+    }
+
+    public static Money of(BigDecimal amount) {
+        if (amount == null) {
+            return null;
+        }
+        if (amount.scale() > SCALE) {
+            throw new InvalidAmountTransactionException("Amount cannot have more than 2 decimal places");
+        }
+        try {
+            return ofMinor(amount.movePointRight(SCALE).longValueExact());
+        } catch (ArithmeticException e) {
+            throw new MoneyOverflowException("Amount " + amount.toPlainString() + " is out of range");
+        }
+    }
+
+    public static Money of(String amount) {
+        return of(new BigDecimal(amount));
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    public Money plus(Money other) {
+        try {
+            return ofMinor(Math.addExact(minorUnits, other.minorUnits));
+        } catch (ArithmeticException e) {
+            throw new MoneyOverflowException("Amount overflow adding " + other + " to " + this);
+        }
+    }
+
+    public Money minus(Money other) {
+        try {
+            return ofMinor(Math.subtractExact(minorUnits, other.minorUnits));
+        } catch (ArithmeticException e) {
+            throw new MoneyOverflowException("Amount overflow subtracting " + other + " from " + this);
+        }
+    }
+
+    public Money negate() {
+        try {
+            return ofMinor(Math.negateExact(minorUnits));
+        } catch (ArithmeticException e) {
+            throw new MoneyOverflowException("Amount overflow negating " + this);
+        }
+    }
+
+    public Money min(Money other) {
+        return compareTo(other) <= 0 ? this : other;
+    }
+
+    public int signum() {
+        return Long.signum(minorUnits);
+    }
+
+    public boolean isPositive() {
+        return minorUnits > 0;
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
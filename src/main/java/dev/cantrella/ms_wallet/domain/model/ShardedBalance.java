@@ -0,0 +1,78 @@
+package dev.cantrella.ms_wallet.domain.model;
+
+import dev.cantrella.ms_wallet.domain.exception.WalletOperationException;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Balance of a wallet split across several rows, so that concurrent credits do not queue on one row lock.
+ * The wallet balance is the sum of its shards.
+ */
+@Getter
+public class ShardedBalance {
+
+    private final UUID walletId;
+    private final List<BalanceShard> shards;
+
+    public ShardedBalance(UUID walletId, List<BalanceShard> shards) {
+        this.walletId = walletId;
+        this.shards = new ArrayList<>(shards);
+    }
+
+    public Money total() {
+        Money total = Money.ZERO;
+        for (BalanceShard shard : shards) {
+            total = total.plus(shard.balance());
+        }
+        return total;
+    }
+
+    public BalanceShard deposit(int shardIndex, Money amount) {
+        if (amount == null || amount.signum() <= 0) {
+            throw new WalletOperationException("Negative value is not allowed in this operations");
+        }
+        for (int i = 0; i < shards.size(); i++) {
+            if (shards.get(i).index() == shardIndex) {
+                BalanceShard updated = shards.get(i).add(amount);
+                shards.set(i, updated);
+                return updated;
+            }
+        }
+        throw new WalletOperationException("Shard " + shardIndex + " does not exist for wallet " + walletId);
+    }
+
+    /**
+     * Takes the amount from the fullest shards first and returns only the shards that changed.
+     */
+    public List<BalanceShard> withdraw(Money amount) {
+        if (amount == null || amount.signum() <= 0) {
+            throw new WalletOperationException("Negative value is not allowed in this operations");
+        }
+        if (total().compareTo(amount) < 0) {
+            throw new WalletOperationException("The wallet balance don't have enough amount to withdraw");
+        }
+        List<BalanceShard> changed = new ArrayList<>();
+        Money remaining = amount;
+        List<BalanceShard> byBalance = shards.stream()
+                .sorted(Comparator.comparing(BalanceShard::balance).reversed())
+                .toList();
+        for (BalanceShard shard : byBalance) {
+            if (remaining.signum() == 0) {
+                break;
+            }
+            if (shard.balance().signum() <= 0) {
+                continue;
+            }
+            Money taken = shard.balance().min(remaining);
+            BalanceShard updated = shard.subtract(taken);
+            shards.set(shards.indexOf(shard), updated);
+            changed.add(updated);
+            remaining = remaining.minus(taken);
+        }
+        return changed;
+    }
+}
@@ -2,10 +2,10 @@ package dev.cantrella.ms_wallet.domain.model;
 
 import dev.cantrella.ms_wallet.domain.exception.InvalidAmountTransactionException;
 import dev.cantrella.ms_wallet.domain.exception.NonNullValueException;
+import dev.cantrella.ms_wallet.domain.id.Ids;
 import lombok.Builder;
 import lombok.Getter;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Objects;
 import java.util.UUID;
@@ -18,16 +18,16 @@ public class Transaction {
     private UUID sourceWalletId;
     private UUID destinationWalletId;
     private TransactionType type;
-    private BigDecimal amount;
+    private Money amount;
     private LocalDateTime timestamp;
 
     private Transaction (
             UUID sourceWalletId,
             UUID destinationWalletId,
             TransactionType type,
-            BigDecimal amount) {
+            Money amount) {
         try {
-            this.id = UUID.randomUUID();
+            this.id = Ids.next();
             this.sourceWalletId = Objects.requireNonNull(sourceWalletId, "Source wallet cannot be null");
             this.type = Objects.requireNonNull(type, "Transaction type cannot be null");
             this.amount = validateAmount(amount);
@@ -43,7 +43,7 @@ public class Transaction {
             UUID sourceWalletId,
             UUID destinationWalletId,
             TransactionType type,
-            BigDecimal amount,
+            Money amount,
             LocalDateTime timestamp) {
         this.id = id;
         this.sourceWalletId = sourceWalletId;
@@ -58,12 +58,12 @@ public class Transaction {
             UUID sourceWalletId,
             UUID destinationWalletId,
             TransactionType type,
-            BigDecimal amount,
+            Money amount,
             LocalDateTime timestamp) {
         return new Transaction(id, sourceWalletId, destinationWalletId, type, amount, timestamp);
     }
 
-    public static Transaction createTransfer(UUID source, UUID destination, BigDecimal amount) {
+    public static Transaction createTransfer(UUID source, UUID destination, Money amount) {
         if(destination == null) {
             throw new NonNullValueException("Source wallet cannot be null");
         }
@@ -74,22 +74,22 @@ public class Transaction {
                 amount);
     }
 
-    public static Transaction createDeposit(UUID source, BigDecimal amount) {
+    public static Transaction createDeposit(UUID source, Money amount) {
         return new Transaction(source, null, TransactionType.DEPOSIT, amount);
     }
 
-    public static Transaction createWithdraw(UUID source, BigDecimal amount
+    public static Transaction createWithdraw(UUID source, Money amount
     ) {
         return new Transaction(source, null, TransactionType.WITHDRAW, amount);
     }
 
-    private BigDecimal validateAmount(BigDecimal amount) {
+    /**
+     * The 2 decimal places limit is enforced when the amount is converted with {@link Money#of}.
+     */
+    public static Money validateAmount(Money amount) {
         if (amount == null || amount.signum() <= 0) {
             throw new InvalidAmountTransactionException("Amount must be more than 0");
         }
-        if (amount.scale() > 2) {
-            throw new InvalidAmountTransactionException("Amount cannot have more than 2 decimal places");
-        }
         return amount;
     }
 
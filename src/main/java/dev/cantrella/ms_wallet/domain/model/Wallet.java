@@ -2,11 +2,11 @@ package dev.cantrella.ms_wallet.domain.model;
 
 import dev.cantrella.ms_wallet.domain.exception.NonNullValueException;
 import dev.cantrella.ms_wallet.domain.exception.WalletOperationException;
+import dev.cantrella.ms_wallet.domain.id.Ids;
 import lombok.Builder;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
@@ -17,14 +17,23 @@ public class Wallet {
     @EqualsAndHashCode.Include
     private UUID id;
     private String userId;
-    private BigDecimal balance;
+    private Money balance;
     private LocalDateTime createdAt;
+    /**
+     * Stored version the wallet was read at; every balance write increments it.
+     */
+    private long version;
 
-    public Wallet(UUID id, String userId, BigDecimal balance, LocalDateTime createdAt) {
+    public Wallet(UUID id, String userId, Money balance, LocalDateTime createdAt) {
+        this(id, userId, balance, createdAt, 0);
+    }
+
+    public Wallet(UUID id, String userId, Money balance, LocalDateTime createdAt, long version) {
         this.id = id;
         this.userId = userId;
         this.balance = balance;
         this.createdAt = createdAt;
+        this.version = version;
     }
 
     public static Wallet create(String userId) {
@@ -32,24 +41,28 @@ public class Wallet {
          throw new NonNullValueException("UserId is required to create a wallet");
         }
         return new Wallet(
-                UUID.randomUUID(),
+                Ids.next(),
                 userId,
-                BigDecimal.ZERO,
+                Money.ZERO,
                 LocalDateTime.now()
         );
     }
 
-    public void deposit(BigDecimal amount) {
+    public Wallet withBalance(Money balance) {
+        return new Wallet(this.id, this.userId, balance, this.createdAt, this.version);
+    }
+
+    public void deposit(Money amount) {
         if (amount == null || amount.signum() <= 0) {
             throw new WalletOperationException("Negative value is not allowed in this operations");
         }
-        this.balance = this.balance.add(amount);
+        this.balance = this.balance.plus(amount);
     }
-    public void withdraw(BigDecimal amount) {
+    public void withdraw(Money amount) {
         if (amount == null || amount.signum() <= 0) {
             throw new WalletOperationException("Negative value is not allowed in this operations");
         }
-        BigDecimal result = this.balance.subtract(amount);
+        Money result = this.balance.minus(amount);
         if (result.signum() < 0) {
             throw new WalletOperationException("The wallet balance don't have enough amount to withdraw");
         }
@@ -0,0 +1,31 @@
+package dev.cantrella.ms_wallet.infra.adapter.in.groupcommit;
+
+import dev.cantrella.ms_wallet.application.dto.DepositOrWithdrawCommand;
+import dev.cantrella.ms_wallet.application.dto.WalletOperation;
+import dev.cantrella.ms_wallet.application.port.IdempotentTransactionExecutor;
+import dev.cantrella.ms_wallet.application.port.DepositUseCase;
+import dev.cantrella.ms_wallet.domain.model.Transaction;
+import dev.cantrella.ms_wallet.domain.model.TransactionType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+@Component
+@Primary
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "wallet.group-commit.enabled", havingValue = "true")
+public class GroupCommitDepositUseCase implements DepositUseCase {
+
+    private final WalletGroupCommitEngine walletGroupCommitEngine;
+    private final IdempotentTransactionExecutor idempotentTransactionExecutor;
+
+    @Override
+    public Transaction execute(DepositOrWithdrawCommand command) {
+        Transaction.validateAmount(command.amount());
+        return walletGroupCommitEngine.execute(
+                command.userId(),
+                new WalletOperation(TransactionType.DEPOSIT, command.amount(),
+                        idempotentTransactionExecutor.current().orElse(null)));
+    }
+}
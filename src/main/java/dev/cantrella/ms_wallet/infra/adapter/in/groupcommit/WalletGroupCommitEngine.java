@@ -0,0 +1,174 @@
+package dev.cantrella.ms_wallet.infra.adapter.in.groupcommit;
+
+import dev.cantrella.ms_wallet.application.dto.WalletOperation;
+import dev.cantrella.ms_wallet.application.dto.WalletOperationResult;
+import dev.cantrella.ms_wallet.application.port.ApplyWalletOperationsUseCase;
+import dev.cantrella.ms_wallet.domain.model.Transaction;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Queues deposits and withdrawals per wallet for a short window and applies each queue as one database
+ * transaction, so a hot wallet pays one row lock and one commit per batch instead of per request.
+ */
+@Component
+@ConditionalOnProperty(name = "wallet.group-commit.enabled", havingValue = "true")
+@Slf4j
+public class WalletGroupCommitEngine implements DisposableBean {
+
+    private final ApplyWalletOperationsUseCase applyWalletOperationsUseCase;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService flushExecutor;
+    private final ConcurrentHashMap<String, WalletQueue> queues = new ConcurrentHashMap<>();
+
+    public WalletGroupCommitEngine(
+            ApplyWalletOperationsUseCase applyWalletOperationsUseCase,
+            @Value("${wallet.group-commit.window:2ms}") Duration window,
+            @Value("${wallet.group-commit.max-batch-size:64}") int maxBatchSize,
+            @Value("${wallet.group-commit.flush-threads:8}") int flushThreads,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.applyWalletOperationsUseCase = applyWalletOperationsUseCase;
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("group-commit-timer").daemon().factory());
+        this.flushExecutor = virtualThreads
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("group-commit-flush-", 0).factory())
+                : Executors.newFixedThreadPool(flushThreads,
+                        Thread.ofPlatform().name("group-commit-flush-", 0).daemon().factory());
+    }
+
+    public Transaction execute(String userId, WalletOperation operation) {
+        try {
+            return submit(userId, operation).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    public CompletableFuture<Transaction> submit(String userId, WalletOperation operation) {
+        PendingOperation pendingOperation = new PendingOperation(operation, new CompletableFuture<>());
+        queues.computeIfAbsent(userId, WalletQueue::new).enqueue(pendingOperation);
+        return pendingOperation.result();
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdown();
+        flushExecutor.shutdown();
+    }
+
+    private record PendingOperation(WalletOperation operation, CompletableFuture<Transaction> result) {
+    }
+
+    private final class WalletQueue {
+
+        private final String userId;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final ArrayDeque<PendingOperation> pending = new ArrayDeque<>();
+        private boolean flushPending;
+        private ScheduledFuture<?> timer;
+
+        private WalletQueue(String userId) {
+            this.userId = userId;
+        }
+
+        private void enqueue(PendingOperation pendingOperation) {
+            lock.lock();
+            try {
+                pending.add(pendingOperation);
+                if (!flushPending) {
+                    flushPending = true;
+                    timer = scheduler.schedule(this::dispatch, windowNanos, TimeUnit.NANOSECONDS);
+                } else if (pending.size() >= maxBatchSize && timer != null && timer.cancel(false)) {
+                    timer = null;
+                    flushExecutor.execute(this::flush);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void dispatch() {
+            lock.lock();
+            try {
+                timer = null;
+            } finally {
+                lock.unlock();
+            }
+            flushExecutor.execute(this::flush);
+        }
+
+        private void flush() {
+            List<PendingOperation> batch = drain();
+            try {
+                List<WalletOperationResult> results = applyWalletOperationsUseCase.execute(
+                        userId, batch.stream().map(PendingOperation::operation).toList());
+                for (int i = 0; i < batch.size(); i++) {
+                    WalletOperationResult result = results.get(i);
+                    if (result.isSuccess()) {
+                        batch.get(i).result().complete(result.transaction());
+                    } else {
+                        batch.get(i).result().completeExceptionally(result.error());
+                    }
+                }
+            } catch (RuntimeException e) {
+                log.warn("Group commit of {} operations failed for user {}", batch.size(), userId, e);
+                batch.forEach(pendingOperation -> pendingOperation.result().completeExceptionally(e));
+            } finally {
+                scheduleNext();
+            }
+        }
+
+        private List<PendingOperation> drain() {
+            lock.lock();
+            try {
+                List<PendingOperation> batch = new ArrayList<>(Math.min(pending.size(), maxBatchSize));
+                while (!pending.isEmpty() && batch.size() < maxBatchSize) {
+                    batch.add(pending.poll());
+                }
+                return batch;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void scheduleNext() {
+            lock.lock();
+            try {
+                if (pending.isEmpty()) {
+                    flushPending = false;
+                    queues.remove(userId, this);
+                } else if (pending.size() >= maxBatchSize) {
+                    flushExecutor.execute(this::flush);
+                } else {
+                    timer = scheduler.schedule(this::dispatch, windowNanos, TimeUnit.NANOSECONDS);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
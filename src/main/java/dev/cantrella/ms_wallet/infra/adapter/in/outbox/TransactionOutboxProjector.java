@@ -0,0 +1,202 @@
+package dev.cantrella.ms_wallet.infra.adapter.in.outbox;
+
+import dev.cantrella.ms_wallet.infra.adapter.out.persistence.entity.TransactionMongoEntity;
+import dev.cantrella.ms_wallet.infra.adapter.out.persistence.repository.TransactionOutboxWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+/**
+ * Projects {@code transaction_outbox} rows into the Mongo transaction log in place of the Debezium and Kafka
+ * connector chain, which should be stopped while this is enabled. Each worker owns the partitions congruent to
+ * its index and selects them by key list, so the {@code (partition_key, id)} index serves the scan. A worker locks
+ * a batch with {@code FOR UPDATE SKIP LOCKED}, upserts it with one unordered bulk write and deletes it in the same
+ * transaction. A failed Mongo write leaves the batch in place for the next attempt, and upserts by transaction id
+ * make the retry harmless.
+ */
+@Component
+@ConditionalOnProperty(name = "wallet.outbox.enabled", havingValue = "true")
+@Slf4j
+public class TransactionOutboxProjector implements DisposableBean {
+
+    public static final String PROJECTED_METRIC = "wallet.outbox.projected";
+    public static final String LAG_METRIC = "wallet.outbox.lag";
+    public static final String BACKLOG_METRIC = "wallet.outbox.backlog";
+    private static final String SELECT_BATCH = "SELECT id, transaction_id, source_wallet_id, destination_wallet_id, " +
+            "type, amount, timestamp, created_at FROM transaction_outbox WHERE partition_key = ANY(?) " +
+            "ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED";
+    private static final String DELETE_BATCH = "DELETE FROM transaction_outbox WHERE id = ANY(?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MongoTemplate mongoTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int workers;
+    private final Integer[][] partitions;
+    private final int batchSize;
+    private final Duration pollInterval;
+    private final Counter projected;
+    private final Timer lag;
+    private final ExecutorService executor;
+    private volatile boolean running;
+
+    public TransactionOutboxProjector(
+            JdbcTemplate jdbcTemplate,
+            MongoTemplate mongoTemplate,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${wallet.outbox.workers:4}") int workers,
+            @Value("${wallet.outbox.batch-size:500}") int batchSize,
+            @Value("${wallet.outbox.poll-interval:100ms}") Duration pollInterval) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.mongoTemplate = mongoTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.workers = workers;
+        this.partitions = IntStream.range(0, workers)
+                .mapToObj(worker -> IntStream.range(0, TransactionOutboxWriter.PARTITIONS)
+                        .filter(partition -> partition % workers == worker)
+                        .boxed()
+                        .toArray(Integer[]::new))
+                .toArray(Integer[][]::new);
+        this.batchSize = batchSize;
+        this.pollInterval = pollInterval;
+        this.projected = meterRegistry.counter(PROJECTED_METRIC);
+        this.lag = meterRegistry.timer(LAG_METRIC);
+        Gauge.builder(BACKLOG_METRIC, this, TransactionOutboxProjector::backlog).register(meterRegistry);
+        this.executor = Executors.newFixedThreadPool(workers,
+                Thread.ofPlatform().name("outbox-projector-", 0).daemon().factory());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        for (int worker = 0; worker < workers; worker++) {
+            int index = worker;
+            executor.execute(() -> run(index));
+        }
+    }
+
+    @Override
+    public void destroy() {
+        running = false;
+        executor.shutdownNow();
+    }
+
+    private void run(int worker) {
+        while (running && !Thread.currentThread().isInterrupted()) {
+            try {
+                if (drain(worker) < batchSize) {
+                    Thread.sleep(pollInterval);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                log.warn("Outbox projection failed on worker {}, retrying", worker, e);
+                sleepQuietly();
+            }
+        }
+    }
+
+    /**
+     * Projects one batch of this worker's partitions and returns how many rows it moved.
+     */
+    int drain(int worker) {
+        List<OutboxRow> rows = transactionTemplate.execute(status -> {
+            List<OutboxRow> batch = jdbcTemplate.query(SELECT_BATCH, (rs, rowNum) -> new OutboxRow(
+                    rs.getLong("id"),
+                    rs.getObject("transaction_id", UUID.class),
+                    rs.getObject("source_wallet_id", UUID.class),
+                    rs.getObject("destination_wallet_id", UUID.class),
+                    rs.getString("type"),
+                    rs.getBigDecimal("amount"),
+                    rs.getTimestamp("timestamp").toLocalDateTime(),
+                    rs.getTimestamp("created_at").toLocalDateTime()), partitions[worker], batchSize);
+            if (batch.isEmpty()) {
+                return batch;
+            }
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TransactionMongoEntity.class);
+            for (OutboxRow row : batch) {
+                bulk.replaceOne(Query.query(Criteria.where("_id").is(row.transactionId().toString())),
+                        row.toDocument(), FindAndReplaceOptions.options().upsert());
+            }
+            bulk.execute();
+            Long[] ids = batch.stream().map(OutboxRow::id).toArray(Long[]::new);
+            jdbcTemplate.update(DELETE_BATCH, (Object) ids);
+            return batch;
+        });
+        if (rows == null || rows.isEmpty()) {
+            return 0;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        rows.forEach(row -> lag.record(Duration.between(row.createdAt(), now)));
+        projected.increment(rows.size());
+        return rows.size();
+    }
+
+    private double backlog() {
+        try {
+            Long count = jdbcTemplate.queryForObject("SELECT count(*) FROM transaction_outbox", Long.class);
+            return count != null ? count : 0;
+        } catch (DataAccessException e) {
+            return Double.NaN;
+        }
+    }
+
+    private void sleepQuietly() {
+        try {
+            Thread.sleep(pollInterval);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record OutboxRow(
+            long id,
+            UUID transactionId,
+            UUID sourceWalletId,
+            UUID destinationWalletId,
+            String type,
+            BigDecimal amount,
+            LocalDateTime timestamp,
+            LocalDateTime createdAt) {
+
+        private TransactionMongoEntity toDocument() {
+            return TransactionMongoEntity.builder()
+                    .id(transactionId.toString())
+                    .transactionId(transactionId.toString())
+                    .sourceWalletId(sourceWalletId.toString())
+                    .destinationWalletId(destinationWalletId != null ? destinationWalletId.toString() : null)
+                    .type(type)
+                    .amount(amount)
+                    .timestamp(timestamp.toInstant(ZoneOffset.UTC).toEpochMilli())
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package dev.cantrella.ms_wallet.infra.adapter.in.web.controller;
+
+import dev.cantrella.ms_wallet.application.dto.HotWallet;
+import dev.cantrella.ms_wallet.application.port.ConsultHotWalletsUseCase;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+public class HotWalletController {
+
+    private final ConsultHotWalletsUseCase consultHotWalletsUseCase;
+
+    @GetMapping(path = "admin/hot-wallets")
+    ResponseEntity<List<HotWallet>> hotWallets() {
+        return new ResponseEntity<>(consultHotWalletsUseCase.execute(), HttpStatus.OK);
+    }
+}
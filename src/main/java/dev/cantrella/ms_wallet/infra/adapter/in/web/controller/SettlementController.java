@@ -0,0 +1,24 @@
+package dev.cantrella.ms_wallet.infra.adapter.in.web.controller;
+
+import dev.cantrella.ms_wallet.application.dto.IngestSettlementFileCommand;
+import dev.cantrella.ms_wallet.application.dto.SettlementIngestionReport;
+import dev.cantrella.ms_wallet.application.port.IngestSettlementFileUseCase;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+public class SettlementController {
+
+    private final IngestSettlementFileUseCase ingestSettlementFileUseCase;
+
+    @PostMapping(path = "admin/settlements/{fileName}/ingestion")
+    ResponseEntity<SettlementIngestionReport> ingest(@PathVariable String fileName) {
+        SettlementIngestionReport report = ingestSettlementFileUseCase.execute(new IngestSettlementFileCommand(fileName));
+        return new ResponseEntity<>(report, HttpStatus.OK);
+    }
+}
@@ -0,0 +1,27 @@
+package dev.cantrella.ms_wallet.infra.adapter.in.web.controller;
+
+import dev.cantrella.ms_wallet.domain.model.Transaction;
+import dev.cantrella.ms_wallet.domain.model.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record TransactionResponse(
+        UUID id,
+        UUID sourceWalletId,
+        UUID destinationWalletId,
+        TransactionType type,
+        BigDecimal amount,
+        LocalDateTime timestamp) {
+
+    public static TransactionResponse from(Transaction transaction) {
+        return new TransactionResponse(
+                transaction.getId(),
+                transaction.getSourceWalletId(),
+                transaction.getDestinationWalletId(),
+                transaction.getType(),
+                transaction.getAmount().toBigDecimal(),
+                transaction.getTimestamp());
+    }
+}
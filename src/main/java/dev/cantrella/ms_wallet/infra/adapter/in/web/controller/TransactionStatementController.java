@@ -0,0 +1,81 @@
+package dev.cantrella.ms_wallet.infra.adapter.in.web.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import dev.cantrella.ms_wallet.application.dto.TransactionStatementQuery;
+import dev.cantrella.ms_wallet.application.dto.TransactionStatementStreamQuery;
+import dev.cantrella.ms_wallet.application.port.ConsultTransactionStatementUseCase;
+import dev.cantrella.ms_wallet.application.port.StreamTransactionStatementUseCase;
+import dev.cantrella.ms_wallet.domain.model.Transaction;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@RestController
+@RequiredArgsConstructor
+public class TransactionStatementController {
+
+    static final int FLUSH_EVERY = 256;
+
+    private final ConsultTransactionStatementUseCase consultTransactionStatementUseCase;
+    private final StreamTransactionStatementUseCase streamTransactionStatementUseCase;
+    private final ObjectMapper objectMapper;
+
+    @GetMapping(path = "wallets/transactions", produces = MediaType.APPLICATION_JSON_VALUE)
+    ResponseEntity<TransactionStatementResponse> statement(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            @AuthenticationPrincipal Jwt jwt) {
+        String userEmail = jwt.getClaim("email");
+        TransactionStatementQuery query = new TransactionStatementQuery(userEmail, cursor, limit);
+        return new ResponseEntity<>(
+                TransactionStatementResponse.from(consultTransactionStatementUseCase.execute(query)),
+                HttpStatus.OK);
+    }
+
+    /**
+     * Writes one {@link TransactionResponse} per line straight from the log store cursor, so memory per request
+     * stays flat however long the history is.
+     */
+    @GetMapping(path = "wallets/transactions", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    ResponseEntity<StreamingResponseBody> streamStatement(
+            @RequestParam(required = false) String cursor,
+            @AuthenticationPrincipal Jwt jwt) {
+        String userEmail = jwt.getClaim("email");
+        Stream<Transaction> transactions = streamTransactionStatementUseCase.execute(
+                new TransactionStatementStreamQuery(userEmail, cursor));
+        ObjectWriter writer = objectMapper.writerFor(TransactionResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator("\n");
+        StreamingResponseBody body = outputStream -> {
+            try (transactions; JsonGenerator generator = writer.createGenerator(outputStream)) {
+                Iterator<Transaction> iterator = transactions.iterator();
+                int written = 0;
+                while (iterator.hasNext()) {
+                    writer.writeValue(generator, TransactionResponse.from(iterator.next()));
+                    if (++written % FLUSH_EVERY == 0) {
+                        generator.flush();
+                    }
+                }
+                if (written > 0) {
+                    generator.writeRaw('\n');
+                }
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+}
@@ -0,0 +1,16 @@
+package dev.cantrella.ms_wallet.infra.adapter.in.web.controller;
+
+import dev.cantrella.ms_wallet.application.dto.TransactionStatementPage;
+
+import java.util.List;
+
+public record TransactionStatementResponse(
+        List<TransactionResponse> transactions,
+        String nextCursor) {
+
+    public static TransactionStatementResponse from(TransactionStatementPage page) {
+        return new TransactionStatementResponse(
+                page.transactions().stream().map(TransactionResponse::from).toList(),
+                page.nextCursor());
+    }
+}
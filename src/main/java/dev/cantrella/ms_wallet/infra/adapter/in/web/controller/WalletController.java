@@ -2,6 +2,7 @@ package dev.cantrella.ms_wallet.infra.adapter.in.web.controller;
 
 import dev.cantrella.ms_wallet.application.dto.*;
 import dev.cantrella.ms_wallet.application.port.*;
+import dev.cantrella.ms_wallet.domain.model.Money;
 import dev.cantrella.ms_wallet.domain.model.Transaction;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -18,6 +19,8 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class WalletController {
 
+    static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
     private final CreateWalletUseCase createWalletUseCase;
     private final DepositUseCase depositUseCase;
     private final WithdrawUseCase withdrawUseCase;
@@ -25,6 +28,7 @@ public class WalletController {
     private final ConsultBalanceUseCase consultBalanceUseCase;
     private final ConsultBalanceHistoryUseCase consultBalanceHistoryUseCase;
     private final ConsultWalletIdUseCase consultWalletIdUseCase;
+    private final IdempotentTransactionExecutor idempotentTransactionExecutor;
 
     @PostMapping(path = "wallets")
     ResponseEntity<CreateWalletResponse> createWallet(
@@ -47,23 +51,27 @@ public class WalletController {
     }
 
     @PostMapping(path = "wallets/deposit")
-    ResponseEntity<Transaction> deposit(
+    ResponseEntity<TransactionResponse> deposit(
             @RequestBody @Valid DepositOrWithdrawRequest depositOrWithdrawRequest,
+            @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
             @AuthenticationPrincipal Jwt jwt) {
         String userEmail = jwt.getClaim("email");
-        DepositOrWithdrawCommand depositOrWithdrawCommand = new DepositOrWithdrawCommand(userEmail, depositOrWithdrawRequest.amount());
-        Transaction transaction = depositUseCase.execute(depositOrWithdrawCommand);
-        return new ResponseEntity<>(transaction,
+        DepositOrWithdrawCommand depositOrWithdrawCommand = new DepositOrWithdrawCommand(userEmail, Money.of(depositOrWithdrawRequest.amount()));
+        Transaction transaction = idempotentTransactionExecutor.execute("deposit", userEmail, idempotencyKey,
+                depositOrWithdrawCommand, () -> depositUseCase.execute(depositOrWithdrawCommand));
+        return new ResponseEntity<>(TransactionResponse.from(transaction),
                 HttpStatus.OK);
     }
     @PostMapping(path = "wallets/withdraw")
-    ResponseEntity<Transaction> withdraw(
+    ResponseEntity<TransactionResponse> withdraw(
             @RequestBody @Valid DepositOrWithdrawRequest depositOrWithdrawRequest,
+            @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
             @AuthenticationPrincipal Jwt jwt) {
         String userEmail = jwt.getClaim("email");
-        DepositOrWithdrawCommand depositOrWithdrawCommand = new DepositOrWithdrawCommand(userEmail, depositOrWithdrawRequest.amount());
-        Transaction transaction = withdrawUseCase.execute(depositOrWithdrawCommand);
-        return new ResponseEntity<>(transaction,
+        DepositOrWithdrawCommand depositOrWithdrawCommand = new DepositOrWithdrawCommand(userEmail, Money.of(depositOrWithdrawRequest.amount()));
+        Transaction transaction = idempotentTransactionExecutor.execute("withdraw", userEmail, idempotencyKey,
+                depositOrWithdrawCommand, () -> withdrawUseCase.execute(depositOrWithdrawCommand));
+        return new ResponseEntity<>(TransactionResponse.from(transaction),
                 HttpStatus.OK);
     }
 
@@ -90,15 +98,17 @@ public class WalletController {
     }
 
     @PostMapping(path = "/transfers")
-    ResponseEntity<Transaction> transfer(
+    ResponseEntity<TransactionResponse> transfer(
             @RequestBody @Valid TransferRequest transferRequest,
+            @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
             @AuthenticationPrincipal Jwt jwt) {
         TransferCommand transferCommand = new TransferCommand(
                 UUID.fromString(transferRequest.sourceWalletId()),
                 UUID.fromString(transferRequest.destinationWalletId()),
-                transferRequest.amount());
-        Transaction transaction = transferUseCase.execute(transferCommand);
-        return new ResponseEntity<>(transaction,
+                Money.of(transferRequest.amount()));
+        Transaction transaction = idempotentTransactionExecutor.execute("transfer", jwt.getClaim("email"), idempotencyKey,
+                transferCommand, () -> transferUseCase.execute(transferCommand));
+        return new ResponseEntity<>(TransactionResponse.from(transaction),
                 HttpStatus.OK);
     }
 
@@ -1,6 +1,9 @@
 package dev.cantrella.ms_wallet.infra.adapter.in.web.exception;
 
 import dev.cantrella.ms_wallet.application.exception.ApplicationException;
+import dev.cantrella.ms_wallet.application.exception.IdempotencyConflictException;
+import dev.cantrella.ms_wallet.application.exception.IdempotencyKeyMismatchException;
+import dev.cantrella.ms_wallet.application.exception.SettlementIngestionConflictException;
 import dev.cantrella.ms_wallet.application.exception.WalletNotFoundException;
 import dev.cantrella.ms_wallet.domain.exception.DomainException;
 import org.springframework.http.HttpStatus;
@@ -28,6 +31,30 @@ public class GlobalExceptionHandler {
         );
     }
 
+    @ExceptionHandler(IdempotencyConflictException.class)
+    public ProblemDetail handleIdempotencyConflictException(IdempotencyConflictException e) {
+        return ProblemDetail.forStatusAndDetail(
+                HttpStatus.CONFLICT,
+                e.getMessage()
+        );
+    }
+
+    @ExceptionHandler(IdempotencyKeyMismatchException.class)
+    public ProblemDetail handleIdempotencyKeyMismatchException(IdempotencyKeyMismatchException e) {
+        return ProblemDetail.forStatusAndDetail(
+                HttpStatus.UNPROCESSABLE_ENTITY,
+                e.getMessage()
+        );
+    }
+
+    @ExceptionHandler(SettlementIngestionConflictException.class)
+    public ProblemDetail handleSettlementIngestionConflictException(SettlementIngestionConflictException e) {
+        return ProblemDetail.forStatusAndDetail(
+                HttpStatus.CONFLICT,
+                e.getMessage()
+        );
+    }
+
     @ExceptionHandler(DomainException.class)
     public ProblemDetail handleDomainException(DomainException e) {
         return ProblemDetail.forStatusAndDetail(
@@ -0,0 +1,47 @@
+package dev.cantrella.ms_wallet.infra.adapter.out.cache;
+
+import dev.cantrella.ms_wallet.application.config.CacheTtlPolicy;
+import dev.cantrella.ms_wallet.application.dto.BalanceResponse;
+import dev.cantrella.ms_wallet.application.event.BalanceChangedEvent;
+import dev.cantrella.ms_wallet.ports.out.CachePort;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Writes the committed balance into the cache once the write transaction is durable, so readers never see
+ * a balance that was rolled back and the next read after a write is a hit. Listeners of concurrent commits can run
+ * in any order, so the write only lands if its wallet version is newer than the cached one. Sharded balances don't
+ * move the wallet version and are evicted instead.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BalanceCacheWriter {
+
+    private final CachePort cachePort;
+    private final CacheTtlPolicy cacheTtlPolicy;
+    @Value("${wallet.sharding.enabled:false}")
+    private boolean shardingEnabled;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBalanceChanged(BalanceChangedEvent event) {
+        if (shardingEnabled) {
+            cachePort.evict(event.userId());
+            return;
+        }
+        try {
+            cachePort.putIfNewer(
+                    event.userId(),
+                    new BalanceResponse(event.walletId(), event.balance().toBigDecimal()),
+                    event.version(),
+                    cacheTtlPolicy.balance());
+        } catch (RuntimeException e) {
+            log.warn("Could not write balance of user {} to cache, evicting it", event.userId(), e);
+            cachePort.evict(event.userId());
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package dev.cantrella.ms_wallet.infra.adapter.out.cache;
+
+import dev.cantrella.ms_wallet.application.dto.BalanceResponse;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Compact encoding for the values the wallet caches: a one-byte type tag followed by a fixed binary layout.
+ * Tags are below any printable character, so entries written by the JSON serializer (which start with
+ * {@code {} or {@code "}) are still read through {@code fallback}; types without a binary layout are written
+ * with it as well.
+ */
+public class BinaryCacheValueSerializer implements RedisSerializer<Object> {
+
+    static final byte TAG_STRING = 0x01;
+    static final byte TAG_BALANCE = 0x02;
+    static final byte TAG_BALANCE_BIG = 0x03;
+    static final byte TAG_UUID_STRING = 0x04;
+
+    private static final int UUID_BYTES = 16;
+
+    private final RedisSerializer<Object> fallback;
+
+    public BinaryCacheValueSerializer(RedisSerializer<Object> fallback) {
+        this.fallback = fallback;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value instanceof String string) {
+            if (isCanonicalUuid(string)) {
+                ByteBuffer buffer = ByteBuffer.allocate(1 + UUID_BYTES).put(TAG_UUID_STRING);
+                putUuid(buffer, UUID.fromString(string));
+                return buffer.array();
+            }
+            byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            return ByteBuffer.allocate(1 + bytes.length).put(TAG_STRING).put(bytes).array();
+        }
+        if (value instanceof BalanceResponse balanceResponse) {
+            return serializeBalance(balanceResponse);
+        }
+        return fallback.serialize(value);
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        return switch (bytes[0]) {
+            case TAG_STRING -> new String(bytes, 1, bytes.length - 1, StandardCharsets.UTF_8);
+            case TAG_UUID_STRING -> getUuid(ByteBuffer.wrap(bytes, 1, UUID_BYTES)).toString();
+            case TAG_BALANCE -> deserializeBalance(ByteBuffer.wrap(bytes, 1, bytes.length - 1));
+            case TAG_BALANCE_BIG -> deserializeBigBalance(ByteBuffer.wrap(bytes, 1, bytes.length - 1));
+            default -> fallback.deserialize(bytes);
+        };
+    }
+
+    private byte[] serializeBalance(BalanceResponse balanceResponse) {
+        BigDecimal balance = balanceResponse.balance();
+        BigInteger unscaled = balance.unscaledValue();
+        if (unscaled.bitLength() < Long.SIZE) {
+            ByteBuffer buffer = ByteBuffer.allocate(1 + UUID_BYTES + Long.BYTES + Integer.BYTES).put(TAG_BALANCE);
+            putUuid(buffer, balanceResponse.walletId());
+            return buffer.putLong(unscaled.longValue()).putInt(balance.scale()).array();
+        }
+        byte[] unscaledBytes = unscaled.toByteArray();
+        ByteBuffer buffer = ByteBuffer.allocate(1 + UUID_BYTES + Integer.BYTES + unscaledBytes.length).put(TAG_BALANCE_BIG);
+        putUuid(buffer, balanceResponse.walletId());
+        return buffer.putInt(balance.scale()).put(unscaledBytes).array();
+    }
+
+    private BalanceResponse deserializeBalance(ByteBuffer buffer) {
+        UUID walletId = getUuid(buffer);
+        long unscaled = buffer.getLong();
+        return new BalanceResponse(walletId, BigDecimal.valueOf(unscaled, buffer.getInt()));
+    }
+
+    private BalanceResponse deserializeBigBalance(ByteBuffer buffer) {
+        UUID walletId = getUuid(buffer);
+        int scale = buffer.getInt();
+        byte[] unscaled = new byte[buffer.remaining()];
+        buffer.get(unscaled);
+        return new BalanceResponse(walletId, new BigDecimal(new BigInteger(unscaled), scale));
+    }
+
+    private static boolean isCanonicalUuid(String value) {
+        if (value.length() != 36) {
+            return false;
+        }
+        try {
+            return UUID.fromString(value).toString().equals(value);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static void putUuid(ByteBuffer buffer, UUID uuid) {
+        buffer.putLong(uuid.getMostSignificantBits()).putLong(uuid.getLeastSignificantBits());
+    }
+
+    private static UUID getUuid(ByteBuffer buffer) {
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+}
@@ -0,0 +1,96 @@
+package dev.cantrella.ms_wallet.infra.adapter.out.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import dev.cantrella.ms_wallet.infra.config.NearCacheConfig;
+import dev.cantrella.ms_wallet.ports.out.CachePort;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * In-process cache in front of {@link RedisCacheAdapter}. Entries live at most
+ * {@code wallet.near-cache.max-staleness}; writes and evictions are broadcast to the other instances through
+ * Redis pub/sub.
+ */
+@Component
+@Primary
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "wallet.near-cache.enabled", havingValue = "true", matchIfMissing = true)
+public class NearCacheAdapter implements CachePort {
+
+    private final RedisCacheAdapter redisCacheAdapter;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final Cache<String, Object> walletNearCache;
+
+    @Override
+    public <T> T get(String key, Class<T> type) {
+        Object nearValue = walletNearCache.getIfPresent(key);
+        if (type.isInstance(nearValue)) {
+            return type.cast(nearValue);
+        }
+        T value = redisCacheAdapter.get(key, type);
+        if (value != null) {
+            walletNearCache.put(key, value);
+        }
+        return value;
+    }
+
+    @Override
+    public void put(String key, Object value, Duration ttl) {
+        redisCacheAdapter.put(key, value, ttl);
+        walletNearCache.put(key, value);
+        publishInvalidation(key);
+    }
+
+    @Override
+    public boolean putIfAbsent(String key, Object value, Duration ttl) {
+        if (redisCacheAdapter.putIfAbsent(key, value, ttl)) {
+            walletNearCache.put(key, value);
+            return true;
+        }
+        walletNearCache.invalidate(key);
+        return false;
+    }
+
+    @Override
+    public boolean putIfNewer(String key, Object value, long version, Duration ttl) {
+        boolean stored = redisCacheAdapter.putIfNewer(key, value, version, ttl);
+        // Not kept locally: two local writes could still reach the near cache out of order, Redis decides instead.
+        walletNearCache.invalidate(key);
+        if (stored) {
+            publishInvalidation(key);
+        }
+        return stored;
+    }
+
+    @Override
+    public void evict(String key) {
+        walletNearCache.invalidate(key);
+        redisCacheAdapter.evict(key);
+        publishInvalidation(key);
+    }
+
+    @Override
+    public <T> T getOrLoad(String key, Class<T> type, Duration ttl, Supplier<T> loader) {
+        Object nearValue = walletNearCache.getIfPresent(key);
+        if (type.isInstance(nearValue)) {
+            return type.cast(nearValue);
+        }
+        T value = redisCacheAdapter.getOrLoad(key, type, ttl, loader);
+        if (value != null) {
+            walletNearCache.put(key, value);
+        }
+        return value;
+    }
+
+    private void publishInvalidation(String key) {
+        stringRedisTemplate.convertAndSend(
+                NearCacheConfig.INVALIDATION_CHANNEL,
+                NearCacheConfig.invalidationMessage(NearCacheConfig.INSTANCE_ID, key));
+    }
+}
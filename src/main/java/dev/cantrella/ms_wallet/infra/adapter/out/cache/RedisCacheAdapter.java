@@ -3,13 +3,34 @@ package dev.cantrella.ms_wallet.infra.adapter.out.cache;
 import dev.cantrella.ms_wallet.ports.out.CachePort;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+
 @Component
 @RequiredArgsConstructor
 public class RedisCacheAdapter implements CachePort {
 
+    // KEYS[1] value, KEYS[2] version; ARGV value, version, value ttl ms, version ttl ms.
+    private static final RedisScript<Long> PUT_IF_NEWER = new DefaultRedisScript<>("""
+            local stored = redis.call('GET', KEYS[2])
+            if stored and tonumber(stored) >= tonumber(ARGV[2]) then
+                return 0
+            end
+            redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[3])
+            redis.call('SET', KEYS[2], ARGV[2], 'PX', ARGV[4])
+            return 1
+            """, Long.class);
+
     private final RedisTemplate<String, Object> redisTemplate;
+    private final SingleFlightLoader singleFlightLoader;
 
     @Override
     public <T> T get(String key, Class<T> type) {
@@ -17,12 +38,49 @@ public class RedisCacheAdapter implements CachePort {
     }
 
     @Override
-    public void put(String key, Object value) {
-        redisTemplate.opsForValue().set(key, value);
+    public void put(String key, Object value, Duration ttl) {
+        redisTemplate.opsForValue().set(key, value, ttl);
+    }
+
+    @Override
+    public boolean putIfAbsent(String key, Object value, Duration ttl) {
+        return Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(key, value, ttl));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean putIfNewer(String key, Object value, long version, Duration ttl) {
+        byte[] serialized = ((RedisSerializer<Object>) redisTemplate.getValueSerializer()).serialize(value);
+        // The version outlives the value, so a late write is still rejected after the value expired or was evicted.
+        Long stored = redisTemplate.execute(PUT_IF_NEWER, RedisSerializer.byteArray(),
+                new GenericToStringSerializer<>(Long.class),
+                List.of(key, versionKey(key)),
+                serialized, ascii(version), ascii(ttl.toMillis()), ascii(ttl.multipliedBy(2).toMillis()));
+        return stored != null && stored == 1L;
     }
 
     @Override
     public void evict(String key) {
         redisTemplate.delete(key);
     }
+
+    @Override
+    public <T> T getOrLoad(String key, Class<T> type, Duration ttl, Supplier<T> loader) {
+        T cached = get(key, type);
+        if (cached != null) {
+            return cached;
+        }
+        return singleFlightLoader.load(key, () -> get(key, type), loader, value -> putIfAbsent(key, value, ttl));
+    }
+
+    /**
+     * The hash tag makes the version key land in the same cluster slot as {@code key}.
+     */
+    static String versionKey(String key) {
+        return "{" + key + "}:version";
+    }
+
+    private static byte[] ascii(long value) {
+        return Long.toString(value).getBytes(StandardCharsets.US_ASCII);
+    }
 }
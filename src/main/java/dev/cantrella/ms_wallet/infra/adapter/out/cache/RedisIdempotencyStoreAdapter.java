@@ -0,0 +1,96 @@
+package dev.cantrella.ms_wallet.infra.adapter.out.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.cantrella.ms_wallet.application.config.IdempotencyPolicy;
+import dev.cantrella.ms_wallet.application.dto.IdempotencyRecord;
+import dev.cantrella.ms_wallet.domain.model.Money;
+import dev.cantrella.ms_wallet.domain.model.Transaction;
+import dev.cantrella.ms_wallet.domain.model.TransactionType;
+import dev.cantrella.ms_wallet.ports.out.IdempotencyStorePort;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Keeps idempotency keys in Redis: {@code SET NX} with a short TTL claims a key, and the completed
+ * {@link Transaction} with its request fingerprint replaces the marker for the full retention TTL. Completed results
+ * are immutable, so they are also kept in a local cache that answers retries without a Redis round trip.
+ */
+@Component
+public class RedisIdempotencyStoreAdapter implements IdempotencyStorePort {
+
+    static final String IN_FLIGHT = "in-flight";
+    private static final char SEPARATOR = '|';
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final Cache<String, IdempotencyRecord> completed;
+
+    public RedisIdempotencyStoreAdapter(
+            StringRedisTemplate stringRedisTemplate,
+            IdempotencyPolicy idempotencyPolicy,
+            @Value("${wallet.idempotency.local-cache.maximum-size:10000}") long localCacheSize) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.completed = Caffeine.newBuilder()
+                .maximumSize(localCacheSize)
+                .expireAfterWrite(idempotencyPolicy.ttl())
+                .build();
+    }
+
+    @Override
+    public Optional<IdempotencyRecord> findCompleted(String key) {
+        IdempotencyRecord local = completed.getIfPresent(key);
+        if (local != null) {
+            return Optional.of(local);
+        }
+        String value = stringRedisTemplate.opsForValue().get(key);
+        if (value == null || IN_FLIGHT.equals(value)) {
+            return Optional.empty();
+        }
+        int separator = value.indexOf(SEPARATOR);
+        IdempotencyRecord record = new IdempotencyRecord(value.substring(0, separator), decode(value.substring(separator + 1)));
+        completed.put(key, record);
+        return Optional.of(record);
+    }
+
+    @Override
+    public boolean claim(String key, Duration ttl) {
+        return Boolean.TRUE.equals(stringRedisTemplate.opsForValue().setIfAbsent(key, IN_FLIGHT, ttl));
+    }
+
+    @Override
+    public void complete(String key, IdempotencyRecord record, Duration ttl) {
+        stringRedisTemplate.opsForValue().set(key, record.fingerprint() + SEPARATOR + encode(record.transaction()), ttl);
+        completed.put(key, record);
+    }
+
+    @Override
+    public void release(String key) {
+        stringRedisTemplate.delete(key);
+    }
+
+    static String encode(Transaction transaction) {
+        return String.valueOf(transaction.getId()) + SEPARATOR
+                + transaction.getSourceWalletId() + SEPARATOR
+                + (transaction.getDestinationWalletId() == null ? "" : transaction.getDestinationWalletId()) + SEPARATOR
+                + transaction.getType() + SEPARATOR
+                + transaction.getAmount().minorUnits() + SEPARATOR
+                + transaction.getTimestamp();
+    }
+
+    static Transaction decode(String value) {
+        String[] fields = value.split("\\|", -1);
+        return Transaction.reconstruct(
+                UUID.fromString(fields[0]),
+                UUID.fromString(fields[1]),
+                fields[2].isEmpty() ? null : UUID.fromString(fields[2]),
+                TransactionType.valueOf(fields[3]),
+                Money.ofMinor(Long.parseLong(fields[4])),
+                LocalDateTime.parse(fields[5]));
+    }
+}
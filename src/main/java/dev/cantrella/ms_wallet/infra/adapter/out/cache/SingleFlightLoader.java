@@ -0,0 +1,132 @@
+package dev.cantrella.ms_wallet.infra.adapter.out.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent cache misses on the same key into one load. Callers in this instance wait on the
+ * in-flight load; with {@code wallet.cache.load-lock.enabled} a short Redis lock also makes other instances
+ * wait for the value instead of querying the database.
+ */
+@Component
+@Slf4j
+public class SingleFlightLoader {
+
+    public static final String LOADS_METRIC = "wallet.cache.loads";
+    private static final String LOCK_PREFIX = "lock:load:";
+    private static final Duration LOCK_POLL_INTERVAL = Duration.ofMillis(10);
+    private static final RedisScript<Long> RELEASE_LOCK = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final ConcurrentHashMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final StringRedisTemplate stringRedisTemplate;
+    private final boolean lockEnabled;
+    private final Duration lockTtl;
+    private final Duration lockWait;
+    private final Counter loaded;
+    private final Counter coalesced;
+    private final Counter coalescedRemote;
+
+    public SingleFlightLoader(
+            StringRedisTemplate stringRedisTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${wallet.cache.load-lock.enabled:false}") boolean lockEnabled,
+            @Value("${wallet.cache.load-lock.ttl:2s}") Duration lockTtl,
+            @Value("${wallet.cache.load-lock.wait:200ms}") Duration lockWait) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.lockEnabled = lockEnabled;
+        this.lockTtl = lockTtl;
+        this.lockWait = lockWait;
+        this.loaded = meterRegistry.counter(LOADS_METRIC, "outcome", "loaded");
+        this.coalesced = meterRegistry.counter(LOADS_METRIC, "outcome", "coalesced");
+        this.coalescedRemote = meterRegistry.counter(LOADS_METRIC, "outcome", "coalesced_remote");
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T load(String key, Supplier<T> cacheRead, Supplier<T> loader, Consumer<T> store) {
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            coalesced.increment();
+            return (T) join(existing);
+        }
+        try {
+            T value = lockEnabled ? loadUnderLock(key, cacheRead, loader, store) : loadAndStore(loader, store);
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private <T> T loadUnderLock(String key, Supplier<T> cacheRead, Supplier<T> loader, Consumer<T> store) {
+        String lockKey = LOCK_PREFIX + key;
+        String token = UUID.randomUUID().toString();
+        if (Boolean.TRUE.equals(stringRedisTemplate.opsForValue().setIfAbsent(lockKey, token, lockTtl))) {
+            try {
+                return loadAndStore(loader, store);
+            } finally {
+                stringRedisTemplate.execute(RELEASE_LOCK, List.of(lockKey), token);
+            }
+        }
+        long deadline = System.nanoTime() + lockWait.toNanos();
+        while (System.nanoTime() < deadline) {
+            sleep();
+            T value = cacheRead.get();
+            if (value != null) {
+                coalescedRemote.increment();
+                return value;
+            }
+        }
+        log.debug("Gave up waiting for the load lock of {}, loading it locally", key);
+        return loadAndStore(loader, store);
+    }
+
+    private <T> T loadAndStore(Supplier<T> loader, Consumer<T> store) {
+        T value = loader.get();
+        loaded.increment();
+        if (value != null) {
+            store.accept(value);
+        }
+        return value;
+    }
+
+    private static Object join(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(LOCK_POLL_INTERVAL);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a cache load", e);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package dev.cantrella.ms_wallet.infra.adapter.out.contention;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size frequency sketch: {@code depth} rows of {@code width} counters, one counter per row incremented for
+ * each key. The estimate is the smallest of a key's counters, which never undercounts and overcounts by at most
+ * {@code e * total / width} with probability {@code 1 - e^-depth}.
+ */
+final class CountMinSketch {
+
+    private final int depth;
+    private final int width;
+    private final AtomicLongArray counters;
+
+    CountMinSketch(int depth, int width) {
+        this.depth = depth;
+        this.width = width;
+        this.counters = new AtomicLongArray(depth * width);
+    }
+
+    void add(UUID key, long delta) {
+        long h1 = mix(key.getMostSignificantBits() ^ Long.rotateLeft(key.getLeastSignificantBits(), 32));
+        long h2 = mix(key.getLeastSignificantBits()) | 1;
+        for (int row = 0; row < depth; row++) {
+            counters.addAndGet(index(row, h1, h2), delta);
+        }
+    }
+
+    long estimate(UUID key) {
+        long h1 = mix(key.getMostSignificantBits() ^ Long.rotateLeft(key.getLeastSignificantBits(), 32));
+        long h2 = mix(key.getLeastSignificantBits()) | 1;
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.get(index(row, h1, h2)));
+        }
+        return estimate;
+    }
+
+    void clear() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.set(i, 0);
+        }
+    }
+
+    // Remixed per row: with plain h1 + row * h2, two keys equal in both modulo width would collide in every row.
+    private int index(int row, long h1, long h2) {
+        return row * width + (int) Long.remainderUnsigned(mix(h1 + row * h2), width);
+    }
+
+    private static long mix(long value) {
+        value = (value ^ (value >>> 33)) * 0xff51afd7ed558ccdL;
+        value = (value ^ (value >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return value ^ (value >>> 33);
+    }
+}
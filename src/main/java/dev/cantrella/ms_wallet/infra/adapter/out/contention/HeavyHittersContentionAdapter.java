@@ -0,0 +1,220 @@
+package dev.cantrella.ms_wallet.infra.adapter.out.contention;
+
+import dev.cantrella.ms_wallet.application.dto.HotWallet;
+import dev.cantrella.ms_wallet.ports.out.WalletContentionPort;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks the hottest wallets in constant memory: operation counts, lock wait and optimistic write conflicts go into
+ * Count-Min sketches and the {@code top-k} wallets by estimated operations are kept in a fixed array, whatever the
+ * number of wallets. Counts cover the current and the previous {@code window}; every window the older sketches are
+ * cleared and reused.
+ */
+@Component
+public class HeavyHittersContentionAdapter implements WalletContentionPort, DisposableBean {
+
+    public static final String HOT_OPERATIONS_METRIC = "wallet.contention.hot.operations";
+    public static final String HOT_LOCK_WAIT_METRIC = "wallet.contention.hot.lock.wait";
+
+    private final int topK;
+    private final long windowNanos;
+    private final ScheduledExecutorService scheduler;
+    private final UUID[] topIds;
+    private final long[] topCounts;
+    private int topSize;
+    private volatile long admissionFloor;
+    private volatile Window current;
+    private volatile Window previous;
+
+    public HeavyHittersContentionAdapter(
+            MeterRegistry meterRegistry,
+            @Value("${wallet.contention.sketch-depth:4}") int depth,
+            @Value("${wallet.contention.sketch-width:2048}") int width,
+            @Value("${wallet.contention.top-k:20}") int topK,
+            @Value("${wallet.contention.window:10s}") Duration window) {
+        this.topK = topK;
+        this.windowNanos = window.toNanos();
+        this.topIds = new UUID[topK];
+        this.topCounts = new long[topK];
+        this.current = new Window(depth, width, System.nanoTime());
+        this.previous = new Window(depth, width, System.nanoTime() - windowNanos);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("contention-window").daemon().factory());
+        scheduler.scheduleAtFixedRate(this::rotate, windowNanos, windowNanos, TimeUnit.NANOSECONDS);
+        for (int rank = 1; rank <= topK; rank++) {
+            int index = rank - 1;
+            Gauge.builder(HOT_OPERATIONS_METRIC, () -> rankValue(index, true))
+                    .tag("rank", String.valueOf(rank))
+                    .baseUnit("operations/s")
+                    .register(meterRegistry);
+            Gauge.builder(HOT_LOCK_WAIT_METRIC, () -> rankValue(index, false))
+                    .tag("rank", String.valueOf(rank))
+                    .baseUnit("ms/operation")
+                    .register(meterRegistry);
+        }
+    }
+
+    @Override
+    public void record(UUID walletId, int operations, long lockWaitNanos) {
+        Window window = current;
+        window.operations.add(walletId, operations);
+        window.lockWaitNanos.add(walletId, lockWaitNanos);
+        long estimate = operations(walletId);
+        // Wallets colder than the coldest tracked one are rejected without taking the lock.
+        if (estimate > admissionFloor) {
+            offer(walletId, estimate);
+        }
+    }
+
+    @Override
+    public void recordConflict(UUID walletId) {
+        current.conflicts.add(walletId, 1);
+    }
+
+    @Override
+    public double conflictRate(UUID walletId) {
+        long operations = operations(walletId);
+        if (operations == 0) {
+            return 0;
+        }
+        long conflicts = current.conflicts.estimate(walletId) + previous.conflicts.estimate(walletId);
+        return Math.min(1.0, (double) conflicts / operations);
+    }
+
+    @Override
+    public List<HotWallet> hottest() {
+        UUID[] ids;
+        synchronized (this) {
+            ids = new UUID[topSize];
+            System.arraycopy(topIds, 0, ids, 0, topSize);
+        }
+        double seconds = Math.max(System.nanoTime() - previous.startNanos, 1) / 1_000_000_000.0;
+        List<HotWallet> hottest = new ArrayList<>(ids.length);
+        for (UUID id : ids) {
+            long operations = operations(id);
+            long lockWaitNanos = current.lockWaitNanos.estimate(id) + previous.lockWaitNanos.estimate(id);
+            hottest.add(new HotWallet(id, operations / seconds,
+                    operations == 0 ? 0 : lockWaitNanos / 1_000_000.0 / operations));
+        }
+        hottest.sort(Comparator.comparingDouble(HotWallet::operationsPerSecond).reversed());
+        return hottest;
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+
+    synchronized void rotate() {
+        Window expired = previous;
+        expired.operations.clear();
+        expired.lockWaitNanos.clear();
+        expired.conflicts.clear();
+        Window ended = current;
+        current = new Window(expired, System.nanoTime());
+        previous = ended;
+        for (int i = 0; i < topSize; i++) {
+            topCounts[i] = operations(topIds[i]);
+        }
+        // Keep wallets that cooled down to zero out of the ranking.
+        int kept = 0;
+        for (int i = 0; i < topSize; i++) {
+            if (topCounts[i] > 0) {
+                topIds[kept] = topIds[i];
+                topCounts[kept++] = topCounts[i];
+            }
+        }
+        for (int i = kept; i < topSize; i++) {
+            topIds[i] = null;
+        }
+        topSize = kept;
+        updateFloor();
+    }
+
+    private synchronized void offer(UUID walletId, long estimate) {
+        for (int i = 0; i < topSize; i++) {
+            if (topIds[i].equals(walletId)) {
+                topCounts[i] = estimate;
+                updateFloor();
+                return;
+            }
+        }
+        if (topSize < topK) {
+            topIds[topSize] = walletId;
+            topCounts[topSize++] = estimate;
+        } else {
+            int coldest = coldest();
+            if (estimate <= topCounts[coldest]) {
+                return;
+            }
+            topIds[coldest] = walletId;
+            topCounts[coldest] = estimate;
+        }
+        updateFloor();
+    }
+
+    private int coldest() {
+        int coldest = 0;
+        for (int i = 1; i < topSize; i++) {
+            if (topCounts[i] < topCounts[coldest]) {
+                coldest = i;
+            }
+        }
+        return coldest;
+    }
+
+    private void updateFloor() {
+        admissionFloor = topSize < topK ? 0 : topCounts[coldest()];
+    }
+
+    private long operations(UUID walletId) {
+        return current.operations.estimate(walletId) + previous.operations.estimate(walletId);
+    }
+
+    private double rankValue(int index, boolean rate) {
+        List<HotWallet> hottest = hottest();
+        if (index >= hottest.size()) {
+            return 0;
+        }
+        HotWallet wallet = hottest.get(index);
+        return rate ? wallet.operationsPerSecond() : wallet.lockWaitMillisPerOperation();
+    }
+
+    private static final class Window {
+
+        private final CountMinSketch operations;
+        private final CountMinSketch lockWaitNanos;
+        private final CountMinSketch conflicts;
+        private final long startNanos;
+
+        private Window(int depth, int width, long startNanos) {
+            this(new CountMinSketch(depth, width), new CountMinSketch(depth, width), new CountMinSketch(depth, width),
+                    startNanos);
+        }
+
+        private Window(Window cleared, long startNanos) {
+            this(cleared.operations, cleared.lockWaitNanos, cleared.conflicts, startNanos);
+        }
+
+        private Window(CountMinSketch operations, CountMinSketch lockWaitNanos, CountMinSketch conflicts,
+                       long startNanos) {
+            this.operations = operations;
+            this.lockWaitNanos = lockWaitNanos;
+            this.conflicts = conflicts;
+            this.startNanos = startNanos;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package dev.cantrella.ms_wallet.infra.adapter.out.directory;
+
+import dev.cantrella.ms_wallet.ports.out.WalletDirectoryPort;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Open-addressing hash table of user id hash to wallet id in a memory-mapped file, so the directory lives outside
+ * the Java heap. Each 32-byte slot holds the 128-bit Murmur3 hash of the user id followed by the wallet id; the
+ * high hash word is written last with release semantics and doubles as the occupied marker, so lookups take no lock.
+ * The file is recreated on every start and warmed from the wallets table, it is not a source of truth.
+ */
+@Component
+@Slf4j
+public class MappedWalletDirectoryAdapter implements WalletDirectoryPort, DisposableBean {
+
+    static final int SLOT_BYTES = 32;
+    private static final int SEGMENT_SHIFT = 25;
+    private static final long SEGMENT_SLOTS = 1L << SEGMENT_SHIFT;
+    private static final long MAX_LOAD_PERCENT = 75;
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    private final Path file;
+    private final MappedByteBuffer[] segments;
+    private final long mask;
+    private final long maxEntries;
+    private volatile long entries;
+    private boolean fullWarned;
+
+    public MappedWalletDirectoryAdapter(
+            @Value("${wallet.directory.file}") Path file,
+            @Value("${wallet.directory.capacity:1000000}") long capacity,
+            MeterRegistry meterRegistry) {
+        this.file = file.toAbsolutePath();
+        long slots = Long.highestOneBit(Math.max(capacity * 100 / MAX_LOAD_PERCENT, 16) - 1) << 1;
+        this.mask = slots - 1;
+        this.maxEntries = slots * MAX_LOAD_PERCENT / 100;
+        this.segments = map(this.file, slots);
+        Gauge.builder("wallet.directory.entries", this, directory -> directory.entries)
+                .description("User to wallet mappings held in the off-heap directory")
+                .register(meterRegistry);
+        Gauge.builder("wallet.directory.capacity", this, directory -> directory.maxEntries)
+                .register(meterRegistry);
+        log.info("Wallet directory mapped at {} with {} slots ({} MB)", this.file, slots, slots * SLOT_BYTES >> 20);
+    }
+
+    @Override
+    public Optional<UUID> find(String userId) {
+        Murmur3.Hash128 hash = hash(userId);
+        for (long slot = hash.low() & mask; ; slot = (slot + 1) & mask) {
+            MappedByteBuffer segment = segments[(int) (slot >>> SEGMENT_SHIFT)];
+            int offset = (int) (slot & (SEGMENT_SLOTS - 1)) * SLOT_BYTES;
+            long high = (long) LONGS.getAcquire(segment, offset);
+            if (high == 0) {
+                return Optional.empty();
+            }
+            if (high == hash.high() && segment.getLong(offset + 8) == hash.low()) {
+                return Optional.of(new UUID(segment.getLong(offset + 16), segment.getLong(offset + 24)));
+            }
+        }
+    }
+
+    @Override
+    public synchronized void put(String userId, UUID walletId) {
+        Murmur3.Hash128 hash = hash(userId);
+        for (long slot = hash.low() & mask; ; slot = (slot + 1) & mask) {
+            MappedByteBuffer segment = segments[(int) (slot >>> SEGMENT_SHIFT)];
+            int offset = (int) (slot & (SEGMENT_SLOTS - 1)) * SLOT_BYTES;
+            long high = segment.getLong(offset);
+            if (high == hash.high() && segment.getLong(offset + 8) == hash.low()) {
+                return;
+            }
+            if (high == 0) {
+                if (entries >= maxEntries) {
+                    if (!fullWarned) {
+                        fullWarned = true;
+                        log.warn("Wallet directory is full at {} entries, raise wallet.directory.capacity", entries);
+                    }
+                    return;
+                }
+                segment.putLong(offset + 8, hash.low());
+                segment.putLong(offset + 16, walletId.getMostSignificantBits());
+                segment.putLong(offset + 24, walletId.getLeastSignificantBits());
+                LONGS.setRelease(segment, offset, hash.high());
+                entries++;
+                return;
+            }
+        }
+    }
+
+    long size() {
+        return entries;
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    private static Murmur3.Hash128 hash(String userId) {
+        Murmur3.Hash128 hash = Murmur3.hash128(userId.getBytes(StandardCharsets.UTF_8));
+        // A zero high word marks an empty slot.
+        return hash.high() == 0 ? new Murmur3.Hash128(1, hash.low()) : hash;
+    }
+
+    private static MappedByteBuffer[] map(Path file, long slots) {
+        try {
+            Files.createDirectories(file.getParent());
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                int count = (int) ((slots + SEGMENT_SLOTS - 1) >>> SEGMENT_SHIFT);
+                MappedByteBuffer[] segments = new MappedByteBuffer[count];
+                for (int i = 0; i < count; i++) {
+                    long segmentSlots = Math.min(SEGMENT_SLOTS, slots - ((long) i << SEGMENT_SHIFT));
+                    segments[i] = channel.map(FileChannel.MapMode.READ_WRITE,
+                            ((long) i << SEGMENT_SHIFT) * SLOT_BYTES, segmentSlots * SLOT_BYTES);
+                    segments[i].order(ByteOrder.nativeOrder());
+                }
+                return segments;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not map wallet directory at " + file, e);
+        }
+    }
+}
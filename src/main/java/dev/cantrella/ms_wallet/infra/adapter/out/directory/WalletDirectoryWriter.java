@@ -0,0 +1,57 @@
+package dev.cantrella.ms_wallet.infra.adapter.out.directory;
+
+import dev.cantrella.ms_wallet.application.event.WalletCreatedEvent;
+import dev.cantrella.ms_wallet.ports.out.WalletDirectoryPort;
+import dev.cantrella.ms_wallet.ports.out.WalletRepositoryPort;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fills the wallet directory from the wallets table once the application is up, in the background so startup does
+ * not wait on it, and adds wallets as their creation commits. Lookups fall back to the cache and database until
+ * the warm-up reaches their user.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WalletDirectoryWriter {
+
+    private final WalletDirectoryPort walletDirectoryPort;
+    private final WalletRepositoryPort walletRepositoryPort;
+    private final PlatformTransactionManager transactionManager;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        Thread.ofVirtual().name("wallet-directory-warm-up").start(this::load);
+    }
+
+    void load() {
+        long start = System.nanoTime();
+        AtomicLong loaded = new AtomicLong();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        try {
+            transaction.executeWithoutResult(status -> walletRepositoryPort.forEachWalletId((userId, walletId) -> {
+                walletDirectoryPort.put(userId, walletId);
+                loaded.incrementAndGet();
+            }));
+            log.info("Wallet directory warmed with {} wallets in {} ms", loaded.get(), (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.error("Could not warm the wallet directory after {} wallets", loaded.get(), e);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onWalletCreated(WalletCreatedEvent event) {
+        walletDirectoryPort.put(event.userId(), event.walletId());
+    }
+}
@@ -0,0 +1,275 @@
+package dev.cantrella.ms_wallet.infra.adapter.out.file;
+
+import dev.cantrella.ms_wallet.application.dto.SettlementChunk;
+import dev.cantrella.ms_wallet.application.dto.SettlementLine;
+import dev.cantrella.ms_wallet.application.dto.SettlementLineFailure;
+import dev.cantrella.ms_wallet.application.exception.InvalidDataException;
+import dev.cantrella.ms_wallet.domain.model.Money;
+import dev.cantrella.ms_wallet.ports.out.SettlementFilePort;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Reads {@code user_id,amount} CSV settlement files from the settlement directory through a sliding memory-mapped
+ * window, so files of any size are parsed without reading them into the heap. Amounts are parsed straight from the
+ * bytes into cents; extra columns and an optional {@code user_id} header are ignored.
+ */
+@Component
+public class MappedSettlementFileAdapter implements SettlementFilePort {
+
+    static final int MAX_LINE_LENGTH = 4096;
+    private static final long INVALID = Long.MIN_VALUE;
+    private static final long TOO_MANY_DECIMALS = Long.MIN_VALUE + 1;
+
+    private final Path directory;
+    private final long windowSize;
+
+    public MappedSettlementFileAdapter(
+            @Value("${wallet.settlement.directory}") Path directory,
+            @Value("${wallet.settlement.map-window:64MB}") DataSize windowSize) {
+        this.directory = directory.toAbsolutePath().normalize();
+        this.windowSize = Math.max(windowSize.toBytes(), 2L * MAX_LINE_LENGTH);
+    }
+
+    @Override
+    public SettlementFileCursor open(String fileName, long byteOffset, long lineNumber) {
+        try {
+            return new MappedCursor(FileChannel.open(resolve(fileName), StandardOpenOption.READ), byteOffset, lineNumber);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open settlement file " + fileName, e);
+        }
+    }
+
+    @Override
+    public String contentHash(String fileName) {
+        try (FileChannel channel = FileChannel.open(resolve(fileName), StandardOpenOption.READ)) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            long size = channel.size();
+            for (long start = 0; start < size; start += windowSize) {
+                digest.update(channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(windowSize, size - start)));
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read settlement file " + fileName, e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Path resolve(String fileName) {
+        Path file = directory.resolve(fileName).normalize();
+        if (!file.startsWith(directory) || !Files.isRegularFile(file)) {
+            throw new InvalidDataException("Settlement file " + fileName + " not found");
+        }
+        return file;
+    }
+
+    private final class MappedCursor implements SettlementFileCursor {
+
+        private final FileChannel channel;
+        private final long size;
+        private long position;
+        private long lineNumber;
+        private MappedByteBuffer window;
+        private long windowStart;
+
+        private MappedCursor(FileChannel channel, long position, long lineNumber) throws IOException {
+            this.channel = channel;
+            this.size = channel.size();
+            this.position = position;
+            this.lineNumber = lineNumber;
+        }
+
+        @Override
+        public Optional<SettlementChunk> nextChunk(int maxLines) {
+            List<SettlementLine> lines = new ArrayList<>(Math.min(maxLines, 16_384));
+            List<SettlementLineFailure> failures = new ArrayList<>();
+            int read = 0;
+            while (read < maxLines && position < size) {
+                remapIfNeeded();
+                int start = (int) (position - windowStart);
+                int limit = window.limit();
+                int end = start;
+                while (end < limit && window.get(end) != '\n') {
+                    end++;
+                }
+                lineNumber++;
+                if (end == limit && windowStart + limit < size) {
+                    // No line break within the mapped window, which always holds more than MAX_LINE_LENGTH bytes.
+                    read++;
+                    failures.add(new SettlementLineFailure(lineNumber, "Line is longer than " + MAX_LINE_LENGTH + " bytes"));
+                    skipPastNextLineBreak(windowStart + limit);
+                    continue;
+                }
+                position = windowStart + Math.min(end + 1, limit);
+                int contentEnd = end > start && window.get(end - 1) == '\r' ? end - 1 : end;
+                if (contentEnd == start || isHeader(start, contentEnd)) {
+                    continue;
+                }
+                read++;
+                if (contentEnd - start > MAX_LINE_LENGTH) {
+                    failures.add(new SettlementLineFailure(lineNumber, "Line is longer than " + MAX_LINE_LENGTH + " bytes"));
+                    continue;
+                }
+                parse(start, contentEnd, lines, failures);
+            }
+            if (read == 0 && position >= size) {
+                return Optional.empty();
+            }
+            return Optional.of(new SettlementChunk(lines, failures, position, lineNumber));
+        }
+
+        private void skipPastNextLineBreak(long from) {
+            position = from;
+            while (position < size) {
+                remapIfNeeded();
+                int limit = window.limit();
+                for (int i = (int) (position - windowStart); i < limit; i++) {
+                    if (window.get(i) == '\n') {
+                        position = windowStart + i + 1;
+                        return;
+                    }
+                }
+                position = windowStart + limit;
+            }
+        }
+
+        private void remapIfNeeded() {
+            long windowEnd = window == null ? -1 : windowStart + window.limit();
+            boolean lineFits = position + MAX_LINE_LENGTH < windowEnd || windowEnd == size;
+            if (window != null && position >= windowStart && position < windowEnd && lineFits) {
+                return;
+            }
+            try {
+                windowStart = position;
+                window = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(windowSize, size - position));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not map settlement file at offset " + position, e);
+            }
+        }
+
+        private boolean isHeader(int start, int end) {
+            if (lineNumber != 1) {
+                return false;
+            }
+            byte[] header = "user_id".getBytes(StandardCharsets.US_ASCII);
+            if (end - start < header.length) {
+                return false;
+            }
+            for (int i = 0; i < header.length; i++) {
+                if (window.get(start + i) != header[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void parse(int start, int end, List<SettlementLine> lines, List<SettlementLineFailure> failures) {
+            int comma = start;
+            while (comma < end && window.get(comma) != ',') {
+                comma++;
+            }
+            int userStart = trimStart(start, comma);
+            int userEnd = trimEnd(userStart, comma);
+            if (comma == end || userStart == userEnd) {
+                failures.add(new SettlementLineFailure(lineNumber, "Expected user_id,amount"));
+                return;
+            }
+            int amountEnd = comma + 1;
+            while (amountEnd < end && window.get(amountEnd) != ',') {
+                amountEnd++;
+            }
+            int amountStart = trimStart(comma + 1, amountEnd);
+            long cents = parseCents(amountStart, trimEnd(amountStart, amountEnd));
+            if (cents == INVALID) {
+                failures.add(new SettlementLineFailure(lineNumber, "Invalid amount"));
+            } else if (cents == TOO_MANY_DECIMALS) {
+                failures.add(new SettlementLineFailure(lineNumber, "Amount cannot have more than 2 decimal places"));
+            } else if (cents <= 0) {
+                failures.add(new SettlementLineFailure(lineNumber, "Amount must be more than 0"));
+            } else {
+                byte[] userId = new byte[userEnd - userStart];
+                window.get(userStart, userId);
+                lines.add(new SettlementLine(lineNumber, new String(userId, StandardCharsets.UTF_8), Money.ofMinor(cents)));
+            }
+        }
+
+        /**
+         * Decimal with up to 2 fractional digits, as cents. Negative amounts come back as 0.
+         */
+        private long parseCents(int start, int end) {
+            if (start < end && window.get(start) == '-') {
+                return 0;
+            }
+            long units = 0;
+            int decimals = -1;
+            boolean digits = false;
+            for (int i = start; i < end; i++) {
+                byte b = window.get(i);
+                if (b >= '0' && b <= '9') {
+                    if (decimals >= 0 && ++decimals > Money.SCALE) {
+                        return TOO_MANY_DECIMALS;
+                    }
+                    if (units > (Long.MAX_VALUE - 9) / 10) {
+                        return INVALID;
+                    }
+                    units = units * 10 + (b - '0');
+                    digits = true;
+                } else if (b == '.' && decimals < 0) {
+                    decimals = 0;
+                } else {
+                    return INVALID;
+                }
+            }
+            if (!digits) {
+                return INVALID;
+            }
+            for (int i = Math.max(decimals, 0); i < Money.SCALE; i++) {
+                if (units > Long.MAX_VALUE / 10) {
+                    return INVALID;
+                }
+                units *= 10;
+            }
+            return units;
+        }
+
+        private int trimStart(int start, int end) {
+            while (start < end && window.get(start) == ' ') {
+                start++;
+            }
+            return start;
+        }
+
+        private int trimEnd(int start, int end) {
+            while (end > start && window.get(end - 1) == ' ') {
+                end--;
+            }
+            return end;
+        }
+
+        @Override
+        public void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
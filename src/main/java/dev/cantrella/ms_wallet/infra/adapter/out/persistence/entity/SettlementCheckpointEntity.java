@@ -0,0 +1,38 @@
+package dev.cantrella.ms_wallet.infra.adapter.out.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "settlement_checkpoints")
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class SettlementCheckpointEntity {
+
+    @Id
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    @Column(name = "file_name", nullable = false)
+    private String fileName;
+
+    @Column(name = "byte_offset", nullable = false)
+    private long byteOffset;
+
+    @Column(name = "line_number", nullable = false)
+    private long lineNumber;
+
+    @Column(name = "credited_lines", nullable = false)
+    private long creditedLines;
+
+    @Column(name = "failed_lines", nullable = false)
+    private long failedLines;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,51 @@
+package dev.cantrella.ms_wallet.infra.adapter.out.persistence.entity;
+
+import dev.cantrella.ms_wallet.domain.model.TransactionType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Schema of the outbox drained by the transaction log projector; rows are written and read with plain JDBC.
+ */
+@Entity
+@Table(name = "transaction_outbox", indexes = @Index(name = "transaction_outbox_partition_id", columnList = "partition_key, id"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TransactionOutboxEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "transaction_id", nullable = false)
+    private UUID transactionId;
+
+    @Column(name = "partition_key", nullable = false)
+    private int partitionKey;
+
+    @Column(name = "source_wallet_id", nullable = false)
+    private UUID sourceWalletId;
+
+    @Column(name = "destination_wallet_id")
+    private UUID destinationWalletId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TransactionType type;
+
+    @Column(nullable = false)
+    private BigDecimal amount;
+
+    @Column(nullable = false, columnDefinition = "TIMESTAMP(0) WITHOUT TIME ZONE")
+    private LocalDateTime timestamp;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
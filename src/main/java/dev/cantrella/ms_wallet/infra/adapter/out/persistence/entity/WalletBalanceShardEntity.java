@@ -0,0 +1,40 @@
+package dev.cantrella.ms_wallet.infra.adapter.out.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Entity
+@Table(name = "wallet_balance_shards")
+@IdClass(WalletBalanceShardEntity.ShardId.class)
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class WalletBalanceShardEntity {
+
+    @Id
+    @Column(name = "wallet_id")
+    private UUID walletId;
+
+    @Id
+    @Column(name = "shard_index")
+    private int shardIndex;
+
+    @Column(nullable = false)
+    private BigDecimal balance;
+
+    @Getter
+    @Setter
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class ShardId implements Serializable {
+        private UUID walletId;
+        private int shardIndex;
+    }
+}
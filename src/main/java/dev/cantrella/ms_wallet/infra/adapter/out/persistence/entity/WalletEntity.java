@@ -2,6 +2,7 @@ package dev.cantrella.ms_wallet.infra.adapter.out.persistence.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -28,4 +29,9 @@ public class WalletEntity {
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
 
+    // Maintained by the balance writes themselves, not JPA @Version, since most of them are native statements.
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private long version;
+
 }
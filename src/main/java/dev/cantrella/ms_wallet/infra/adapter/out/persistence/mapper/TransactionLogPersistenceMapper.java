@@ -1,5 +1,6 @@
 package dev.cantrella.ms_wallet.infra.adapter.out.persistence.mapper;
 
+import dev.cantrella.ms_wallet.domain.model.Money;
 import dev.cantrella.ms_wallet.domain.model.Transaction;
 import dev.cantrella.ms_wallet.domain.model.TransactionType;
 import dev.cantrella.ms_wallet.infra.adapter.out.persistence.entity.TransactionMongoEntity;
@@ -20,7 +21,7 @@ public class TransactionLogPersistenceMapper {
                 UUID.fromString(entity.getSourceWalletId()),
                 entity.getDestinationWalletId() != null ? UUID.fromString(entity.getDestinationWalletId()) : null,
                 TransactionType.valueOf(entity.getType()),
-                entity.getAmount(),
+                Money.of(entity.getAmount()),
                 Instant.ofEpochMilli(entity.getTimestamp())
                         .atZone(ZoneId.systemDefault())
                         .toLocalDateTime()
@@ -1,5 +1,6 @@
 package dev.cantrella.ms_wallet.infra.adapter.out.persistence.mapper;
 
+import dev.cantrella.ms_wallet.domain.model.Money;
 import dev.cantrella.ms_wallet.domain.model.Transaction;
 import dev.cantrella.ms_wallet.infra.adapter.out.persistence.entity.TransactionEntity;
 import org.springframework.stereotype.Component;
@@ -15,7 +16,7 @@ public class TransactionPersistenceMapper {
                 .sourceWalletId(transaction.getSourceWalletId())
                 .destinationWalletId(transaction.getDestinationWalletId())
                 .type(transaction.getType())
-                .amount(transaction.getAmount())
+                .amount(transaction.getAmount().toBigDecimal())
                 .timestamp(transaction.getTimestamp())
                 .build();
     }
@@ -29,7 +30,7 @@ public class TransactionPersistenceMapper {
                 entity.getSourceWalletId(),
                 entity.getDestinationWalletId(),
                 entity.getType(),
-                entity.getAmount(),
+                Money.of(entity.getAmount()),
                 entity.getTimestamp());
     }
 }
@@ -1,5 +1,6 @@
 package dev.cantrella.ms_wallet.infra.adapter.out.persistence.mapper;
 
+import dev.cantrella.ms_wallet.domain.model.Money;
 import dev.cantrella.ms_wallet.domain.model.Wallet;
 import dev.cantrella.ms_wallet.infra.adapter.out.persistence.entity.WalletEntity;
 import org.springframework.stereotype.Component;
@@ -13,8 +14,9 @@ public class WalletPersistenceMapper {
         return Wallet.builder()
                 .id(entity.getId())
                 .userId(entity.getUserId())
-                .balance(entity.getBalance())
+                .balance(Money.of(entity.getBalance()))
                 .createdAt(entity.getCreatedAt())
+                .version(entity.getVersion())
                 .build();
     }
 
@@ -25,8 +27,9 @@ public class WalletPersistenceMapper {
         return WalletEntity.builder()
                 .id(wallet.getId())
                 .userId(wallet.getUserId())
-                .balance(wallet.getBalance())
+                .balance(wallet.getBalance().toBigDecimal())
                 .createdAt(wallet.getCreatedAt())
+                .version(wallet.getVersion())
                 .build();
     }
 
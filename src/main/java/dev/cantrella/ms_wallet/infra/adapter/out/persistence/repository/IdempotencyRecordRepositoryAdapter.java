@@ -0,0 +1,30 @@
+package dev.cantrella.ms_wallet.infra.adapter.out.persistence.repository;
+
+import dev.cantrella.ms_wallet.application.dto.IdempotencyRecord;
+import dev.cantrella.ms_wallet.infra.adapter.out.persistence.mapper.TransactionPersistenceMapper;
+import dev.cantrella.ms_wallet.ports.out.IdempotencyRecordPort;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+@RequiredArgsConstructor
+public class IdempotencyRecordRepositoryAdapter implements IdempotencyRecordPort {
+
+    private final JpaIdempotencyRecordRepository repository;
+    private final JpaTransactionRepository transactionRepository;
+    private final TransactionPersistenceMapper mapper;
+
+    @Override
+    public Optional<IdempotencyRecord> find(String key) {
+        return repository.findById(key)
+                .flatMap(entity -> transactionRepository.findById(entity.getTransactionId())
+                        .map(transaction -> new IdempotencyRecord(entity.getFingerprint(), mapper.toDomain(transaction))));
+    }
+
+    @Override
+    public boolean record(String key, IdempotencyRecord record) {
+        return repository.insertIfAbsent(key, record.fingerprint(), record.transaction().getId()) == 1;
+    }
+}
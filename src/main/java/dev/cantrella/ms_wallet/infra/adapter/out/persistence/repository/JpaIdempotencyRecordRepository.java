@@ -0,0 +1,20 @@
+package dev.cantrella.ms_wallet.infra.adapter.out.persistence.repository;
+
+import dev.cantrella.ms_wallet.infra.adapter.out.persistence.entity.IdempotencyRecordEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.UUID;
+
+public interface JpaIdempotencyRecordRepository extends JpaRepository<IdempotencyRecordEntity, String> {
+
+    @Modifying
+    @Query(value = "INSERT INTO idempotency_records (idempotency_key, fingerprint, transaction_id, created_at) " +
+            "VALUES (:key, :fingerprint, :transactionId, now()) " +
+            "ON CONFLICT (idempotency_key) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("key") String key,
+                       @Param("fingerprint") String fingerprint,
+                       @Param("transactionId") UUID transactionId);
+}
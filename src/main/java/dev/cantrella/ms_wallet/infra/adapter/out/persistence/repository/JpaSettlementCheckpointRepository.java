@@ -0,0 +1,33 @@
+package dev.cantrella.ms_wallet.infra.adapter.out.persistence.repository;
+
+import dev.cantrella.ms_wallet.infra.adapter.out.persistence.entity.SettlementCheckpointEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface JpaSettlementCheckpointRepository extends JpaRepository<SettlementCheckpointEntity, String> {
+
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO settlement_checkpoints " +
+            "(content_hash, file_name, byte_offset, line_number, credited_lines, failed_lines, updated_at) " +
+            "VALUES (:contentHash, :fileName, 0, 0, 0, 0, now()) " +
+            "ON CONFLICT (content_hash) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("contentHash") String contentHash, @Param("fileName") String fileName);
+
+    /**
+     * Blocks on the row lock of a concurrent advance and then re-checks the offset against the committed row.
+     */
+    @Modifying
+    @Query(value = "UPDATE settlement_checkpoints SET byte_offset = :byteOffset, line_number = :lineNumber, " +
+            "credited_lines = :creditedLines, failed_lines = :failedLines, updated_at = now() " +
+            "WHERE content_hash = :contentHash AND byte_offset = :expectedOffset", nativeQuery = true)
+    int advance(@Param("contentHash") String contentHash,
+                @Param("expectedOffset") long expectedOffset,
+                @Param("byteOffset") long byteOffset,
+                @Param("lineNumber") long lineNumber,
+                @Param("creditedLines") long creditedLines,
+                @Param("failedLines") long failedLines);
+}
@@ -0,0 +1,79 @@
+package dev.cantrella.ms_wallet.infra.adapter.out.persistence.repository;
+
+import dev.cantrella.ms_wallet.infra.adapter.out.persistence.entity.WalletBalanceShardEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+public interface JpaWalletBalanceShardRepository
+        extends JpaRepository<WalletBalanceShardEntity, WalletBalanceShardEntity.ShardId> {
+
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO wallet_balance_shards (wallet_id, shard_index, balance) " +
+            "SELECT :walletId, s, CASE WHEN s = 0 THEN :initialBalance ELSE 0 END " +
+            "FROM generate_series(0, :shardCount - 1) s " +
+            "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int createShards(@Param("walletId") UUID walletId,
+                     @Param("shardCount") int shardCount,
+                     @Param("initialBalance") BigDecimal initialBalance);
+
+    /**
+     * Shards every wallet that has none yet, moving its row balance into shard 0.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO wallet_balance_shards (wallet_id, shard_index, balance) " +
+            "SELECT w.id, s, CASE WHEN s = 0 THEN w.balance ELSE 0 END " +
+            "FROM wallets w CROSS JOIN generate_series(0, :shardCount - 1) s " +
+            "WHERE NOT EXISTS (SELECT 1 FROM wallet_balance_shards b WHERE b.wallet_id = w.id) " +
+            "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int createMissingShards(@Param("shardCount") int shardCount);
+
+    /**
+     * Credits the first shard from {@code startShard} on that no other transaction holds, or waits on the lowest
+     * shard when all are held, so a credit never blocks on a shard it picked at random.
+     */
+    @Modifying
+    @Query(value = "UPDATE wallet_balance_shards SET balance = balance + :amount " +
+            "WHERE wallet_id = :walletId AND shard_index = COALESCE((" +
+            "SELECT shard_index FROM wallet_balance_shards WHERE wallet_id = :walletId " +
+            "ORDER BY shard_index < :startShard, shard_index LIMIT 1 FOR UPDATE SKIP LOCKED), (" +
+            "SELECT min(shard_index) FROM wallet_balance_shards WHERE wallet_id = :walletId))", nativeQuery = true)
+    int credit(@Param("walletId") UUID walletId,
+               @Param("startShard") int startShard,
+               @Param("amount") BigDecimal amount);
+
+    @Modifying
+    @Query(value = "UPDATE wallet_balance_shards SET balance = balance - :amount " +
+            "WHERE wallet_id = :walletId AND balance >= :amount AND shard_index = (" +
+            "SELECT shard_index FROM wallet_balance_shards " +
+            "WHERE wallet_id = :walletId AND balance >= :amount " +
+            "LIMIT 1 FOR UPDATE SKIP LOCKED)", nativeQuery = true)
+    int debitAnyShard(@Param("walletId") UUID walletId, @Param("amount") BigDecimal amount);
+
+    @Modifying
+    @Query(value = "UPDATE wallet_balance_shards SET balance = :balance " +
+            "WHERE wallet_id = :walletId AND shard_index = :shardIndex", nativeQuery = true)
+    int setBalance(@Param("walletId") UUID walletId,
+                   @Param("shardIndex") int shardIndex,
+                   @Param("balance") BigDecimal balance);
+
+    @Query(value = "SELECT shard_index AS shardIndex, balance AS balance FROM wallet_balance_shards " +
+            "WHERE wallet_id = :walletId ORDER BY shard_index FOR UPDATE", nativeQuery = true)
+    List<ShardBalanceView> findAllByWalletIdForUpdate(@Param("walletId") UUID walletId);
+
+    @Query(value = "SELECT SUM(balance) FROM wallet_balance_shards WHERE wallet_id = :walletId", nativeQuery = true)
+    BigDecimal sumBalanceByWalletId(@Param("walletId") UUID walletId);
+
+    interface ShardBalanceView {
+        int getShardIndex();
+        BigDecimal getBalance();
+    }
+}
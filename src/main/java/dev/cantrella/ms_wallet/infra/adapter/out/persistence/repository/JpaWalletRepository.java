@@ -4,9 +4,13 @@ import dev.cantrella.ms_wallet.infra.adapter.out.persistence.entity.WalletEntity
 import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -15,8 +19,20 @@ public interface JpaWalletRepository extends JpaRepository<WalletEntity, UUID> {
     @Query(value = "SELECT * FROM wallets w WHERE w.id = :id FOR UPDATE", nativeQuery = true)
     Optional<WalletEntity> findByIdWithPessimisticLock(@Param("id") UUID id);
 
+    @Query(value = "SELECT * FROM wallets w WHERE w.id IN (:ids) ORDER BY w.id FOR UPDATE", nativeQuery = true)
+    List<WalletEntity> findAllByIdInWithPessimisticLock(@Param("ids") Collection<UUID> ids);
+
     @Query(value = "SELECT * FROM wallets w WHERE w.user_id = :userId FOR UPDATE", nativeQuery = true)
     Optional<WalletEntity> findByUserIdWithPessimisticLock(@Param("userId")String userId);
 
     Optional<WalletEntity> findByUserId(String userId);
+
+    @Query(value = "UPDATE wallets SET balance = balance + :delta, version = version + 1 " +
+            "WHERE user_id = :userId AND balance + :delta >= 0 RETURNING *", nativeQuery = true)
+    Optional<WalletEntity> addToBalanceByUserId(@Param("userId") String userId, @Param("delta") BigDecimal delta);
+
+    @Modifying
+    @Query(value = "UPDATE wallets SET balance = :balance, version = version + 1 " +
+            "WHERE id = :id AND version = :version", nativeQuery = true)
+    int updateBalanceIfVersion(@Param("id") UUID id, @Param("balance") BigDecimal balance, @Param("version") long version);
 }
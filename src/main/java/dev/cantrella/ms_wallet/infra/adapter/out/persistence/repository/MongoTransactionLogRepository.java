@@ -1,15 +1,52 @@
 package dev.cantrella.ms_wallet.infra.adapter.out.persistence.repository;
 
 import dev.cantrella.ms_wallet.infra.adapter.out.persistence.entity.TransactionMongoEntity;
+import org.bson.types.Decimal128;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.Aggregation;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface MongoTransactionLogRepository extends MongoRepository<TransactionMongoEntity, String> {
 
+    // Keyset terms name the transactionId property: a raw 'id' key is mapped to the document _id, which the
+    // Debezium sink stores as the record key sub-document rather than the transaction id.
+    String STATEMENT_QUERY = "{ '$or': [ "
+            + "{ 'source_wallet_id': ?0, 'timestamp': { '$lt': ?1 } }, "
+            + "{ 'source_wallet_id': ?0, 'timestamp': ?1, 'transactionId': { '$lt': ?2 } }, "
+            + "{ 'destination_wallet_id': ?0, 'timestamp': { '$lt': ?1 } }, "
+            + "{ 'destination_wallet_id': ?0, 'timestamp': ?1, 'transactionId': { '$lt': ?2 } } ] }";
+    String STATEMENT_SORT = "{ 'timestamp': -1, 'transactionId': -1 }";
+
     @Query("{ '$and': [ { '$or': [ { 'source_wallet_id': ?0 }, { 'destination_wallet_id': ?0 } ] }, { 'timestamp': { '$lte': ?1 } } ] }")
     List<TransactionMongoEntity> findByWalletIdAndTimestampUntil(String walletId, long timestamp);
 
+    @Query(value = "{ '$and': [ { '$or': [ { 'source_wallet_id': ?0 }, { 'destination_wallet_id': ?0 } ] }, { 'timestamp': { '$lte': ?1 } } ] }",
+            sort = STATEMENT_SORT)
+    List<TransactionMongoEntity> findLatestByWalletIdAndTimestampUntil(String walletId, long timestamp, Pageable pageable);
+
+    @Aggregation(pipeline = {
+            "{ '$match': { '$and': [ { '$or': [ { 'source_wallet_id': ?0 }, { 'destination_wallet_id': ?0 } ] }, { 'timestamp': { '$lte': ?1 } } ] } }",
+            "{ '$group': { '_id': null, 'balance': { '$sum': { '$cond': [ "
+                    + "{ '$or': [ { '$eq': [ '$type', 'DEPOSIT' ] }, "
+                    + "{ '$and': [ { '$eq': [ '$type', 'TRANSFER' ] }, { '$ne': [ '$source_wallet_id', ?0 ] } ] } ] }, "
+                    + "{ '$toDecimal': '$amount' }, "
+                    + "{ '$multiply': [ { '$toDecimal': '$amount' }, -1 ] } ] } } } }"
+    })
+    Decimal128 sumSignedAmountByWalletIdAndTimestampUntil(String walletId, long timestamp);
+
+    /**
+     * Transactions strictly before the {@code (timestamp, id)} keyset, newest first. One branch per wallet side and
+     * keyset term so each is an index range on (wallet, timestamp, id) and the sorted branches are merged.
+     */
+    @Query(value = STATEMENT_QUERY, sort = STATEMENT_SORT)
+    List<TransactionMongoEntity> findStatementByWalletIdBefore(String walletId, long timestamp, String transactionId, Pageable pageable);
+
+    @Query(value = STATEMENT_QUERY, sort = STATEMENT_SORT)
+    Stream<TransactionMongoEntity> streamStatementByWalletIdBefore(String walletId, long timestamp, String transactionId);
+
 }
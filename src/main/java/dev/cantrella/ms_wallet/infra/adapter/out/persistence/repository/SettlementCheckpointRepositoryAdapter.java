@@ -0,0 +1,38 @@
+package dev.cantrella.ms_wallet.infra.adapter.out.persistence.repository;
+
+import dev.cantrella.ms_wallet.application.dto.SettlementCheckpoint;
+import dev.cantrella.ms_wallet.ports.out.SettlementCheckpointPort;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class SettlementCheckpointRepositoryAdapter implements SettlementCheckpointPort {
+
+    private final JpaSettlementCheckpointRepository repository;
+
+    @Override
+    public SettlementCheckpoint findOrCreate(SettlementCheckpoint start) {
+        repository.insertIfAbsent(start.contentHash(), start.fileName());
+        return repository.findById(start.contentHash())
+                .map(entity -> new SettlementCheckpoint(
+                        entity.getContentHash(),
+                        entity.getFileName(),
+                        entity.getByteOffset(),
+                        entity.getLineNumber(),
+                        entity.getCreditedLines(),
+                        entity.getFailedLines()))
+                .orElseThrow();
+    }
+
+    @Override
+    public boolean advance(SettlementCheckpoint expected, SettlementCheckpoint next) {
+        return repository.advance(
+                expected.contentHash(),
+                expected.byteOffset(),
+                next.byteOffset(),
+                next.lineNumber(),
+                next.creditedLines(),
+                next.failedLines()) == 1;
+    }
+}
@@ -0,0 +1,257 @@
+package dev.cantrella.ms_wallet.infra.adapter.out.persistence.repository;
+
+import dev.cantrella.ms_wallet.application.config.WriteConcurrencyPolicy;
+import dev.cantrella.ms_wallet.domain.exception.WalletOperationException;
+import dev.cantrella.ms_wallet.domain.model.BalanceShard;
+import dev.cantrella.ms_wallet.domain.model.Money;
+import dev.cantrella.ms_wallet.domain.model.ShardedBalance;
+import dev.cantrella.ms_wallet.domain.model.Wallet;
+import dev.cantrella.ms_wallet.infra.adapter.out.persistence.repository.JpaWalletBalanceShardRepository.ShardBalanceView;
+import dev.cantrella.ms_wallet.ports.out.WalletRepositoryPort;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BiConsumer;
+
+/**
+ * Keeps the balance of each wallet in {@code wallet_balance_shards} rows. Identity lookups still go to the
+ * {@code wallets} table, whose row is never locked: credits add to one random shard and debits lock shards only
+ * when no single shard covers the amount. Shards are created with the wallet, and wallets from before sharding was
+ * enabled are sharded at startup.
+ *
+ * <p>The {@code ForUpdate} reads take no lock here. They remember the balance they returned for the current
+ * transaction, and {@link #update} writes the difference from it, so a credit never waits on other writers.
+ */
+@Repository
+@Primary
+@Slf4j
+@ConditionalOnProperty(name = "wallet.sharding.enabled", havingValue = "true")
+public class ShardedWalletRepositoryAdapter implements WalletRepositoryPort {
+
+    private final WalletRepositoryAdapter walletRepositoryAdapter;
+    private final JpaWalletBalanceShardRepository jpaWalletBalanceShardRepository;
+    private final int shardCount;
+    private final Object readBalancesKey = new Object();
+
+    public ShardedWalletRepositoryAdapter(
+            WalletRepositoryAdapter walletRepositoryAdapter,
+            JpaWalletBalanceShardRepository jpaWalletBalanceShardRepository,
+            @Value("${wallet.sharding.shard-count:8}") int shardCount,
+            WriteConcurrencyPolicy writeConcurrencyPolicy) {
+        if (writeConcurrencyPolicy.mode() != WriteConcurrencyPolicy.Mode.PESSIMISTIC) {
+            throw new IllegalStateException("wallet.write.mode must be pessimistic when wallet.sharding.enabled is set");
+        }
+        this.walletRepositoryAdapter = walletRepositoryAdapter;
+        this.jpaWalletBalanceShardRepository = jpaWalletBalanceShardRepository;
+        this.shardCount = shardCount;
+    }
+
+    @PostConstruct
+    void shardExistingWallets() {
+        int created = jpaWalletBalanceShardRepository.createMissingShards(shardCount);
+        if (created > 0) {
+            log.info("Created {} balance shards for wallets that had none", created);
+        }
+    }
+
+    @Override
+    public boolean existsByUserId(String userId) {
+        return walletRepositoryAdapter.existsByUserId(userId);
+    }
+
+    @Override
+    public Wallet save(Wallet wallet) {
+        Wallet saved = walletRepositoryAdapter.save(wallet);
+        jpaWalletBalanceShardRepository.createShards(saved.getId(), shardCount, saved.getBalance().toBigDecimal());
+        return saved;
+    }
+
+    @Override
+    public Wallet update(Wallet wallet) {
+        Map<UUID, Money> readBalances = readBalances();
+        Money readBalance = readBalances.get(wallet.getId());
+        if (readBalance == null) {
+            throw new IllegalStateException("Wallet " + wallet.getId() + " was not read for update in this transaction");
+        }
+        Money delta = wallet.getBalance().minus(readBalance);
+        if (delta.signum() > 0) {
+            credit(wallet, delta);
+        } else if (delta.signum() < 0 && !debit(wallet, delta.negate())) {
+            throw new WalletOperationException("The wallet balance don't have enough amount to withdraw");
+        }
+        readBalances.put(wallet.getId(), wallet.getBalance());
+        return wallet;
+    }
+
+    @Override
+    public Optional<Wallet> findById(UUID id) {
+        return walletRepositoryAdapter.findById(id).map(this::withShardedBalance);
+    }
+
+    @Override
+    public Optional<Wallet> findByUserId(String userId) {
+        return walletRepositoryAdapter.findByUserId(userId).map(this::withShardedBalance);
+    }
+
+    @Override
+    public Optional<Wallet> findByUserIdForUpdate(String userId) {
+        return walletRepositoryAdapter.findByUserId(userId).map(this::withReadBalance);
+    }
+
+    @Override
+    public Optional<Wallet> findByIdForUpdate(UUID id) {
+        return walletRepositoryAdapter.findById(id).map(this::withReadBalance);
+    }
+
+    @Override
+    public List<Wallet> findAllByIdsForUpdate(Set<UUID> ids) {
+        return walletRepositoryAdapter.findAllByIds(ids)
+                .stream()
+                .map(this::withReadBalance)
+                .toList();
+    }
+
+    @Override
+    public List<Wallet> findAllByIds(Set<UUID> ids) {
+        return walletRepositoryAdapter.findAllByIds(ids)
+                .stream()
+                .map(this::withShardedBalance)
+                .toList();
+    }
+
+    @Override
+    public Optional<Wallet> applyBalanceDelta(String userId, Money delta) {
+        Optional<Wallet> found = walletRepositoryAdapter.findByUserId(userId);
+        if (found.isEmpty()) {
+            return Optional.empty();
+        }
+        Wallet wallet = found.get();
+        boolean applied = delta.signum() > 0 ? credit(wallet, delta) : debit(wallet, delta.negate());
+        return applied ? Optional.of(withShardedBalance(wallet)) : Optional.empty();
+    }
+
+    @Override
+    public Map<String, UUID> findIdsByUserIds(Collection<String> userIds) {
+        return walletRepositoryAdapter.findIdsByUserIds(userIds);
+    }
+
+    @Override
+    public void forEachWalletId(BiConsumer<String, UUID> consumer) {
+        walletRepositoryAdapter.forEachWalletId(consumer);
+    }
+
+    /**
+     * One shard credit per wallet instead of a single batched statement, since each wallet credits a random shard.
+     */
+    @Override
+    public List<Wallet> creditAll(Map<UUID, Money> credits) {
+        List<Wallet> credited = new ArrayList<>(credits.size());
+        new TreeMap<>(credits).forEach((walletId, amount) -> walletRepositoryAdapter.findById(walletId)
+                .ifPresent(wallet -> {
+                    credit(wallet, amount);
+                    credited.add(withShardedBalance(wallet));
+                }));
+        return credited;
+    }
+
+    private boolean credit(Wallet wallet, Money amount) {
+        int startShard = randomShard();
+        if (jpaWalletBalanceShardRepository.credit(wallet.getId(), startShard, amount.toBigDecimal()) == 0) {
+            // Only a wallet inserted around the sharding migration gets here, always on the write path.
+            createShards(wallet);
+            jpaWalletBalanceShardRepository.credit(wallet.getId(), startShard, amount.toBigDecimal());
+        }
+        return true;
+    }
+
+    private boolean debit(Wallet wallet, Money amount) {
+        if (jpaWalletBalanceShardRepository.debitAnyShard(wallet.getId(), amount.toBigDecimal()) > 0) {
+            return true;
+        }
+        ShardedBalance shardedBalance = lockShards(wallet);
+        try {
+            write(shardedBalance, shardedBalance.withdraw(amount));
+            return true;
+        } catch (WalletOperationException e) {
+            return false;
+        }
+    }
+
+    private ShardedBalance lockShards(Wallet wallet) {
+        List<ShardBalanceView> shards = jpaWalletBalanceShardRepository.findAllByWalletIdForUpdate(wallet.getId());
+        if (shards.isEmpty()) {
+            createShards(wallet);
+            shards = jpaWalletBalanceShardRepository.findAllByWalletIdForUpdate(wallet.getId());
+        }
+        return new ShardedBalance(wallet.getId(), shards.stream()
+                .map(shard -> new BalanceShard(shard.getShardIndex(), Money.of(shard.getBalance())))
+                .toList());
+    }
+
+    private void write(ShardedBalance shardedBalance, List<BalanceShard> changed) {
+        changed.forEach(shard -> jpaWalletBalanceShardRepository
+                .setBalance(shardedBalance.getWalletId(), shard.index(), shard.balance().toBigDecimal()));
+    }
+
+    private void createShards(Wallet wallet) {
+        Money unshardedBalance = walletRepositoryAdapter.findById(wallet.getId())
+                .map(Wallet::getBalance)
+                .orElse(Money.ZERO);
+        jpaWalletBalanceShardRepository.createShards(wallet.getId(), shardCount, unshardedBalance.toBigDecimal());
+    }
+
+    /**
+     * Read-only: a wallet without shards yet still reports its row balance, so reads never insert.
+     */
+    private Wallet withShardedBalance(Wallet wallet) {
+        BigDecimal balance = jpaWalletBalanceShardRepository.sumBalanceByWalletId(wallet.getId());
+        return balance == null ? wallet : wallet.withBalance(Money.of(balance));
+    }
+
+    private Wallet withReadBalance(Wallet wallet) {
+        Wallet read = withShardedBalance(wallet);
+        readBalances().put(read.getId(), read.getBalance());
+        return read;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<UUID, Money> readBalances() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Sharded wallet writes must run inside a transaction");
+        }
+        Map<UUID, Money> readBalances = (Map<UUID, Money>) TransactionSynchronizationManager.getResource(readBalancesKey);
+        if (readBalances == null) {
+            Map<UUID, Money> created = new HashMap<>();
+            TransactionSynchronizationManager.bindResource(readBalancesKey, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(readBalancesKey);
+                }
+            });
+            readBalances = created;
+        }
+        return readBalances;
+    }
+
+    private int randomShard() {
+        return ThreadLocalRandom.current().nextInt(shardCount);
+    }
+}
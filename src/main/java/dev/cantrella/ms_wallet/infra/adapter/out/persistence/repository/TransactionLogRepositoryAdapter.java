@@ -1,33 +1,133 @@
 package dev.cantrella.ms_wallet.infra.adapter.out.persistence.repository;
 
+import dev.cantrella.ms_wallet.application.dto.TransactionStatementPage;
+import dev.cantrella.ms_wallet.application.exception.InvalidDataException;
+import dev.cantrella.ms_wallet.domain.model.Money;
 import dev.cantrella.ms_wallet.domain.model.Transaction;
 import dev.cantrella.ms_wallet.infra.adapter.out.persistence.entity.TransactionMongoEntity;
 import dev.cantrella.ms_wallet.infra.adapter.out.persistence.mapper.TransactionLogPersistenceMapper;
 import dev.cantrella.ms_wallet.ports.out.TransactionLogRepositoryPort;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.Decimal128;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Repository;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.Base64;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Repository
 @RequiredArgsConstructor
+@Slf4j
 public class TransactionLogRepositoryAdapter implements TransactionLogRepositoryPort {
 
+    public static final String QUERY_METRIC = "wallet.history.query";
+    public static final String QUERY_SIZE_METRIC = "wallet.history.query.size";
+
     private final MongoTransactionLogRepository repository;
     private final TransactionLogPersistenceMapper mapper;
+    private final MeterRegistry meterRegistry;
+
     @Override
     public List<Transaction> listByWalletId(UUID walletId, LocalDateTime timestamp) {
-        List<TransactionMongoEntity> transactionsLogEntities = repository
-                .findByWalletIdAndTimestampUntil(
+        List<TransactionMongoEntity> transactionsLogEntities = meterRegistry.timer(QUERY_METRIC, "query", "list")
+                .record(() -> repository.findByWalletIdAndTimestampUntil(
                         walletId.toString(),
-                        timestamp.atZone(ZoneOffset.UTC).toInstant().getEpochSecond() * 1000
-                        );
+                        toEpochMillis(timestamp)
+                        ));
+        meterRegistry.summary(QUERY_SIZE_METRIC, "query", "list").record(transactionsLogEntities.size());
         return transactionsLogEntities.stream()
                 .map(mapper::toDomain)
                 .collect(Collectors.toList());
     }
+
+    @Override
+    public Optional<Money> sumSignedAmountUntil(UUID walletId, LocalDateTime timestamp) {
+        try {
+            Decimal128 balance = meterRegistry.timer(QUERY_METRIC, "query", "sum")
+                    .record(() -> repository.sumSignedAmountByWalletIdAndTimestampUntil(
+                            walletId.toString(),
+                            toEpochMillis(timestamp)));
+            return Optional.of(balance != null ? Money.of(balance.bigDecimalValue().stripTrailingZeros()) : Money.ZERO);
+        } catch (DataAccessException e) {
+            log.warn("Balance aggregation failed for wallet {}, falling back to transaction list", walletId, e);
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public Optional<Transaction> findLastUntil(UUID walletId, LocalDateTime timestamp) {
+        return meterRegistry.timer(QUERY_METRIC, "query", "last")
+                .record(() -> repository.findLatestByWalletIdAndTimestampUntil(
+                        walletId.toString(), toEpochMillis(timestamp), PageRequest.of(0, 1)))
+                .stream()
+                .findFirst()
+                .map(mapper::toDomain);
+    }
+
+    @Override
+    public TransactionStatementPage findStatementPage(UUID walletId, String cursor, int limit) {
+        StatementCursor from = StatementCursor.decode(cursor);
+        List<TransactionMongoEntity> entities = meterRegistry.timer(QUERY_METRIC, "query", "statement")
+                .record(() -> repository.findStatementByWalletIdBefore(
+                        walletId.toString(), from.timestamp(), from.transactionId(), PageRequest.of(0, limit + 1)));
+        meterRegistry.summary(QUERY_SIZE_METRIC, "query", "statement").record(entities.size());
+        boolean hasNext = entities.size() > limit;
+        List<TransactionMongoEntity> page = hasNext ? entities.subList(0, limit) : entities;
+        String nextCursor = hasNext ? StatementCursor.of(page.get(limit - 1)).encode() : null;
+        return new TransactionStatementPage(page.stream().map(mapper::toDomain).toList(), nextCursor);
+    }
+
+    @Override
+    public Stream<Transaction> streamStatement(UUID walletId, String cursor) {
+        StatementCursor from = StatementCursor.decode(cursor);
+        return repository.streamStatementByWalletIdBefore(walletId.toString(), from.timestamp(), from.transactionId())
+                .map(mapper::toDomain);
+    }
+
+    private long toEpochMillis(LocalDateTime timestamp) {
+        return timestamp.atZone(ZoneOffset.UTC).toInstant().getEpochSecond() * 1000;
+    }
+
+    /**
+     * Keyset position of the last returned transaction, handed to clients as base64url {@code timestamp:id} so they
+     * treat it as opaque. The initial cursor sorts after every stored transaction.
+     */
+    record StatementCursor(long timestamp, String transactionId) {
+
+        static final StatementCursor FIRST = new StatementCursor(Long.MAX_VALUE, "");
+
+        static StatementCursor of(TransactionMongoEntity entity) {
+            return new StatementCursor(entity.getTimestamp(), entity.getTransactionId());
+        }
+
+        static StatementCursor decode(String cursor) {
+            if (cursor == null || cursor.isBlank()) {
+                return FIRST;
+            }
+            try {
+                String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = value.indexOf(':');
+                return new StatementCursor(
+                        Long.parseLong(value.substring(0, separator)),
+                        UUID.fromString(value.substring(separator + 1)).toString());
+            } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+                throw new InvalidDataException("Invalid cursor");
+            }
+        }
+
+        String encode() {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString((timestamp + ":" + transactionId).getBytes(StandardCharsets.UTF_8));
+        }
+    }
 }
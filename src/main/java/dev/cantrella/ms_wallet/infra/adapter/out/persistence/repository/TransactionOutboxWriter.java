@@ -0,0 +1,47 @@
+package dev.cantrella.ms_wallet.infra.adapter.out.persistence.repository;
+
+import dev.cantrella.ms_wallet.domain.model.Transaction;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Appends saved transactions to {@code transaction_outbox} on the connection of the current transaction, so an
+ * outbox row exists exactly when its transaction commits. Rows are spread over {@link #PARTITIONS} partitions by
+ * source wallet, which keeps every wallet on a single projector worker.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "wallet.outbox.enabled", havingValue = "true")
+public class TransactionOutboxWriter {
+
+    public static final int PARTITIONS = 256;
+    private static final String INSERT_OUTBOX = "INSERT INTO transaction_outbox " +
+            "(transaction_id, partition_key, source_wallet_id, destination_wallet_id, type, amount, timestamp, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, now())";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public static int partitionOf(Transaction transaction) {
+        return Math.floorMod(transaction.getSourceWalletId().hashCode(), PARTITIONS);
+    }
+
+    public void append(List<Transaction> transactions) {
+        if (transactions.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_OUTBOX, transactions, transactions.size(), (statement, transaction) -> {
+            statement.setObject(1, transaction.getId());
+            statement.setInt(2, partitionOf(transaction));
+            statement.setObject(3, transaction.getSourceWalletId());
+            statement.setObject(4, transaction.getDestinationWalletId());
+            statement.setString(5, transaction.getType().name());
+            statement.setBigDecimal(6, transaction.getAmount().toBigDecimal());
+            statement.setTimestamp(7, Timestamp.valueOf(transaction.getTimestamp()));
+        });
+    }
+}
@@ -4,21 +4,76 @@ import dev.cantrella.ms_wallet.domain.model.Transaction;
 import dev.cantrella.ms_wallet.infra.adapter.out.persistence.entity.TransactionEntity;
 import dev.cantrella.ms_wallet.infra.adapter.out.persistence.mapper.TransactionPersistenceMapper;
 import dev.cantrella.ms_wallet.ports.out.TransactionRepositoryPort;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.postgresql.PGConnection;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.datasource.DataSourceUtils;
 import org.springframework.stereotype.Repository;
 
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
 import java.util.Objects;
 
 @Repository
 @RequiredArgsConstructor
 public class TransactionRepositoryAdapter implements TransactionRepositoryPort {
 
+    private static final String COPY_TRANSACTIONS = "COPY transactions " +
+            "(id, source_wallet_id, destination_wallet_id, type, amount, timestamp) FROM STDIN WITH (FORMAT csv)";
+
     private final JpaTransactionRepository repository;
     private final TransactionPersistenceMapper mapper;
+    private final EntityManager entityManager;
+    private final DataSource dataSource;
+    private final ObjectProvider<TransactionOutboxWriter> outboxWriter;
+
     @Override
     public void save(Transaction transaction) {
         Objects.requireNonNull(transaction, "Transaction cannot be null");
         TransactionEntity entity = mapper.toEntity(transaction);
         repository.save(entity);
+        outboxWriter.ifAvailable(writer -> writer.append(List.of(transaction)));
+    }
+
+    @Override
+    public void saveAll(List<Transaction> transactions) {
+        Objects.requireNonNull(transactions, "Transactions cannot be null");
+        transactions.stream()
+                .map(mapper::toEntity)
+                .forEach(entityManager::persist);
+        outboxWriter.ifAvailable(writer -> writer.append(transactions));
+    }
+
+    @Override
+    public void bulkInsert(List<Transaction> transactions) {
+        Objects.requireNonNull(transactions, "Transactions cannot be null");
+        if (transactions.isEmpty()) {
+            return;
+        }
+        StringBuilder rows = new StringBuilder(transactions.size() * 128);
+        for (Transaction transaction : transactions) {
+            rows.append(transaction.getId()).append(',')
+                    .append(transaction.getSourceWalletId()).append(',')
+                    .append(transaction.getDestinationWalletId() != null ? transaction.getDestinationWalletId() : "").append(',')
+                    .append(transaction.getType().name()).append(',')
+                    .append(transaction.getAmount().toBigDecimal().toPlainString()).append(',')
+                    .append(transaction.getTimestamp()).append('\n');
+        }
+        // Uses the connection of the current transaction, so the rows commit or roll back with it.
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_TRANSACTIONS, new StringReader(rows.toString()));
+        } catch (SQLException | IOException e) {
+            throw new DataAccessResourceFailureException("Could not copy " + transactions.size() + " transactions", e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+        outboxWriter.ifAvailable(writer -> writer.append(transactions));
     }
 }
@@ -1,23 +1,45 @@
 package dev.cantrella.ms_wallet.infra.adapter.out.persistence.repository;
 
+import dev.cantrella.ms_wallet.domain.model.Money;
 import dev.cantrella.ms_wallet.domain.model.Wallet;
 import dev.cantrella.ms_wallet.infra.adapter.out.persistence.entity.WalletEntity;
 import dev.cantrella.ms_wallet.infra.adapter.out.persistence.mapper.WalletPersistenceMapper;
+import dev.cantrella.ms_wallet.ports.out.OptimisticWalletWritePort;
 import dev.cantrella.ms_wallet.ports.out.WalletRepositoryPort;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
 
 @Repository
 @RequiredArgsConstructor
-public class WalletRepositoryAdapter implements WalletRepositoryPort {
+public class WalletRepositoryAdapter implements WalletRepositoryPort, OptimisticWalletWritePort {
+
+    public static final String LOCK_METRIC = "wallet.lock.acquire";
+    private static final int WALLET_ID_FETCH_SIZE = 10_000;
 
     private final JpaWalletRepository jpaWalletRepository;
     private final EntityManager entityManager;
     private final WalletPersistenceMapper mapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+
     @Override
     public boolean existsByUserId(String userId) {
         return jpaWalletRepository.existsByUserId(userId);
@@ -31,9 +53,11 @@ public class WalletRepositoryAdapter implements WalletRepositoryPort {
     }
 
     @Override
-    public void update(Wallet wallet) {
+    public Wallet update(Wallet wallet) {
         WalletEntity entity = mapper.toEntity(wallet);
+        entity.setVersion(wallet.getVersion() + 1);
         entityManager.merge(entity);
+        return mapper.toDomain(entity);
     }
 
     @Override
@@ -50,15 +74,118 @@ public class WalletRepositoryAdapter implements WalletRepositoryPort {
 
     @Override
     public Optional<Wallet> findByUserIdForUpdate(String userId) {
-        return jpaWalletRepository.findByUserIdWithPessimisticLock(userId).map(mapper::toDomain);
+        return timeLock("by_user_id", () -> jpaWalletRepository.findByUserIdWithPessimisticLock(userId))
+                .map(mapper::toDomain);
     }
 
     @Override
     public Optional<Wallet> findByIdForUpdate(UUID id) {
-        return jpaWalletRepository
-                .findByIdWithPessimisticLock(id)
+        return timeLock("by_id", () -> jpaWalletRepository.findByIdWithPessimisticLock(id))
+                .map(mapper::toDomain);
+    }
+
+    @Override
+    public List<Wallet> findAllByIdsForUpdate(Set<UUID> ids) {
+        return timeLock("by_ids", () -> jpaWalletRepository.findAllByIdInWithPessimisticLock(ids))
+                .stream()
+                .map(mapper::toDomain)
+                .toList();
+    }
+
+    @Override
+    public List<Wallet> findAllByIds(Set<UUID> ids) {
+        return jpaWalletRepository.findAllById(ids)
+                .stream()
+                .map(mapper::toDomain)
+                .toList();
+    }
+
+    @Override
+    public Optional<Wallet> updateIfVersion(Wallet wallet) {
+        // The UPDATE still takes the row lock until commit, so it is timed like the explicit locks.
+        int updated = timeLock("if_version", () -> jpaWalletRepository.updateBalanceIfVersion(
+                wallet.getId(), wallet.getBalance().toBigDecimal(), wallet.getVersion()));
+        if (updated == 0) {
+            return Optional.empty();
+        }
+        return Optional.of(new Wallet(wallet.getId(), wallet.getUserId(), wallet.getBalance(), wallet.getCreatedAt(),
+                wallet.getVersion() + 1));
+    }
+
+    @Override
+    public Optional<Wallet> applyBalanceDelta(String userId, Money delta) {
+        // The conditional UPDATE takes the row lock itself, so its wait is timed like the explicit locks.
+        return timeLock("balance_delta", () -> jpaWalletRepository.addToBalanceByUserId(userId, delta.toBigDecimal()))
                 .map(mapper::toDomain);
     }
 
+    @Override
+    public Map<String, UUID> findIdsByUserIds(Collection<String> userIds) {
+        Map<String, UUID> ids = new HashMap<>();
+        if (userIds.isEmpty()) {
+            return ids;
+        }
+        jdbcTemplate.query(
+                connection -> {
+                    PreparedStatement statement = connection.prepareStatement(
+                            "SELECT user_id, id FROM wallets WHERE user_id = ANY(?)");
+                    statement.setArray(1, connection.createArrayOf("varchar", userIds.toArray()));
+                    return statement;
+                },
+                (RowCallbackHandler) resultSet -> ids.put(resultSet.getString(1), resultSet.getObject(2, UUID.class)));
+        return ids;
+    }
 
+    @Override
+    public void forEachWalletId(BiConsumer<String, UUID> consumer) {
+        jdbcTemplate.query(
+                connection -> {
+                    PreparedStatement statement = connection.prepareStatement("SELECT user_id, id FROM wallets");
+                    statement.setFetchSize(WALLET_ID_FETCH_SIZE);
+                    return statement;
+                },
+                (RowCallbackHandler) resultSet -> consumer.accept(resultSet.getString(1), resultSet.getObject(2, UUID.class)));
+    }
+
+    @Override
+    public List<Wallet> creditAll(Map<UUID, Money> credits) {
+        if (credits.isEmpty()) {
+            return List.of();
+        }
+        UUID[] ids = credits.keySet().stream().sorted().toArray(UUID[]::new);
+        BigDecimal[] amounts = Arrays.stream(ids).map(id -> credits.get(id).toBigDecimal()).toArray(BigDecimal[]::new);
+        // Lock in id order first: UPDATE ... FROM unnest does not guarantee the order rows are locked in.
+        timeLock("credit_all", () -> jdbcTemplate.query(
+                connection -> {
+                    PreparedStatement statement = connection.prepareStatement(
+                            "SELECT id FROM wallets WHERE id = ANY(?) ORDER BY id FOR UPDATE");
+                    statement.setArray(1, connection.createArrayOf("uuid", ids));
+                    return statement;
+                },
+                (resultSet, rowNum) -> resultSet.getObject(1, UUID.class)));
+        return jdbcTemplate.query(
+                connection -> {
+                    PreparedStatement statement = connection.prepareStatement(
+                            "UPDATE wallets w SET balance = w.balance + c.amount, version = w.version + 1 " +
+                            "FROM unnest(?::uuid[], ?::numeric[]) AS c(id, amount) " +
+                            "WHERE w.id = c.id " +
+                            "RETURNING w.id, w.user_id, w.balance, w.created_at, w.version");
+                    statement.setArray(1, connection.createArrayOf("uuid", ids));
+                    statement.setArray(2, connection.createArrayOf("numeric", amounts));
+                    return statement;
+                },
+                (resultSet, rowNum) -> new Wallet(
+                        resultSet.getObject("id", UUID.class),
+                        resultSet.getString("user_id"),
+                        Money.of(resultSet.getBigDecimal("balance")),
+                        resultSet.getObject("created_at", LocalDateTime.class),
+                        resultSet.getLong("version")));
+    }
+
+    /**
+     * Time spent in {@code SELECT ... FOR UPDATE}, which is mostly waiting for other transactions holding the row.
+     */
+    private <T> T timeLock(String query, Supplier<T> lock) {
+        return meterRegistry.timer(LOCK_METRIC, "query", query).record(lock);
+    }
 }
@@ -0,0 +1,86 @@
+package dev.cantrella.ms_wallet.infra.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Times {@link dev.cantrella.ms_wallet.ports.out.CachePort} calls per adapter and key family. Reads are tagged
+ * {@code hit} or {@code miss}; with the near cache enabled both it and the Redis adapter behind it are measured,
+ * which shows how many reads each layer answers.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class CacheMetricsAspect {
+
+    public static final String CACHE_METRIC = "wallet.cache.operations";
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("execution(* dev.cantrella.ms_wallet.ports.out.CachePort.get(..)) && args(key, ..)")
+    public Object timeGet(ProceedingJoinPoint joinPoint, String key) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Object value = joinPoint.proceed();
+        sample.stop(timer(joinPoint, "get", key, value != null ? "hit" : "miss"));
+        return value;
+    }
+
+    @Around("execution(* dev.cantrella.ms_wallet.ports.out.CachePort.getOrLoad(..)) && args(key, type, ttl, loader)")
+    public Object timeGetOrLoad(ProceedingJoinPoint joinPoint, String key, Object type, Object ttl, Supplier<?> loader)
+            throws Throwable {
+        AtomicBoolean loaded = new AtomicBoolean();
+        Supplier<?> trackedLoader = () -> {
+            loaded.set(true);
+            return loader.get();
+        };
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Object value = joinPoint.proceed(new Object[]{key, type, ttl, trackedLoader});
+        sample.stop(timer(joinPoint, "get_or_load", key, loaded.get() ? "miss" : "hit"));
+        return value;
+    }
+
+    @Around("execution(* dev.cantrella.ms_wallet.ports.out.CachePort.put*(..)) && args(key, ..)"
+            + " || execution(* dev.cantrella.ms_wallet.ports.out.CachePort.evict(..)) && args(key)")
+    public Object timeWrite(ProceedingJoinPoint joinPoint, String key) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Object result = joinPoint.proceed();
+        sample.stop(timer(joinPoint, joinPoint.getSignature().getName(), key, "none"));
+        return result;
+    }
+
+    private Timer timer(ProceedingJoinPoint joinPoint, String operation, String key, String result) {
+        return meterRegistry.timer(CACHE_METRIC,
+                "adapter", joinPoint.getTarget().getClass().getSimpleName(),
+                "operation", operation,
+                "family", familyOf(key),
+                "result", result);
+    }
+
+    /**
+     * Drops the last segment and any id or e-mail segment of a key, so {@code wallet:{id}:balance:after:{tx}}
+     * becomes {@code wallet:balance:after} and tag cardinality stays bounded. The current balance is keyed by the
+     * bare user id, hence {@code balance}.
+     */
+    static String familyOf(String key) {
+        String[] segments = key.split(":");
+        StringBuilder family = new StringBuilder();
+        for (int i = 0; i < segments.length - 1; i++) {
+            String segment = segments[i];
+            if (!segment.isEmpty() && segment.chars().allMatch(c -> (c >= 'a' && c <= 'z') || c == '_' || c == '-')) {
+                if (!family.isEmpty()) {
+                    family.append(':');
+                }
+                family.append(segment);
+            }
+        }
+        return family.isEmpty() ? "balance" : family.toString();
+    }
+}
@@ -0,0 +1,88 @@
+package dev.cantrella.ms_wallet.infra.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Remembers tokens the delegate already verified, keyed by their SHA-256, so clients polling with the same token pay
+ * for the signature check once. An entry lives until the token's {@code exp} or {@code maxTtl}, whichever comes
+ * first; tokens without {@code exp} and rejected tokens are never cached.
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+
+    public static final String CACHE_NAME = "jwt-verified";
+
+    private final JwtDecoder delegate;
+    private final Clock clock;
+    private final Duration maxTtl;
+    private final Cache<String, Jwt> verified;
+
+    public CachingJwtDecoder(JwtDecoder delegate, long maximumSize, Duration maxTtl, MeterRegistry meterRegistry) {
+        this(delegate, maximumSize, maxTtl, meterRegistry, Clock.systemUTC());
+    }
+
+    CachingJwtDecoder(JwtDecoder delegate, long maximumSize, Duration maxTtl, MeterRegistry meterRegistry, Clock clock) {
+        this.delegate = delegate;
+        this.clock = clock;
+        this.maxTtl = maxTtl;
+        this.verified = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(Expiry.<String, Jwt>creating((key, jwt) -> ttl(jwt)))
+                .recordStats()
+                .build(), CACHE_NAME);
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        String key = sha256(token);
+        Jwt cached = verified.getIfPresent(key);
+        if (cached != null && isLive(cached)) {
+            return cached;
+        }
+        Jwt jwt = delegate.decode(token);
+        if (!ttl(jwt).isZero()) {
+            verified.put(key, jwt);
+        }
+        return jwt;
+    }
+
+    private Duration ttl(Jwt jwt) {
+        Instant expiresAt = jwt.getExpiresAt();
+        if (expiresAt == null) {
+            return Duration.ZERO;
+        }
+        Duration untilExpiry = Duration.between(clock.instant(), expiresAt);
+        if (untilExpiry.isNegative()) {
+            return Duration.ZERO;
+        }
+        return untilExpiry.compareTo(maxTtl) < 0 ? untilExpiry : maxTtl;
+    }
+
+    // Caffeine expires on its own ticker; this keeps a token from outliving its exp by even a scheduling delay.
+    private boolean isLive(Jwt jwt) {
+        return jwt.getExpiresAt() != null && clock.instant().isBefore(jwt.getExpiresAt());
+    }
+
+    private static String sha256(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
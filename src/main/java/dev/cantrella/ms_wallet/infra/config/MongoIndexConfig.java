@@ -0,0 +1,120 @@
+package dev.cantrella.ms_wallet.infra.config;
+
+import dev.cantrella.ms_wallet.infra.adapter.out.persistence.entity.TransactionMongoEntity;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Configuration
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "wallet.mongo.manage-indexes", havingValue = "true", matchIfMissing = true)
+public class MongoIndexConfig {
+
+    public static final String SOURCE_WALLET_TIMESTAMP_INDEX = "source_wallet_id_timestamp_transaction_id";
+    public static final String DESTINATION_WALLET_TIMESTAMP_INDEX = "destination_wallet_id_timestamp_transaction_id";
+    // Superseded by the indexes above, which also serve the (timestamp, id) statement keyset; the *_id ones were
+    // built on _id instead of the transaction id.
+    private static final List<String> LEGACY_INDEXES = List.of("source_wallet_id_timestamp", "destination_wallet_id_timestamp",
+            "source_wallet_id_timestamp_id", "destination_wallet_id_timestamp_id");
+
+    private final MongoTemplate mongoTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureTransactionLogIndexes() {
+        try {
+            IndexOperations indexOperations = mongoTemplate.indexOps(TransactionMongoEntity.class);
+            indexOperations.createIndex(statementIndex("source_wallet_id", SOURCE_WALLET_TIMESTAMP_INDEX));
+            indexOperations.createIndex(statementIndex("destination_wallet_id", DESTINATION_WALLET_TIMESTAMP_INDEX));
+            indexOperations.getIndexInfo().stream()
+                    .map(IndexInfo::getName)
+                    .filter(LEGACY_INDEXES::contains)
+                    .forEach(indexOperations::dropIndex);
+            List<String> stages = explainHistoryQuery(UUID.randomUUID().toString(), System.currentTimeMillis());
+            if (stages.contains("COLLSCAN")) {
+                log.warn("Transaction log history query is running a COLLSCAN, plan stages: {}", stages);
+            } else {
+                log.info("Transaction log history query plan stages: {}", stages);
+            }
+        } catch (DataAccessException e) {
+            log.error("Could not ensure transaction log indexes", e);
+        }
+    }
+
+    /**
+     * Keys are mapped through the entity, so the transactionId property resolves to the stored {@code id} field
+     * that the statement keyset sorts on; a raw {@code id} key would be mapped to {@code _id}.
+     */
+    static Index statementIndex(String walletField, String name) {
+        return new Index()
+                .on(walletField, Sort.Direction.ASC)
+                .on("timestamp", Sort.Direction.ASC)
+                .on("transactionId", Sort.Direction.ASC)
+                .named(name);
+    }
+
+    public List<String> explainHistoryQuery(String walletId, long timestamp) {
+        Document filter = new Document("$and", List.of(
+                new Document("$or", List.of(
+                        new Document("source_wallet_id", walletId),
+                        new Document("destination_wallet_id", walletId))),
+                new Document("timestamp", new Document("$lte", timestamp))));
+        return explain(new Document("find", mongoTemplate.getCollectionName(TransactionMongoEntity.class))
+                .append("filter", filter));
+    }
+
+    public List<String> explainStatementQuery(String walletId, long timestamp, String transactionId) {
+        List<Document> branches = new ArrayList<>();
+        for (String walletField : List.of("source_wallet_id", "destination_wallet_id")) {
+            branches.add(new Document(walletField, walletId)
+                    .append("timestamp", new Document("$lt", timestamp)));
+            branches.add(new Document(walletField, walletId)
+                    .append("timestamp", timestamp)
+                    .append("id", new Document("$lt", transactionId)));
+        }
+        return explain(new Document("find", mongoTemplate.getCollectionName(TransactionMongoEntity.class))
+                .append("filter", new Document("$or", branches))
+                .append("sort", new Document("timestamp", -1).append("id", -1)));
+    }
+
+    private List<String> explain(Document find) {
+        Document explain = mongoTemplate.getDb().runCommand(new Document("explain", find)
+                .append("verbosity", "queryPlanner"));
+        Document queryPlanner = explain.get("queryPlanner", Document.class);
+        List<String> stages = new ArrayList<>();
+        collectStages(queryPlanner.get("winningPlan", Document.class), stages);
+        return stages;
+    }
+
+    private void collectStages(Document plan, List<String> stages) {
+        if (plan == null) {
+            return;
+        }
+        if (plan.containsKey("queryPlan")) {
+            collectStages(plan.get("queryPlan", Document.class), stages);
+            return;
+        }
+        if (plan.containsKey("stage")) {
+            stages.add(plan.getString("stage"));
+        }
+        collectStages(plan.get("inputStage", Document.class), stages);
+        List<Document> inputStages = plan.getList("inputStages", Document.class);
+        if (inputStages != null) {
+            inputStages.forEach(inputStage -> collectStages(inputStage, stages));
+        }
+    }
+}
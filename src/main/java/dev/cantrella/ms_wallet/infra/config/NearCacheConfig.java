@@ -0,0 +1,60 @@
+package dev.cantrella.ms_wallet.infra.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.UUID;
+
+@Configuration
+@ConditionalOnProperty(name = "wallet.near-cache.enabled", havingValue = "true", matchIfMissing = true)
+public class NearCacheConfig {
+
+    public static final String INVALIDATION_CHANNEL = "wallet:cache:invalidation";
+    public static final String NEAR_CACHE_NAME = "wallet-near-cache";
+    public static final String INSTANCE_ID = UUID.randomUUID().toString();
+    private static final char SEPARATOR = '|';
+
+    public static String invalidationMessage(String instanceId, String key) {
+        return instanceId + SEPARATOR + key;
+    }
+
+    @Bean
+    public Cache<String, Object> walletNearCache(
+            @Value("${wallet.near-cache.maximum-size:10000}") long maximumSize,
+            @Value("${wallet.near-cache.max-staleness:1s}") Duration maxStaleness,
+            MeterRegistry meterRegistry) {
+        Cache<String, Object> cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(maxStaleness)
+                .recordStats()
+                .build();
+        return CaffeineCacheMetrics.monitor(meterRegistry, cache, NEAR_CACHE_NAME);
+    }
+
+    @Bean
+    public RedisMessageListenerContainer nearCacheInvalidationListener(
+            RedisConnectionFactory connectionFactory,
+            Cache<String, Object> walletNearCache) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener((message, pattern) -> {
+            String body = new String(message.getBody(), StandardCharsets.UTF_8);
+            int separator = body.indexOf(SEPARATOR);
+            if (separator > 0 && !INSTANCE_ID.equals(body.substring(0, separator))) {
+                walletNearCache.invalidate(body.substring(separator + 1));
+            }
+        }, new ChannelTopic(INVALIDATION_CHANNEL));
+        return container;
+    }
+}
@@ -0,0 +1,163 @@
+package dev.cantrella.ms_wallet.infra.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Routes connections opened inside read-only transactions to the replicas, round robin, and everything else to the
+ * primary. Each replica's replay lag is probed every {@code lagCheckInterval}; replicas that lag more than
+ * {@code maxLag} or can't be probed are skipped until they catch up, and when none is left reads go to the primary.
+ * Must sit behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} so the connection is
+ * picked after the transaction has been marked read-only.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    public static final String REPLICA_LAG_METRIC = "wallet.datasource.replica.lag";
+    public static final String ROUTE_METRIC = "wallet.datasource.route";
+    static final String PRIMARY = "primary";
+    // A replica that replayed everything it received is current, however old its last replayed commit is, but only
+    // while its WAL receiver is streaming and heard from the primary within the default wal_receiver_timeout;
+    // otherwise receive and replay positions stall together and the lag is unknown. Reading pg_stat_wal_receiver
+    // needs pg_read_all_stats, without it every replica reports unknown lag and reads stay on the primary.
+    static final String LAG_QUERY = "SELECT CASE WHEN NOT pg_is_in_recovery() THEN 0 "
+            + "WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status = 'streaming' "
+            + "AND last_msg_receipt_time > now() - interval '1 minute') THEN NULL "
+            + "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE (EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000)::bigint END";
+    private static final long UNKNOWN_LAG = Long.MAX_VALUE;
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final long maxLagMillis;
+    private final Duration lagCheckInterval;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter primaryRoutes;
+    private final Counter replicaRoutes;
+    private ScheduledExecutorService scheduler;
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, Duration maxLag,
+                                    Duration lagCheckInterval, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = new ArrayList<>(replicas.size());
+        this.maxLagMillis = maxLag.toMillis();
+        this.lagCheckInterval = lagCheckInterval;
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        replicas.forEach((name, dataSource) -> {
+            Replica replica = new Replica(name, dataSource);
+            this.replicas.add(replica);
+            targets.put(name, dataSource);
+            Gauge.builder(REPLICA_LAG_METRIC, replica, r -> r.lagMillis == UNKNOWN_LAG ? Double.NaN : r.lagMillis)
+                    .tag("replica", name)
+                    .baseUnit("milliseconds")
+                    .register(meterRegistry);
+        });
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        this.primaryRoutes = meterRegistry.counter(ROUTE_METRIC, "target", "primary");
+        this.replicaRoutes = meterRegistry.counter(ROUTE_METRIC, "target", "replica");
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+        checkLag();
+        scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("replica-lag-check").daemon().factory());
+        scheduler.scheduleWithFixedDelay(this::checkLag,
+                lagCheckInterval.toMillis(), lagCheckInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && !replicas.isEmpty()) {
+            int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+            for (int i = 0; i < replicas.size(); i++) {
+                Replica replica = replicas.get((start + i) % replicas.size());
+                if (replica.lagMillis <= maxLagMillis) {
+                    replicaRoutes.increment();
+                    return replica.name;
+                }
+            }
+        }
+        primaryRoutes.increment();
+        return PRIMARY;
+    }
+
+    void checkLag() {
+        for (Replica replica : replicas) {
+            long lag;
+            try {
+                Long measured = replica.jdbcTemplate.queryForObject(LAG_QUERY, Long.class);
+                lag = measured != null ? measured : UNKNOWN_LAG;
+            } catch (RuntimeException e) {
+                log.warn("Could not check lag of replica {}, routing its reads to the primary", replica.name, e);
+                lag = UNKNOWN_LAG;
+            }
+            updateLag(replica.name, lag);
+        }
+    }
+
+    void updateLag(String name, long lagMillis) {
+        for (Replica replica : replicas) {
+            if (replica.name.equals(name)) {
+                if (lagMillis > maxLagMillis && replica.lagMillis <= maxLagMillis) {
+                    log.warn("Replica {} is {} ms behind, routing its reads to the primary", name, lagMillis);
+                }
+                replica.lagMillis = lagMillis;
+            }
+        }
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        for (Replica replica : replicas) {
+            close(replica.dataSource);
+        }
+        close(primary);
+    }
+
+    private void close(DataSource dataSource) throws IOException {
+        if (dataSource instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+
+    private static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private final JdbcTemplate jdbcTemplate;
+        private volatile long lagMillis = UNKNOWN_LAG;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.jdbcTemplate = new JdbcTemplate(dataSource);
+            this.jdbcTemplate.setQueryTimeout(5);
+        }
+    }
+}
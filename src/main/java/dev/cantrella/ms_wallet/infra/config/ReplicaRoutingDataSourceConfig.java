@@ -0,0 +1,64 @@
+package dev.cantrella.ms_wallet.infra.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replaces the auto-configured datasource with one that sends read-only transactions to streaming replicas. The
+ * replicas use the {@code spring.datasource} credentials unless {@code wallet.datasource.replicas.username} and
+ * {@code password} are set.
+ */
+@Configuration
+@ConditionalOnProperty(name = "wallet.datasource.replicas.enabled", havingValue = "true")
+public class ReplicaRoutingDataSourceConfig {
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            DataSourceProperties properties,
+            @Value("${wallet.datasource.replicas.urls}") List<String> urls,
+            @Value("${wallet.datasource.replicas.username:}") String username,
+            @Value("${wallet.datasource.replicas.password:}") String password,
+            @Value("${wallet.datasource.replicas.maximum-pool-size:10}") int maximumPoolSize,
+            @Value("${wallet.datasource.replicas.max-lag:1s}") Duration maxLag,
+            @Value("${wallet.datasource.replicas.lag-check-interval:1s}") Duration lagCheckInterval,
+            MeterRegistry meterRegistry) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primary.setPoolName("primary");
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (String url : urls) {
+            if (url.isBlank()) {
+                continue;
+            }
+            HikariDataSource replica = properties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .url(url.trim())
+                    .username(username.isEmpty() ? properties.determineUsername() : username)
+                    .password(username.isEmpty() ? properties.determinePassword() : password)
+                    .build();
+            replica.setPoolName("replica-" + replicas.size());
+            replica.setMaximumPoolSize(maximumPoolSize);
+            replica.setReadOnly(true);
+            replicas.put(replica.getPoolName(), replica);
+        }
+        return new ReplicaRoutingDataSource(primary, replicas, maxLag, lagCheckInterval, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+}
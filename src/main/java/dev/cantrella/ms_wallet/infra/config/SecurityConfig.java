@@ -1,5 +1,12 @@
 package dev.cantrella.ms_wallet.infra.config;
 
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.jwk.source.JWKSourceBuilder;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -8,6 +15,16 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URL;
+import java.time.Duration;
+import java.util.Arrays;
 
 @Configuration
 @Profile("!test")
@@ -15,10 +32,29 @@ public class SecurityConfig {
 
     @Value("${spring.security.oauth2.resourceserver.jwt.issuer-uri}")
     private String RESOURCE_SERVER_URL;
+    @Value("${management.server.port:-1}")
+    private int managementPort;
+    @Value("${wallet.security.jwt-cache.maximum-size:10000}")
+    private long jwtCacheMaximumSize;
+    @Value("${wallet.security.jwt-cache.max-ttl:5m}")
+    private Duration jwtCacheMaxTtl;
+    @Value("${wallet.security.jwk-set.cache-ttl:15m}")
+    private Duration jwkSetCacheTtl;
+    @Value("${wallet.security.jwk-set.refresh-ahead:1m}")
+    private Duration jwkSetRefreshAhead;
+
+    private final MeterRegistry meterRegistry;
+
+    public SecurityConfig(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
                 .authorizeHttpRequests(auth -> auth
+                        .requestMatchers(managementRequest("/actuator/health/**", "/actuator/prometheus")).permitAll()
+                        .requestMatchers("/admin/**").hasAuthority("SCOPE_wallet-admin")
                         .anyRequest().authenticated()
                 )
                 .oauth2ResourceServer(oauth2 -> oauth2
@@ -29,7 +65,35 @@ public class SecurityConfig {
 
     @Bean
     public JwtDecoder jwtDecoder() {
-        return NimbusJwtDecoder
-                .withJwkSetUri(RESOURCE_SERVER_URL+"/protocol/openid-connect/certs").build();
+        // Keys are refreshed by a background task ahead of expiry, so verification never waits on the JWK endpoint.
+        JWKSource<SecurityContext> jwkSource = JWKSourceBuilder
+                .<SecurityContext>create(jwkSetUrl())
+                .cache(jwkSetCacheTtl.toMillis(), JWKSourceBuilder.DEFAULT_CACHE_REFRESH_TIMEOUT)
+                .refreshAheadCache(jwkSetRefreshAhead.toMillis(), true)
+                .build();
+        DefaultJWTProcessor<SecurityContext> jwtProcessor = new DefaultJWTProcessor<>();
+        jwtProcessor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.RS256, jwkSource));
+        // Claims are validated by the decoder's Spring validators, as with NimbusJwtDecoder.withJwkSetUri.
+        jwtProcessor.setJWTClaimsSetVerifier((claims, context) -> {
+        });
+        return new CachingJwtDecoder(new NimbusJwtDecoder(jwtProcessor), jwtCacheMaximumSize, jwtCacheMaxTtl, meterRegistry);
+    }
+
+    /**
+     * Matches the paths only on the internal management port, so the public port never serves them anonymously.
+     */
+    private RequestMatcher managementRequest(String... paths) {
+        RequestMatcher[] matchers = Arrays.stream(paths)
+                .map(PathPatternRequestMatcher.withDefaults()::matcher)
+                .toArray(RequestMatcher[]::new);
+        return new AndRequestMatcher(request -> request.getLocalPort() == managementPort, new OrRequestMatcher(matchers));
+    }
+
+    private URL jwkSetUrl() {
+        try {
+            return URI.create(RESOURCE_SERVER_URL + "/protocol/openid-connect/certs").toURL();
+        } catch (MalformedURLException e) {
+            throw new IllegalStateException("Invalid issuer uri " + RESOURCE_SERVER_URL, e);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,55 @@
+package dev.cantrella.ms_wallet.infra.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Times every {@code application.port} use case, tagged with the use case interface and whether it returned or
+ * threw, so a slow request can be traced to the use case before looking at the lock and cache timers below it.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class UseCaseMetricsAspect {
+
+    public static final String USE_CASE_METRIC = "wallet.usecase";
+    private static final String PORT_PACKAGE = "dev.cantrella.ms_wallet.application.port";
+
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentHashMap<Class<?>, String> useCaseNames = new ConcurrentHashMap<>();
+
+    @Around("execution(* dev.cantrella.ms_wallet.application.port.*UseCase.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        String useCase = useCaseNames.computeIfAbsent(joinPoint.getTarget().getClass(), this::useCaseName);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            Object result = joinPoint.proceed();
+            sample.stop(meterRegistry.timer(USE_CASE_METRIC, "usecase", useCase, "outcome", "success", "exception", "none"));
+            return result;
+        } catch (Throwable e) {
+            sample.stop(meterRegistry.timer(USE_CASE_METRIC,
+                    "usecase", useCase, "outcome", "error", "exception", e.getClass().getSimpleName()));
+            throw e;
+        }
+    }
+
+    /**
+     * Implementations are tagged with the use case interface they implement, not their own class name.
+     */
+    private String useCaseName(Class<?> implementation) {
+        for (Class<?> type : ClassUtils.getAllInterfacesForClass(implementation)) {
+            if (type.getPackageName().equals(PORT_PACKAGE) && type.getSimpleName().endsWith("UseCase")) {
+                return type.getSimpleName();
+            }
+        }
+        return implementation.getSimpleName();
+    }
+}
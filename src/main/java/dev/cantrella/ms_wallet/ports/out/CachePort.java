@@ -1,7 +1,27 @@
 package dev.cantrella.ms_wallet.ports.out;
 
+import java.time.Duration;
+import java.util.function.Supplier;
+
 public interface CachePort {
     <T> T get(String key, Class<T> type);
-    void put(String key, Object value);
+    void put(String key, Object value, Duration ttl);
+
+    /**
+     * Stores the value only when the key is absent, so a reader never overwrites a balance written after commit.
+     */
+    boolean putIfAbsent(String key, Object value, Duration ttl);
+
+    /**
+     * Stores the value only when {@code version} is higher than the last one stored for the key, so writes that
+     * arrive out of order never replace a newer value. Returns whether the value was stored.
+     */
+    boolean putIfNewer(String key, Object value, long version, Duration ttl);
     void evict(String key);
+
+    /**
+     * Returns the cached value or runs the loader once for all concurrent callers of the same key.
+     * The loaded value is stored with {@link #putIfAbsent} semantics.
+     */
+    <T> T getOrLoad(String key, Class<T> type, Duration ttl, Supplier<T> loader);
 }
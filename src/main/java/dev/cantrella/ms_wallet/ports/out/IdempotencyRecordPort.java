@@ -0,0 +1,19 @@
+package dev.cantrella.ms_wallet.ports.out;
+
+import dev.cantrella.ms_wallet.application.dto.IdempotencyRecord;
+
+import java.util.Optional;
+
+/**
+ * Durable idempotency records, written in the same database transaction as the transaction they point to.
+ */
+public interface IdempotencyRecordPort {
+
+    Optional<IdempotencyRecord> find(String key);
+
+    /**
+     * Stores the record unless the key already has one. Waits for a concurrent transaction recording the same key
+     * and returns false if that one committed.
+     */
+    boolean record(String key, IdempotencyRecord record);
+}
@@ -0,0 +1,18 @@
+package dev.cantrella.ms_wallet.ports.out;
+
+import dev.cantrella.ms_wallet.application.dto.IdempotencyRecord;
+
+import java.time.Duration;
+import java.util.Optional;
+
+public interface IdempotencyStorePort {
+    Optional<IdempotencyRecord> findCompleted(String key);
+
+    /**
+     * Marks the key as in flight unless it is already in flight or completed; only the caller that gets
+     * {@code true} may execute the request.
+     */
+    boolean claim(String key, Duration ttl);
+    void complete(String key, IdempotencyRecord record, Duration ttl);
+    void release(String key);
+}
@@ -0,0 +1,18 @@
+package dev.cantrella.ms_wallet.ports.out;
+
+import dev.cantrella.ms_wallet.domain.model.Wallet;
+
+import java.util.Optional;
+
+/**
+ * Version-checked balance writes on the {@code wallets} row. Sharded balances don't move that version, so sharding
+ * requires {@code wallet.write.mode=pessimistic} and never reaches this port.
+ */
+public interface OptimisticWalletWritePort {
+
+    /**
+     * Writes the wallet balance only if the stored version is still the one the wallet was read at and returns the
+     * wallet with its new version. Empty when a concurrent write got there first.
+     */
+    Optional<Wallet> updateIfVersion(Wallet wallet);
+}
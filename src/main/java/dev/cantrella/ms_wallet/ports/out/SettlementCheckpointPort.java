@@ -0,0 +1,17 @@
+package dev.cantrella.ms_wallet.ports.out;
+
+import dev.cantrella.ms_wallet.application.dto.SettlementCheckpoint;
+
+public interface SettlementCheckpointPort {
+
+    /**
+     * Returns the stored checkpoint of the content hash, storing {@code start} first when there is none.
+     */
+    SettlementCheckpoint findOrCreate(SettlementCheckpoint start);
+
+    /**
+     * Moves the checkpoint to {@code next} only if it is still at the byte offset of {@code expected}. False when a
+     * concurrent or earlier ingestion of the same content already moved it.
+     */
+    boolean advance(SettlementCheckpoint expected, SettlementCheckpoint next);
+}
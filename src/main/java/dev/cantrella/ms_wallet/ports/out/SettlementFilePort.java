@@ -0,0 +1,29 @@
+package dev.cantrella.ms_wallet.ports.out;
+
+import dev.cantrella.ms_wallet.application.dto.SettlementChunk;
+
+import java.util.Optional;
+
+public interface SettlementFilePort {
+
+    /**
+     * Opens the settlement file for reading from the given byte offset, numbering lines after {@code lineNumber}.
+     */
+    SettlementFileCursor open(String fileName, long byteOffset, long lineNumber);
+
+    /**
+     * Hex SHA-256 of the file content.
+     */
+    String contentHash(String fileName);
+
+    interface SettlementFileCursor extends AutoCloseable {
+
+        /**
+         * Next chunk of at most {@code maxLines} lines, empty at the end of the file.
+         */
+        Optional<SettlementChunk> nextChunk(int maxLines);
+
+        @Override
+        void close();
+    }
+}
@@ -1,12 +1,39 @@
 package dev.cantrella.ms_wallet.ports.out;
 
+import dev.cantrella.ms_wallet.application.dto.TransactionStatementPage;
+import dev.cantrella.ms_wallet.domain.model.Money;
 import dev.cantrella.ms_wallet.domain.model.Transaction;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface TransactionLogRepositoryPort {
 
     List<Transaction> listByWalletId(UUID walletId, LocalDateTime timestamp);
+
+    /**
+     * Signed sum (cash in minus cash out) of the wallet transactions until the timestamp, computed by the
+     * log store itself. Empty when the store can't aggregate, so callers can fall back to {@link #listByWalletId}.
+     */
+    Optional<Money> sumSignedAmountUntil(UUID walletId, LocalDateTime timestamp);
+
+    /**
+     * Latest transaction of the wallet at or before the timestamp, using the same time filter as the queries above.
+     */
+    Optional<Transaction> findLastUntil(UUID walletId, LocalDateTime timestamp);
+
+    /**
+     * Wallet transactions newest first, keyset-paginated on (timestamp, id). {@code cursor} is the opaque
+     * {@code nextCursor} of the previous page, or null for the first one.
+     */
+    TransactionStatementPage findStatementPage(UUID walletId, String cursor, int limit);
+
+    /**
+     * Same order and cursor as {@link #findStatementPage}, read lazily from a store cursor until the first
+     * transaction. The caller must close the stream.
+     */
+    Stream<Transaction> streamStatement(UUID walletId, String cursor);
 }
@@ -2,7 +2,15 @@ package dev.cantrella.ms_wallet.ports.out;
 
 import dev.cantrella.ms_wallet.domain.model.Transaction;
 
+import java.util.List;
+
 public interface TransactionRepositoryPort {
 
     void save(Transaction transaction);
+    void saveAll(List<Transaction> transactions);
+
+    /**
+     * Streams the transactions into storage with a bulk load instead of one insert per row, for large imports.
+     */
+    void bulkInsert(List<Transaction> transactions);
 }
@@ -0,0 +1,29 @@
+package dev.cantrella.ms_wallet.ports.out;
+
+import dev.cantrella.ms_wallet.application.dto.HotWallet;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface WalletContentionPort {
+
+    /**
+     * Records {@code operations} writes on the wallet and the time spent acquiring its row lock for them.
+     */
+    void record(UUID walletId, int operations, long lockWaitNanos);
+
+    /**
+     * Records an optimistic write on the wallet that lost to a concurrent one and has to be retried.
+     */
+    void recordConflict(UUID walletId);
+
+    /**
+     * Conflicts per recorded operation on the wallet over the recent window, 0 when it has no recent operations.
+     */
+    double conflictRate(UUID walletId);
+
+    /**
+     * The hottest wallets of the recent window, hottest first.
+     */
+    List<HotWallet> hottest();
+}
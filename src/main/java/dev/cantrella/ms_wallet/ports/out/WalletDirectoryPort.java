@@ -0,0 +1,17 @@
+package dev.cantrella.ms_wallet.ports.out;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * User id to wallet id mapping. A wallet never changes owner, so entries are never updated or removed.
+ */
+public interface WalletDirectoryPort {
+
+    /**
+     * Wallet id of the user, empty when the directory has not seen the user yet.
+     */
+    Optional<UUID> find(String userId);
+
+    void put(String userId, UUID walletId);
+}
@@ -1,18 +1,51 @@
 package dev.cantrella.ms_wallet.ports.out;
 
+import dev.cantrella.ms_wallet.domain.model.Money;
 import dev.cantrella.ms_wallet.domain.model.Wallet;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.BiConsumer;
 
 public interface WalletRepositoryPort {
 
     boolean existsByUserId(String userId);
     Wallet save(Wallet wallet);
 
-    void update(Wallet wallet);
+    /**
+     * Returns the wallet as stored, with its new version.
+     */
+    Wallet update(Wallet wallet);
     Optional<Wallet> findById(UUID id);
     Optional<Wallet> findByUserId(String userId);
     Optional<Wallet> findByUserIdForUpdate(String userId);
     Optional<Wallet> findByIdForUpdate(UUID id);
+    List<Wallet> findAllByIdsForUpdate(Set<UUID> ids);
+    List<Wallet> findAllByIds(Set<UUID> ids);
+
+    /**
+     * Adds the (possibly negative) delta to the wallet balance in a single conditional statement.
+     * Empty when the wallet does not exist or the resulting balance would be negative.
+     */
+    Optional<Wallet> applyBalanceDelta(String userId, Money delta);
+
+    /**
+     * Wallet ids of the given users, keyed by user id. Users without a wallet are left out.
+     */
+    Map<String, UUID> findIdsByUserIds(Collection<String> userIds);
+
+    /**
+     * Passes the user id and wallet id of every wallet to the consumer, streaming rows instead of loading them all.
+     * Callers run it inside a transaction so the driver can use a cursor.
+     */
+    void forEachWalletId(BiConsumer<String, UUID> consumer);
+
+    /**
+     * Adds each amount to the balance of its wallet in one batched statement and returns the updated wallets.
+     */
+    List<Wallet> creditAll(Map<UUID, Money> credits);
 }
@@ -0,0 +1,141 @@
+package dev.cantrella.ms_wallet.application.usecase;
+
+import dev.cantrella.ms_wallet.application.dto.IdempotencyRecord;
+import dev.cantrella.ms_wallet.application.dto.IdempotentRequest;
+import dev.cantrella.ms_wallet.application.dto.WalletOperation;
+import dev.cantrella.ms_wallet.application.dto.WalletOperationResult;
+import dev.cantrella.ms_wallet.application.event.BalanceChangedEvent;
+import dev.cantrella.ms_wallet.application.exception.WalletNotFoundException;
+import dev.cantrella.ms_wallet.domain.exception.WalletOperationException;
+import dev.cantrella.ms_wallet.domain.model.Money;
+import dev.cantrella.ms_wallet.domain.model.Transaction;
+import dev.cantrella.ms_wallet.domain.model.TransactionType;
+import dev.cantrella.ms_wallet.domain.model.Wallet;
+import dev.cantrella.ms_wallet.ports.out.IdempotencyRecordPort;
+import dev.cantrella.ms_wallet.ports.out.TransactionRepositoryPort;
+import dev.cantrella.ms_wallet.ports.out.WalletContentionPort;
+import dev.cantrella.ms_wallet.ports.out.WalletRepositoryPort;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ApplyWalletOperationsUseCaseImplTest {
+
+    @Mock
+    private WalletRepositoryPort walletRepositoryPort;
+    @Mock
+    private TransactionRepositoryPort transactionRepositoryPort;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private WalletContentionPort walletContentionPort;
+    @Mock
+    private IdempotencyRecordPort idempotencyRecordPort;
+    @InjectMocks
+    private ApplyWalletOperationsUseCaseImpl applyWalletOperationsUseCase;
+
+    @Test
+    @DisplayName("Should apply a batch of operations with one lock, one update and one insert batch")
+    void shouldApplyBatchInOrder() {
+        String userId = "bob@mail.com";
+        Wallet wallet = new Wallet(UUID.randomUUID(), userId, Money.of("10.00"), LocalDateTime.now());
+        when(walletRepositoryPort.findByUserIdForUpdate(userId)).thenReturn(Optional.of(wallet));
+        when(walletRepositoryPort.update(wallet)).thenAnswer(invocation -> new Wallet(
+                wallet.getId(), userId, wallet.getBalance(), wallet.getCreatedAt(), wallet.getVersion() + 1));
+
+        List<WalletOperationResult> results = applyWalletOperationsUseCase.execute(userId, List.of(
+                new WalletOperation(TransactionType.DEPOSIT, Money.of("5.00")),
+                new WalletOperation(TransactionType.WITHDRAW, Money.of("15.00")),
+                new WalletOperation(TransactionType.WITHDRAW, Money.of("1.00"))));
+
+        assertEquals(3, results.size());
+        assertTrue(results.get(0).isSuccess());
+        assertTrue(results.get(1).isSuccess());
+        assertFalse(results.get(2).isSuccess());
+        assertInstanceOf(WalletOperationException.class, results.get(2).error());
+        assertEquals(TransactionType.WITHDRAW, results.get(1).transaction().getType());
+        assertEquals(Money.ZERO, wallet.getBalance());
+        verify(walletRepositoryPort, times(1)).findByUserIdForUpdate(userId);
+        verify(walletRepositoryPort, times(1)).update(wallet);
+        verify(eventPublisher).publishEvent(new BalanceChangedEvent(userId, wallet.getId(), wallet.getBalance(), 1));
+        verify(transactionRepositoryPort).saveAll(List.of(results.get(0).transaction(), results.get(1).transaction()));
+    }
+
+    @Test
+    @DisplayName("Should not write anything when every operation of the batch fails")
+    void shouldNotWriteWhenEveryOperationFails() {
+        String userId = "bob@mail.com";
+        Wallet wallet = new Wallet(UUID.randomUUID(), userId, Money.ZERO, LocalDateTime.now());
+        when(walletRepositoryPort.findByUserIdForUpdate(userId)).thenReturn(Optional.of(wallet));
+
+        List<WalletOperationResult> results = applyWalletOperationsUseCase.execute(userId, List.of(
+                new WalletOperation(TransactionType.WITHDRAW, Money.of("1.00"))));
+
+        assertFalse(results.get(0).isSuccess());
+        verify(walletRepositoryPort, never()).update(any());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+        verify(transactionRepositoryPort, never()).saveAll(any());
+    }
+
+    @Test
+    @DisplayName("Should throw exception when wallet not found")
+    void shouldThrowExceptionWhenWalletNotFound() {
+        String userId = "bob@mail.com";
+        when(walletRepositoryPort.findByUserIdForUpdate(userId)).thenReturn(Optional.empty());
+        List<WalletOperation> operations = List.of(new WalletOperation(TransactionType.DEPOSIT, Money.of("1.00")));
+
+        assertThrows(WalletNotFoundException.class, () -> applyWalletOperationsUseCase.execute(userId, operations));
+        verify(transactionRepositoryPort, never()).saveAll(any());
+    }
+
+    @Test
+    @DisplayName("Should record the idempotency key of keyed operations in the batch transaction")
+    void shouldRecordKeyedOperations() {
+        String userId = "bob@mail.com";
+        Wallet wallet = new Wallet(UUID.randomUUID(), userId, Money.of("10.00"), LocalDateTime.now());
+        when(walletRepositoryPort.findByUserIdForUpdate(userId)).thenReturn(Optional.of(wallet));
+        when(walletRepositoryPort.update(wallet)).thenReturn(wallet);
+        when(idempotencyRecordPort.record(eq("k"), any())).thenReturn(true);
+
+        List<WalletOperationResult> results = applyWalletOperationsUseCase.execute(userId, List.of(
+                new WalletOperation(TransactionType.DEPOSIT, Money.of("5.00"), new IdempotentRequest("k", "fp")),
+                new WalletOperation(TransactionType.DEPOSIT, Money.of("1.00"))));
+
+        verify(idempotencyRecordPort).record("k", new IdempotencyRecord("fp", results.get(0).transaction()));
+        verifyNoMoreInteractions(idempotencyRecordPort);
+        assertEquals(Money.of("16.00"), wallet.getBalance());
+    }
+
+    @Test
+    @DisplayName("Should not apply a keyed operation another execution already recorded")
+    void shouldSkipAlreadyRecordedOperations() {
+        String userId = "bob@mail.com";
+        Wallet wallet = new Wallet(UUID.randomUUID(), userId, Money.of("10.00"), LocalDateTime.now());
+        when(walletRepositoryPort.findByUserIdForUpdate(userId)).thenReturn(Optional.of(wallet));
+        when(walletRepositoryPort.update(wallet)).thenReturn(wallet);
+        when(idempotencyRecordPort.record(eq("k"), any())).thenReturn(false);
+
+        List<WalletOperationResult> results = applyWalletOperationsUseCase.execute(userId, List.of(
+                new WalletOperation(TransactionType.WITHDRAW, Money.of("4.00"), new IdempotentRequest("k", "fp")),
+                new WalletOperation(TransactionType.DEPOSIT, Money.of("1.00"))));
+
+        assertInstanceOf(IdempotentTransactionExecutorImpl.AlreadyRecordedException.class, results.get(0).error());
+        assertTrue(results.get(1).isSuccess());
+        assertEquals(Money.of("11.00"), wallet.getBalance());
+        verify(transactionRepositoryPort).saveAll(List.of(results.get(1).transaction()));
+    }
+}
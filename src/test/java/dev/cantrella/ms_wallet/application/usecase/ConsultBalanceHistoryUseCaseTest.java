@@ -1,25 +1,31 @@
 package dev.cantrella.ms_wallet.application.usecase;
 
+import dev.cantrella.ms_wallet.application.config.BalanceHistoryPolicy;
+import dev.cantrella.ms_wallet.application.config.CacheTtlPolicy;
 import dev.cantrella.ms_wallet.application.dto.BalanceHistoryQuery;
 import dev.cantrella.ms_wallet.application.dto.BalanceResponse;
+import dev.cantrella.ms_wallet.application.exception.WalletNotFoundException;
+import dev.cantrella.ms_wallet.application.port.ConsultWalletIdUseCase;
+import dev.cantrella.ms_wallet.domain.model.Money;
 import dev.cantrella.ms_wallet.domain.model.Transaction;
 import dev.cantrella.ms_wallet.domain.model.Wallet;
 import dev.cantrella.ms_wallet.ports.out.CachePort;
 import dev.cantrella.ms_wallet.ports.out.TransactionLogRepositoryPort;
-import dev.cantrella.ms_wallet.ports.out.WalletRepositoryPort;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -30,10 +36,9 @@ class ConsultBalanceHistoryUseCaseTest {
     @Mock
     private TransactionLogRepositoryPort transactionLogRepositoryPort;
     @Mock
-    private WalletRepositoryPort walletRepositoryPort;
+    private ConsultWalletIdUseCase consultWalletIdUseCase;
     @Mock
     private CachePort cachePort;
-    @InjectMocks
     private ConsultBalanceHistoryUseCaseImpl consultBalanceHistoryUseCase;
     private Wallet wallet;
 
@@ -42,6 +47,12 @@ class ConsultBalanceHistoryUseCaseTest {
     @BeforeEach
     void setUp() {
         wallet = Wallet.create("user_id");
+        consultBalanceHistoryUseCase = new ConsultBalanceHistoryUseCaseImpl(
+                transactionLogRepositoryPort, consultWalletIdUseCase, cachePort,
+                new CacheTtlPolicy(Duration.ofMinutes(5), Duration.ofHours(1), Duration.ofMinutes(10)),
+                new BalanceHistoryPolicy(Duration.ofMinutes(1)));
+        lenient().when(cachePort.getOrLoad(any(), eq(BalanceResponse.class), any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<BalanceResponse>>getArgument(3).get());
     }
 
     @Test
@@ -50,13 +61,15 @@ class ConsultBalanceHistoryUseCaseTest {
         BalanceHistoryQuery query = new BalanceHistoryQuery(
                 USER_ID, LocalDateTime.now());
 
-        when(walletRepositoryPort.findByUserId(USER_ID)).thenReturn(Optional.of(wallet));
+        when(consultWalletIdUseCase.execute(USER_ID)).thenReturn(wallet.getId());
 
         List<Transaction> transactions = Arrays.asList(
-                Transaction.createDeposit(wallet.getId(), new BigDecimal("100.00")),
-                Transaction.createWithdraw(wallet.getId(), new BigDecimal("50.00"))
+                Transaction.createDeposit(wallet.getId(), Money.of("100.00")),
+                Transaction.createWithdraw(wallet.getId(), Money.of("50.00"))
         );
 
+        when(transactionLogRepositoryPort.findLastUntil(eq(wallet.getId()), any()))
+                .thenReturn(Optional.of(transactions.get(transactions.size() - 1)));
         when(transactionLogRepositoryPort.listByWalletId(eq(wallet.getId()), any()))
                 .thenReturn(transactions);
 
@@ -74,16 +87,18 @@ class ConsultBalanceHistoryUseCaseTest {
         // Arrange
         BalanceHistoryQuery query = new BalanceHistoryQuery(USER_ID, LocalDateTime.now());
 
-        when(walletRepositoryPort.findByUserId(USER_ID)).thenReturn(Optional.of(wallet));
+        when(consultWalletIdUseCase.execute(USER_ID)).thenReturn(wallet.getId());
 
         List<Transaction> transactions = Arrays.asList(
-                Transaction.createDeposit(wallet.getId(), new BigDecimal("100.00")),
+                Transaction.createDeposit(wallet.getId(), Money.of("100.00")),
                 Transaction.createTransfer(
                         wallet.getId(),
                         UUID.randomUUID(),
-                        new BigDecimal("30.00"))
+                        Money.of("30.00"))
         );
 
+        when(transactionLogRepositoryPort.findLastUntil(eq(wallet.getId()), any()))
+                .thenReturn(Optional.of(transactions.get(transactions.size() - 1)));
         when(transactionLogRepositoryPort.listByWalletId(eq(wallet.getId()), any()))
                 .thenReturn(transactions);
 
@@ -98,10 +113,12 @@ class ConsultBalanceHistoryUseCaseTest {
     void shouldReturnBalanceWithTransferAsCashIn() {
 
         BalanceHistoryQuery query = new BalanceHistoryQuery(USER_ID, LocalDateTime.now());
-        when(walletRepositoryPort.findByUserId(USER_ID)).thenReturn(Optional.of(wallet));
+        when(consultWalletIdUseCase.execute(USER_ID)).thenReturn(wallet.getId());
         List<Transaction> transactions = Arrays.asList(
-                Transaction.createTransfer(UUID.randomUUID(), wallet.getId(), new BigDecimal("40.00"))
+                Transaction.createTransfer(UUID.randomUUID(), wallet.getId(), Money.of("40.00"))
         );
+        when(transactionLogRepositoryPort.findLastUntil(eq(wallet.getId()), any()))
+                .thenReturn(Optional.of(transactions.get(transactions.size() - 1)));
         when(transactionLogRepositoryPort.listByWalletId(eq(wallet.getId()), any()))
                 .thenReturn(transactions);
 
@@ -114,7 +131,7 @@ class ConsultBalanceHistoryUseCaseTest {
     void shouldThrowExceptionWhenWalletDoesNotExist() {
 
         BalanceHistoryQuery query = new BalanceHistoryQuery(USER_ID, LocalDateTime.now());
-        when(walletRepositoryPort.findByUserId(USER_ID)).thenReturn(Optional.empty());
+        when(consultWalletIdUseCase.execute(USER_ID)).thenThrow(new WalletNotFoundException(USER_ID));
 
         RuntimeException exception = assertThrows(RuntimeException.class,
                 () -> consultBalanceHistoryUseCase.execute(query));
@@ -124,13 +141,82 @@ class ConsultBalanceHistoryUseCaseTest {
     @Test
     void shouldReturnZeroWhenNoTransactions() {
 
+        BalanceHistoryQuery query = new BalanceHistoryQuery(USER_ID, LocalDateTime.now().minusHours(1));
+        when(consultWalletIdUseCase.execute(USER_ID)).thenReturn(wallet.getId());
+
+        BalanceResponse response = consultBalanceHistoryUseCase.execute(query);
+
+        assertEquals(0, BigDecimal.ZERO.compareTo(response.balance()));
+        verify(cachePort).getOrLoad(eq("wallet:" + wallet.getId() + ":balance:initial"), eq(BalanceResponse.class), any(), any());
+        verify(transactionLogRepositoryPort, never()).sumSignedAmountUntil(any(), any());
+    }
+
+    @Test
+    void shouldReturnBalanceFromLogAggregation() {
+
         BalanceHistoryQuery query = new BalanceHistoryQuery(USER_ID, LocalDateTime.now());
-        when(walletRepositoryPort.findByUserId(USER_ID)).thenReturn(Optional.of(wallet));
-        when(transactionLogRepositoryPort.listByWalletId(eq(wallet.getId()), any()))
-                .thenReturn(List.of());
+        when(consultWalletIdUseCase.execute(USER_ID)).thenReturn(wallet.getId());
+        when(transactionLogRepositoryPort.findLastUntil(wallet.getId(), query.timestamp()))
+                .thenReturn(Optional.of(Transaction.createDeposit(wallet.getId(), Money.of("120.50"))));
+        when(transactionLogRepositoryPort.sumSignedAmountUntil(wallet.getId(), query.timestamp()))
+                .thenReturn(Optional.of(Money.of("120.50")));
 
         BalanceResponse response = consultBalanceHistoryUseCase.execute(query);
 
-        assertEquals(BigDecimal.ZERO, response.balance());
+        assertEquals(wallet.getId(), response.walletId());
+        assertEquals(new BigDecimal("120.50"), response.balance());
+        verify(transactionLogRepositoryPort, never()).listByWalletId(any(), any());
+    }
+
+    @Test
+    void shouldFallbackToTransactionListWhenAggregationIsUnavailable() {
+
+        BalanceHistoryQuery query = new BalanceHistoryQuery(USER_ID, LocalDateTime.now());
+        when(consultWalletIdUseCase.execute(USER_ID)).thenReturn(wallet.getId());
+        when(transactionLogRepositoryPort.findLastUntil(wallet.getId(), query.timestamp()))
+                .thenReturn(Optional.of(Transaction.createDeposit(wallet.getId(), Money.of("10.00"))));
+        when(transactionLogRepositoryPort.sumSignedAmountUntil(wallet.getId(), query.timestamp()))
+                .thenReturn(Optional.empty());
+        when(transactionLogRepositoryPort.listByWalletId(wallet.getId(), query.timestamp()))
+                .thenReturn(List.of(Transaction.createDeposit(wallet.getId(), Money.of("10.00"))));
+
+        BalanceResponse response = consultBalanceHistoryUseCase.execute(query);
+
+        assertEquals(new BigDecimal("10.00"), response.balance());
+    }
+
+    @Test
+    void shouldNotCacheTimestampsTheProjectionCanStillReach() {
+
+        Transaction deposit = Transaction.createDeposit(wallet.getId(), Money.of("25.00"));
+        BalanceHistoryQuery query = new BalanceHistoryQuery(USER_ID, LocalDateTime.now().minusSeconds(10));
+        when(consultWalletIdUseCase.execute(USER_ID)).thenReturn(wallet.getId());
+        when(transactionLogRepositoryPort.findLastUntil(wallet.getId(), query.timestamp())).thenReturn(Optional.of(deposit));
+        when(transactionLogRepositoryPort.sumSignedAmountUntil(wallet.getId(), query.timestamp()))
+                .thenReturn(Optional.of(Money.of("25.00")));
+
+        BalanceResponse response = consultBalanceHistoryUseCase.execute(query);
+
+        assertEquals(new BigDecimal("25.00"), response.balance());
+        verifyNoInteractions(cachePort);
+    }
+
+    @Test
+    void shouldShareCacheKeyForTimestampsBetweenTheSameTransactions() {
+
+        Transaction deposit = Transaction.createDeposit(wallet.getId(), Money.of("25.00"));
+        LocalDateTime firstAt = LocalDateTime.of(2024, 1, 1, 10, 0, 0, 1_000_000);
+        LocalDateTime secondAt = LocalDateTime.of(2024, 1, 1, 10, 59, 59, 999_000_000);
+        when(consultWalletIdUseCase.execute(USER_ID)).thenReturn(wallet.getId());
+        when(transactionLogRepositoryPort.findLastUntil(eq(wallet.getId()), any())).thenReturn(Optional.of(deposit));
+
+        consultBalanceHistoryUseCase.execute(new BalanceHistoryQuery(USER_ID, firstAt));
+        consultBalanceHistoryUseCase.execute(new BalanceHistoryQuery(USER_ID, secondAt));
+
+        ArgumentCaptor<String> keys = ArgumentCaptor.forClass(String.class);
+        verify(cachePort, times(2)).getOrLoad(keys.capture(), eq(BalanceResponse.class), any(), any());
+        assertEquals(List.of(
+                "wallet:" + wallet.getId() + ":balance:after:" + deposit.getId(),
+                "wallet:" + wallet.getId() + ":balance:after:" + deposit.getId()), keys.getAllValues());
     }
 }
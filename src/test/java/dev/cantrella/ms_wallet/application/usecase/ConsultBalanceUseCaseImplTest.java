@@ -1,51 +1,74 @@
 package dev.cantrella.ms_wallet.application.usecase;
 
+import dev.cantrella.ms_wallet.application.config.CacheTtlPolicy;
 import dev.cantrella.ms_wallet.application.dto.BalanceResponse;
 import dev.cantrella.ms_wallet.application.dto.ConsultBalanceQuery;
 import dev.cantrella.ms_wallet.application.exception.WalletNotFoundException;
 import dev.cantrella.ms_wallet.domain.model.Wallet;
 import dev.cantrella.ms_wallet.ports.out.CachePort;
 import dev.cantrella.ms_wallet.ports.out.WalletRepositoryPort;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 public class ConsultBalanceUseCaseImplTest {
+    private static final CacheTtlPolicy CACHE_TTL_POLICY =
+            new CacheTtlPolicy(Duration.ofMinutes(5), Duration.ofHours(1), Duration.ofMinutes(10));
+
     @Mock
     private  WalletRepositoryPort walletRepositoryPort;
     @Mock
     private  CachePort cachePort;
-    @InjectMocks
+    @Mock
+    private PlatformTransactionManager transactionManager;
     private ConsultBalanceUseCaseImpl consultBalanceUseCase;
 
+    @BeforeEach
+    void setUp() {
+        consultBalanceUseCase = new ConsultBalanceUseCaseImpl(walletRepositoryPort, cachePort, CACHE_TTL_POLICY, transactionManager);
+    }
+
     @Test
     @DisplayName("Should return balance from wallet found in repository")
     void shouldReturnBalanceFromWalletFoundInRepository() {
         String userId = "bob@mail.com";
         ConsultBalanceQuery query = new ConsultBalanceQuery(userId);
         Wallet wallet = Wallet.create(userId);
-        when(cachePort.get(userId, BalanceResponse.class)).thenReturn(null);
+        loadThroughCache(userId);
         when(walletRepositoryPort.findByUserId(userId)).thenReturn(Optional.of(wallet));
-        doNothing().when(cachePort).put(any(), any(BalanceResponse.class));
 
         BalanceResponse balanceResponse = consultBalanceUseCase.execute(query);
 
-        assertEquals(wallet.getBalance(), balanceResponse.balance());
+        assertEquals(wallet.getBalance().toBigDecimal(), balanceResponse.balance());
         assertEquals(wallet.getId(), balanceResponse.walletId());
-        verify(cachePort, times(1)).get(any(), any());
-        verify(cachePort).get(userId, BalanceResponse.class);
-        verify(cachePort).put(userId, balanceResponse);
-        verify(cachePort, times(1)).put(any(), any());
+        verify(cachePort).getOrLoad(eq(userId), eq(BalanceResponse.class), eq(Duration.ofMinutes(5)), any());
+        verify(transactionManager).getTransaction(argThat(definition -> !definition.isReadOnly()));
+    }
+
+    @Test
+    @DisplayName("Should return cached balance without querying the repository")
+    void shouldReturnCachedBalance() {
+        String userId = "bob@mail.com";
+        BalanceResponse cached = new BalanceResponse(UUID.randomUUID(), BigDecimal.TEN);
+        when(cachePort.getOrLoad(eq(userId), eq(BalanceResponse.class), any(), any())).thenReturn(cached);
+
+        assertEquals(cached, consultBalanceUseCase.execute(new ConsultBalanceQuery(userId)));
+        verifyNoInteractions(walletRepositoryPort, transactionManager);
     }
 
     @Test
@@ -53,8 +76,7 @@ public class ConsultBalanceUseCaseImplTest {
     void shouldThrowExceptionWhenDoNotFindWallet() {
         String userId = "bob@mail.com";
         ConsultBalanceQuery query = new ConsultBalanceQuery(userId);
-        Wallet wallet = Wallet.create(userId);
-        when(cachePort.get(userId, BalanceResponse.class)).thenReturn(null);
+        loadThroughCache(userId);
         when(walletRepositoryPort.findByUserId(userId)).thenReturn(Optional.empty());
 
         var walletNotFoundException = assertThrows(WalletNotFoundException.class, () -> {
@@ -63,8 +85,11 @@ public class ConsultBalanceUseCaseImplTest {
 
         assertEquals(userId, walletNotFoundException.getUserId());
         assertEquals("Wallet for user ID " + userId + " not found", walletNotFoundException.getMessage());
-        verify(cachePort, times(1)).get(any(), any());
-        verify(cachePort).get(userId, BalanceResponse.class);
-        verify(cachePort, never()).put(any(), any());
+        verify(cachePort, never()).put(any(), any(), any());
+    }
+
+    private void loadThroughCache(String key) {
+        when(cachePort.getOrLoad(eq(key), eq(BalanceResponse.class), any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<BalanceResponse>>getArgument(3).get());
     }
 }
@@ -0,0 +1,88 @@
+package dev.cantrella.ms_wallet.application.usecase;
+
+import dev.cantrella.ms_wallet.application.dto.TransactionStatementPage;
+import dev.cantrella.ms_wallet.application.dto.TransactionStatementQuery;
+import dev.cantrella.ms_wallet.application.dto.TransactionStatementStreamQuery;
+import dev.cantrella.ms_wallet.application.exception.InvalidDataException;
+import dev.cantrella.ms_wallet.application.exception.WalletNotFoundException;
+import dev.cantrella.ms_wallet.application.port.ConsultWalletIdUseCase;
+import dev.cantrella.ms_wallet.domain.model.Money;
+import dev.cantrella.ms_wallet.domain.model.Transaction;
+import dev.cantrella.ms_wallet.ports.out.TransactionLogRepositoryPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConsultTransactionStatementUseCaseImplTest {
+
+    private static final String USER_ID = "bob@mail.com";
+
+    @Mock
+    private TransactionLogRepositoryPort transactionLogRepositoryPort;
+    @Mock
+    private ConsultWalletIdUseCase consultWalletIdUseCase;
+    private ConsultTransactionStatementUseCaseImpl consultTransactionStatementUseCase;
+    private StreamTransactionStatementUseCaseImpl streamTransactionStatementUseCase;
+
+    @BeforeEach
+    void setUp() {
+        consultTransactionStatementUseCase = new ConsultTransactionStatementUseCaseImpl(
+                transactionLogRepositoryPort, consultWalletIdUseCase);
+        streamTransactionStatementUseCase = new StreamTransactionStatementUseCaseImpl(
+                transactionLogRepositoryPort, consultWalletIdUseCase);
+    }
+
+    @Test
+    void shouldReturnPageOfTheUserWallet() {
+        UUID walletId = UUID.randomUUID();
+        TransactionStatementPage page = new TransactionStatementPage(
+                List.of(Transaction.createDeposit(walletId, Money.of("10.00"))), "next");
+        when(consultWalletIdUseCase.execute(USER_ID)).thenReturn(walletId);
+        when(transactionLogRepositoryPort.findStatementPage(walletId, "cursor", 20)).thenReturn(page);
+
+        TransactionStatementPage result = consultTransactionStatementUseCase.execute(
+                new TransactionStatementQuery(USER_ID, "cursor", 20));
+
+        assertSame(page, result);
+    }
+
+    @Test
+    void shouldRejectLimitOutOfRange() {
+        assertThrows(InvalidDataException.class, () -> new TransactionStatementQuery(USER_ID, null, 0));
+        assertThrows(InvalidDataException.class,
+                () -> new TransactionStatementQuery(USER_ID, null, TransactionStatementQuery.MAX_LIMIT + 1));
+        assertThrows(InvalidDataException.class, () -> new TransactionStatementQuery(null, null, 10));
+    }
+
+    @Test
+    void shouldResolveWalletBeforeOpeningTheStream() {
+        when(consultWalletIdUseCase.execute(USER_ID)).thenThrow(new WalletNotFoundException(USER_ID));
+
+        assertThrows(WalletNotFoundException.class,
+                () -> streamTransactionStatementUseCase.execute(new TransactionStatementStreamQuery(USER_ID, null)));
+        verifyNoInteractions(transactionLogRepositoryPort);
+    }
+
+    @Test
+    void shouldStreamStatementOfTheUserWallet() {
+        UUID walletId = UUID.randomUUID();
+        Transaction transaction = Transaction.createWithdraw(walletId, Money.of("5.00"));
+        when(consultWalletIdUseCase.execute(USER_ID)).thenReturn(walletId);
+        when(transactionLogRepositoryPort.streamStatement(walletId, null)).thenReturn(Stream.of(transaction));
+
+        try (Stream<Transaction> statement = streamTransactionStatementUseCase.execute(
+                new TransactionStatementStreamQuery(USER_ID, null))) {
+            assertEquals(List.of(transaction), statement.toList());
+        }
+    }
+}
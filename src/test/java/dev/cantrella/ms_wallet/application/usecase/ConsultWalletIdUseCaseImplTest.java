@@ -0,0 +1,107 @@
+package dev.cantrella.ms_wallet.application.usecase;
+
+import dev.cantrella.ms_wallet.application.config.CacheTtlPolicy;
+import dev.cantrella.ms_wallet.application.exception.WalletNotFoundException;
+import dev.cantrella.ms_wallet.domain.model.Wallet;
+import dev.cantrella.ms_wallet.ports.out.CachePort;
+import dev.cantrella.ms_wallet.ports.out.WalletDirectoryPort;
+import dev.cantrella.ms_wallet.ports.out.WalletRepositoryPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConsultWalletIdUseCaseImplTest {
+
+    @Mock
+    private WalletRepositoryPort walletRepositoryPort;
+    @Mock
+    private CachePort cachePort;
+    @Mock
+    private WalletDirectoryPort walletDirectoryPort;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final CacheTtlPolicy cacheTtlPolicy =
+            new CacheTtlPolicy(Duration.ofMinutes(5), Duration.ofHours(1), Duration.ofMinutes(10));
+
+    private ConsultWalletIdUseCaseImpl useCase;
+
+    @BeforeEach
+    void setUp() {
+        useCase = new ConsultWalletIdUseCaseImpl(walletRepositoryPort, cachePort, cacheTtlPolicy, walletDirectoryPort,
+                transactionManager);
+    }
+
+    @Test
+    void shouldAnswerFromDirectoryWithoutCacheOrDatabase() {
+        UUID walletId = UUID.randomUUID();
+        when(walletDirectoryPort.find("alice@mail.com")).thenReturn(Optional.of(walletId));
+
+        assertEquals(walletId, useCase.execute("alice@mail.com"));
+
+        verifyNoInteractions(cachePort, walletRepositoryPort, transactionManager);
+        verify(walletDirectoryPort, never()).put(any(), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldLoadMissAndAddItToDirectory() {
+        Wallet wallet = Wallet.create("alice@mail.com");
+        when(walletDirectoryPort.find("alice@mail.com")).thenReturn(Optional.empty());
+        when(walletRepositoryPort.findByUserId("alice@mail.com")).thenReturn(Optional.of(wallet));
+        when(cachePort.getOrLoad(eq("wallet:id:alice@mail.com"), eq(String.class), any(), any()))
+                .thenAnswer(invocation -> ((Supplier<String>) invocation.getArgument(3)).get());
+
+        assertEquals(wallet.getId(), useCase.execute("alice@mail.com"));
+
+        verify(walletDirectoryPort).put("alice@mail.com", wallet.getId());
+        verify(transactionManager).getTransaction(argThat(TransactionDefinition::isReadOnly));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldUseDirectoryOnlyOutsideTheReadOnlyTransaction() {
+        Wallet wallet = Wallet.create("alice@mail.com");
+        when(walletDirectoryPort.find("alice@mail.com")).thenReturn(Optional.empty());
+        when(walletRepositoryPort.findByUserId("alice@mail.com")).thenReturn(Optional.of(wallet));
+        when(cachePort.getOrLoad(eq("wallet:id:alice@mail.com"), eq(String.class), any(), any()))
+                .thenAnswer(invocation -> ((Supplier<String>) invocation.getArgument(3)).get());
+
+        useCase.execute("alice@mail.com");
+
+        InOrder inOrder = inOrder(walletDirectoryPort, transactionManager, walletRepositoryPort);
+        inOrder.verify(walletDirectoryPort).find("alice@mail.com");
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(walletRepositoryPort).findByUserId("alice@mail.com");
+        inOrder.verify(transactionManager).commit(any());
+        inOrder.verify(walletDirectoryPort).put("alice@mail.com", wallet.getId());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldNotAddUnknownUsersToDirectory() {
+        when(walletDirectoryPort.find("ghost@mail.com")).thenReturn(Optional.empty());
+        when(walletRepositoryPort.findByUserId("ghost@mail.com")).thenReturn(Optional.empty());
+        when(cachePort.getOrLoad(eq("wallet:id:ghost@mail.com"), eq(String.class), any(), any()))
+                .thenAnswer(invocation -> ((Supplier<String>) invocation.getArgument(3)).get());
+
+        assertThrows(WalletNotFoundException.class, () -> useCase.execute("ghost@mail.com"));
+
+        verify(walletDirectoryPort, never()).put(any(), any());
+    }
+}
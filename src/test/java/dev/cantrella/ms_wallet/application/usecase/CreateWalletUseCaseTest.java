@@ -1,5 +1,7 @@
 package dev.cantrella.ms_wallet.application.usecase;
 
+import dev.cantrella.ms_wallet.application.event.WalletCreatedEvent;
+import dev.cantrella.ms_wallet.domain.model.Money;
 import dev.cantrella.ms_wallet.domain.model.Wallet;
 import dev.cantrella.ms_wallet.ports.out.WalletRepositoryPort;
 import org.junit.jupiter.api.BeforeEach;
@@ -9,8 +11,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
-import java.math.BigDecimal;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -21,6 +23,8 @@ class CreateWalletUseCaseTest {
 
     @Mock
     private WalletRepositoryPort walletRepositoryPort;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private CreateWalletUseCaseImpl createWalletUseCase;
@@ -43,7 +47,7 @@ class CreateWalletUseCaseTest {
         verify(walletRepositoryPort, times(1)).existsByUserId(userId);
         verify(walletRepositoryPort, times(1)).save(argThat(wallet ->
                 wallet.getUserId().equals(userId) &&
-                        wallet.getBalance().equals(BigDecimal.ZERO)
+                        wallet.getBalance().equals(Money.ZERO)
         ));
     }
 
@@ -81,7 +85,19 @@ class CreateWalletUseCaseTest {
         createWalletUseCase.execute(userId);
 
         verify(walletRepositoryPort).save(argThat(wallet ->
-                wallet.getBalance().equals(BigDecimal.ZERO)
+                wallet.getBalance().equals(Money.ZERO)
         ));
     }
+
+    @Test
+    @DisplayName("should announce the created wallet so its id can be indexed")
+    void shouldPublishWalletCreatedEvent() {
+        Wallet saved = Wallet.create(userId);
+        when(walletRepositoryPort.existsByUserId(userId)).thenReturn(false);
+        when(walletRepositoryPort.save(any())).thenReturn(saved);
+
+        createWalletUseCase.execute(userId);
+
+        verify(eventPublisher).publishEvent(new WalletCreatedEvent(userId, saved.getId()));
+    }
 }
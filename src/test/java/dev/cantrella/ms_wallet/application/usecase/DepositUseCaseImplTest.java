@@ -1,13 +1,15 @@
 package dev.cantrella.ms_wallet.application.usecase;
 
 import dev.cantrella.ms_wallet.application.dto.DepositOrWithdrawCommand;
+import dev.cantrella.ms_wallet.application.event.BalanceChangedEvent;
 import dev.cantrella.ms_wallet.application.exception.WalletNotFoundException;
 import dev.cantrella.ms_wallet.domain.exception.InvalidAmountTransactionException;
+import dev.cantrella.ms_wallet.domain.model.Money;
 import dev.cantrella.ms_wallet.domain.model.Transaction;
 import dev.cantrella.ms_wallet.domain.model.TransactionType;
 import dev.cantrella.ms_wallet.domain.model.Wallet;
-import dev.cantrella.ms_wallet.ports.out.CachePort;
 import dev.cantrella.ms_wallet.ports.out.TransactionRepositoryPort;
+import dev.cantrella.ms_wallet.ports.out.WalletContentionPort;
 import dev.cantrella.ms_wallet.ports.out.WalletRepositoryPort;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -16,8 +18,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.UUID;
@@ -33,7 +35,9 @@ class DepositUseCaseImplTest {
     @Mock
     private TransactionRepositoryPort transactionRepositoryPort;
     @Mock
-    private CachePort cachePort;
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private WalletContentionPort walletContentionPort;
     @InjectMocks
     private DepositUseCaseImpl depositUseCase;
 
@@ -41,10 +45,10 @@ class DepositUseCaseImplTest {
     @DisplayName("Should deposit amount successfully when wallet exists")
     void shouldDepositAmountSuccessfully() {
         String userEmail = "bob@mail.com";
-        BigDecimal amount = new BigDecimal("100.50");
+        Money amount = Money.of("100.50");
         DepositOrWithdrawCommand command = new DepositOrWithdrawCommand(userEmail, amount);
-        Wallet wallet = new Wallet(UUID.randomUUID(), userEmail, BigDecimal.ZERO, LocalDateTime.now());
-        when(walletRepositoryPort.findByUserIdForUpdate(userEmail)).thenReturn(Optional.of(wallet));
+        Wallet wallet = new Wallet(UUID.randomUUID(), userEmail, amount, LocalDateTime.now());
+        when(walletRepositoryPort.applyBalanceDelta(userEmail, amount)).thenReturn(Optional.of(wallet));
         doNothing().when(transactionRepositoryPort).save(any());
         LocalDateTime before = LocalDateTime.now();
 
@@ -59,26 +63,28 @@ class DepositUseCaseImplTest {
         assertTrue(before.isBefore(result.getTimestamp()) || before.isEqual(result.getTimestamp()));
         assertTrue(after.isAfter(result.getTimestamp()) || after.isEqual(result.getTimestamp()));
         assertNull(result.getDestinationWalletId());
-        verify(walletRepositoryPort).findByUserIdForUpdate(userEmail);
-        verify(walletRepositoryPort).update(wallet);
+        verify(walletRepositoryPort).applyBalanceDelta(userEmail, amount);
+        verify(walletRepositoryPort, never()).findByUserIdForUpdate(any());
+        verify(walletRepositoryPort, never()).update(any());
+        verify(eventPublisher).publishEvent(new BalanceChangedEvent(userEmail, wallet.getId(), wallet.getBalance(), wallet.getVersion()));
         verify(transactionRepositoryPort).save(result);
+        verify(walletContentionPort).record(eq(wallet.getId()), eq(1), anyLong());
     }
 
     @Test
     @DisplayName("Should throw exception when wallet not found")
     void shouldThrowExceptionWhenWalletNotFound() {
         String userEmail = "bob@mail.com";
-        BigDecimal amount = new BigDecimal("50.00");
+        Money amount = Money.of("50.00");
         DepositOrWithdrawCommand command = new DepositOrWithdrawCommand(userEmail, amount);
 
-        when(walletRepositoryPort.findByUserIdForUpdate(userEmail)).thenReturn(Optional.empty());
+        when(walletRepositoryPort.applyBalanceDelta(userEmail, amount)).thenReturn(Optional.empty());
 
         WalletNotFoundException exception = assertThrows(WalletNotFoundException.class,
                 () -> depositUseCase.execute(command));
 
         assertEquals("Wallet for user ID " + userEmail + " not found", exception.getMessage());
-        verify(walletRepositoryPort).findByUserIdForUpdate(userEmail);
-        verify(walletRepositoryPort, never()).update(any());
+        verify(walletRepositoryPort).applyBalanceDelta(userEmail, amount);
         verify(transactionRepositoryPort, never()).save(any());
     }
 
@@ -86,14 +92,12 @@ class DepositUseCaseImplTest {
     @DisplayName("Should throw exception when amount is zero or negative")
     void shouldThrowExceptionWhenAmountIsInvalid() {
         String userEmail = "bob@mail.com";
-        DepositOrWithdrawCommand zeroAmountCommand = new DepositOrWithdrawCommand(userEmail, BigDecimal.ZERO);
-        DepositOrWithdrawCommand negativeAmountCommand = new DepositOrWithdrawCommand(userEmail, new BigDecimal("-10.00"));
-
-        Wallet wallet = new Wallet(UUID.randomUUID(), userEmail, BigDecimal.ZERO, LocalDateTime.now());
-        when(walletRepositoryPort.findByUserIdForUpdate(userEmail)).thenReturn(Optional.of(wallet));
+        DepositOrWithdrawCommand zeroAmountCommand = new DepositOrWithdrawCommand(userEmail, Money.ZERO);
+        DepositOrWithdrawCommand negativeAmountCommand = new DepositOrWithdrawCommand(userEmail, Money.of("-10.00"));
 
         assertThrows(InvalidAmountTransactionException.class, () -> depositUseCase.execute(zeroAmountCommand));
         assertThrows(InvalidAmountTransactionException.class, () -> depositUseCase.execute(negativeAmountCommand));
+        verify(walletRepositoryPort, never()).applyBalanceDelta(any(), any());
     }
 
 }
\ No newline at end of file
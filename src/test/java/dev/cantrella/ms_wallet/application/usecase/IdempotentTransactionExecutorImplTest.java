@@ -0,0 +1,265 @@
+package dev.cantrella.ms_wallet.application.usecase;
+
+import dev.cantrella.ms_wallet.application.config.IdempotencyPolicy;
+import dev.cantrella.ms_wallet.application.dto.DepositOrWithdrawCommand;
+import dev.cantrella.ms_wallet.application.dto.IdempotencyRecord;
+import dev.cantrella.ms_wallet.application.event.TransactionRecordedEvent;
+import dev.cantrella.ms_wallet.application.exception.IdempotencyConflictException;
+import dev.cantrella.ms_wallet.application.exception.IdempotencyKeyMismatchException;
+import dev.cantrella.ms_wallet.application.exception.InvalidDataException;
+import dev.cantrella.ms_wallet.domain.exception.WalletOperationException;
+import dev.cantrella.ms_wallet.domain.model.Money;
+import dev.cantrella.ms_wallet.domain.model.Transaction;
+import dev.cantrella.ms_wallet.ports.out.IdempotencyRecordPort;
+import dev.cantrella.ms_wallet.ports.out.IdempotencyStorePort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotentTransactionExecutorImplTest {
+
+    private static final String KEY = "idempotency:deposit:bob@mail.com:retry-1";
+    private static final DepositOrWithdrawCommand REQUEST = new DepositOrWithdrawCommand("bob@mail.com", Money.of("10.00"));
+    private static final String FINGERPRINT = IdempotentTransactionExecutorImpl.fingerprint(REQUEST);
+
+    @Mock
+    private IdempotencyStorePort idempotencyStorePort;
+    @Mock
+    private IdempotencyRecordPort idempotencyRecordPort;
+
+    private IdempotentTransactionExecutorImpl executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = executor(Duration.ofMillis(100));
+    }
+
+    private IdempotentTransactionExecutorImpl executor(Duration replayWait) {
+        return new IdempotentTransactionExecutorImpl(idempotencyStorePort, idempotencyRecordPort,
+                new IdempotencyPolicy(Duration.ofHours(24), Duration.ofSeconds(30), replayWait));
+    }
+
+    private static Transaction deposit() {
+        return Transaction.createDeposit(UUID.randomUUID(), Money.of("10.00"));
+    }
+
+    private Transaction execute(Transaction transaction) {
+        return executor.execute("deposit", "bob@mail.com", "retry-1", REQUEST, () -> transaction);
+    }
+
+    @Test
+    @DisplayName("Should run the operation directly when no idempotency key is sent")
+    void shouldRunWithoutKey() {
+        Transaction transaction = deposit();
+
+        assertSame(transaction, executor.execute("deposit", "bob@mail.com", null, REQUEST, () -> transaction));
+        verifyNoInteractions(idempotencyStorePort, idempotencyRecordPort);
+    }
+
+    @Test
+    @DisplayName("Should claim the key, run the operation once and store its result with the request fingerprint")
+    void shouldStoreFirstResult() {
+        Transaction transaction = deposit();
+        when(idempotencyStorePort.findCompleted(KEY)).thenReturn(Optional.empty());
+        when(idempotencyStorePort.claim(KEY, Duration.ofSeconds(30))).thenReturn(true);
+        when(idempotencyRecordPort.find(KEY)).thenReturn(Optional.empty());
+
+        assertSame(transaction, execute(transaction));
+        verify(idempotencyStorePort).complete(KEY, new IdempotencyRecord(FINGERPRINT, transaction), Duration.ofHours(24));
+    }
+
+    @Test
+    @DisplayName("Should return the stored transaction on replay without running the operation")
+    void shouldReplayStoredResult() {
+        Transaction transaction = deposit();
+        when(idempotencyStorePort.findCompleted(KEY)).thenReturn(Optional.of(new IdempotencyRecord(FINGERPRINT, transaction)));
+
+        Transaction result = executor.execute("deposit", "bob@mail.com", "retry-1", REQUEST,
+                () -> fail("must not run a replayed request"));
+
+        assertSame(transaction, result);
+        verify(idempotencyStorePort, never()).claim(any(), any());
+        verifyNoInteractions(idempotencyRecordPort);
+    }
+
+    @Test
+    @DisplayName("Should reject a key reused for a different request")
+    void shouldRejectDifferentRequestForSameKey() {
+        when(idempotencyStorePort.findCompleted(KEY)).thenReturn(Optional.of(new IdempotencyRecord(FINGERPRINT, deposit())));
+
+        assertThrows(IdempotencyKeyMismatchException.class, () -> executor.execute("deposit", "bob@mail.com", "retry-1",
+                new DepositOrWithdrawCommand("bob@mail.com", Money.of("99.00")),
+                () -> fail("must not run a request with a reused key")));
+    }
+
+    @Test
+    @DisplayName("Should replay from the database record when the store lost the result of a committed request")
+    void shouldReplayRecordedResultMissingFromStore() {
+        Transaction transaction = deposit();
+        IdempotencyRecord record = new IdempotencyRecord(FINGERPRINT, transaction);
+        when(idempotencyStorePort.findCompleted(KEY)).thenReturn(Optional.empty());
+        when(idempotencyStorePort.claim(eq(KEY), any())).thenReturn(true);
+        when(idempotencyRecordPort.find(KEY)).thenReturn(Optional.of(record));
+
+        Transaction result = executor.execute("deposit", "bob@mail.com", "retry-1", REQUEST,
+                () -> fail("must not run a recorded request again"));
+
+        assertSame(transaction, result);
+        verify(idempotencyStorePort).complete(KEY, record, Duration.ofHours(24));
+    }
+
+    @Test
+    @DisplayName("Should record the key in the transaction that stores the result and return it even if the store fails")
+    void shouldRecordKeyBeforeCommit() {
+        Transaction transaction = deposit();
+        when(idempotencyStorePort.findCompleted(KEY)).thenReturn(Optional.empty());
+        when(idempotencyStorePort.claim(eq(KEY), any())).thenReturn(true);
+        when(idempotencyRecordPort.find(KEY)).thenReturn(Optional.empty());
+        when(idempotencyRecordPort.record(KEY, new IdempotencyRecord(FINGERPRINT, transaction))).thenReturn(true);
+        doThrow(new IllegalStateException("redis down")).when(idempotencyStorePort).complete(any(), any(), any());
+
+        Transaction result = executor.execute("deposit", "bob@mail.com", "retry-1", REQUEST, () -> {
+            executor.onTransactionRecorded(new TransactionRecordedEvent(transaction));
+            return transaction;
+        });
+
+        assertSame(transaction, result);
+        verify(idempotencyStorePort, never()).release(any());
+    }
+
+    @Test
+    @DisplayName("Should abort a second execution and replay the first when its claim expired while it ran")
+    void shouldReplayWhenAnotherExecutionRecordedFirst() {
+        Transaction first = deposit();
+        Transaction second = deposit();
+        when(idempotencyStorePort.findCompleted(KEY)).thenReturn(Optional.empty());
+        when(idempotencyStorePort.claim(eq(KEY), any())).thenReturn(true);
+        when(idempotencyRecordPort.find(KEY))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(new IdempotencyRecord(FINGERPRINT, first)));
+        when(idempotencyRecordPort.record(KEY, new IdempotencyRecord(FINGERPRINT, second))).thenReturn(false);
+
+        Transaction result = executor.execute("deposit", "bob@mail.com", "retry-1", REQUEST, () -> {
+            executor.onTransactionRecorded(new TransactionRecordedEvent(second));
+            return second;
+        });
+
+        assertSame(first, result);
+        verify(idempotencyStorePort, never()).release(any());
+    }
+
+    @Test
+    @DisplayName("Should not record transactions of requests without an idempotency key")
+    void shouldIgnoreTransactionsOutsideIdempotentRequests() {
+        executor.onTransactionRecorded(new TransactionRecordedEvent(deposit()));
+
+        verifyNoInteractions(idempotencyRecordPort);
+    }
+
+    @Test
+    @DisplayName("Should release the key when the operation fails so the client can retry")
+    void shouldReleaseOnFailure() {
+        when(idempotencyStorePort.findCompleted(KEY)).thenReturn(Optional.empty());
+        when(idempotencyStorePort.claim(eq(KEY), any())).thenReturn(true);
+        when(idempotencyRecordPort.find(KEY)).thenReturn(Optional.empty());
+
+        assertThrows(WalletOperationException.class, () -> executor.execute("deposit", "bob@mail.com", "retry-1", REQUEST,
+                () -> { throw new WalletOperationException("Insufficient balance"); }));
+        verify(idempotencyStorePort).release(KEY);
+        verify(idempotencyStorePort, never()).complete(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should wait for the result of a request in flight on another instance")
+    void shouldWaitForRemoteExecution() {
+        Transaction transaction = deposit();
+        when(idempotencyStorePort.findCompleted(KEY))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(new IdempotencyRecord(FINGERPRINT, transaction)));
+        when(idempotencyStorePort.claim(eq(KEY), any())).thenReturn(false);
+
+        assertSame(transaction, executor.execute("deposit", "bob@mail.com", "retry-1", REQUEST,
+                () -> fail("must not run a request in flight elsewhere")));
+    }
+
+    @Test
+    @DisplayName("Should report a conflict when the request in flight does not finish in time")
+    void shouldConflictAfterWait() {
+        when(idempotencyStorePort.findCompleted(KEY)).thenReturn(Optional.empty());
+        when(idempotencyStorePort.claim(eq(KEY), any())).thenReturn(false);
+
+        assertThrows(IdempotencyConflictException.class, () -> executor.execute("deposit", "bob@mail.com", "retry-1",
+                REQUEST, () -> fail("must not run a request in flight elsewhere")));
+    }
+
+    @Test
+    @DisplayName("Should run concurrent duplicates in this instance only once")
+    void shouldCoalesceConcurrentDuplicates() throws Exception {
+        executor = executor(Duration.ofSeconds(5));
+        Transaction transaction = deposit();
+        when(idempotencyStorePort.findCompleted(KEY)).thenReturn(Optional.empty());
+        when(idempotencyStorePort.claim(eq(KEY), any())).thenReturn(true);
+        when(idempotencyRecordPort.find(KEY)).thenReturn(Optional.empty());
+        int callers = 8;
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        List<CompletableFuture<Transaction>> results = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            results.add(CompletableFuture.supplyAsync(() -> executor.execute("deposit", "bob@mail.com", "retry-1", REQUEST, () -> {
+                runs.incrementAndGet();
+                started.countDown();
+                await(release);
+                return transaction;
+            }), pool));
+        }
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Thread.sleep(50);
+        release.countDown();
+
+        for (CompletableFuture<Transaction> result : results) {
+            assertSame(transaction, result.get(5, TimeUnit.SECONDS));
+        }
+        pool.shutdown();
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    @DisplayName("Should reject blank or oversized idempotency keys")
+    void shouldRejectInvalidKeys() {
+        assertThrows(InvalidDataException.class,
+                () -> executor.execute("deposit", "bob@mail.com", " ", REQUEST, IdempotentTransactionExecutorImplTest::deposit));
+        assertThrows(InvalidDataException.class, () -> executor.execute("deposit", "bob@mail.com",
+                "k".repeat(IdempotentTransactionExecutorImpl.MAX_KEY_LENGTH + 1), REQUEST,
+                IdempotentTransactionExecutorImplTest::deposit));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
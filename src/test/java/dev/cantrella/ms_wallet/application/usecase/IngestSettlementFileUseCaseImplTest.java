@@ -0,0 +1,89 @@
+package dev.cantrella.ms_wallet.application.usecase;
+
+import dev.cantrella.ms_wallet.application.config.SettlementIngestionPolicy;
+import dev.cantrella.ms_wallet.application.dto.IngestSettlementFileCommand;
+import dev.cantrella.ms_wallet.application.dto.SettlementCheckpoint;
+import dev.cantrella.ms_wallet.application.dto.SettlementChunk;
+import dev.cantrella.ms_wallet.application.dto.SettlementIngestionReport;
+import dev.cantrella.ms_wallet.application.dto.SettlementLineFailure;
+import dev.cantrella.ms_wallet.application.exception.SettlementIngestionConflictException;
+import dev.cantrella.ms_wallet.ports.out.SettlementCheckpointPort;
+import dev.cantrella.ms_wallet.ports.out.SettlementFilePort;
+import dev.cantrella.ms_wallet.ports.out.SettlementFilePort.SettlementFileCursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IngestSettlementFileUseCaseImplTest {
+
+    @Mock
+    private SettlementFilePort settlementFilePort;
+    @Mock
+    private SettlementCheckpointPort settlementCheckpointPort;
+    @Mock
+    private SettlementChunkWriter settlementChunkWriter;
+    @Mock
+    private SettlementFileCursor cursor;
+
+    private IngestSettlementFileUseCaseImpl useCase;
+
+    @BeforeEach
+    void setUp() {
+        useCase = new IngestSettlementFileUseCaseImpl(settlementFilePort, settlementCheckpointPort,
+                settlementChunkWriter, new SettlementIngestionPolicy(2, 1));
+    }
+
+    @Test
+    @DisplayName("Should resume from the stored checkpoint and cap reported failures")
+    void shouldResumeFromCheckpoint() {
+        SettlementCheckpoint stored = new SettlementCheckpoint("hash", "old-name.csv", 40, 2, 2, 0);
+        SettlementChunk first = new SettlementChunk(List.of(), List.of(), 80, 4);
+        SettlementChunk second = new SettlementChunk(List.of(), List.of(), 100, 5);
+        SettlementCheckpoint afterFirst = new SettlementCheckpoint("hash", "old-name.csv", 80, 4, 3, 1);
+        SettlementCheckpoint afterSecond = new SettlementCheckpoint("hash", "old-name.csv", 100, 5, 3, 2);
+        when(settlementFilePort.contentHash("s.csv")).thenReturn("hash");
+        when(settlementCheckpointPort.findOrCreate(SettlementCheckpoint.start("hash", "s.csv"))).thenReturn(stored);
+        when(settlementFilePort.open("s.csv", 40, 2)).thenReturn(cursor);
+        when(cursor.nextChunk(2))
+                .thenReturn(Optional.of(first))
+                .thenReturn(Optional.of(second))
+                .thenReturn(Optional.empty());
+        when(settlementChunkWriter.write(stored, first)).thenReturn(new SettlementChunkWriter.Result(
+                afterFirst, List.of(new SettlementLineFailure(3, "Invalid amount"))));
+        when(settlementChunkWriter.write(afterFirst, second)).thenReturn(new SettlementChunkWriter.Result(
+                afterSecond, List.of(new SettlementLineFailure(5, "Invalid amount"))));
+
+        SettlementIngestionReport report = useCase.execute(new IngestSettlementFileCommand("s.csv"));
+
+        assertEquals(new SettlementIngestionReport("s.csv", 5, 3, 2, 100,
+                List.of(new SettlementLineFailure(3, "Invalid amount"))), report);
+        verify(cursor).close();
+    }
+
+    @Test
+    @DisplayName("Should stop at the chunk another ingestion of the same content already credited")
+    void shouldStopWhenCheckpointMovedConcurrently() {
+        SettlementCheckpoint start = SettlementCheckpoint.start("hash", "s.csv");
+        SettlementChunk first = new SettlementChunk(List.of(), List.of(), 80, 4);
+        when(settlementFilePort.contentHash("s.csv")).thenReturn("hash");
+        when(settlementCheckpointPort.findOrCreate(start)).thenReturn(start);
+        when(settlementFilePort.open("s.csv", 0, 0)).thenReturn(cursor);
+        when(cursor.nextChunk(2)).thenReturn(Optional.of(first));
+        when(settlementChunkWriter.write(start, first))
+                .thenThrow(new SettlementIngestionConflictException("already ingested"));
+
+        assertThrows(SettlementIngestionConflictException.class,
+                () -> useCase.execute(new IngestSettlementFileCommand("s.csv")));
+        verify(cursor).close();
+    }
+}
@@ -0,0 +1,114 @@
+package dev.cantrella.ms_wallet.application.usecase;
+
+import dev.cantrella.ms_wallet.application.dto.SettlementCheckpoint;
+import dev.cantrella.ms_wallet.application.dto.SettlementChunk;
+import dev.cantrella.ms_wallet.application.dto.SettlementLine;
+import dev.cantrella.ms_wallet.application.dto.SettlementLineFailure;
+import dev.cantrella.ms_wallet.application.event.BalanceChangedEvent;
+import dev.cantrella.ms_wallet.application.exception.SettlementIngestionConflictException;
+import dev.cantrella.ms_wallet.domain.model.Money;
+import dev.cantrella.ms_wallet.domain.model.Transaction;
+import dev.cantrella.ms_wallet.domain.model.TransactionType;
+import dev.cantrella.ms_wallet.domain.model.Wallet;
+import dev.cantrella.ms_wallet.ports.out.SettlementCheckpointPort;
+import dev.cantrella.ms_wallet.ports.out.TransactionRepositoryPort;
+import dev.cantrella.ms_wallet.ports.out.WalletRepositoryPort;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SettlementChunkWriterTest {
+
+    @Mock
+    private WalletRepositoryPort walletRepositoryPort;
+    @Mock
+    private TransactionRepositoryPort transactionRepositoryPort;
+    @Mock
+    private SettlementCheckpointPort settlementCheckpointPort;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @InjectMocks
+    private SettlementChunkWriter settlementChunkWriter;
+
+    @Test
+    @DisplayName("Should group credits per wallet, bulk insert deposits and advance the checkpoint")
+    @SuppressWarnings("unchecked")
+    void shouldCreditChunk() {
+        UUID aliceWallet = UUID.randomUUID();
+        SettlementChunk chunk = new SettlementChunk(
+                List.of(
+                        new SettlementLine(1, "alice@mail.com", Money.of("10.00")),
+                        new SettlementLine(2, "ghost@mail.com", Money.of("1.00")),
+                        new SettlementLine(3, "alice@mail.com", Money.of("2.50"))),
+                List.of(new SettlementLineFailure(4, "Invalid amount")),
+                120, 4);
+        when(walletRepositoryPort.findIdsByUserIds(anyCollection())).thenReturn(Map.of("alice@mail.com", aliceWallet));
+        Wallet credited = new Wallet(aliceWallet, "alice@mail.com", Money.of("12.50"), LocalDateTime.now());
+        when(walletRepositoryPort.creditAll(Map.of(aliceWallet, Money.of("12.50")))).thenReturn(List.of(credited));
+        SettlementCheckpoint start = SettlementCheckpoint.start("hash", "s.csv");
+        SettlementCheckpoint expected = new SettlementCheckpoint("hash", "s.csv", 120, 4, 2, 2);
+        when(settlementCheckpointPort.advance(start, expected)).thenReturn(true);
+
+        SettlementChunkWriter.Result result = settlementChunkWriter.write(start, chunk);
+
+        ArgumentCaptor<List<Transaction>> transactions = ArgumentCaptor.forClass(List.class);
+        verify(transactionRepositoryPort).bulkInsert(transactions.capture());
+        assertEquals(2, transactions.getValue().size());
+        assertTrue(transactions.getValue().stream().allMatch(t ->
+                t.getType() == TransactionType.DEPOSIT && aliceWallet.equals(t.getSourceWalletId())));
+        verify(eventPublisher).publishEvent(new BalanceChangedEvent("alice@mail.com", aliceWallet, Money.of("12.50"), 0));
+
+        assertEquals(expected, result.checkpoint());
+        assertEquals(List.of(4L, 2L), result.failures().stream().map(SettlementLineFailure::lineNumber).toList());
+        assertEquals("Wallet for user ID ghost@mail.com not found", result.failures().get(1).reason());
+    }
+
+    @Test
+    @DisplayName("Should only advance the checkpoint when no line resolves to a wallet")
+    void shouldSkipWritesWhenNothingToCredit() {
+        SettlementChunk chunk = new SettlementChunk(
+                List.of(new SettlementLine(1, "ghost@mail.com", Money.of("1.00"))), List.of(), 30, 1);
+        when(walletRepositoryPort.findIdsByUserIds(anyCollection())).thenReturn(Map.of());
+        SettlementCheckpoint start = SettlementCheckpoint.start("hash", "s.csv");
+        when(settlementCheckpointPort.advance(start, new SettlementCheckpoint("hash", "s.csv", 30, 1, 0, 1)))
+                .thenReturn(true);
+
+        SettlementChunkWriter.Result result = settlementChunkWriter.write(start, chunk);
+
+        verify(walletRepositoryPort, never()).creditAll(any());
+        verify(transactionRepositoryPort, never()).bulkInsert(any());
+        assertEquals(1, result.failures().size());
+    }
+
+    @Test
+    @DisplayName("Should credit nothing when the checkpoint already moved past the chunk")
+    void shouldAbortWhenCheckpointMoved() {
+        UUID aliceWallet = UUID.randomUUID();
+        SettlementChunk chunk = new SettlementChunk(
+                List.of(new SettlementLine(1, "alice@mail.com", Money.of("10.00"))), List.of(), 30, 1);
+        when(walletRepositoryPort.findIdsByUserIds(anyCollection())).thenReturn(Map.of("alice@mail.com", aliceWallet));
+        when(settlementCheckpointPort.advance(any(), any())).thenReturn(false);
+
+        assertThrows(SettlementIngestionConflictException.class,
+                () -> settlementChunkWriter.write(SettlementCheckpoint.start("hash", "s.csv"), chunk));
+
+        verify(walletRepositoryPort, never()).creditAll(any());
+        verify(transactionRepositoryPort, never()).bulkInsert(any());
+        verifyNoInteractions(eventPublisher);
+    }
+}
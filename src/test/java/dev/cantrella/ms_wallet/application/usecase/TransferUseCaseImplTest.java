@@ -1,26 +1,34 @@
 package dev.cantrella.ms_wallet.application.usecase;
 
+import dev.cantrella.ms_wallet.application.config.WriteConcurrencyPolicy;
 import dev.cantrella.ms_wallet.application.dto.TransferCommand;
+import dev.cantrella.ms_wallet.application.event.BalanceChangedEvent;
 import dev.cantrella.ms_wallet.application.exception.OperationNotAllowedException;
 import dev.cantrella.ms_wallet.application.exception.WalletNotFoundException;
 import dev.cantrella.ms_wallet.domain.exception.InvalidAmountTransactionException;
 import dev.cantrella.ms_wallet.domain.exception.WalletOperationException;
+import dev.cantrella.ms_wallet.domain.model.Money;
 import dev.cantrella.ms_wallet.domain.model.Transaction;
 import dev.cantrella.ms_wallet.domain.model.TransactionType;
 import dev.cantrella.ms_wallet.domain.model.Wallet;
-import dev.cantrella.ms_wallet.ports.out.CachePort;
+import dev.cantrella.ms_wallet.ports.out.OptimisticWalletWritePort;
 import dev.cantrella.ms_wallet.ports.out.TransactionRepositoryPort;
+import dev.cantrella.ms_wallet.ports.out.WalletContentionPort;
 import dev.cantrella.ms_wallet.ports.out.WalletRepositoryPort;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
-import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -31,14 +39,17 @@ class TransferUseCaseImplTest {
 
     @Mock
     private WalletRepositoryPort walletRepositoryPort;
+    @Mock
+    private OptimisticWalletWritePort optimisticWalletWritePort;
 
     @Mock
     private TransactionRepositoryPort transactionRepositoryPort;
 
     @Mock
-    private CachePort cachePort;
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private WalletContentionPort walletContentionPort;
 
-    @InjectMocks
     private TransferUseCaseImpl transferUseCase;
 
     String sourceUserId = "bob@mail.com";
@@ -46,16 +57,22 @@ class TransferUseCaseImplTest {
     UUID sourceWalletId = UUID.randomUUID();
     UUID destinationWalletId = UUID.randomUUID();
 
+    @BeforeEach
+    void setUp() {
+        transferUseCase = transferUseCase(WriteConcurrencyPolicy.Mode.PESSIMISTIC);
+    }
+
     @Test
     @DisplayName("Should transfer amount successfully between wallets")
     void shouldTransferAmountSuccessfully() {
-        BigDecimal amount = new BigDecimal("100.50");
+        Money amount = Money.of("100.50");
         TransferCommand command = new TransferCommand(sourceWalletId, destinationWalletId, amount);
-        Wallet sourceWallet = new Wallet(sourceWalletId, sourceUserId, new BigDecimal("200.00"), LocalDateTime.now());
-        Wallet destinationWallet = new Wallet(destinationWalletId, destinationUserId, new BigDecimal("50.00"), LocalDateTime.now());
-        when(walletRepositoryPort.findByIdForUpdate(sourceWalletId)).thenReturn(Optional.of(sourceWallet));
-        when(walletRepositoryPort.findByIdForUpdate(destinationWalletId)).thenReturn(Optional.of(destinationWallet));
+        Wallet sourceWallet = new Wallet(sourceWalletId, sourceUserId, Money.of("200.00"), LocalDateTime.now());
+        Wallet destinationWallet = new Wallet(destinationWalletId, destinationUserId, Money.of("50.00"), LocalDateTime.now());
+        when(walletRepositoryPort.findAllByIdsForUpdate(Set.of(sourceWalletId, destinationWalletId)))
+                .thenReturn(List.of(sourceWallet, destinationWallet));
         Transaction expectedTransaction = Transaction.createTransfer(sourceWalletId, destinationWalletId, amount);
+        when(walletRepositoryPort.update(any())).thenAnswer(invocation -> stored(invocation.getArgument(0)));
         doNothing().when(transactionRepositoryPort).save(any());
 
         Transaction result = transferUseCase.execute(command);
@@ -64,29 +81,51 @@ class TransferUseCaseImplTest {
         assertEquals(sourceWalletId, result.getSourceWalletId());
         assertEquals(destinationWalletId, result.getDestinationWalletId());
         assertEquals(amount, result.getAmount());
-        assertEquals(new BigDecimal("99.50"), sourceWallet.getBalance());
-        assertEquals(new BigDecimal("150.50"), destinationWallet.getBalance());
+        assertEquals(Money.of("99.50"), sourceWallet.getBalance());
+        assertEquals(Money.of("150.50"), destinationWallet.getBalance());
         assertEquals(TransactionType.TRANSFER, result.getType());
         verify(walletRepositoryPort).update(sourceWallet);
         verify(walletRepositoryPort).update(destinationWallet);
-        verify(cachePort).evict(sourceUserId);
-        verify(cachePort).evict(destinationUserId);
+        verify(eventPublisher).publishEvent(new BalanceChangedEvent(sourceUserId, sourceWalletId, Money.of("99.50"), 1));
+        verify(eventPublisher).publishEvent(new BalanceChangedEvent(destinationUserId, destinationWalletId, Money.of("150.50"), 1));
         verify(transactionRepositoryPort).save(result);
+        verify(walletContentionPort).record(eq(sourceWalletId), eq(1), anyLong());
+        verify(walletContentionPort).record(eq(destinationWalletId), eq(1), anyLong());
+    }
+
+    @Test
+    @DisplayName("Should write both wallets in wallet id order whatever the transfer direction")
+    void shouldWriteWalletsInIdOrder() {
+        UUID lowId = new UUID(0, 1);
+        UUID highId = new UUID(0, 2);
+        TransferCommand command = new TransferCommand(highId, lowId, Money.of("10.00"));
+        Wallet sourceWallet = new Wallet(highId, sourceUserId, Money.of("200.00"), LocalDateTime.now());
+        Wallet destinationWallet = new Wallet(lowId, destinationUserId, Money.of("50.00"), LocalDateTime.now());
+        when(walletRepositoryPort.findAllByIdsForUpdate(Set.of(highId, lowId)))
+                .thenReturn(List.of(sourceWallet, destinationWallet));
+        when(walletRepositoryPort.update(any())).thenAnswer(invocation -> stored(invocation.getArgument(0)));
+
+        transferUseCase.execute(command);
+
+        InOrder inOrder = inOrder(walletRepositoryPort);
+        inOrder.verify(walletRepositoryPort).update(destinationWallet);
+        inOrder.verify(walletRepositoryPort).update(sourceWallet);
     }
 
     @Test
     @DisplayName("Should throw exception when source wallet not found")
     void shouldThrowExceptionWhenSourceWalletNotFound() {
-        BigDecimal amount = new BigDecimal("100.00");
+        Money amount = Money.of("100.00");
         TransferCommand command = new TransferCommand(sourceWalletId, destinationWalletId, amount);
-        when(walletRepositoryPort.findByIdForUpdate(sourceWalletId)).thenReturn(Optional.empty());
+        when(walletRepositoryPort.findAllByIdsForUpdate(Set.of(sourceWalletId, destinationWalletId)))
+                .thenReturn(List.of());
 
         WalletNotFoundException exception = assertThrows(WalletNotFoundException.class,
                 () -> transferUseCase.execute(command));
 
         assertEquals(sourceWalletId, exception.getWalletId());
         verify(walletRepositoryPort, never()).update(any());
-        verify(cachePort, never()).evict(any());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
         verify(transactionRepositoryPort, never()).save(any());
     }
 
@@ -95,71 +134,172 @@ class TransferUseCaseImplTest {
     void shouldThrowExceptionWhenDestinationWalletNotFound() {
         UUID sourceWalletId = UUID.randomUUID();
         UUID destinationWalletId = UUID.randomUUID();
-        BigDecimal amount = new BigDecimal("100.00");
+        Money amount = Money.of("100.00");
         TransferCommand command = new TransferCommand(sourceWalletId, destinationWalletId, amount);
-        Wallet sourceWallet = new Wallet(sourceWalletId, sourceUserId, new BigDecimal("200.00"), LocalDateTime.now());
-        when(walletRepositoryPort.findByIdForUpdate(sourceWalletId)).thenReturn(Optional.of(sourceWallet));
-        when(walletRepositoryPort.findByIdForUpdate(destinationWalletId)).thenReturn(Optional.empty());
+        Wallet sourceWallet = new Wallet(sourceWalletId, sourceUserId, Money.of("200.00"), LocalDateTime.now());
+        when(walletRepositoryPort.findAllByIdsForUpdate(Set.of(sourceWalletId, destinationWalletId)))
+                .thenReturn(List.of(sourceWallet));
 
         WalletNotFoundException exception = assertThrows(WalletNotFoundException.class,
                 () -> transferUseCase.execute(command));
 
         assertEquals(destinationWalletId, exception.getWalletId());
         verify(walletRepositoryPort, never()).update(any());
-        verify(cachePort, never()).evict(any());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
         verify(transactionRepositoryPort, never()).save(any());
     }
 
     @Test
     @DisplayName("Should throw exception when source wallet has insufficient funds")
     void shouldThrowExceptionWhenInsufficientFunds() {
-        BigDecimal amount = new BigDecimal("300.00");
+        Money amount = Money.of("300.00");
         TransferCommand command = new TransferCommand(sourceWalletId, destinationWalletId, amount);
-        Wallet sourceWallet = new Wallet(sourceWalletId, sourceUserId, new BigDecimal("200.00"), LocalDateTime.now());
-        Wallet destinationWallet = new Wallet(destinationWalletId, destinationUserId, new BigDecimal("50.00"), LocalDateTime.now());
-        when(walletRepositoryPort.findByIdForUpdate(sourceWalletId)).thenReturn(Optional.of(sourceWallet));
-        when(walletRepositoryPort.findByIdForUpdate(destinationWalletId)).thenReturn(Optional.of(destinationWallet));
+        Wallet sourceWallet = new Wallet(sourceWalletId, sourceUserId, Money.of("200.00"), LocalDateTime.now());
+        Wallet destinationWallet = new Wallet(destinationWalletId, destinationUserId, Money.of("50.00"), LocalDateTime.now());
+        when(walletRepositoryPort.findAllByIdsForUpdate(Set.of(sourceWalletId, destinationWalletId)))
+                .thenReturn(List.of(sourceWallet, destinationWallet));
 
         assertThrows(WalletOperationException.class, () -> transferUseCase.execute(command));
 
         verify(walletRepositoryPort, never()).update(any());
-        verify(cachePort, never()).evict(any());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
         verify(transactionRepositoryPort, never()).save(any());
     }
 
     @Test
     @DisplayName("Should throw exception when source wallet and destination wallet equals")
     void shouldThrowExceptionWhenWalletsAreEquals() {
-        BigDecimal amount = new BigDecimal("300.00");
+        Money amount = Money.of("300.00");
         TransferCommand command = new TransferCommand(sourceWalletId, sourceWalletId, amount);
-        Wallet sourceWallet = new Wallet(sourceWalletId, sourceUserId, new BigDecimal("200.00"), LocalDateTime.now());
-        when(walletRepositoryPort.findByIdForUpdate(sourceWalletId)).thenReturn(Optional.of(sourceWallet));
 
         var exception = assertThrows(OperationNotAllowedException.class, () -> transferUseCase.execute(command));
 
         assertEquals("Source wallet and destination wallet is same", exception.getMessage());
+        verify(walletRepositoryPort, never()).findAllByIdsForUpdate(any());
         verify(walletRepositoryPort, never()).update(any());
-        verify(cachePort, never()).evict(any());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
         verify(transactionRepositoryPort, never()).save(any());
     }
 
     @Test
     @DisplayName("Should throw exception when amount is zero or negative")
     void shouldThrowExceptionWhenAmountIsInvalid() {
-        TransferCommand zeroAmountCommand = new TransferCommand(sourceWalletId, destinationWalletId, BigDecimal.ZERO);
-        TransferCommand negativeAmountCommand = new TransferCommand(sourceWalletId, destinationWalletId, new BigDecimal("-10.00"));
-        Wallet sourceWallet = new Wallet(sourceWalletId, sourceUserId, new BigDecimal("200.00"), LocalDateTime.now());
-        Wallet destinationWallet = new Wallet(destinationWalletId, destinationUserId, new BigDecimal("50.00"), LocalDateTime.now());
-        when(walletRepositoryPort.findByIdForUpdate(sourceWalletId)).thenReturn(Optional.of(sourceWallet));
-        when(walletRepositoryPort.findByIdForUpdate(destinationWalletId)).thenReturn(Optional.of(destinationWallet));
+        TransferCommand zeroAmountCommand = new TransferCommand(sourceWalletId, destinationWalletId, Money.ZERO);
+        TransferCommand negativeAmountCommand = new TransferCommand(sourceWalletId, destinationWalletId, Money.of("-10.00"));
+        Wallet sourceWallet = new Wallet(sourceWalletId, sourceUserId, Money.of("200.00"), LocalDateTime.now());
+        Wallet destinationWallet = new Wallet(destinationWalletId, destinationUserId, Money.of("50.00"), LocalDateTime.now());
+        when(walletRepositoryPort.findAllByIdsForUpdate(Set.of(sourceWalletId, destinationWalletId)))
+                .thenReturn(List.of(sourceWallet, destinationWallet));
 
         assertThrows(InvalidAmountTransactionException.class, () -> transferUseCase.execute(zeroAmountCommand));
         assertThrows(InvalidAmountTransactionException.class, () -> transferUseCase.execute(negativeAmountCommand));
 
-        verify(walletRepositoryPort, times(4)).findByIdForUpdate(any());
+        verify(walletRepositoryPort, times(2)).findAllByIdsForUpdate(any());
+        verify(walletRepositoryPort, never()).findByIdForUpdate(any());
         verify(walletRepositoryPort, never()).update(any());
-        verify(cachePort, never()).evict(any());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
         verify(transactionRepositoryPort, never()).save(any());
     }
 
-}
\ No newline at end of file
+    @Test
+    @DisplayName("Should transfer without row locks in optimistic mode")
+    void shouldTransferOptimistically() {
+        transferUseCase = transferUseCase(WriteConcurrencyPolicy.Mode.OPTIMISTIC);
+        Money amount = Money.of("100.50");
+        TransferCommand command = new TransferCommand(sourceWalletId, destinationWalletId, amount);
+        Wallet sourceWallet = new Wallet(sourceWalletId, sourceUserId, Money.of("200.00"), LocalDateTime.now(), 4);
+        Wallet destinationWallet = new Wallet(destinationWalletId, destinationUserId, Money.of("50.00"), LocalDateTime.now(), 9);
+        when(walletRepositoryPort.findAllByIds(Set.of(sourceWalletId, destinationWalletId)))
+                .thenReturn(List.of(sourceWallet, destinationWallet));
+        when(optimisticWalletWritePort.updateIfVersion(any()))
+                .thenAnswer(invocation -> Optional.of(stored(invocation.getArgument(0))));
+
+        Transaction result = transferUseCase.execute(command);
+
+        assertEquals(Money.of("99.50"), sourceWallet.getBalance());
+        assertEquals(Money.of("150.50"), destinationWallet.getBalance());
+        verify(optimisticWalletWritePort).updateIfVersion(sourceWallet);
+        verify(optimisticWalletWritePort).updateIfVersion(destinationWallet);
+        verify(walletRepositoryPort, never()).findAllByIdsForUpdate(any());
+        verify(walletRepositoryPort, never()).update(any());
+        verify(transactionRepositoryPort).save(result);
+        verify(eventPublisher).publishEvent(new BalanceChangedEvent(sourceUserId, sourceWalletId, Money.of("99.50"), 5));
+        verify(eventPublisher).publishEvent(new BalanceChangedEvent(destinationUserId, destinationWalletId, Money.of("150.50"), 10));
+        verify(walletContentionPort, never()).recordConflict(any());
+    }
+
+    @Test
+    @DisplayName("Should retry an optimistic transfer that lost to a concurrent write")
+    void shouldRetryOptimisticTransferOnConflict() {
+        transferUseCase = transferUseCase(WriteConcurrencyPolicy.Mode.OPTIMISTIC);
+        TransferCommand command = new TransferCommand(sourceWalletId, destinationWalletId, Money.of("10.00"));
+        when(walletRepositoryPort.findAllByIds(Set.of(sourceWalletId, destinationWalletId)))
+                .thenAnswer(invocation -> List.of(
+                        new Wallet(sourceWalletId, sourceUserId, Money.of("200.00"), LocalDateTime.now()),
+                        new Wallet(destinationWalletId, destinationUserId, Money.of("50.00"), LocalDateTime.now())));
+        when(optimisticWalletWritePort.updateIfVersion(any()))
+                .thenReturn(Optional.empty())
+                .thenAnswer(invocation -> Optional.of(stored(invocation.getArgument(0))));
+
+        transferUseCase.execute(command);
+
+        verify(walletRepositoryPort, times(2)).findAllByIds(any());
+        verify(walletContentionPort).recordConflict(any());
+        verify(walletRepositoryPort, never()).findAllByIdsForUpdate(any());
+    }
+
+    @Test
+    @DisplayName("Should fall back to row locks when optimistic attempts keep conflicting")
+    void shouldFallBackToLocksAfterMaxAttempts() {
+        transferUseCase = transferUseCase(WriteConcurrencyPolicy.Mode.OPTIMISTIC);
+        TransferCommand command = new TransferCommand(sourceWalletId, destinationWalletId, Money.of("10.00"));
+        when(walletRepositoryPort.findAllByIds(Set.of(sourceWalletId, destinationWalletId)))
+                .thenAnswer(invocation -> List.of(
+                        new Wallet(sourceWalletId, sourceUserId, Money.of("200.00"), LocalDateTime.now()),
+                        new Wallet(destinationWalletId, destinationUserId, Money.of("50.00"), LocalDateTime.now())));
+        when(optimisticWalletWritePort.updateIfVersion(any())).thenReturn(Optional.empty());
+        when(walletRepositoryPort.update(any())).thenAnswer(invocation -> stored(invocation.getArgument(0)));
+        when(walletRepositoryPort.findAllByIdsForUpdate(Set.of(sourceWalletId, destinationWalletId)))
+                .thenReturn(List.of(
+                        new Wallet(sourceWalletId, sourceUserId, Money.of("200.00"), LocalDateTime.now()),
+                        new Wallet(destinationWalletId, destinationUserId, Money.of("50.00"), LocalDateTime.now())));
+
+        transferUseCase.execute(command);
+
+        verify(walletRepositoryPort, times(3)).findAllByIds(any());
+        verify(walletContentionPort, times(3)).recordConflict(any());
+        verify(walletRepositoryPort, times(2)).update(any());
+    }
+
+    @Test
+    @DisplayName("Should lock wallets with a high recent conflict rate in adaptive mode")
+    void shouldLockConflictingWalletsInAdaptiveMode() {
+        transferUseCase = transferUseCase(WriteConcurrencyPolicy.Mode.ADAPTIVE);
+        TransferCommand command = new TransferCommand(sourceWalletId, destinationWalletId, Money.of("10.00"));
+        when(walletContentionPort.conflictRate(sourceWalletId)).thenReturn(0.0);
+        when(walletContentionPort.conflictRate(destinationWalletId)).thenReturn(0.2);
+        when(walletRepositoryPort.update(any())).thenAnswer(invocation -> stored(invocation.getArgument(0)));
+        when(walletRepositoryPort.findAllByIdsForUpdate(Set.of(sourceWalletId, destinationWalletId)))
+                .thenReturn(List.of(
+                        new Wallet(sourceWalletId, sourceUserId, Money.of("200.00"), LocalDateTime.now()),
+                        new Wallet(destinationWalletId, destinationUserId, Money.of("50.00"), LocalDateTime.now())));
+
+        transferUseCase.execute(command);
+
+        verify(walletRepositoryPort, never()).findAllByIds(any());
+        verify(optimisticWalletWritePort, never()).updateIfVersion(any());
+    }
+
+    private static Wallet stored(Wallet wallet) {
+        return new Wallet(wallet.getId(), wallet.getUserId(), wallet.getBalance(), wallet.getCreatedAt(),
+                wallet.getVersion() + 1);
+    }
+
+    private TransferUseCaseImpl transferUseCase(WriteConcurrencyPolicy.Mode mode) {
+        return new TransferUseCaseImpl(
+                new TransferWriter(walletRepositoryPort, optimisticWalletWritePort, transactionRepositoryPort, eventPublisher,
+                        walletContentionPort),
+                walletContentionPort,
+                new WriteConcurrencyPolicy(mode, 3, Duration.ofNanos(1), 0.05));
+    }
+}
@@ -1,13 +1,16 @@
 package dev.cantrella.ms_wallet.application.usecase;
 
 import dev.cantrella.ms_wallet.application.dto.DepositOrWithdrawCommand;
+import dev.cantrella.ms_wallet.application.event.BalanceChangedEvent;
 import dev.cantrella.ms_wallet.application.exception.WalletNotFoundException;
 import dev.cantrella.ms_wallet.domain.exception.InvalidAmountTransactionException;
+import dev.cantrella.ms_wallet.domain.exception.WalletOperationException;
+import dev.cantrella.ms_wallet.domain.model.Money;
 import dev.cantrella.ms_wallet.domain.model.Transaction;
 import dev.cantrella.ms_wallet.domain.model.TransactionType;
 import dev.cantrella.ms_wallet.domain.model.Wallet;
-import dev.cantrella.ms_wallet.ports.out.CachePort;
 import dev.cantrella.ms_wallet.ports.out.TransactionRepositoryPort;
+import dev.cantrella.ms_wallet.ports.out.WalletContentionPort;
 import dev.cantrella.ms_wallet.ports.out.WalletRepositoryPort;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -15,8 +18,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.UUID;
@@ -36,7 +39,9 @@ public class WithdrawUseCaseImplTest {
     private TransactionRepositoryPort transactionRepositoryPort;
 
     @Mock
-    private CachePort cachePort;
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private WalletContentionPort walletContentionPort;
 
 
     @InjectMocks
@@ -46,12 +51,12 @@ public class WithdrawUseCaseImplTest {
     @DisplayName("Should withdraw amount successfully when wallet exists")
     void shouldWithdrawAmountSuccessfully() {
         String userEmail = "bob@mail.com";
-        BigDecimal amount = new BigDecimal("100.50");
-        BigDecimal balance = new BigDecimal("200.00");
-        BigDecimal balanceExpected = balance.subtract(amount);
+        Money amount = Money.of("100.50");
+        Money balance = Money.of("200.00");
+        Money balanceExpected = balance.minus(amount);
         DepositOrWithdrawCommand command = new DepositOrWithdrawCommand(userEmail, amount);
-        Wallet wallet = new Wallet(UUID.randomUUID(), userEmail, balance, LocalDateTime.now());
-        when(walletRepositoryPort.findByUserIdForUpdate(userEmail)).thenReturn(Optional.of(wallet));
+        Wallet wallet = new Wallet(UUID.randomUUID(), userEmail, balanceExpected, LocalDateTime.now());
+        when(walletRepositoryPort.applyBalanceDelta(userEmail, amount.negate())).thenReturn(Optional.of(wallet));
         doNothing().when(transactionRepositoryPort).save(any());
         LocalDateTime before = LocalDateTime.now();
 
@@ -66,8 +71,10 @@ public class WithdrawUseCaseImplTest {
         assertTrue(before.isBefore(result.getTimestamp()) || before.isEqual(result.getTimestamp()));
         assertTrue(after.isAfter(result.getTimestamp()) || after.isEqual(result.getTimestamp()));
         assertNull(result.getDestinationWalletId());
-        verify(walletRepositoryPort).findByUserIdForUpdate(userEmail);
-        verify(walletRepositoryPort).update(wallet);
+        verify(walletRepositoryPort).applyBalanceDelta(userEmail, amount.negate());
+        verify(walletRepositoryPort, never()).findByUserIdForUpdate(any());
+        verify(walletRepositoryPort, never()).update(any());
+        verify(eventPublisher).publishEvent(new BalanceChangedEvent(userEmail, wallet.getId(), wallet.getBalance(), wallet.getVersion()));
         verify(transactionRepositoryPort).save(result);
     }
 
@@ -75,17 +82,17 @@ public class WithdrawUseCaseImplTest {
     @DisplayName("Should throw exception when wallet not found")
     void shouldThrowExceptionWhenWalletNotFound() {
         String userEmail = "bob@mail.com";
-        BigDecimal amount = new BigDecimal("50.00");
+        Money amount = Money.of("50.00");
         DepositOrWithdrawCommand command = new DepositOrWithdrawCommand(userEmail, amount);
 
-        when(walletRepositoryPort.findByUserIdForUpdate(userEmail)).thenReturn(Optional.empty());
+        when(walletRepositoryPort.applyBalanceDelta(userEmail, amount.negate())).thenReturn(Optional.empty());
+        when(walletRepositoryPort.existsByUserId(userEmail)).thenReturn(false);
 
         WalletNotFoundException exception = assertThrows(WalletNotFoundException.class,
                 () -> withdrawUseCase.execute(command));
 
         assertEquals("Wallet for user ID " + userEmail + " not found", exception.getMessage());
-        verify(walletRepositoryPort).findByUserIdForUpdate(userEmail);
-        verify(walletRepositoryPort, never()).update(any());
+        verify(walletRepositoryPort).applyBalanceDelta(userEmail, amount.negate());
         verify(transactionRepositoryPort, never()).save(any());
     }
 
@@ -93,13 +100,28 @@ public class WithdrawUseCaseImplTest {
     @DisplayName("Should throw exception when amount is zero or negative")
     void shouldThrowExceptionWhenAmountIsInvalid() {
         String userEmail = "bob@mail.com";
-        DepositOrWithdrawCommand zeroAmountCommand = new DepositOrWithdrawCommand(userEmail, BigDecimal.ZERO);
-        DepositOrWithdrawCommand negativeAmountCommand = new DepositOrWithdrawCommand(userEmail, new BigDecimal("-10.00"));
-
-        Wallet wallet = new Wallet(UUID.randomUUID(), userEmail, BigDecimal.ZERO, LocalDateTime.now());
-        when(walletRepositoryPort.findByUserIdForUpdate(userEmail)).thenReturn(Optional.of(wallet));
+        DepositOrWithdrawCommand zeroAmountCommand = new DepositOrWithdrawCommand(userEmail, Money.ZERO);
+        DepositOrWithdrawCommand negativeAmountCommand = new DepositOrWithdrawCommand(userEmail, Money.of("-10.00"));
 
         assertThrows(InvalidAmountTransactionException.class, () -> withdrawUseCase.execute(zeroAmountCommand));
         assertThrows(InvalidAmountTransactionException.class, () -> withdrawUseCase.execute(negativeAmountCommand));
+        verify(walletRepositoryPort, never()).applyBalanceDelta(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should throw exception when wallet don't have enough balance")
+    void shouldThrowExceptionWhenBalanceIsNotEnough() {
+        String userEmail = "bob@mail.com";
+        Money amount = Money.of("50.00");
+        DepositOrWithdrawCommand command = new DepositOrWithdrawCommand(userEmail, amount);
+        when(walletRepositoryPort.applyBalanceDelta(userEmail, amount.negate())).thenReturn(Optional.empty());
+        when(walletRepositoryPort.existsByUserId(userEmail)).thenReturn(true);
+
+        WalletOperationException exception = assertThrows(WalletOperationException.class,
+                () -> withdrawUseCase.execute(command));
+
+        assertEquals("The wallet balance don't have enough amount to withdraw", exception.getMessage());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+        verify(transactionRepositoryPort, never()).save(any());
     }
 }
\ No newline at end of file
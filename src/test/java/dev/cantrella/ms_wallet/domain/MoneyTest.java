@@ -0,0 +1,62 @@
+package dev.cantrella.ms_wallet.domain;
+
+import dev.cantrella.ms_wallet.domain.exception.InvalidAmountTransactionException;
+import dev.cantrella.ms_wallet.domain.exception.MoneyOverflowException;
+import dev.cantrella.ms_wallet.domain.model.Money;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MoneyTest {
+
+    @ParameterizedTest
+    @CsvSource({"0, 0", "1, 100", "1.5, 150", "100.50, 10050", "-0.01, -1"})
+    @DisplayName("of should convert the amount to cents")
+    void of_shouldConvertToMinorUnits(String amount, long minorUnits) {
+        assertEquals(minorUnits, Money.of(amount).minorUnits());
+    }
+
+    @Test
+    @DisplayName("toBigDecimal should always use two decimal places")
+    void toBigDecimal_shouldUseTwoDecimalPlaces() {
+        assertEquals(new BigDecimal("100.50"), Money.of("100.5").toBigDecimal());
+        assertEquals(new BigDecimal("0.00"), Money.ZERO.toBigDecimal());
+    }
+
+    @Test
+    @DisplayName("of should reject amounts with more than 2 decimal places")
+    void of_shouldRejectMoreThanTwoDecimals() {
+        assertThrows(InvalidAmountTransactionException.class, () -> Money.of("1.001"));
+    }
+
+    @Test
+    @DisplayName("of should reject amounts that don't fit in a long of cents")
+    void of_shouldRejectAmountsOutOfRange() {
+        assertThrows(MoneyOverflowException.class, () -> Money.of("92233720368547758.08"));
+    }
+
+    @Test
+    @DisplayName("arithmetic should keep exact cents")
+    void arithmetic_shouldKeepExactCents() {
+        assertEquals(Money.of("0.30"), Money.of("0.10").plus(Money.of("0.20")));
+        assertEquals(Money.of("-0.10"), Money.of("0.10").minus(Money.of("0.20")));
+        assertEquals(Money.of("0.10"), Money.of("0.10").min(Money.of("0.20")));
+    }
+
+    @Test
+    @DisplayName("arithmetic should throw instead of overflowing")
+    void arithmetic_shouldThrowOnOverflow() {
+        Money max = Money.ofMinor(Long.MAX_VALUE);
+        Money min = Money.ofMinor(Long.MIN_VALUE);
+
+        assertThrows(MoneyOverflowException.class, () -> max.plus(Money.of("0.01")));
+        assertThrows(MoneyOverflowException.class, () -> min.minus(Money.of("0.01")));
+        assertThrows(MoneyOverflowException.class, min::negate);
+    }
+}
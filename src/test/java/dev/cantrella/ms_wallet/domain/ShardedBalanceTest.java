@@ -0,0 +1,80 @@
+package dev.cantrella.ms_wallet.domain;
+
+import dev.cantrella.ms_wallet.domain.exception.WalletOperationException;
+import dev.cantrella.ms_wallet.domain.model.BalanceShard;
+import dev.cantrella.ms_wallet.domain.model.Money;
+import dev.cantrella.ms_wallet.domain.model.ShardedBalance;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardedBalanceTest {
+
+    private ShardedBalance shardedBalance;
+
+    @BeforeEach
+    void setUp() {
+        shardedBalance = new ShardedBalance(UUID.randomUUID(), List.of(
+                new BalanceShard(0, Money.of("10.00")),
+                new BalanceShard(1, Money.of("30.00")),
+                new BalanceShard(2, Money.of("20.00"))));
+    }
+
+    @Test
+    @DisplayName("total should sum every shard")
+    void total_shouldSumEveryShard() {
+        assertEquals(Money.of("60.00"), shardedBalance.total());
+    }
+
+    @Test
+    @DisplayName("deposit should only change the chosen shard")
+    void deposit_shouldOnlyChangeChosenShard() {
+        BalanceShard updated = shardedBalance.deposit(2, Money.of("5.00"));
+
+        assertEquals(new BalanceShard(2, Money.of("25.00")), updated);
+        assertEquals(Money.of("65.00"), shardedBalance.total());
+    }
+
+    @Test
+    @DisplayName("withdraw should use one shard when it has enough funds")
+    void withdraw_shouldUseOneShardWhenItHasEnoughFunds() {
+        List<BalanceShard> changed = shardedBalance.withdraw(Money.of("25.00"));
+
+        assertEquals(List.of(new BalanceShard(1, Money.of("5.00"))), changed);
+        assertEquals(Money.of("35.00"), shardedBalance.total());
+    }
+
+    @Test
+    @DisplayName("withdraw should drain several shards, fullest first")
+    void withdraw_shouldDrainSeveralShards() {
+        List<BalanceShard> changed = shardedBalance.withdraw(Money.of("55.00"));
+
+        assertEquals(List.of(
+                new BalanceShard(1, Money.of("0.00")),
+                new BalanceShard(2, Money.of("0.00")),
+                new BalanceShard(0, Money.of("5.00"))), changed);
+        assertEquals(Money.of("5.00"), shardedBalance.total());
+    }
+
+    @Test
+    @DisplayName("withdraw should throw exception when the sum of shards is not enough")
+    void withdraw_shouldThrowExceptionWhenBalanceIsNotEnough() {
+        WalletOperationException exception = assertThrows(WalletOperationException.class,
+                () -> shardedBalance.withdraw(Money.of("60.01")));
+
+        assertEquals("The wallet balance don't have enough amount to withdraw", exception.getMessage());
+        assertEquals(Money.of("60.00"), shardedBalance.total());
+    }
+
+    @Test
+    @DisplayName("deposit and withdraw should reject non positive amounts")
+    void shouldRejectNonPositiveAmounts() {
+        assertThrows(WalletOperationException.class, () -> shardedBalance.deposit(0, Money.ZERO));
+        assertThrows(WalletOperationException.class, () -> shardedBalance.withdraw(Money.of("-1")));
+    }
+}
@@ -2,6 +2,7 @@ package dev.cantrella.ms_wallet.domain;
 
 import dev.cantrella.ms_wallet.domain.exception.InvalidAmountTransactionException;
 import dev.cantrella.ms_wallet.domain.exception.NonNullValueException;
+import dev.cantrella.ms_wallet.domain.model.Money;
 import dev.cantrella.ms_wallet.domain.model.Transaction;
 import dev.cantrella.ms_wallet.domain.model.TransactionType;
 import org.junit.jupiter.api.Test;
@@ -24,13 +25,13 @@ class TransactionTest {
 
     private UUID sourceWalletId;
     private UUID destinationWalletId;
-    private BigDecimal validAmount;
+    private Money validAmount;
 
     @BeforeEach
     void setUp() {
         sourceWalletId = UUID.randomUUID();
         destinationWalletId = UUID.randomUUID();
-        validAmount = new BigDecimal("100.50");
+        validAmount = Money.of("100.50");
     }
 
     @Test
@@ -110,7 +111,7 @@ class TransactionTest {
     @ValueSource(strings = {"0", "-1", "-0.01"})
     @DisplayName("should reject zero or negative amounts")
     void shouldRejectZeroOrNegativeAmounts(String invalidAmount) {
-        BigDecimal amount = new BigDecimal(invalidAmount);
+        Money amount = Money.of(invalidAmount);
 
         assertThrows(InvalidAmountTransactionException.class, () ->
                         Transaction.createDeposit(sourceWalletId, amount),
@@ -124,7 +125,7 @@ class TransactionTest {
         BigDecimal amount = new BigDecimal(invalidAmount);
 
         assertThrows(InvalidAmountTransactionException.class, () ->
-                        Transaction.createDeposit(sourceWalletId, amount),
+                        Transaction.createDeposit(sourceWalletId, Money.of(amount)),
                 "Amount cannot have more than 2 decimal places");
     }
 
@@ -195,7 +196,7 @@ class TransactionTest {
     @MethodSource("validAmountsProvider")
     @DisplayName("should accept valid amounts with up to 2 decimal places")
     void shouldAcceptValidAmounts(String validAmount) {
-        BigDecimal amount = new BigDecimal(validAmount);
+        Money amount = Money.of(validAmount);
         Transaction transaction = Transaction.createDeposit(
                 sourceWalletId,
                 amount);
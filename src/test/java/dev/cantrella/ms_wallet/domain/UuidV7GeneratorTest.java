@@ -0,0 +1,58 @@
+package dev.cantrella.ms_wallet.domain;
+
+import dev.cantrella.ms_wallet.domain.id.UuidV7Generator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UuidV7GeneratorTest {
+
+    private final UuidV7Generator generator = new UuidV7Generator();
+
+    @Test
+    @DisplayName("next should set the version 7 and the RFC variant")
+    void next_shouldSetVersionAndVariant() {
+        UUID id = generator.next();
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+    }
+
+    @Test
+    @DisplayName("next should carry the creation time in the first 48 bits")
+    void next_shouldCarryTimestamp() {
+        long before = System.currentTimeMillis();
+        UUID id = generator.next();
+        long after = System.currentTimeMillis();
+
+        long timestamp = id.getMostSignificantBits() >>> 16;
+        assertTrue(timestamp >= before && timestamp <= after);
+    }
+
+    @Test
+    @DisplayName("ids created in later milliseconds should sort after earlier ones")
+    void next_shouldBeOrderedAcrossMilliseconds() throws InterruptedException {
+        UUID first = generator.next();
+        Thread.sleep(2);
+        UUID second = generator.next();
+
+        assertTrue(first.toString().compareTo(second.toString()) < 0);
+    }
+
+    @Test
+    @DisplayName("next should not repeat ids")
+    void next_shouldBeUnique() {
+        Set<UUID> ids = new HashSet<>();
+        for (int i = 0; i < 100_000; i++) {
+            ids.add(generator.next());
+        }
+
+        assertEquals(100_000, ids.size());
+    }
+}
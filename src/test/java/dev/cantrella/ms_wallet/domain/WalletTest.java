@@ -2,6 +2,7 @@ package dev.cantrella.ms_wallet.domain;
 
 import dev.cantrella.ms_wallet.domain.exception.NonNullValueException;
 import dev.cantrella.ms_wallet.domain.exception.WalletOperationException;
+import dev.cantrella.ms_wallet.domain.model.Money;
 import dev.cantrella.ms_wallet.domain.model.Wallet;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
@@ -9,7 +10,6 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
@@ -27,7 +27,7 @@ class WalletTest {
 
     @BeforeEach
     void setUp() {
-        wallet = new Wallet(testWalletId, testUserId, BigDecimal.valueOf(100), testDateTime);
+        wallet = new Wallet(testWalletId, testUserId, Money.of("100"), testDateTime);
     }
 
     @Test
@@ -37,7 +37,7 @@ class WalletTest {
 
         assertNotNull(newWallet.getId());
         assertEquals(testUserId, newWallet.getUserId());
-        assertEquals(BigDecimal.ZERO, newWallet.getBalance());
+        assertEquals(Money.ZERO, newWallet.getBalance());
         assertNotNull(newWallet.getCreatedAt());
         assertNotEquals(testWalletId, newWallet.getId());
     }
@@ -45,19 +45,19 @@ class WalletTest {
     @Test
     @DisplayName("deposit should increase balance with positive amount")
     void deposit_shouldIncreaseBalance_whenPositiveAmount() {
-        BigDecimal initialBalance = wallet.getBalance();
-        BigDecimal depositAmount = BigDecimal.valueOf(50.75);
+        Money initialBalance = wallet.getBalance();
+        Money depositAmount = Money.of("50.75");
 
         wallet.deposit(depositAmount);
 
-        assertEquals(initialBalance.add(depositAmount), wallet.getBalance());
+        assertEquals(initialBalance.plus(depositAmount), wallet.getBalance());
     }
 
     @ParameterizedTest
     @ValueSource(strings = {"0", "-1", "-0.01"})
     @DisplayName("deposit should throw exception when amount is zero or negative")
     void deposit_shouldThrowException_whenAmountZeroOrNegative(String amount) {
-        BigDecimal invalidAmount = new BigDecimal(amount);
+        Money invalidAmount = Money.of(amount);
 
         WalletOperationException exception = assertThrows(WalletOperationException.class,
                 () -> wallet.deposit(invalidAmount));
@@ -83,28 +83,28 @@ class WalletTest {
     @Test
     @DisplayName("withdraw should decrease balance with positive amount")
     void withdraw_shouldDecreaseBalance_whenPositiveAmount() {
-        BigDecimal initialBalance = wallet.getBalance();
-        BigDecimal withdrawAmount = BigDecimal.valueOf(30.25);
+        Money initialBalance = wallet.getBalance();
+        Money withdrawAmount = Money.of("30.25");
 
         wallet.withdraw(withdrawAmount);
 
-        assertEquals(initialBalance.subtract(withdrawAmount), wallet.getBalance());
+        assertEquals(initialBalance.minus(withdrawAmount), wallet.getBalance());
     }
 
     @Test
     @DisplayName("withdraw should allow balance to go to zero")
     void withdraw_shouldAllowZeroBalance() {
-        wallet = new Wallet(testWalletId, testUserId, BigDecimal.valueOf(50), testDateTime);
-        wallet.withdraw(BigDecimal.valueOf(50));
+        wallet = new Wallet(testWalletId, testUserId, Money.of("50"), testDateTime);
+        wallet.withdraw(Money.of("50"));
 
-        assertEquals(BigDecimal.ZERO, wallet.getBalance());
+        assertEquals(Money.ZERO, wallet.getBalance());
     }
 
     @ParameterizedTest
     @ValueSource(strings = {"0", "-1", "-0.01"})
     @DisplayName("withdraw should throw exception when amount is zero or negative")
     void withdraw_shouldThrowException_whenAmountZeroOrNegative(String amount) {
-        BigDecimal invalidAmount = new BigDecimal(amount);
+        Money invalidAmount = Money.of(amount);
 
         WalletOperationException exception = assertThrows(WalletOperationException.class,
                 () -> wallet.withdraw(invalidAmount));
@@ -124,7 +124,7 @@ class WalletTest {
     @DisplayName("withdraw should throw exception when wallet don't have enough balance")
     void withdraw_shouldThrowException_whenBalanceIsNotEnough() {
         assertThrows(WalletOperationException.class,
-                () -> wallet.withdraw(new BigDecimal("200")),
+                () -> wallet.withdraw(Money.of("200")),
                 "The wallet balance don't have enough amount to withdraw");
     }
 
@@ -0,0 +1,152 @@
+package dev.cantrella.ms_wallet.infra.adapter;
+
+import dev.cantrella.ms_wallet.application.config.WriteConcurrencyPolicy;
+import dev.cantrella.ms_wallet.application.dto.TransferCommand;
+import dev.cantrella.ms_wallet.application.usecase.TransferUseCaseImpl;
+import dev.cantrella.ms_wallet.application.usecase.TransferWriter;
+import dev.cantrella.ms_wallet.domain.model.Money;
+import dev.cantrella.ms_wallet.domain.model.Wallet;
+import dev.cantrella.ms_wallet.ports.out.CachePort;
+import dev.cantrella.ms_wallet.ports.out.WalletContentionPort;
+import dev.cantrella.ms_wallet.ports.out.WalletRepositoryPort;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Transfer throughput with row locks, optimistic writes and adaptive selection, over wallets picked uniformly and
+ * with a Zipf(1.2) skew where a handful of wallets take most of the traffic. Prints a table and checks that no money
+ * is created or lost in any run.
+ */
+@SpringBootTest(properties = {"wallet.mongo.manage-indexes=false", "wallet.near-cache.enabled=false"})
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers
+@Slf4j
+class OptimisticTransferThroughputIT {
+
+    private static final int WALLETS = 1000;
+    private static final int TRANSFERS = 8000;
+    private static final int THREADS = 32;
+    private static final Money INITIAL_BALANCE = Money.of("1000000.00");
+
+    @Container
+    static PostgreSQLContainer<?> postgreSQLContainer = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @DynamicPropertySource
+    static void setPostgresProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgreSQLContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", postgreSQLContainer::getUsername);
+        registry.add("spring.datasource.password", postgreSQLContainer::getPassword);
+        registry.add("spring.datasource.driverClassName", postgreSQLContainer::getDriverClassName);
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.PostgreSQLDialect");
+        registry.add("spring.datasource.hikari.maximum-pool-size", () -> THREADS);
+    }
+
+    @MockitoBean
+    private CachePort cachePort;
+
+    @Autowired
+    private TransferWriter transferWriter;
+
+    @Autowired
+    private WalletContentionPort walletContentionPort;
+
+    @Autowired
+    private WalletRepositoryPort walletRepositoryPort;
+
+    private final List<UUID> walletIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < WALLETS; i++) {
+            walletIds.add(walletRepositoryPort.save(new Wallet(
+                    UUID.randomUUID(), "user-" + UUID.randomUUID() + "@mail.com", INITIAL_BALANCE, LocalDateTime.now()))
+                    .getId());
+        }
+    }
+
+    @Test
+    void compareWriteModesUnderUniformAndSkewedKeys() throws Exception {
+        double[] zipf = zipfCumulative(WALLETS, 1.2);
+        IntSupplier uniform = () -> ThreadLocalRandom.current().nextInt(WALLETS);
+        IntSupplier skewed = () -> sample(zipf);
+
+        for (WriteConcurrencyPolicy.Mode mode : WriteConcurrencyPolicy.Mode.values()) {
+            log.info("mode={} keys=uniform transfers/s={}", mode, Math.round(measure(mode, uniform)));
+            log.info("mode={} keys=zipf transfers/s={}", mode, Math.round(measure(mode, skewed)));
+        }
+
+        Money total = walletIds.stream()
+                .map(id -> walletRepositoryPort.findById(id).orElseThrow().getBalance())
+                .reduce(Money.ZERO, Money::plus);
+        assertEquals(Money.ofMinor(INITIAL_BALANCE.minorUnits() * WALLETS), total);
+    }
+
+    private double measure(WriteConcurrencyPolicy.Mode mode, IntSupplier walletIndex) throws Exception {
+        TransferUseCaseImpl transferUseCase = new TransferUseCaseImpl(transferWriter, walletContentionPort,
+                new WriteConcurrencyPolicy(mode, 3, Duration.ofMillis(2), 0.05));
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int i = 0; i < TRANSFERS; i++) {
+            futures.add(executor.submit(() -> {
+                int source = walletIndex.getAsInt();
+                int destination = walletIndex.getAsInt();
+                while (destination == source) {
+                    destination = walletIndex.getAsInt();
+                }
+                transferUseCase.execute(new TransferCommand(
+                        walletIds.get(source), walletIds.get(destination), Money.of("1.00")));
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        double elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        executor.shutdown();
+        return TRANSFERS / elapsedSeconds;
+    }
+
+    private static double[] zipfCumulative(int n, double exponent) {
+        double[] cumulative = new double[n];
+        double sum = 0;
+        for (int i = 0; i < n; i++) {
+            sum += 1 / Math.pow(i + 1, exponent);
+            cumulative[i] = sum;
+        }
+        for (int i = 0; i < n; i++) {
+            cumulative[i] /= sum;
+        }
+        return cumulative;
+    }
+
+    private static int sample(double[] cumulative) {
+        int index = Arrays.binarySearch(cumulative, ThreadLocalRandom.current().nextDouble());
+        return Math.min(index >= 0 ? index : -index - 1, cumulative.length - 1);
+    }
+}
@@ -0,0 +1,133 @@
+package dev.cantrella.ms_wallet.infra.adapter;
+
+import com.zaxxer.hikari.HikariDataSource;
+import dev.cantrella.ms_wallet.infra.config.ReplicaRoutingDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.Network;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Primary and hot standby Postgres with streaming replication: read-only transactions must land on the standby and
+ * see rows written on the primary, writes must stay on the primary, and reads must fall back to the primary once the
+ * standby is gone.
+ */
+@Testcontainers
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class ReplicaRoutingIT {
+
+    private static final String IMAGE = "bitnami/postgresql:16";
+    private static final Network NETWORK = Network.newNetwork();
+
+    static GenericContainer<?> primary = new GenericContainer<>(IMAGE)
+            .withNetwork(NETWORK)
+            .withNetworkAliases("primary")
+            .withEnv(Map.of(
+                    "POSTGRESQL_REPLICATION_MODE", "master",
+                    "POSTGRESQL_REPLICATION_USER", "replicator",
+                    "POSTGRESQL_REPLICATION_PASSWORD", "replicator",
+                    "POSTGRESQL_PASSWORD", "postgres",
+                    "POSTGRESQL_DATABASE", "users"))
+            .withExposedPorts(5432)
+            .waitingFor(Wait.forLogMessage(".*database system is ready to accept connections.*", 2));
+
+    static GenericContainer<?> replica = new GenericContainer<>(IMAGE)
+            .withNetwork(NETWORK)
+            .withEnv(Map.of(
+                    "POSTGRESQL_REPLICATION_MODE", "slave",
+                    "POSTGRESQL_MASTER_HOST", "primary",
+                    "POSTGRESQL_MASTER_PORT_NUMBER", "5432",
+                    "POSTGRESQL_REPLICATION_USER", "replicator",
+                    "POSTGRESQL_REPLICATION_PASSWORD", "replicator",
+                    "POSTGRESQL_PASSWORD", "postgres"))
+            .withExposedPorts(5432)
+            .dependsOn(primary)
+            .waitingFor(Wait.forLogMessage(".*ready to accept read-only connections.*", 1));
+
+    private static ReplicaRoutingDataSource routingDataSource;
+    private static JdbcTemplate jdbcTemplate;
+    private static TransactionTemplate readOnly;
+    private static TransactionTemplate readWrite;
+
+    @BeforeAll
+    static void setUp() {
+        primary.start();
+        replica.start();
+        HikariDataSource replicaDataSource = dataSource(replica);
+        replicaDataSource.setReadOnly(true);
+        routingDataSource = new ReplicaRoutingDataSource(dataSource(primary), Map.of("replica-0", replicaDataSource),
+                Duration.ofSeconds(1), Duration.ofMillis(200), new SimpleMeterRegistry());
+        routingDataSource.afterPropertiesSet();
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterAll
+    static void tearDown() throws Exception {
+        routingDataSource.destroy();
+        primary.stop();
+    }
+
+    @Test
+    @Order(1)
+    void shouldReadFromReplicaAndWriteToPrimary() throws Exception {
+        readWrite.executeWithoutResult(status -> {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS wallets_probe (user_id text PRIMARY KEY)");
+            jdbcTemplate.update("INSERT INTO wallets_probe VALUES ('bob@mail.com') ON CONFLICT DO NOTHING");
+            assertFalse(jdbcTemplate.queryForObject("SELECT pg_is_in_recovery()", Boolean.class));
+        });
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        Integer replicated = 0;
+        while (replicated == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+            replicated = readOnly.execute(status -> {
+                assertTrue(jdbcTemplate.queryForObject("SELECT pg_is_in_recovery()", Boolean.class));
+                return jdbcTemplate.queryForObject("SELECT count(*) FROM wallets_probe", Integer.class);
+            });
+        }
+        assertEquals(1, replicated);
+    }
+
+    @Test
+    @Order(2)
+    void shouldFallBackToPrimaryWhenReplicaIsDown() throws Exception {
+        replica.stop();
+        Thread.sleep(3_000);
+
+        Boolean inRecovery = readOnly.execute(status ->
+                jdbcTemplate.queryForObject("SELECT pg_is_in_recovery()", Boolean.class));
+
+        assertFalse(inRecovery);
+    }
+
+    private static HikariDataSource dataSource(GenericContainer<?> container) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:postgresql://" + container.getHost() + ":" + container.getMappedPort(5432) + "/users?socketTimeout=3");
+        dataSource.setUsername("postgres");
+        dataSource.setPassword("postgres");
+        dataSource.setConnectionTimeout(2_000);
+        return dataSource;
+    }
+}
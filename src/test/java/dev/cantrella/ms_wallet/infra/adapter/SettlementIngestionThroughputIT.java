@@ -0,0 +1,105 @@
+package dev.cantrella.ms_wallet.infra.adapter;
+
+import dev.cantrella.ms_wallet.application.dto.IngestSettlementFileCommand;
+import dev.cantrella.ms_wallet.application.dto.SettlementIngestionReport;
+import dev.cantrella.ms_wallet.application.port.IngestSettlementFileUseCase;
+import dev.cantrella.ms_wallet.ports.out.CachePort;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {"wallet.mongo.manage-indexes=false", "wallet.near-cache.enabled=false"})
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers
+@Slf4j
+class SettlementIngestionThroughputIT {
+
+    private static final int WALLETS = 10_000;
+    private static final int LINES = Integer.getInteger("settlement-benchmark.lines", 500_000);
+    private static final double MIN_CREDITS_PER_SECOND = 50_000;
+
+    @TempDir
+    static Path settlementDirectory;
+
+    @Container
+    static PostgreSQLContainer<?> postgreSQLContainer = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @DynamicPropertySource
+    static void setPostgresProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgreSQLContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", postgreSQLContainer::getUsername);
+        registry.add("spring.datasource.password", postgreSQLContainer::getPassword);
+        registry.add("spring.datasource.driverClassName", postgreSQLContainer::getDriverClassName);
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.PostgreSQLDialect");
+        registry.add("wallet.settlement.directory", () -> settlementDirectory.toString());
+    }
+
+    @MockitoBean
+    private CachePort cachePort;
+
+    @Autowired
+    private IngestSettlementFileUseCase ingestSettlementFileUseCase;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldIngestAtLeastFiftyThousandCreditsPerSecondAndResumeFromCheckpoint() throws IOException {
+        List<Object[]> wallets = new ArrayList<>(WALLETS);
+        for (int i = 0; i < WALLETS; i++) {
+            wallets.add(new Object[]{UUID.randomUUID(), "merchant-" + i + "@mail.com"});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO wallets (id, user_id, balance, created_at) VALUES (?, ?, 0, now())", wallets);
+
+        try (BufferedWriter writer = Files.newBufferedWriter(settlementDirectory.resolve("settlement.csv"))) {
+            writer.write("user_id,amount\n");
+            for (int i = 0; i < LINES; i++) {
+                writer.write("merchant-" + (i % WALLETS) + "@mail.com,1.25\n");
+            }
+            writer.write("unknown@mail.com,1.00\n");
+        }
+
+        long start = System.nanoTime();
+        SettlementIngestionReport report = ingestSettlementFileUseCase.execute(new IngestSettlementFileCommand("settlement.csv"));
+        double elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        double creditsPerSecond = report.creditedLines() / elapsedSeconds;
+        log.info("lines={} credits/s={}", LINES, Math.round(creditsPerSecond));
+
+        assertEquals(LINES, report.creditedLines());
+        assertEquals(1, report.failedLines());
+        assertEquals(LINES, jdbcTemplate.queryForObject("SELECT count(*) FROM transactions", Long.class));
+        assertEquals(0, new BigDecimal("1.25").multiply(BigDecimal.valueOf(LINES)).compareTo(
+                jdbcTemplate.queryForObject("SELECT sum(balance) FROM wallets", BigDecimal.class)));
+        assertTrue(creditsPerSecond >= MIN_CREDITS_PER_SECOND,
+                () -> "Expected at least " + MIN_CREDITS_PER_SECOND + " credits/s, got " + creditsPerSecond);
+
+        SettlementIngestionReport rerun = ingestSettlementFileUseCase.execute(new IngestSettlementFileCommand("settlement.csv"));
+
+        assertEquals(LINES, rerun.creditedLines());
+        assertEquals(LINES, jdbcTemplate.queryForObject("SELECT count(*) FROM transactions", Long.class));
+    }
+}
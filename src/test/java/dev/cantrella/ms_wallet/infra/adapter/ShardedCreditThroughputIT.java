@@ -0,0 +1,117 @@
+package dev.cantrella.ms_wallet.infra.adapter;
+
+import dev.cantrella.ms_wallet.application.config.WriteConcurrencyPolicy;
+import dev.cantrella.ms_wallet.domain.model.Money;
+import dev.cantrella.ms_wallet.domain.model.Wallet;
+import dev.cantrella.ms_wallet.infra.adapter.out.persistence.repository.JpaWalletBalanceShardRepository;
+import dev.cantrella.ms_wallet.infra.adapter.out.persistence.repository.ShardedWalletRepositoryAdapter;
+import dev.cantrella.ms_wallet.infra.adapter.out.persistence.repository.WalletRepositoryAdapter;
+import dev.cantrella.ms_wallet.ports.out.CachePort;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {"wallet.mongo.manage-indexes=false", "wallet.sharding.enabled=true",
+        "wallet.near-cache.enabled=false"})
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers
+@Slf4j
+class ShardedCreditThroughputIT {
+
+    private static final int CREDITS = 2000;
+    private static final int THREADS = 32;
+
+    @Container
+    static PostgreSQLContainer<?> postgreSQLContainer = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @DynamicPropertySource
+    static void setPostgresProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgreSQLContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", postgreSQLContainer::getUsername);
+        registry.add("spring.datasource.password", postgreSQLContainer::getPassword);
+        registry.add("spring.datasource.driverClassName", postgreSQLContainer::getDriverClassName);
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.PostgreSQLDialect");
+        registry.add("spring.datasource.hikari.maximum-pool-size", () -> THREADS);
+    }
+
+    @MockitoBean
+    private CachePort cachePort;
+
+    @Autowired
+    private WalletRepositoryAdapter walletRepositoryAdapter;
+
+    @Autowired
+    private JpaWalletBalanceShardRepository jpaWalletBalanceShardRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void creditThroughputShouldScaleWithShardCount() throws Exception {
+        Map<Integer, Double> throughputByShardCount = new LinkedHashMap<>();
+        for (int shardCount : new int[]{1, 4, 16}) {
+            throughputByShardCount.put(shardCount, measureCredits(shardCount));
+        }
+        throughputByShardCount.forEach((shardCount, throughput) ->
+                log.info("shards={} credits/s={}", shardCount, Math.round(throughput)));
+
+        assertTrue(throughputByShardCount.get(16) > throughputByShardCount.get(1),
+                () -> "Expected more credits per second with 16 shards: " + throughputByShardCount);
+    }
+
+    private double measureCredits(int shardCount) throws Exception {
+        ShardedWalletRepositoryAdapter adapter =
+                new ShardedWalletRepositoryAdapter(walletRepositoryAdapter, jpaWalletBalanceShardRepository, shardCount,
+                        new WriteConcurrencyPolicy(WriteConcurrencyPolicy.Mode.PESSIMISTIC, 3, Duration.ofMillis(2), 0.05));
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        String userId = "merchant-" + shardCount + "@mail.com";
+        adapter.save(new Wallet(UUID.randomUUID(), userId, Money.ZERO, LocalDateTime.now()));
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int i = 0; i < CREDITS; i++) {
+            futures.add(executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                adapter.applyBalanceDelta(userId, Money.of("1.00")).orElseThrow();
+                jdbcTemplate.queryForObject("SELECT pg_sleep(0.002)::text", String.class);
+            })));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        double elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        executor.shutdown();
+
+        assertEquals(Money.ofMinor(CREDITS * 100L), adapter.findByUserId(userId).orElseThrow().getBalance());
+        return CREDITS / elapsedSeconds;
+    }
+}
@@ -0,0 +1,95 @@
+package dev.cantrella.ms_wallet.infra.adapter;
+
+import dev.cantrella.ms_wallet.application.dto.TransferCommand;
+import dev.cantrella.ms_wallet.application.port.TransferUseCase;
+import dev.cantrella.ms_wallet.domain.model.Money;
+import dev.cantrella.ms_wallet.domain.model.Wallet;
+import dev.cantrella.ms_wallet.ports.out.CachePort;
+import dev.cantrella.ms_wallet.ports.out.WalletRepositoryPort;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Crossing transfers over sharded balances, where the shard writes take the only row locks. Few shards make
+ * transfers meet on the same shard often.
+ */
+@SpringBootTest(properties = {"wallet.mongo.manage-indexes=false", "wallet.near-cache.enabled=false",
+        "wallet.sharding.enabled=true", "wallet.sharding.shard-count=2"})
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers
+class ShardedTransferConcurrencyIT {
+
+    private static final int TRANSFERS = 4000;
+    private static final Money INITIAL_BALANCE = Money.of("100000.00");
+
+    @Container
+    static PostgreSQLContainer<?> postgreSQLContainer = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @DynamicPropertySource
+    static void setPostgresProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgreSQLContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", postgreSQLContainer::getUsername);
+        registry.add("spring.datasource.password", postgreSQLContainer::getPassword);
+        registry.add("spring.datasource.driverClassName", postgreSQLContainer::getDriverClassName);
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.PostgreSQLDialect");
+    }
+
+    @MockitoBean
+    private CachePort cachePort;
+
+    @Autowired
+    private TransferUseCase transferUseCase;
+
+    @Autowired
+    private WalletRepositoryPort walletRepositoryPort;
+
+    @Test
+    void shouldRunCrossingShardedTransfersWithoutDeadlocks() throws Exception {
+        Wallet walletA = walletRepositoryPort.save(
+                new Wallet(UUID.randomUUID(), "alice@mail.com", INITIAL_BALANCE, LocalDateTime.now()));
+        Wallet walletB = walletRepositoryPort.save(
+                new Wallet(UUID.randomUUID(), "bob@mail.com", INITIAL_BALANCE, LocalDateTime.now()));
+
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < TRANSFERS; i++) {
+            TransferCommand command = i % 2 == 0
+                    ? new TransferCommand(walletA.getId(), walletB.getId(), Money.of("1.00"))
+                    : new TransferCommand(walletB.getId(), walletA.getId(), Money.of("1.00"));
+            futures.add(executor.submit(() -> transferUseCase.execute(command)));
+        }
+        List<Throwable> failures = new ArrayList<>();
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (Exception e) {
+                failures.add(e.getCause());
+            }
+        }
+        executor.shutdown();
+
+        assertTrue(failures.isEmpty(), () -> failures.size() + " transfers failed, first: " + failures.get(0));
+        assertEquals(INITIAL_BALANCE, walletRepositoryPort.findById(walletA.getId()).orElseThrow().getBalance());
+        assertEquals(INITIAL_BALANCE, walletRepositoryPort.findById(walletB.getId()).orElseThrow().getBalance());
+    }
+}
@@ -0,0 +1,178 @@
+package dev.cantrella.ms_wallet.infra.adapter;
+
+import com.redis.testcontainers.RedisContainer;
+import dev.cantrella.ms_wallet.MsWalletApplication;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the same lock-contention-heavy mix against thread-per-request and virtual-thread Tomcat: a burst of
+ * deposits queues behind a row lock on one hot wallet while cached balance reads of other wallets keep arriving.
+ */
+@Testcontainers
+@Slf4j
+class ThreadModelLoadIT {
+
+    private static final String HOT_USER = "hot@mail.com";
+    private static final int COLD_USERS = 50;
+    private static final int BLOCKED_WRITES = 400;
+    private static final int READS = 500;
+    private static final Duration LOCK_HOLD = Duration.ofSeconds(3);
+
+    @Container
+    static PostgreSQLContainer<?> postgreSQLContainer = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @Container
+    private static final RedisContainer REDIS_CONTAINER =
+            new RedisContainer(DockerImageName.parse("redis:5.0.3-alpine")).withExposedPorts(6379);
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    @Test
+    void virtualThreadsShouldKeepReadsFlowingWhileWritesWaitOnLocks() throws Exception {
+        LoadResult platform = run(false);
+        LoadResult virtual = run(true);
+
+        log.info("platform: read p99={}ms writes ok={}", platform.readP99Millis(), platform.successfulWrites());
+        log.info("virtual: read p99={}ms writes ok={} pinned={}",
+                virtual.readP99Millis(), virtual.successfulWrites(), virtual.pinnedInApplicationCode());
+
+        assertEquals(BLOCKED_WRITES, platform.successfulWrites());
+        assertEquals(BLOCKED_WRITES, virtual.successfulWrites());
+        assertTrue(virtual.readP99Millis() < platform.readP99Millis(),
+                () -> "Expected faster reads with virtual threads, platform=" + platform + " virtual=" + virtual);
+        assertEquals(0, virtual.pinnedInApplicationCode());
+    }
+
+    private LoadResult run(boolean virtualThreads) throws Exception {
+        AtomicInteger pinnedInApplicationCode = new AtomicInteger();
+        try (ConfigurableApplicationContext context = start(virtualThreads);
+             RecordingStream pinnedEvents = new RecordingStream()) {
+            pinnedEvents.enable("jdk.VirtualThreadPinned").withStackTrace().withThreshold(Duration.ofMillis(1));
+            pinnedEvents.onEvent("jdk.VirtualThreadPinned", event -> {
+                if (event.getStackTrace() != null && event.getStackTrace().getFrames().stream()
+                        .map(RecordedFrame::getMethod)
+                        .anyMatch(method -> method.getType().getName().startsWith("dev.cantrella"))) {
+                    pinnedInApplicationCode.incrementAndGet();
+                }
+            });
+            pinnedEvents.startAsync();
+
+            String baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+            String suffix = virtualThreads ? "-virtual" : "-platform";
+            String hotUser = HOT_USER + suffix;
+            send(baseUrl, "POST", "/wallets", hotUser, null);
+            List<String> coldUsers = new ArrayList<>();
+            for (int i = 0; i < COLD_USERS; i++) {
+                String coldUser = "cold-" + i + "@mail.com" + suffix;
+                send(baseUrl, "POST", "/wallets", coldUser, null);
+                send(baseUrl, "GET", "/wallets/balance", coldUser, null);
+                coldUsers.add(coldUser);
+            }
+
+            AtomicInteger successfulWrites = new AtomicInteger();
+            ConcurrentLinkedQueue<Long> readLatencies = new ConcurrentLinkedQueue<>();
+            try (Connection lockHolder = DriverManager.getConnection(postgreSQLContainer.getJdbcUrl(),
+                    postgreSQLContainer.getUsername(), postgreSQLContainer.getPassword());
+                 ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+                lockHolder.setAutoCommit(false);
+                try (PreparedStatement lock = lockHolder.prepareStatement(
+                        "SELECT id FROM wallets WHERE user_id = ? FOR UPDATE")) {
+                    lock.setString(1, hotUser);
+                    lock.executeQuery();
+                }
+
+                List<Future<?>> requests = new ArrayList<>();
+                for (int i = 0; i < BLOCKED_WRITES; i++) {
+                    requests.add(clients.submit(() -> {
+                        if (send(baseUrl, "POST", "/wallets/deposit", hotUser, "{\"amount\": 1.00}") == 200) {
+                            successfulWrites.incrementAndGet();
+                        }
+                        return null;
+                    }));
+                }
+                Thread.sleep(300);
+                for (int i = 0; i < READS; i++) {
+                    String coldUser = coldUsers.get(i % COLD_USERS);
+                    requests.add(clients.submit(() -> {
+                        long start = System.nanoTime();
+                        send(baseUrl, "GET", "/wallets/balance", coldUser, null);
+                        readLatencies.add((System.nanoTime() - start) / 1_000_000);
+                        return null;
+                    }));
+                }
+                Thread.sleep(LOCK_HOLD.toMillis());
+                lockHolder.commit();
+                for (Future<?> request : requests) {
+                    request.get();
+                }
+            }
+            return new LoadResult(percentile(readLatencies, 0.99), successfulWrites.get(), pinnedInApplicationCode.get());
+        }
+    }
+
+    private ConfigurableApplicationContext start(boolean virtualThreads) {
+        return new SpringApplicationBuilder(MsWalletApplication.class)
+                .profiles("test")
+                .run(
+                        "--server.port=0",
+                        "--server.tomcat.threads.max=200",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--spring.datasource.url=" + postgreSQLContainer.getJdbcUrl(),
+                        "--spring.datasource.username=" + postgreSQLContainer.getUsername(),
+                        "--spring.datasource.password=" + postgreSQLContainer.getPassword(),
+                        "--spring.datasource.driverClassName=" + postgreSQLContainer.getDriverClassName(),
+                        "--spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect",
+                        "--spring.jpa.hibernate.ddl-auto=update",
+                        "--spring.data.redis.host=" + REDIS_CONTAINER.getHost(),
+                        "--spring.data.redis.port=" + REDIS_CONTAINER.getMappedPort(6379),
+                        "--wallet.mongo.manage-indexes=false");
+    }
+
+    private int send(String baseUrl, String method, String path, String user, String body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + user)
+                .header("Content-Type", "application/json")
+                .method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body))
+                .timeout(Duration.ofSeconds(60))
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private static long percentile(ConcurrentLinkedQueue<Long> latencies, double percentile) {
+        List<Long> sorted = latencies.stream().sorted().toList();
+        return sorted.get((int) Math.ceil(percentile * sorted.size()) - 1);
+    }
+
+    private record LoadResult(long readP99Millis, int successfulWrites, int pinnedInApplicationCode) {
+    }
+}
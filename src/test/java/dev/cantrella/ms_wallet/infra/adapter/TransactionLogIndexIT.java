@@ -0,0 +1,134 @@
+package dev.cantrella.ms_wallet.infra.adapter;
+
+import dev.cantrella.ms_wallet.application.dto.TransactionStatementPage;
+import dev.cantrella.ms_wallet.domain.model.Transaction;
+import dev.cantrella.ms_wallet.domain.model.TransactionType;
+import dev.cantrella.ms_wallet.infra.adapter.out.persistence.entity.TransactionMongoEntity;
+import dev.cantrella.ms_wallet.infra.adapter.out.persistence.mapper.TransactionLogPersistenceMapper;
+import dev.cantrella.ms_wallet.infra.adapter.out.persistence.repository.MongoTransactionLogRepository;
+import dev.cantrella.ms_wallet.infra.adapter.out.persistence.repository.TransactionLogRepositoryAdapter;
+import dev.cantrella.ms_wallet.infra.config.MongoIndexConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataMongoTest
+@Import(MongoIndexConfig.class)
+@Testcontainers
+class TransactionLogIndexIT {
+
+    @Container
+    static MongoDBContainer mongoDBContainer = new MongoDBContainer("mongo:7.0.5");
+
+    @DynamicPropertySource
+    static void setMongoDbProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", mongoDBContainer::getReplicaSetUrl);
+    }
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MongoIndexConfig mongoIndexConfig;
+
+    @Autowired
+    private MongoTransactionLogRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate.dropCollection(TransactionMongoEntity.class);
+        for (int i = 0; i < 100; i++) {
+            mongoTemplate.save(TransactionMongoEntity.builder()
+                    .id(UUID.randomUUID().toString().replace("-", ""))
+                    .transactionId(UUID.randomUUID().toString())
+                    .sourceWalletId(UUID.randomUUID().toString())
+                    .destinationWalletId(UUID.randomUUID().toString())
+                    .type(TransactionType.TRANSFER.toString())
+                    .amount(new BigDecimal("10.00"))
+                    .timestamp(System.currentTimeMillis())
+                    .build());
+        }
+        mongoIndexConfig.ensureTransactionLogIndexes();
+    }
+
+    @Test
+    void shouldCreateCompoundIndexesForHistoryQuery() {
+        List<String> indexNames = mongoTemplate.indexOps(TransactionMongoEntity.class).getIndexInfo().stream()
+                .map(IndexInfo::getName)
+                .toList();
+
+        assertTrue(indexNames.contains(MongoIndexConfig.SOURCE_WALLET_TIMESTAMP_INDEX));
+        assertTrue(indexNames.contains(MongoIndexConfig.DESTINATION_WALLET_TIMESTAMP_INDEX));
+    }
+
+    @Test
+    void shouldUseIndexScanOnBothBranchesOfHistoryQuery() {
+        List<String> stages = mongoIndexConfig.explainHistoryQuery(
+                UUID.randomUUID().toString(), System.currentTimeMillis());
+
+        assertFalse(stages.contains("COLLSCAN"), () -> "Unexpected plan " + stages);
+        assertTrue(stages.contains("OR"), () -> "Unexpected plan " + stages);
+        assertEquals(2, stages.stream().filter("IXSCAN"::equals).count(), () -> "Unexpected plan " + stages);
+    }
+
+    @Test
+    void shouldMergeIndexOrderedBranchesOfStatementQuery() {
+        List<String> stages = mongoIndexConfig.explainStatementQuery(
+                UUID.randomUUID().toString(), System.currentTimeMillis(), UUID.randomUUID().toString());
+
+        assertFalse(stages.contains("COLLSCAN"), () -> "Unexpected plan " + stages);
+        assertFalse(stages.contains("SORT"), () -> "Unexpected plan " + stages);
+        assertTrue(stages.contains("SORT_MERGE"), () -> "Unexpected plan " + stages);
+    }
+
+    @Test
+    void shouldPageThroughStatementWithoutGapsOrDuplicatesOnEqualTimestamps() {
+        String walletId = UUID.randomUUID().toString();
+        long timestamp = System.currentTimeMillis();
+        for (int i = 0; i < 25; i++) {
+            mongoTemplate.save(TransactionMongoEntity.builder()
+                    .id(UUID.randomUUID().toString().replace("-", ""))
+                    .transactionId(UUID.randomUUID().toString())
+                    .sourceWalletId(i % 2 == 0 ? walletId : UUID.randomUUID().toString())
+                    .destinationWalletId(i % 2 == 0 ? UUID.randomUUID().toString() : walletId)
+                    .type(TransactionType.TRANSFER.toString())
+                    .amount(new BigDecimal("10.00"))
+                    .timestamp(timestamp - i / 4)
+                    .build());
+        }
+        TransactionLogRepositoryAdapter adapter = new TransactionLogRepositoryAdapter(
+                repository, new TransactionLogPersistenceMapper(), new SimpleMeterRegistry());
+
+        Set<UUID> paged = new LinkedHashSet<>();
+        String cursor = null;
+        do {
+            TransactionStatementPage page = adapter.findStatementPage(UUID.fromString(walletId), cursor, 7);
+            page.transactions().forEach(transaction -> assertTrue(paged.add(transaction.getId())));
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        try (Stream<Transaction> streamed = adapter.streamStatement(UUID.fromString(walletId), null)) {
+            assertEquals(List.copyOf(paged), streamed.map(Transaction::getId).toList());
+        }
+        assertEquals(25, paged.size());
+    }
+}
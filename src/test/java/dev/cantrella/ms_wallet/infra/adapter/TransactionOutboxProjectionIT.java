@@ -0,0 +1,107 @@
+package dev.cantrella.ms_wallet.infra.adapter;
+
+import dev.cantrella.ms_wallet.domain.model.Money;
+import dev.cantrella.ms_wallet.domain.model.Transaction;
+import dev.cantrella.ms_wallet.infra.adapter.in.outbox.TransactionOutboxProjector;
+import dev.cantrella.ms_wallet.infra.adapter.out.persistence.entity.TransactionMongoEntity;
+import dev.cantrella.ms_wallet.ports.out.CachePort;
+import dev.cantrella.ms_wallet.ports.out.TransactionRepositoryPort;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {"wallet.mongo.manage-indexes=false", "wallet.near-cache.enabled=false",
+        "wallet.outbox.enabled=true", "wallet.outbox.poll-interval=20ms"})
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers
+@Slf4j
+class TransactionOutboxProjectionIT {
+
+    private static final int TRANSACTIONS = 5_000;
+
+    @Container
+    static PostgreSQLContainer<?> postgreSQLContainer = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @Container
+    static MongoDBContainer mongoDBContainer = new MongoDBContainer("mongo:7.0.5");
+
+    @DynamicPropertySource
+    static void setProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgreSQLContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", postgreSQLContainer::getUsername);
+        registry.add("spring.datasource.password", postgreSQLContainer::getPassword);
+        registry.add("spring.datasource.driverClassName", postgreSQLContainer::getDriverClassName);
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.PostgreSQLDialect");
+        registry.add("spring.data.mongodb.uri", mongoDBContainer::getReplicaSetUrl);
+    }
+
+    @MockitoBean
+    private CachePort cachePort;
+
+    @Autowired
+    private TransactionRepositoryPort transactionRepositoryPort;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void shouldProjectCommittedTransactionsAndSkipRolledBackOnes() throws Exception {
+        List<Transaction> transactions = new ArrayList<>(TRANSACTIONS);
+        for (int i = 0; i < TRANSACTIONS; i++) {
+            transactions.add(Transaction.createDeposit(UUID.randomUUID(), Money.of("1.00")));
+        }
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        long start = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> transactionRepositoryPort.bulkInsert(transactions));
+        transactionTemplate.executeWithoutResult(status -> {
+            transactionRepositoryPort.save(Transaction.createDeposit(UUID.randomUUID(), Money.of("1.00")));
+            status.setRollbackOnly();
+        });
+
+        long deadline = System.nanoTime() + 30_000_000_000L;
+        while (mongoTemplate.count(new Query(), TransactionMongoEntity.class) < TRANSACTIONS
+                && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        double elapsedMillis = (System.nanoTime() - start) / 1_000_000.0;
+        log.info("projected={} in {} ms, mean lag={} ms", TRANSACTIONS, Math.round(elapsedMillis),
+                meterRegistry.timer(TransactionOutboxProjector.LAG_METRIC).mean(TimeUnit.MILLISECONDS));
+
+        assertEquals(TRANSACTIONS, mongoTemplate.count(new Query(), TransactionMongoEntity.class));
+        assertNotNull(mongoTemplate.findById(transactions.get(0).getId().toString(), TransactionMongoEntity.class));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT count(*) FROM transaction_outbox", Long.class));
+    }
+}
@@ -0,0 +1,107 @@
+package dev.cantrella.ms_wallet.infra.adapter;
+
+import dev.cantrella.ms_wallet.domain.id.IdGenerator;
+import dev.cantrella.ms_wallet.domain.id.UuidV7Generator;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Inserts the same number of rows into a transactions-like table keyed by random UUIDs and by UUIDv7, and reports
+ * insert throughput (overall and for the last million rows) and the size of the primary key index.
+ * Row count defaults to 10M and can be changed with -Did-benchmark.rows=N.
+ */
+@Testcontainers
+@Slf4j
+class UuidPrimaryKeyInsertIT {
+
+    private static final long ROWS = Long.getLong("id-benchmark.rows", 10_000_000L);
+    private static final int BATCH_SIZE = 5_000;
+    private static final long WINDOW = 1_000_000L;
+
+    @Container
+    static PostgreSQLContainer<?> postgreSQLContainer = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @Test
+    void uuidV7KeysShouldKeepThePrimaryKeyIndexCompact() throws Exception {
+        InsertResult random = insertRows("ids_random", IdGenerator.random());
+        InsertResult uuidV7 = insertRows("ids_uuid_v7", new UuidV7Generator());
+
+        log.info("random ids, {} rows: {} rows/s (last 1M: {} rows/s), pkey index {} bytes", ROWS,
+                Math.round(random.rowsPerSecond()), Math.round(random.lastWindowRowsPerSecond()), random.indexBytes());
+        log.info("uuid-v7 ids, {} rows: {} rows/s (last 1M: {} rows/s), pkey index {} bytes", ROWS,
+                Math.round(uuidV7.rowsPerSecond()), Math.round(uuidV7.lastWindowRowsPerSecond()), uuidV7.indexBytes());
+
+        assertTrue(uuidV7.indexBytes() < random.indexBytes(),
+                () -> "UUIDv7 index " + uuidV7.indexBytes() + " bytes, random index " + random.indexBytes() + " bytes");
+    }
+
+    private InsertResult insertRows(String table, IdGenerator idGenerator) throws Exception {
+        try (Connection connection = DriverManager.getConnection(
+                postgreSQLContainer.getJdbcUrl() + "&reWriteBatchedInserts=true",
+                postgreSQLContainer.getUsername(),
+                postgreSQLContainer.getPassword())) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE " + table + " (id uuid PRIMARY KEY, source_wallet_id uuid NOT NULL, "
+                        + "amount numeric(38,2) NOT NULL, timestamp timestamp NOT NULL)");
+            }
+            connection.setAutoCommit(false);
+            UUID walletId = UUID.randomUUID();
+            BigDecimal amount = new BigDecimal("10.00");
+            long start = System.nanoTime();
+            long windowStart = start;
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO " + table + " (id, source_wallet_id, amount, timestamp) VALUES (?, ?, ?, ?)")) {
+                for (long row = 1; row <= ROWS; row++) {
+                    insert.setObject(1, idGenerator.next());
+                    insert.setObject(2, walletId);
+                    insert.setBigDecimal(3, amount);
+                    insert.setTimestamp(4, new Timestamp(System.currentTimeMillis()));
+                    insert.addBatch();
+                    if (row % BATCH_SIZE == 0 || row == ROWS) {
+                        insert.executeBatch();
+                        connection.commit();
+                    }
+                    if (row == ROWS - Math.min(WINDOW, ROWS)) {
+                        windowStart = System.nanoTime();
+                    }
+                }
+            }
+            long end = System.nanoTime();
+            return new InsertResult(
+                    ROWS / seconds(start, end),
+                    Math.min(WINDOW, ROWS) / seconds(windowStart, end),
+                    indexBytes(connection, table + "_pkey"));
+        }
+    }
+
+    private long indexBytes(Connection connection, String index) throws Exception {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT pg_relation_size(?::regclass)")) {
+            statement.setString(1, index);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getLong(1);
+            }
+        }
+    }
+
+    private double seconds(long startNanos, long endNanos) {
+        return (endNanos - startNanos) / 1_000_000_000.0;
+    }
+
+    private record InsertResult(double rowsPerSecond, double lastWindowRowsPerSecond, long indexBytes) {
+    }
+}
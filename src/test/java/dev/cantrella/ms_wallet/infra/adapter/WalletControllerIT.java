@@ -26,6 +26,7 @@ import org.springframework.test.context.DynamicPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 import org.testcontainers.utility.DockerImageName;
@@ -42,11 +43,14 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @SpringBootTest
 @AutoConfigureMockMvc
 @ActiveProfiles("test")
-@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
 @Testcontainers
 @Transactional
 class WalletControllerIT {
 
+    @Container
+    static PostgreSQLContainer<?> postgreSQLContainer = new PostgreSQLContainer<>("postgres:15-alpine");
+
     @Container
     static MongoDBContainer mongoDBContainer = new MongoDBContainer("mongo:7.0.5");
 
@@ -54,6 +58,15 @@ class WalletControllerIT {
     private static final RedisContainer REDIS_CONTAINER =
             new RedisContainer(DockerImageName.parse("redis:5.0.3-alpine")).withExposedPorts(6379);
 
+    @DynamicPropertySource
+    static void setPostgresProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgreSQLContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", postgreSQLContainer::getUsername);
+        registry.add("spring.datasource.password", postgreSQLContainer::getPassword);
+        registry.add("spring.datasource.driverClassName", postgreSQLContainer::getDriverClassName);
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.PostgreSQLDialect");
+    }
+
     @DynamicPropertySource
     static void setMongoDbProperties(DynamicPropertyRegistry registry) {
         registry.add("spring.data.mongodb.uri", mongoDBContainer::getReplicaSetUrl);
@@ -145,6 +158,19 @@ class WalletControllerIT {
                 .andExpect(jsonPath("$.amount").value(50.00));
     }
 
+    @Test
+    void shouldRejectWithdrawWhenBalanceIsNotEnough() throws Exception {
+        createClientWallet("bob@mail.com", "bob");
+        DepositOrWithdrawRequest withdrawRequest = new DepositOrWithdrawRequest(new BigDecimal("50.00"));
+        mockMvc.perform(post("/wallets/withdraw")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(withdrawRequest)))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/wallets/balance"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.balance").value(0.00));
+    }
+
     @Test
     void shouldConsultBalanceSuccessfully() throws Exception {
         createClientWallet("bob@mail.com", "bob");
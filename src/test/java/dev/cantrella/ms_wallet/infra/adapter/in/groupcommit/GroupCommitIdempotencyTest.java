@@ -0,0 +1,116 @@
+package dev.cantrella.ms_wallet.infra.adapter.in.groupcommit;
+
+import dev.cantrella.ms_wallet.application.config.IdempotencyPolicy;
+import dev.cantrella.ms_wallet.application.dto.DepositOrWithdrawCommand;
+import dev.cantrella.ms_wallet.application.dto.IdempotencyRecord;
+import dev.cantrella.ms_wallet.application.usecase.ApplyWalletOperationsUseCaseImpl;
+import dev.cantrella.ms_wallet.application.usecase.IdempotentTransactionExecutorImpl;
+import dev.cantrella.ms_wallet.domain.model.Money;
+import dev.cantrella.ms_wallet.domain.model.Transaction;
+import dev.cantrella.ms_wallet.domain.model.Wallet;
+import dev.cantrella.ms_wallet.ports.out.IdempotencyRecordPort;
+import dev.cantrella.ms_wallet.ports.out.IdempotencyStorePort;
+import dev.cantrella.ms_wallet.ports.out.TransactionRepositoryPort;
+import dev.cantrella.ms_wallet.ports.out.WalletContentionPort;
+import dev.cantrella.ms_wallet.ports.out.WalletRepositoryPort;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Keyed deposits with group commit enabled, where the flush thread applies the request and has to record its key.
+ */
+@ExtendWith(MockitoExtension.class)
+class GroupCommitIdempotencyTest {
+
+    private static final String USER_ID = "bob@mail.com";
+    private static final String KEY = "idempotency:deposit:bob@mail.com:retry-1";
+    private static final DepositOrWithdrawCommand COMMAND = new DepositOrWithdrawCommand(USER_ID, Money.of("10.00"));
+    private static final String FINGERPRINT = IdempotentTransactionExecutorImpl.fingerprint(COMMAND);
+
+    @Mock
+    private WalletRepositoryPort walletRepositoryPort;
+    @Mock
+    private TransactionRepositoryPort transactionRepositoryPort;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private WalletContentionPort walletContentionPort;
+    @Mock
+    private IdempotencyStorePort idempotencyStorePort;
+    @Mock
+    private IdempotencyRecordPort idempotencyRecordPort;
+
+    private final Wallet wallet = new Wallet(UUID.randomUUID(), USER_ID, Money.of("5.00"), LocalDateTime.now());
+    private WalletGroupCommitEngine engine;
+    private IdempotentTransactionExecutorImpl executor;
+    private GroupCommitDepositUseCase depositUseCase;
+
+    @BeforeEach
+    void setUp() {
+        executor = new IdempotentTransactionExecutorImpl(idempotencyStorePort, idempotencyRecordPort,
+                new IdempotencyPolicy(Duration.ofHours(24), Duration.ofSeconds(30), Duration.ofSeconds(5)));
+        engine = new WalletGroupCommitEngine(new ApplyWalletOperationsUseCaseImpl(walletRepositoryPort,
+                transactionRepositoryPort, eventPublisher, walletContentionPort, idempotencyRecordPort),
+                Duration.ofMillis(1), 64, 2, false);
+        depositUseCase = new GroupCommitDepositUseCase(engine, executor);
+        when(idempotencyStorePort.findCompleted(KEY)).thenReturn(Optional.empty());
+        when(idempotencyStorePort.claim(eq(KEY), any())).thenReturn(true);
+        when(walletRepositoryPort.findByUserIdForUpdate(USER_ID)).thenReturn(Optional.of(wallet));
+    }
+
+    @AfterEach
+    void tearDown() {
+        engine.destroy();
+    }
+
+    private Transaction deposit() {
+        return executor.execute("deposit", USER_ID, "retry-1", COMMAND, () -> depositUseCase.execute(COMMAND));
+    }
+
+    @Test
+    @DisplayName("Should record the idempotency key in the group commit transaction")
+    void shouldRecordKeyInFlushTransaction() {
+        when(idempotencyRecordPort.find(KEY)).thenReturn(Optional.empty());
+        when(idempotencyRecordPort.record(eq(KEY), any())).thenReturn(true);
+        when(walletRepositoryPort.update(wallet)).thenReturn(wallet);
+
+        Transaction transaction = deposit();
+
+        ArgumentCaptor<IdempotencyRecord> record = ArgumentCaptor.forClass(IdempotencyRecord.class);
+        verify(idempotencyRecordPort).record(eq(KEY), record.capture());
+        assertSame(transaction, record.getValue().transaction());
+        assertEquals(FINGERPRINT, record.getValue().fingerprint());
+        assertEquals(Money.of("15.00"), wallet.getBalance());
+    }
+
+    @Test
+    @DisplayName("Should replay the recorded deposit instead of applying it again when the claim expired")
+    void shouldReplayWhenAnotherExecutionRecordedFirst() {
+        Transaction first = Transaction.createDeposit(wallet.getId(), Money.of("10.00"));
+        when(idempotencyRecordPort.find(KEY))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(new IdempotencyRecord(FINGERPRINT, first)));
+        when(idempotencyRecordPort.record(eq(KEY), any())).thenReturn(false);
+
+        assertSame(first, deposit());
+        assertEquals(Money.of("5.00"), wallet.getBalance());
+        verify(walletRepositoryPort, never()).update(any());
+        verify(transactionRepositoryPort, never()).saveAll(any());
+    }
+}
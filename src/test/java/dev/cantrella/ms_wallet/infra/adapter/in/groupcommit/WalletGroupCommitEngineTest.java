@@ -0,0 +1,80 @@
+package dev.cantrella.ms_wallet.infra.adapter.in.groupcommit;
+
+import dev.cantrella.ms_wallet.application.dto.WalletOperation;
+import dev.cantrella.ms_wallet.application.dto.WalletOperationResult;
+import dev.cantrella.ms_wallet.application.port.ApplyWalletOperationsUseCase;
+import dev.cantrella.ms_wallet.domain.exception.WalletOperationException;
+import dev.cantrella.ms_wallet.domain.model.Money;
+import dev.cantrella.ms_wallet.domain.model.Transaction;
+import dev.cantrella.ms_wallet.domain.model.TransactionType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WalletGroupCommitEngineTest {
+
+    private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+    private final ApplyWalletOperationsUseCase applyWalletOperationsUseCase = (userId, operations) -> {
+        batchSizes.add(operations.size());
+        UUID walletId = UUID.randomUUID();
+        return operations.stream()
+                .map(operation -> TransactionType.DEPOSIT.equals(operation.type())
+                        ? WalletOperationResult.success(Transaction.createDeposit(walletId, operation.amount()))
+                        : WalletOperationResult.failure(new WalletOperationException("rejected")))
+                .toList();
+    };
+    private WalletGroupCommitEngine engine;
+
+    @AfterEach
+    void tearDown() {
+        engine.destroy();
+    }
+
+    @Test
+    @DisplayName("Should group operations submitted in the same window into one batch")
+    void shouldGroupOperationsInSameWindow() {
+        engine = new WalletGroupCommitEngine(applyWalletOperationsUseCase, Duration.ofMillis(200), 64, 2, false);
+        List<CompletableFuture<Transaction>> futures = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            futures.add(engine.submit("bob@mail.com", new WalletOperation(TransactionType.DEPOSIT, Money.of("1.00"))));
+        }
+
+        futures.forEach(CompletableFuture::join);
+
+        assertEquals(List.of(10), batchSizes);
+    }
+
+    @Test
+    @DisplayName("Should flush as soon as the batch is full")
+    void shouldFlushWhenBatchIsFull() {
+        engine = new WalletGroupCommitEngine(applyWalletOperationsUseCase, Duration.ofSeconds(30), 4, 2, false);
+        List<CompletableFuture<Transaction>> futures = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            futures.add(engine.submit("bob@mail.com", new WalletOperation(TransactionType.DEPOSIT, Money.of("1.00"))));
+        }
+
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).orTimeout(5, TimeUnit.SECONDS).join();
+
+        assertEquals(List.of(4), batchSizes);
+    }
+
+    @Test
+    @DisplayName("Should surface the failure of a single operation to its caller when flushing on virtual threads")
+    void shouldSurfaceOperationFailure() {
+        engine = new WalletGroupCommitEngine(applyWalletOperationsUseCase, Duration.ofMillis(1), 64, 2, true);
+
+        WalletOperation operation = new WalletOperation(TransactionType.WITHDRAW, Money.of("1.00"));
+
+        assertThrows(WalletOperationException.class, () -> engine.execute("bob@mail.com", operation));
+    }
+}
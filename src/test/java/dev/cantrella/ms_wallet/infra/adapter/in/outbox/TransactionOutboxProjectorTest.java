@@ -0,0 +1,117 @@
+package dev.cantrella.ms_wallet.infra.adapter.in.outbox;
+
+import dev.cantrella.ms_wallet.infra.adapter.out.persistence.entity.TransactionMongoEntity;
+import dev.cantrella.ms_wallet.infra.adapter.out.persistence.repository.TransactionOutboxWriter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionOutboxProjectorTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private MongoTemplate mongoTemplate;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private BulkOperations bulkOperations;
+    @Mock
+    private ResultSet resultSet;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private TransactionOutboxProjector projector;
+
+    @BeforeEach
+    void setUp() {
+        projector = new TransactionOutboxProjector(jdbcTemplate, mongoTemplate, transactionManager, meterRegistry,
+                4, 500, Duration.ofMillis(100));
+    }
+
+    @AfterEach
+    void tearDown() {
+        projector.destroy();
+    }
+
+    @Test
+    @DisplayName("Should upsert a locked batch into Mongo and delete it from the outbox")
+    @SuppressWarnings("unchecked")
+    void shouldProjectBatch() throws Exception {
+        UUID transactionId = UUID.randomUUID();
+        UUID sourceWalletId = UUID.randomUUID();
+        LocalDateTime timestamp = LocalDateTime.of(2025, 1, 2, 3, 4, 5);
+        when(resultSet.getLong("id")).thenReturn(7L);
+        when(resultSet.getObject("transaction_id", UUID.class)).thenReturn(transactionId);
+        when(resultSet.getObject("source_wallet_id", UUID.class)).thenReturn(sourceWalletId);
+        when(resultSet.getObject("destination_wallet_id", UUID.class)).thenReturn(null);
+        when(resultSet.getString("type")).thenReturn("DEPOSIT");
+        when(resultSet.getBigDecimal("amount")).thenReturn(new BigDecimal("10.00"));
+        when(resultSet.getTimestamp("timestamp")).thenReturn(Timestamp.valueOf(timestamp));
+        when(resultSet.getTimestamp("created_at")).thenReturn(Timestamp.valueOf(LocalDateTime.now()));
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Integer[].class), eq(500)))
+                .thenAnswer(invocation -> List.of(invocation.<RowMapper<Object>>getArgument(1).mapRow(resultSet, 0)));
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TransactionMongoEntity.class)).thenReturn(bulkOperations);
+
+        assertEquals(1, projector.drain(1));
+
+        ArgumentCaptor<String> select = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Integer[]> selected = ArgumentCaptor.forClass(Integer[].class);
+        verify(jdbcTemplate).query(select.capture(), any(RowMapper.class), selected.capture(), eq(500));
+        assertTrue(select.getValue().contains("partition_key = ANY(?)"));
+        assertEquals(TransactionOutboxWriter.PARTITIONS / 4, selected.getValue().length);
+        assertTrue(Arrays.stream(selected.getValue()).allMatch(partition -> partition % 4 == 1));
+
+        ArgumentCaptor<Object> document = ArgumentCaptor.forClass(Object.class);
+        verify(bulkOperations).replaceOne(any(Query.class), document.capture(), any(FindAndReplaceOptions.class));
+        verify(bulkOperations).execute();
+        TransactionMongoEntity entity = (TransactionMongoEntity) document.getValue();
+        assertEquals(transactionId.toString(), entity.getId());
+        assertEquals(sourceWalletId.toString(), entity.getSourceWalletId());
+        assertNull(entity.getDestinationWalletId());
+        assertEquals(timestamp.toInstant(ZoneOffset.UTC).toEpochMilli(), entity.getTimestamp());
+        ArgumentCaptor<Object[]> deleted = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate).update(startsWith("DELETE FROM transaction_outbox"), deleted.capture());
+        assertArrayEquals(new Object[]{new Long[]{7L}}, deleted.getValue());
+        assertEquals(1, meterRegistry.counter(TransactionOutboxProjector.PROJECTED_METRIC).count());
+        assertEquals(1, meterRegistry.timer(TransactionOutboxProjector.LAG_METRIC).count());
+    }
+
+    @Test
+    @DisplayName("Should not touch Mongo when the worker's partitions are empty")
+    @SuppressWarnings("unchecked")
+    void shouldSkipEmptyBatch() {
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Integer[].class), eq(500))).thenReturn(List.of());
+
+        assertEquals(0, projector.drain(0));
+        verifyNoInteractions(mongoTemplate);
+        verify(jdbcTemplate, never()).update(anyString(), any(Object[].class));
+    }
+}
@@ -0,0 +1,201 @@
+package dev.cantrella.ms_wallet.infra.adapter.out.cache;
+
+import dev.cantrella.ms_wallet.application.config.CacheTtlPolicy;
+import dev.cantrella.ms_wallet.application.dto.BalanceResponse;
+import dev.cantrella.ms_wallet.application.dto.ConsultBalanceQuery;
+import dev.cantrella.ms_wallet.application.event.BalanceChangedEvent;
+import dev.cantrella.ms_wallet.application.usecase.ConsultBalanceUseCaseImpl;
+import dev.cantrella.ms_wallet.domain.model.Money;
+import dev.cantrella.ms_wallet.domain.model.Wallet;
+import dev.cantrella.ms_wallet.ports.out.CachePort;
+import dev.cantrella.ms_wallet.ports.out.WalletRepositoryPort;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BalanceCacheWriterTest {
+
+    private static final String USER_ID = "bob@mail.com";
+    private static final UUID WALLET_ID = UUID.randomUUID();
+    private static final CacheTtlPolicy CACHE_TTL_POLICY =
+            new CacheTtlPolicy(Duration.ofMinutes(5), Duration.ofHours(1), Duration.ofMinutes(10));
+
+    @Mock
+    private WalletRepositoryPort walletRepositoryPort;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    private final InMemoryCachePort cachePort = new InMemoryCachePort();
+
+    @Test
+    @DisplayName("A reader that loaded the pre-commit balance should not overwrite the balance written after commit")
+    void readerShouldNotRepopulateStaleBalance() throws Exception {
+        CountDownLatch staleBalanceLoaded = new CountDownLatch(1);
+        CountDownLatch writeCommitted = new CountDownLatch(1);
+        when(walletRepositoryPort.findByUserId(USER_ID)).thenAnswer(invocation -> {
+            staleBalanceLoaded.countDown();
+            assertTrue(writeCommitted.await(5, TimeUnit.SECONDS));
+            return Optional.of(new Wallet(WALLET_ID, USER_ID, Money.of("10.00"), LocalDateTime.now()));
+        });
+        ConsultBalanceUseCaseImpl consultBalanceUseCase = new ConsultBalanceUseCaseImpl(walletRepositoryPort, cachePort, CACHE_TTL_POLICY, transactionManager);
+        BalanceCacheWriter balanceCacheWriter = new BalanceCacheWriter(cachePort, CACHE_TTL_POLICY);
+
+        CompletableFuture<BalanceResponse> read = CompletableFuture.supplyAsync(
+                () -> consultBalanceUseCase.execute(new ConsultBalanceQuery(USER_ID)));
+        assertTrue(staleBalanceLoaded.await(5, TimeUnit.SECONDS));
+        balanceCacheWriter.onBalanceChanged(new BalanceChangedEvent(USER_ID, WALLET_ID, Money.of("25.00"), 1));
+        writeCommitted.countDown();
+        read.get(5, TimeUnit.SECONDS);
+
+        BalanceResponse cached = cachePort.get(USER_ID, BalanceResponse.class);
+        assertEquals(new BigDecimal("25.00"), cached.balance());
+        assertEquals(new BigDecimal("25.00"), consultBalanceUseCase.execute(new ConsultBalanceQuery(USER_ID)).balance());
+        verify(walletRepositoryPort, times(1)).findByUserId(USER_ID);
+    }
+
+    @Test
+    @DisplayName("The first read after a write should be served from cache")
+    void firstReadAfterWriteShouldHit() {
+        ConsultBalanceUseCaseImpl consultBalanceUseCase = new ConsultBalanceUseCaseImpl(walletRepositoryPort, cachePort, CACHE_TTL_POLICY, transactionManager);
+        BalanceCacheWriter balanceCacheWriter = new BalanceCacheWriter(cachePort, CACHE_TTL_POLICY);
+
+        balanceCacheWriter.onBalanceChanged(new BalanceChangedEvent(USER_ID, WALLET_ID, Money.of("7.00"), 1));
+
+        assertEquals(new BigDecimal("7.00"), consultBalanceUseCase.execute(new ConsultBalanceQuery(USER_ID)).balance());
+        verifyNoInteractions(walletRepositoryPort);
+    }
+
+    @Test
+    @DisplayName("A balance committed earlier but delivered later should not replace the newer cached balance")
+    void olderVersionShouldNotOverwriteNewerBalance() {
+        BalanceCacheWriter balanceCacheWriter = new BalanceCacheWriter(cachePort, CACHE_TTL_POLICY);
+
+        balanceCacheWriter.onBalanceChanged(new BalanceChangedEvent(USER_ID, WALLET_ID, Money.of("30.00"), 3));
+        balanceCacheWriter.onBalanceChanged(new BalanceChangedEvent(USER_ID, WALLET_ID, Money.of("20.00"), 2));
+
+        assertEquals(new BigDecimal("30.00"), cachePort.get(USER_ID, BalanceResponse.class).balance());
+    }
+
+    @Test
+    @DisplayName("Sharded balances carry no version and should be evicted instead of written")
+    void shardedBalanceShouldBeEvicted() {
+        BalanceCacheWriter balanceCacheWriter = new BalanceCacheWriter(cachePort, CACHE_TTL_POLICY);
+        ReflectionTestUtils.setField(balanceCacheWriter, "shardingEnabled", true);
+        cachePort.put(USER_ID, new BalanceResponse(WALLET_ID, new BigDecimal("5.00")), CACHE_TTL_POLICY.balance());
+
+        balanceCacheWriter.onBalanceChanged(new BalanceChangedEvent(USER_ID, WALLET_ID, Money.of("9.00"), 0));
+
+        assertNull(cachePort.get(USER_ID, BalanceResponse.class));
+    }
+
+    @Test
+    @DisplayName("A miss after an evicted write should cache the primary balance, not a lagging replica's")
+    void missAfterEvictedWriteShouldNotCacheReplicaBalance() {
+        BalanceCacheWriter balanceCacheWriter = new BalanceCacheWriter(cachePort, CACHE_TTL_POLICY);
+        ReflectionTestUtils.setField(balanceCacheWriter, "shardingEnabled", true);
+        ConsultBalanceUseCaseImpl consultBalanceUseCase = new ConsultBalanceUseCaseImpl(walletRepositoryPort, cachePort,
+                CACHE_TTL_POLICY, new RoutingTransactionManager());
+        // Read-only transactions are routed to a replica that has not replayed the deposit yet.
+        when(walletRepositoryPort.findByUserId(USER_ID)).thenAnswer(invocation -> Optional.of(new Wallet(
+                WALLET_ID, USER_ID,
+                Money.of(TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? "10.00" : "25.00"),
+                LocalDateTime.now())));
+
+        balanceCacheWriter.onBalanceChanged(new BalanceChangedEvent(USER_ID, WALLET_ID, Money.of("25.00"), 0));
+        consultBalanceUseCase.execute(new ConsultBalanceQuery(USER_ID));
+
+        assertEquals(new BigDecimal("25.00"), cachePort.get(USER_ID, BalanceResponse.class).balance());
+    }
+
+    /**
+     * Exposes the transaction's read-only flag the way the replica routing data source sees it.
+     */
+    private static class RoutingTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+
+    private static class InMemoryCachePort implements CachePort {
+
+        private final ConcurrentHashMap<String, Object> values = new ConcurrentHashMap<>();
+        private final ConcurrentHashMap<String, Long> versions = new ConcurrentHashMap<>();
+
+        @Override
+        public <T> T get(String key, Class<T> type) {
+            return type.cast(values.get(key));
+        }
+
+        @Override
+        public void put(String key, Object value, Duration ttl) {
+            values.put(key, value);
+        }
+
+        @Override
+        public boolean putIfAbsent(String key, Object value, Duration ttl) {
+            return values.putIfAbsent(key, value) == null;
+        }
+
+        @Override
+        public synchronized boolean putIfNewer(String key, Object value, long version, Duration ttl) {
+            if (versions.getOrDefault(key, Long.MIN_VALUE) >= version) {
+                return false;
+            }
+            versions.put(key, version);
+            values.put(key, value);
+            return true;
+        }
+
+        @Override
+        public void evict(String key) {
+            values.remove(key);
+        }
+
+        @Override
+        public <T> T getOrLoad(String key, Class<T> type, Duration ttl, Supplier<T> loader) {
+            T cached = get(key, type);
+            if (cached != null) {
+                return cached;
+            }
+            T value = loader.get();
+            putIfAbsent(key, value, ttl);
+            return value;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package dev.cantrella.ms_wallet.infra.adapter.out.cache;
+
+import dev.cantrella.ms_wallet.application.dto.BalanceResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryCacheValueSerializerTest {
+
+    private final GenericJackson2JsonRedisSerializer json = new GenericJackson2JsonRedisSerializer();
+    private final BinaryCacheValueSerializer serializer = new BinaryCacheValueSerializer(json);
+
+    @Test
+    @DisplayName("Should round trip a balance in 29 bytes")
+    void shouldRoundTripBalance() {
+        BalanceResponse balance = new BalanceResponse(UUID.randomUUID(), new BigDecimal("1234.56"));
+
+        byte[] bytes = serializer.serialize(balance);
+
+        assertEquals(29, bytes.length);
+        assertEquals(BinaryCacheValueSerializer.TAG_BALANCE, bytes[0]);
+        assertEquals(balance, serializer.deserialize(bytes));
+        assertTrue(bytes.length < json.serialize(balance).length);
+    }
+
+    @Test
+    @DisplayName("Should keep balances that do not fit in a long")
+    void shouldRoundTripBigBalance() {
+        BalanceResponse balance = new BalanceResponse(UUID.randomUUID(), new BigDecimal("123456789012345678901234567890.12"));
+
+        byte[] bytes = serializer.serialize(balance);
+
+        assertEquals(BinaryCacheValueSerializer.TAG_BALANCE_BIG, bytes[0]);
+        assertEquals(balance, serializer.deserialize(bytes));
+    }
+
+    @Test
+    @DisplayName("Should store a wallet id string as 16 bytes")
+    void shouldRoundTripUuidString() {
+        String walletId = UUID.randomUUID().toString();
+
+        byte[] bytes = serializer.serialize(walletId);
+
+        assertEquals(17, bytes.length);
+        assertEquals(BinaryCacheValueSerializer.TAG_UUID_STRING, bytes[0]);
+        assertEquals(walletId, serializer.deserialize(bytes));
+    }
+
+    @Test
+    @DisplayName("Should round trip a plain string")
+    void shouldRoundTripString() {
+        String value = "bob@mail.com";
+
+        byte[] bytes = serializer.serialize(value);
+
+        assertEquals(BinaryCacheValueSerializer.TAG_STRING, bytes[0]);
+        assertEquals(value, serializer.deserialize(bytes));
+        assertEquals("7C9E6679-7425-40DE-944B-E07FC1F90AE7",
+                serializer.deserialize(serializer.serialize("7C9E6679-7425-40DE-944B-E07FC1F90AE7")));
+    }
+
+    @Test
+    @DisplayName("Should read entries written by the JSON serializer")
+    void shouldReadLegacyJsonEntries() {
+        BalanceResponse balance = new BalanceResponse(UUID.randomUUID(), new BigDecimal("10.00"));
+        String walletId = UUID.randomUUID().toString();
+
+        assertEquals(balance, serializer.deserialize(json.serialize(balance)));
+        assertEquals(walletId, serializer.deserialize(json.serialize(walletId)));
+    }
+
+    @Test
+    @DisplayName("Should return null for missing values")
+    void shouldReturnNullForMissingValues() {
+        assertNull(serializer.deserialize(null));
+        assertNull(serializer.deserialize(new byte[0]));
+    }
+}
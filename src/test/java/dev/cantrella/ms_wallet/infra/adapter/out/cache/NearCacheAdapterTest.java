@@ -0,0 +1,129 @@
+package dev.cantrella.ms_wallet.infra.adapter.out.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.cantrella.ms_wallet.application.dto.BalanceResponse;
+import dev.cantrella.ms_wallet.infra.config.NearCacheConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NearCacheAdapterTest {
+
+    private static final Duration TTL = Duration.ofMinutes(5);
+
+    @Mock
+    private RedisCacheAdapter redisCacheAdapter;
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+    private Cache<String, Object> nearCache;
+    private NearCacheAdapter nearCacheAdapter;
+
+    @BeforeEach
+    void setUp() {
+        nearCache = Caffeine.newBuilder().maximumSize(100).build();
+        nearCacheAdapter = new NearCacheAdapter(redisCacheAdapter, stringRedisTemplate, nearCache);
+    }
+
+    @Test
+    @DisplayName("Should go to Redis only on the first read of a key")
+    void shouldServeRepeatedReadsFromNearCache() {
+        BalanceResponse balance = new BalanceResponse(UUID.randomUUID(), BigDecimal.TEN);
+        when(redisCacheAdapter.get("bob@mail.com", BalanceResponse.class)).thenReturn(balance);
+
+        assertEquals(balance, nearCacheAdapter.get("bob@mail.com", BalanceResponse.class));
+        assertEquals(balance, nearCacheAdapter.get("bob@mail.com", BalanceResponse.class));
+
+        verify(redisCacheAdapter, times(1)).get("bob@mail.com", BalanceResponse.class);
+    }
+
+    @Test
+    @DisplayName("Should not remember misses")
+    void shouldNotCacheMisses() {
+        when(redisCacheAdapter.get("bob@mail.com", BalanceResponse.class)).thenReturn(null);
+
+        assertNull(nearCacheAdapter.get("bob@mail.com", BalanceResponse.class));
+        assertNull(nearCacheAdapter.get("bob@mail.com", BalanceResponse.class));
+
+        verify(redisCacheAdapter, times(2)).get("bob@mail.com", BalanceResponse.class);
+    }
+
+    @Test
+    @DisplayName("Should write through to Redis on put and invalidate other instances")
+    void shouldWriteThroughOnPut() {
+        nearCacheAdapter.put("wallet:id:bob@mail.com", "id", TTL);
+
+        assertEquals("id", nearCacheAdapter.get("wallet:id:bob@mail.com", String.class));
+        verify(redisCacheAdapter).put("wallet:id:bob@mail.com", "id", TTL);
+        verify(stringRedisTemplate).convertAndSend(NearCacheConfig.INVALIDATION_CHANNEL,
+                NearCacheConfig.invalidationMessage(NearCacheConfig.INSTANCE_ID, "wallet:id:bob@mail.com"));
+        verify(redisCacheAdapter, never()).get(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should drop the local entry on a versioned write and broadcast only when Redis stored it")
+    void shouldInvalidateOnVersionedWrite() {
+        BalanceResponse stale = new BalanceResponse(UUID.randomUUID(), BigDecimal.ONE);
+        BalanceResponse newer = new BalanceResponse(stale.walletId(), BigDecimal.TEN);
+        nearCache.put("bob@mail.com", stale);
+        when(redisCacheAdapter.putIfNewer("bob@mail.com", newer, 2, TTL)).thenReturn(true);
+        when(redisCacheAdapter.putIfNewer("bob@mail.com", stale, 1, TTL)).thenReturn(false);
+
+        assertTrue(nearCacheAdapter.putIfNewer("bob@mail.com", newer, 2, TTL));
+        assertFalse(nearCacheAdapter.putIfNewer("bob@mail.com", stale, 1, TTL));
+
+        assertNull(nearCache.getIfPresent("bob@mail.com"));
+        verify(stringRedisTemplate, times(1)).convertAndSend(NearCacheConfig.INVALIDATION_CHANNEL,
+                NearCacheConfig.invalidationMessage(NearCacheConfig.INSTANCE_ID, "bob@mail.com"));
+    }
+
+    @Test
+    @DisplayName("Should evict locally, in Redis and broadcast the invalidation")
+    void shouldEvictEverywhere() {
+        nearCache.put("bob@mail.com", new BalanceResponse(UUID.randomUUID(), BigDecimal.ONE));
+
+        nearCacheAdapter.evict("bob@mail.com");
+
+        assertNull(nearCache.getIfPresent("bob@mail.com"));
+        verify(redisCacheAdapter).evict("bob@mail.com");
+        verify(stringRedisTemplate).convertAndSend(NearCacheConfig.INVALIDATION_CHANNEL,
+                NearCacheConfig.invalidationMessage(NearCacheConfig.INSTANCE_ID, "bob@mail.com"));
+    }
+
+    @Test
+    @DisplayName("Should keep the value already in Redis when putIfAbsent loses")
+    void shouldNotOverwriteOnPutIfAbsent() {
+        BalanceResponse stale = new BalanceResponse(UUID.randomUUID(), BigDecimal.ONE);
+        nearCache.put("bob@mail.com", stale);
+        when(redisCacheAdapter.putIfAbsent("bob@mail.com", stale, TTL)).thenReturn(false);
+
+        assertFalse(nearCacheAdapter.putIfAbsent("bob@mail.com", stale, TTL));
+
+        assertNull(nearCache.getIfPresent("bob@mail.com"));
+    }
+
+    @Test
+    @DisplayName("Should load through Redis once and then serve the key locally")
+    void shouldLoadThroughRedisOnce() {
+        BalanceResponse balance = new BalanceResponse(UUID.randomUUID(), BigDecimal.TEN);
+        when(redisCacheAdapter.getOrLoad(eq("bob@mail.com"), eq(BalanceResponse.class), eq(TTL), any()))
+                .thenReturn(balance);
+
+        assertEquals(balance, nearCacheAdapter.getOrLoad("bob@mail.com", BalanceResponse.class, TTL, () -> balance));
+        assertEquals(balance, nearCacheAdapter.getOrLoad("bob@mail.com", BalanceResponse.class, TTL, () -> balance));
+
+        verify(redisCacheAdapter, times(1)).getOrLoad(eq("bob@mail.com"), eq(BalanceResponse.class), eq(TTL), any());
+    }
+}
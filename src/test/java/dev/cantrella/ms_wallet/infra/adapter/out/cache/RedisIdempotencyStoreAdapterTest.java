@@ -0,0 +1,95 @@
+package dev.cantrella.ms_wallet.infra.adapter.out.cache;
+
+import dev.cantrella.ms_wallet.application.config.IdempotencyPolicy;
+import dev.cantrella.ms_wallet.application.dto.IdempotencyRecord;
+import dev.cantrella.ms_wallet.domain.model.Money;
+import dev.cantrella.ms_wallet.domain.model.Transaction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RedisIdempotencyStoreAdapterTest {
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private RedisIdempotencyStoreAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        adapter = new RedisIdempotencyStoreAdapter(stringRedisTemplate,
+                new IdempotencyPolicy(Duration.ofHours(24), Duration.ofSeconds(30), Duration.ofSeconds(5)), 100);
+    }
+
+    @Test
+    @DisplayName("Should round trip deposits and transfers through the stored encoding")
+    void shouldRoundTripTransactions() {
+        Transaction deposit = Transaction.createDeposit(UUID.randomUUID(), Money.of("10.50"));
+        Transaction transfer = Transaction.createTransfer(UUID.randomUUID(), UUID.randomUUID(), Money.of("0.01"));
+
+        for (Transaction transaction : new Transaction[]{deposit, transfer}) {
+            Transaction decoded = RedisIdempotencyStoreAdapter.decode(RedisIdempotencyStoreAdapter.encode(transaction));
+
+            assertEquals(transaction.getId(), decoded.getId());
+            assertEquals(transaction.getSourceWalletId(), decoded.getSourceWalletId());
+            assertEquals(transaction.getDestinationWalletId(), decoded.getDestinationWalletId());
+            assertEquals(transaction.getType(), decoded.getType());
+            assertEquals(transaction.getAmount(), decoded.getAmount());
+            assertEquals(transaction.getTimestamp(), decoded.getTimestamp());
+        }
+    }
+
+    @Test
+    @DisplayName("Should claim keys with SET NX and treat in-flight markers as not completed")
+    void shouldClaimWithSetIfAbsent() {
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent("k", RedisIdempotencyStoreAdapter.IN_FLIGHT, Duration.ofSeconds(30))).thenReturn(true);
+        when(valueOperations.get("k")).thenReturn(RedisIdempotencyStoreAdapter.IN_FLIGHT);
+
+        assertTrue(adapter.claim("k", Duration.ofSeconds(30)));
+        assertEquals(Optional.empty(), adapter.findCompleted("k"));
+    }
+
+    @Test
+    @DisplayName("Should answer replays of completed keys from the local cache")
+    void shouldServeCompletedFromLocalCache() {
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        Transaction transaction = Transaction.createDeposit(UUID.randomUUID(), Money.of("10.00"));
+        IdempotencyRecord record = new IdempotencyRecord("fp", transaction);
+
+        adapter.complete("k", record, Duration.ofHours(24));
+
+        verify(valueOperations).set("k", "fp|" + RedisIdempotencyStoreAdapter.encode(transaction), Duration.ofHours(24));
+        assertSame(record, adapter.findCompleted("k").orElseThrow());
+        verify(valueOperations, never()).get("k");
+    }
+
+    @Test
+    @DisplayName("Should read the request fingerprint and transaction of keys completed by another instance")
+    void shouldDecodeCompletedFromRedis() {
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        Transaction transaction = Transaction.createTransfer(UUID.randomUUID(), UUID.randomUUID(), Money.of("3.00"));
+        when(valueOperations.get("k")).thenReturn("fp|" + RedisIdempotencyStoreAdapter.encode(transaction));
+
+        IdempotencyRecord record = adapter.findCompleted("k").orElseThrow();
+
+        assertEquals("fp", record.fingerprint());
+        assertEquals(transaction.getId(), record.transaction().getId());
+        assertEquals(transaction.getAmount(), record.transaction().getAmount());
+    }
+}
@@ -0,0 +1,106 @@
+package dev.cantrella.ms_wallet.infra.adapter.out.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SingleFlightLoaderTest {
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Should run the loader once for concurrent misses on the same key")
+    void shouldCoalesceConcurrentLoads() throws Exception {
+        SingleFlightLoader loader = new SingleFlightLoader(
+                stringRedisTemplate, meterRegistry, false, Duration.ofSeconds(2), Duration.ofMillis(200));
+        int callers = 16;
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        AtomicReference<String> stored = new AtomicReference<>();
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        List<CompletableFuture<String>> results = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            results.add(CompletableFuture.supplyAsync(() -> loader.load("bob@mail.com", () -> null, () -> {
+                loads.incrementAndGet();
+                await(release);
+                return "balance";
+            }, stored::set), executor));
+        }
+        while (meterRegistry.counter(SingleFlightLoader.LOADS_METRIC, "outcome", "coalesced").count() < callers - 1) {
+            Thread.sleep(5);
+        }
+        release.countDown();
+
+        for (CompletableFuture<String> result : results) {
+            assertEquals("balance", result.get(5, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+        assertEquals(1, loads.get());
+        assertEquals("balance", stored.get());
+        assertEquals(1, meterRegistry.counter(SingleFlightLoader.LOADS_METRIC, "outcome", "loaded").count());
+        verifyNoInteractions(stringRedisTemplate);
+    }
+
+    @Test
+    @DisplayName("Should propagate the loader failure to every waiting caller")
+    void shouldPropagateLoaderFailure() {
+        SingleFlightLoader loader = new SingleFlightLoader(
+                stringRedisTemplate, meterRegistry, false, Duration.ofSeconds(2), Duration.ofMillis(200));
+
+        assertThrows(IllegalStateException.class, () -> loader.load("bob@mail.com", () -> null,
+                () -> { throw new IllegalStateException("boom"); }, value -> fail("must not store")));
+        assertEquals("loaded", loader.load("bob@mail.com", () -> null, () -> "loaded", value -> { }));
+    }
+
+    @Test
+    @DisplayName("Should wait for the value loaded by another instance holding the Redis lock")
+    void shouldWaitForRemoteLoad() {
+        SingleFlightLoader loader = new SingleFlightLoader(
+                stringRedisTemplate, meterRegistry, true, Duration.ofSeconds(2), Duration.ofSeconds(1));
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(eq("lock:load:bob@mail.com"), anyString(), any(Duration.class))).thenReturn(false);
+        AtomicInteger reads = new AtomicInteger();
+
+        String value = loader.load("bob@mail.com",
+                () -> reads.incrementAndGet() < 3 ? null : "remote",
+                () -> fail("must not load"),
+                stored -> fail("must not store"));
+
+        assertEquals("remote", value);
+        assertEquals(1, meterRegistry.counter(SingleFlightLoader.LOADS_METRIC, "outcome", "coalesced_remote").count());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package dev.cantrella.ms_wallet.infra.adapter.out.contention;
+
+import dev.cantrella.ms_wallet.application.dto.HotWallet;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HeavyHittersContentionAdapterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final HeavyHittersContentionAdapter adapter =
+            new HeavyHittersContentionAdapter(meterRegistry, 4, 1024, 3, Duration.ofHours(1));
+
+    @AfterEach
+    void tearDown() {
+        adapter.destroy();
+    }
+
+    @Test
+    @DisplayName("Should rank the hottest wallets among a long tail of cold ones")
+    void shouldFindHeavyHitters() {
+        UUID hottest = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        for (int i = 0; i < 50_000; i++) {
+            adapter.record(UUID.randomUUID(), 1, 1_000);
+            if (i % 5 == 0) {
+                adapter.record(hottest, 1, 4_000_000);
+            }
+            if (i % 10 == 0) {
+                adapter.record(second, 1, 1_000_000);
+            }
+        }
+
+        List<HotWallet> hot = adapter.hottest();
+
+        assertEquals(3, hot.size());
+        assertEquals(hottest, hot.get(0).walletId());
+        assertEquals(second, hot.get(1).walletId());
+        assertTrue(hot.get(0).operationsPerSecond() > hot.get(1).operationsPerSecond());
+        assertEquals(4.0, hot.get(0).lockWaitMillisPerOperation(), 0.5);
+        assertEquals(1.0, hot.get(1).lockWaitMillisPerOperation(), 0.5);
+    }
+
+    @Test
+    @DisplayName("Should forget wallets that stay cold for two windows")
+    void shouldExpireOldWindows() {
+        UUID wallet = UUID.randomUUID();
+        adapter.record(wallet, 10, 0);
+
+        adapter.rotate();
+        assertEquals(List.of(wallet), adapter.hottest().stream().map(HotWallet::walletId).toList());
+
+        adapter.rotate();
+        assertTrue(adapter.hottest().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should expose the ranking as bounded per-rank gauges")
+    void shouldExposeGauges() {
+        UUID wallet = UUID.randomUUID();
+        adapter.record(wallet, 5, 10_000_000);
+
+        assertTrue(meterRegistry.get(HeavyHittersContentionAdapter.HOT_OPERATIONS_METRIC).tag("rank", "1").gauge().value() > 0);
+        assertEquals(2.0, meterRegistry.get(HeavyHittersContentionAdapter.HOT_LOCK_WAIT_METRIC).tag("rank", "1").gauge().value(), 0.01);
+        assertEquals(0, meterRegistry.get(HeavyHittersContentionAdapter.HOT_OPERATIONS_METRIC).tag("rank", "3").gauge().value());
+        assertEquals(6, meterRegistry.getMeters().size());
+    }
+
+    @Test
+    @DisplayName("Should report conflicts per operation over the recent windows")
+    void shouldTrackConflictRate() {
+        UUID contended = UUID.randomUUID();
+        UUID quiet = UUID.randomUUID();
+        adapter.record(contended, 10, 0);
+        adapter.record(quiet, 10, 0);
+        adapter.recordConflict(contended);
+        adapter.recordConflict(contended);
+
+        assertEquals(0.2, adapter.conflictRate(contended), 0.001);
+        assertEquals(0.0, adapter.conflictRate(quiet));
+        assertEquals(0.0, adapter.conflictRate(UUID.randomUUID()));
+
+        adapter.rotate();
+        adapter.rotate();
+        assertEquals(0.0, adapter.conflictRate(contended));
+    }
+}
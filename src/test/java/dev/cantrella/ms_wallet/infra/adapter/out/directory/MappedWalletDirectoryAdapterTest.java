@@ -0,0 +1,130 @@
+package dev.cantrella.ms_wallet.infra.adapter.out.directory;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedWalletDirectoryAdapterTest {
+
+    @TempDir
+    Path directory;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private MappedWalletDirectoryAdapter adapter(long capacity) {
+        return new MappedWalletDirectoryAdapter(directory.resolve("directory.bin"), capacity, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should find the wallet id of known users only")
+    void shouldFindKnownUsers() {
+        MappedWalletDirectoryAdapter adapter = adapter(1_000);
+        UUID walletId = UUID.randomUUID();
+
+        adapter.put("alice@mail.com", walletId);
+
+        assertEquals(Optional.of(walletId), adapter.find("alice@mail.com"));
+        assertEquals(Optional.empty(), adapter.find("bob@mail.com"));
+    }
+
+    @Test
+    @DisplayName("Should keep the first wallet id when a user is added twice")
+    void shouldIgnoreDuplicatePuts() {
+        MappedWalletDirectoryAdapter adapter = adapter(1_000);
+        UUID walletId = UUID.randomUUID();
+
+        adapter.put("alice@mail.com", walletId);
+        adapter.put("alice@mail.com", walletId);
+
+        assertEquals(1, adapter.size());
+        assertEquals(1, meterRegistry.get("wallet.directory.entries").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should hold entries up to capacity across probe chains")
+    void shouldHoldEntriesUpToCapacity() {
+        MappedWalletDirectoryAdapter adapter = adapter(10_000);
+        List<UUID> walletIds = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            UUID walletId = UUID.randomUUID();
+            walletIds.add(walletId);
+            adapter.put("user-" + i + "@mail.com", walletId);
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(Optional.of(walletIds.get(i)), adapter.find("user-" + i + "@mail.com"));
+        }
+        assertEquals(10_000, adapter.size());
+    }
+
+    @Test
+    @DisplayName("Should stop adding users once full instead of filling every slot")
+    void shouldStopAddingWhenFull() {
+        MappedWalletDirectoryAdapter adapter = adapter(12);
+        for (int i = 0; i < 100; i++) {
+            adapter.put("user-" + i + "@mail.com", UUID.randomUUID());
+        }
+
+        assertEquals(12, adapter.size());
+        assertEquals(Optional.empty(), adapter.find("user-99@mail.com"));
+    }
+
+    @Test
+    @DisplayName("Should recreate the file on start and delete it on shutdown")
+    void shouldRecreateFile() throws IOException {
+        MappedWalletDirectoryAdapter first = adapter(1_000);
+        first.put("alice@mail.com", UUID.randomUUID());
+
+        MappedWalletDirectoryAdapter second = adapter(1_000);
+
+        assertEquals(Optional.empty(), second.find("alice@mail.com"));
+        second.destroy();
+        assertFalse(Files.exists(directory.resolve("directory.bin")));
+    }
+
+    @Test
+    @DisplayName("Should let readers see complete entries while a writer is adding users")
+    void shouldReadWhileWriting() throws Exception {
+        MappedWalletDirectoryAdapter adapter = adapter(50_000);
+        UUID walletId = UUID.fromString("0190f6a1-7c2e-7d4b-8a6f-3b2c1d0e9f8a");
+        CountDownLatch started = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> writer = executor.submit(() -> {
+                started.countDown();
+                for (int i = 0; i < 50_000; i++) {
+                    adapter.put("user-" + i + "@mail.com", walletId);
+                }
+            });
+            Future<?> reader = executor.submit(() -> {
+                started.await();
+                for (int round = 0; round < 5; round++) {
+                    for (int i = 0; i < 50_000; i++) {
+                        adapter.find("user-" + i + "@mail.com").ifPresent(found -> assertEquals(walletId, found));
+                    }
+                }
+                return null;
+            });
+            writer.get();
+            reader.get();
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(Optional.of(walletId), adapter.find("user-49999@mail.com"));
+    }
+}
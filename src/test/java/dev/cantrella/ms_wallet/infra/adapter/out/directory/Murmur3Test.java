@@ -0,0 +1,25 @@
+package dev.cantrella.ms_wallet.infra.adapter.out.directory;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class Murmur3Test {
+
+    @ParameterizedTest
+    @CsvSource({
+            "'', 0, 0",
+            "a, -8839064797231613815, -1822486391929534118",
+            "hello, -3758069500696749310, 6565844092913065241",
+            "alice@mail.com, -5610779320639394272, -6207359641424685641",
+            "0123456789abcdef, 5467490433528156583, -8663980805763692326",
+            "0123456789abcdefX, -3608559037187041545, -8110400636521002201",
+            "a-much-longer-user-id@example.com.br, 805046956872312535, 3700688990489168744"
+    })
+    void shouldMatchReferenceImplementation(String input, long high, long low) {
+        assertEquals(new Murmur3.Hash128(high, low), Murmur3.hash128(input.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,68 @@
+package dev.cantrella.ms_wallet.infra.adapter.out.directory;
+
+import dev.cantrella.ms_wallet.application.event.WalletCreatedEvent;
+import dev.cantrella.ms_wallet.ports.out.WalletDirectoryPort;
+import dev.cantrella.ms_wallet.ports.out.WalletRepositoryPort;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.UUID;
+import java.util.function.BiConsumer;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WalletDirectoryWriterTest {
+
+    @Mock
+    private WalletDirectoryPort walletDirectoryPort;
+    @Mock
+    private WalletRepositoryPort walletRepositoryPort;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private WalletDirectoryWriter writer;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldLoadEveryWalletInsideTransaction() {
+        UUID alice = UUID.randomUUID();
+        UUID bob = UUID.randomUUID();
+        doAnswer(invocation -> {
+            BiConsumer<String, UUID> consumer = invocation.getArgument(0);
+            consumer.accept("alice@mail.com", alice);
+            consumer.accept("bob@mail.com", bob);
+            return null;
+        }).when(walletRepositoryPort).forEachWalletId(any());
+
+        writer.load();
+
+        verify(transactionManager).getTransaction(argThat(definition -> definition.isReadOnly()));
+        verify(walletDirectoryPort).put("alice@mail.com", alice);
+        verify(walletDirectoryPort).put("bob@mail.com", bob);
+    }
+
+    @Test
+    void shouldNotFailStartupWhenWarmUpFails() {
+        doThrow(new IllegalStateException("connection refused")).when(walletRepositoryPort).forEachWalletId(any());
+
+        writer.load();
+
+        verifyNoInteractions(walletDirectoryPort);
+    }
+
+    @Test
+    void shouldAddCreatedWallet() {
+        UUID walletId = UUID.randomUUID();
+
+        writer.onWalletCreated(new WalletCreatedEvent("alice@mail.com", walletId));
+
+        verify(walletDirectoryPort).put("alice@mail.com", walletId);
+    }
+}
@@ -0,0 +1,158 @@
+package dev.cantrella.ms_wallet.infra.adapter.out.file;
+
+import dev.cantrella.ms_wallet.application.dto.SettlementChunk;
+import dev.cantrella.ms_wallet.application.dto.SettlementLine;
+import dev.cantrella.ms_wallet.application.exception.InvalidDataException;
+import dev.cantrella.ms_wallet.domain.model.Money;
+import dev.cantrella.ms_wallet.ports.out.SettlementFilePort.SettlementFileCursor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedSettlementFileAdapterTest {
+
+    @TempDir
+    Path directory;
+
+    private MappedSettlementFileAdapter adapter(DataSize window) {
+        return new MappedSettlementFileAdapter(directory, window);
+    }
+
+    private void write(String fileName, String content) throws IOException {
+        Files.writeString(directory.resolve(fileName), content);
+    }
+
+    @Test
+    @DisplayName("Should parse lines into cents and skip the header and blank lines")
+    void shouldParseLines() throws IOException {
+        write("s.csv", "user_id,amount\r\nalice@mail.com,10\r\n\r\n bob@mail.com , 0.5 ,ref-1\r\ncarol@mail.com,1.25");
+
+        try (SettlementFileCursor cursor = adapter(DataSize.ofMegabytes(1)).open("s.csv", 0, 0)) {
+            SettlementChunk chunk = cursor.nextChunk(100).orElseThrow();
+
+            assertEquals(List.of(
+                    new SettlementLine(2, "alice@mail.com", Money.of("10.00")),
+                    new SettlementLine(4, "bob@mail.com", Money.of("0.50")),
+                    new SettlementLine(5, "carol@mail.com", Money.of("1.25"))), chunk.lines());
+            assertTrue(chunk.failures().isEmpty());
+            assertEquals(5, chunk.endLineNumber());
+            assertEquals(Files.size(directory.resolve("s.csv")), chunk.endOffset());
+            assertTrue(cursor.nextChunk(100).isEmpty());
+        }
+    }
+
+    @Test
+    @DisplayName("Should report malformed lines with their line numbers")
+    void shouldReportFailures() throws IOException {
+        write("s.csv", "alice@mail.com\nbob@mail.com,abc\ncarol@mail.com,1.234\ndan@mail.com,0\neve@mail.com,-3\nfay@mail.com,2\n");
+
+        try (SettlementFileCursor cursor = adapter(DataSize.ofMegabytes(1)).open("s.csv", 0, 0)) {
+            SettlementChunk chunk = cursor.nextChunk(100).orElseThrow();
+
+            assertEquals(List.of(new SettlementLine(6, "fay@mail.com", Money.of("2"))), chunk.lines());
+            assertEquals(List.of(1L, 2L, 3L, 4L, 5L), chunk.failures().stream().map(f -> f.lineNumber()).toList());
+            assertEquals("Expected user_id,amount", chunk.failures().get(0).reason());
+            assertEquals("Invalid amount", chunk.failures().get(1).reason());
+            assertEquals("Amount cannot have more than 2 decimal places", chunk.failures().get(2).reason());
+            assertEquals("Amount must be more than 0", chunk.failures().get(3).reason());
+            assertEquals("Amount must be more than 0", chunk.failures().get(4).reason());
+        }
+    }
+
+    @Test
+    @DisplayName("Should resume from a chunk's end offset and line number")
+    void shouldResumeFromCheckpoint() throws IOException {
+        write("s.csv", "user_id,amount\na@mail.com,1\nb@mail.com,2\nc@mail.com,3\n");
+        MappedSettlementFileAdapter adapter = adapter(DataSize.ofMegabytes(1));
+
+        SettlementChunk first;
+        try (SettlementFileCursor cursor = adapter.open("s.csv", 0, 0)) {
+            first = cursor.nextChunk(2).orElseThrow();
+        }
+        try (SettlementFileCursor cursor = adapter.open("s.csv", first.endOffset(), first.endLineNumber())) {
+            SettlementChunk rest = cursor.nextChunk(100).orElseThrow();
+
+            assertEquals(List.of("a@mail.com", "b@mail.com"), first.lines().stream().map(SettlementLine::userId).toList());
+            assertEquals(List.of(new SettlementLine(4, "c@mail.com", Money.of("3"))), rest.lines());
+        }
+    }
+
+    @Test
+    @DisplayName("Should read lines across mapped window boundaries")
+    void shouldReadAcrossWindows() throws IOException {
+        StringBuilder content = new StringBuilder();
+        int count = 5_000;
+        for (int i = 0; i < count; i++) {
+            content.append("user").append(i).append("@mail.com,").append(i + 1).append(".01\n");
+        }
+        write("s.csv", content.toString());
+
+        List<SettlementLine> lines = new ArrayList<>();
+        try (SettlementFileCursor cursor = adapter(DataSize.ofBytes(1)).open("s.csv", 0, 0)) {
+            Optional<SettlementChunk> chunk;
+            while ((chunk = cursor.nextChunk(777)).isPresent()) {
+                assertTrue(chunk.get().failures().isEmpty());
+                lines.addAll(chunk.get().lines());
+            }
+        }
+
+        assertEquals(count, lines.size());
+        for (int i = 0; i < count; i++) {
+            assertEquals(new SettlementLine(i + 1, "user" + i + "@mail.com", Money.of((i + 1) + ".01")), lines.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject a line longer than the limit and continue with the next one")
+    void shouldRejectOversizedLine() throws IOException {
+        String longUser = "x".repeat(3 * MappedSettlementFileAdapter.MAX_LINE_LENGTH);
+        write("s.csv", "a@mail.com,1\n" + longUser + ",1\nb@mail.com,2\n");
+
+        try (SettlementFileCursor cursor = adapter(DataSize.ofBytes(1)).open("s.csv", 0, 0)) {
+            SettlementChunk chunk = cursor.nextChunk(100).orElseThrow();
+
+            assertEquals(List.of(
+                    new SettlementLine(1, "a@mail.com", Money.of("1")),
+                    new SettlementLine(3, "b@mail.com", Money.of("2"))), chunk.lines());
+            assertEquals(1, chunk.failures().size());
+            assertEquals(2, chunk.failures().get(0).lineNumber());
+        }
+    }
+
+    @Test
+    @DisplayName("Should not open files outside the settlement directory")
+    void shouldRejectPathTraversal() {
+        MappedSettlementFileAdapter adapter = adapter(DataSize.ofMegabytes(1));
+
+        assertThrows(InvalidDataException.class, () -> adapter.open("../etc/passwd", 0, 0));
+        assertThrows(InvalidDataException.class, () -> adapter.open("missing.csv", 0, 0));
+    }
+
+    @Test
+    @DisplayName("Should hash the content across map windows, independently of the file name")
+    void shouldHashContent() throws Exception {
+        String content = "alice@mail.com,10.00\n".repeat(1_000);
+        write("s.csv", content);
+        write("renamed.csv", content);
+        MappedSettlementFileAdapter adapter = adapter(DataSize.ofBytes(1));
+
+        String expected = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                .digest(content.getBytes(StandardCharsets.UTF_8)));
+        assertEquals(expected, adapter.contentHash("s.csv"));
+        assertEquals(expected, adapter.contentHash("renamed.csv"));
+        assertThrows(InvalidDataException.class, () -> adapter.contentHash("../etc/passwd"));
+    }
+}
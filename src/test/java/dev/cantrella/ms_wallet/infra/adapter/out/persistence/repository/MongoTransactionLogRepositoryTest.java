@@ -0,0 +1,63 @@
+package dev.cantrella.ms_wallet.infra.adapter.out.persistence.repository;
+
+import dev.cantrella.ms_wallet.infra.adapter.out.persistence.entity.TransactionMongoEntity;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MongoTransactionLogRepositoryTest {
+
+    private QueryMapper queryMapper;
+    private MongoPersistentEntity<?> entity;
+
+    @BeforeEach
+    void setUp() {
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(new MongoCustomConversions(List.of()).getSimpleTypeHolder());
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.afterPropertiesSet();
+        queryMapper = new QueryMapper(converter);
+        entity = mappingContext.getRequiredPersistentEntity(TransactionMongoEntity.class);
+    }
+
+    @Test
+    @DisplayName("Should map a raw id key to the document _id, which is why the keyset can not use it")
+    void shouldMapRawIdToDocumentId() {
+        Document mapped = queryMapper.getMappedObject(new Document("id", "x"), entity);
+
+        assertEquals(new Document("_id", "x"), mapped);
+    }
+
+    @Test
+    @DisplayName("Should run the statement keyset on the stored transaction id field")
+    void shouldQueryStatementOnTransactionIdField() {
+        Document query = Document.parse(MongoTransactionLogRepository.STATEMENT_QUERY
+                .replace("?0", "'wallet'").replace("?1", "1000").replace("?2", "'tx'"));
+
+        Document mapped = queryMapper.getMappedObject(query, entity);
+
+        List<Document> branches = mapped.getList("$or", Document.class);
+        assertEquals(new Document("$lt", "tx"), branches.get(1).get("id"));
+        assertEquals(new Document("$lt", "tx"), branches.get(3).get("id"));
+        assertTrue(branches.stream().noneMatch(branch -> branch.containsKey("_id") || branch.containsKey("transactionId")));
+    }
+
+    @Test
+    @DisplayName("Should sort the statement on the same transaction id field the cursor encodes")
+    void shouldSortStatementOnTransactionIdField() {
+        Document mapped = queryMapper.getMappedSort(Document.parse(MongoTransactionLogRepository.STATEMENT_SORT), entity);
+
+        assertEquals(new Document("timestamp", -1).append("id", -1), mapped);
+    }
+}
@@ -0,0 +1,133 @@
+package dev.cantrella.ms_wallet.infra.adapter.out.persistence.repository;
+
+import dev.cantrella.ms_wallet.application.config.WriteConcurrencyPolicy;
+import dev.cantrella.ms_wallet.domain.exception.WalletOperationException;
+import dev.cantrella.ms_wallet.domain.model.Money;
+import dev.cantrella.ms_wallet.domain.model.Wallet;
+import dev.cantrella.ms_wallet.infra.adapter.out.persistence.repository.JpaWalletBalanceShardRepository.ShardBalanceView;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ShardedWalletRepositoryAdapterTest {
+
+    @Mock
+    private WalletRepositoryAdapter walletRepositoryAdapter;
+    @Mock
+    private JpaWalletBalanceShardRepository jpaWalletBalanceShardRepository;
+
+    private ShardedWalletRepositoryAdapter adapter;
+    private final Wallet wallet = new Wallet(UUID.randomUUID(), "merchant@mail.com", Money.ZERO, LocalDateTime.now());
+
+    @BeforeEach
+    void setUp() {
+        adapter = new ShardedWalletRepositoryAdapter(walletRepositoryAdapter, jpaWalletBalanceShardRepository, 8,
+                new WriteConcurrencyPolicy(WriteConcurrencyPolicy.Mode.PESSIMISTIC, 3, Duration.ofMillis(2), 0.05));
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.getSynchronizations().forEach(synchronization -> synchronization.afterCompletion(0));
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void shouldCreditOneShardWithoutLockingTheWallet() {
+        when(walletRepositoryAdapter.findAllByIds(Set.of(wallet.getId()))).thenReturn(List.of(wallet));
+        when(jpaWalletBalanceShardRepository.sumBalanceByWalletId(wallet.getId())).thenReturn(new BigDecimal("10.00"));
+        when(jpaWalletBalanceShardRepository.credit(eq(wallet.getId()), anyInt(), any())).thenReturn(1);
+
+        Wallet read = adapter.findAllByIdsForUpdate(Set.of(wallet.getId())).get(0);
+        read.deposit(Money.of("2.50"));
+        adapter.update(read);
+
+        verify(jpaWalletBalanceShardRepository).credit(eq(wallet.getId()), anyInt(), eq(new BigDecimal("2.50")));
+        verify(walletRepositoryAdapter, never()).findAllByIdsForUpdate(any());
+        verify(jpaWalletBalanceShardRepository, never()).findAllByWalletIdForUpdate(any());
+    }
+
+    @Test
+    void shouldDebitFromOneShardWhenItCoversTheAmount() {
+        when(walletRepositoryAdapter.findByUserId("merchant@mail.com")).thenReturn(Optional.of(wallet));
+        when(jpaWalletBalanceShardRepository.sumBalanceByWalletId(wallet.getId())).thenReturn(new BigDecimal("10.00"));
+        when(jpaWalletBalanceShardRepository.debitAnyShard(wallet.getId(), new BigDecimal("4.00"))).thenReturn(1);
+
+        Wallet read = adapter.findByUserIdForUpdate("merchant@mail.com").orElseThrow();
+        read.withdraw(Money.of("4.00"));
+        adapter.update(read);
+
+        verify(walletRepositoryAdapter, never()).findByUserIdForUpdate(any());
+        verify(jpaWalletBalanceShardRepository, never()).findAllByWalletIdForUpdate(any());
+    }
+
+    @Test
+    void shouldRejectDebitWhenLockedShardsDoNotCoverIt() {
+        when(walletRepositoryAdapter.findById(wallet.getId())).thenReturn(Optional.of(wallet));
+        when(jpaWalletBalanceShardRepository.sumBalanceByWalletId(wallet.getId())).thenReturn(new BigDecimal("10.00"));
+        when(jpaWalletBalanceShardRepository.debitAnyShard(any(), any())).thenReturn(0);
+        // A concurrent debit committed after the read left less than the read balance.
+        when(jpaWalletBalanceShardRepository.findAllByWalletIdForUpdate(wallet.getId()))
+                .thenReturn(List.of(shard(0, "3.00"), shard(1, "2.00")));
+
+        Wallet read = adapter.findByIdForUpdate(wallet.getId()).orElseThrow();
+        read.withdraw(Money.of("8.00"));
+
+        assertThrows(WalletOperationException.class, () -> adapter.update(read));
+        verify(jpaWalletBalanceShardRepository, never()).setBalance(any(), anyInt(), any());
+    }
+
+    @Test
+    void shouldNotCreateShardsOnReads() {
+        when(walletRepositoryAdapter.findByUserId("merchant@mail.com"))
+                .thenReturn(Optional.of(wallet.withBalance(Money.of("7.00"))));
+        when(jpaWalletBalanceShardRepository.sumBalanceByWalletId(wallet.getId())).thenReturn(null);
+
+        assertEquals(Money.of("7.00"), adapter.findByUserId("merchant@mail.com").orElseThrow().getBalance());
+
+        verify(jpaWalletBalanceShardRepository, never()).createShards(any(), anyInt(), any());
+    }
+
+    @Test
+    void shouldRefuseUpdateOfWalletNotReadForUpdate() {
+        assertThrows(IllegalStateException.class, () -> adapter.update(wallet));
+    }
+
+    @Test
+    void shouldShardExistingWalletsAtStartup() {
+        adapter.shardExistingWallets();
+
+        verify(jpaWalletBalanceShardRepository).createMissingShards(8);
+    }
+
+    private static ShardBalanceView shard(int index, String balance) {
+        return new ShardBalanceView() {
+            @Override
+            public int getShardIndex() {
+                return index;
+            }
+
+            @Override
+            public BigDecimal getBalance() {
+                return new BigDecimal(balance);
+            }
+        };
+    }
+}
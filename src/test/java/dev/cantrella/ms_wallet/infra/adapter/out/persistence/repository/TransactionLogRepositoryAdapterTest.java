@@ -0,0 +1,87 @@
+package dev.cantrella.ms_wallet.infra.adapter.out.persistence.repository;
+
+import dev.cantrella.ms_wallet.application.dto.TransactionStatementPage;
+import dev.cantrella.ms_wallet.application.exception.InvalidDataException;
+import dev.cantrella.ms_wallet.domain.model.TransactionType;
+import dev.cantrella.ms_wallet.infra.adapter.out.persistence.entity.TransactionMongoEntity;
+import dev.cantrella.ms_wallet.infra.adapter.out.persistence.mapper.TransactionLogPersistenceMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionLogRepositoryAdapterTest {
+
+    private static final UUID WALLET_ID = UUID.randomUUID();
+
+    @Mock
+    private MongoTransactionLogRepository repository;
+    private TransactionLogRepositoryAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        adapter = new TransactionLogRepositoryAdapter(repository, new TransactionLogPersistenceMapper(), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void shouldStartFirstPageAfterEveryTransactionAndFetchOneExtra() {
+        when(repository.findStatementByWalletIdBefore(WALLET_ID.toString(), Long.MAX_VALUE, "", PageRequest.of(0, 3)))
+                .thenReturn(entities(2));
+
+        TransactionStatementPage page = adapter.findStatementPage(WALLET_ID, null, 2);
+
+        assertEquals(2, page.transactions().size());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void shouldContinueFromTheLastTransactionOfTheFullPage() {
+        List<TransactionMongoEntity> entities = entities(3);
+        when(repository.findStatementByWalletIdBefore(eq(WALLET_ID.toString()), anyLong(), anyString(), any()))
+                .thenReturn(entities);
+
+        TransactionStatementPage first = adapter.findStatementPage(WALLET_ID, null, 2);
+        adapter.findStatementPage(WALLET_ID, first.nextCursor(), 2);
+
+        assertEquals(2, first.transactions().size());
+        assertNotNull(first.nextCursor());
+        verify(repository).findStatementByWalletIdBefore(WALLET_ID.toString(),
+                entities.get(1).getTimestamp(), entities.get(1).getTransactionId(), PageRequest.of(0, 3));
+    }
+
+    @Test
+    void shouldRejectMalformedCursor() {
+        assertThrows(InvalidDataException.class, () -> adapter.findStatementPage(WALLET_ID, "not-a-cursor", 10));
+        assertThrows(InvalidDataException.class, () -> adapter.streamStatement(WALLET_ID, "MTIzOmFiYw"));
+        verifyNoInteractions(repository);
+    }
+
+    private List<TransactionMongoEntity> entities(int count) {
+        long now = System.currentTimeMillis();
+        return IntStream.range(0, count)
+                .mapToObj(i -> TransactionMongoEntity.builder()
+                        .id(UUID.randomUUID().toString())
+                        .transactionId(UUID.randomUUID().toString())
+                        .sourceWalletId(WALLET_ID.toString())
+                        .type(TransactionType.DEPOSIT.toString())
+                        .amount(new BigDecimal("1.00"))
+                        .timestamp(now - i)
+                        .build())
+                .toList();
+    }
+}
@@ -0,0 +1,139 @@
+package dev.cantrella.ms_wallet.infra.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CachingJwtDecoderTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    private final JwtDecoder delegate = mock(JwtDecoder.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private MutableClock clock;
+    private CachingJwtDecoder decoder;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(NOW);
+        decoder = new CachingJwtDecoder(delegate, 100, Duration.ofMinutes(5), meterRegistry, clock);
+    }
+
+    @Test
+    void shouldVerifyTokenOnceWhileItIsValid() {
+        Jwt jwt = jwt("token-a", NOW.plusSeconds(60));
+        when(delegate.decode("token-a")).thenReturn(jwt);
+
+        assertSame(jwt, decoder.decode("token-a"));
+        assertSame(jwt, decoder.decode("token-a"));
+
+        verify(delegate, times(1)).decode("token-a");
+        assertEquals("user@wallet.dev", decoder.decode("token-a").getClaimAsString("email"));
+    }
+
+    @Test
+    void shouldVerifyAgainOnceTokenExpired() {
+        when(delegate.decode("token-a")).thenReturn(jwt("token-a", NOW.plusSeconds(60)));
+        decoder.decode("token-a");
+
+        clock.instant = NOW.plusSeconds(61);
+        when(delegate.decode("token-a")).thenThrow(new BadJwtException("Jwt expired"));
+
+        assertThrows(BadJwtException.class, () -> decoder.decode("token-a"));
+        verify(delegate, times(2)).decode("token-a");
+    }
+
+    @Test
+    void shouldNotCacheTokensWithoutExpiry() {
+        when(delegate.decode("token-a")).thenReturn(jwt("token-a", null));
+
+        decoder.decode("token-a");
+        decoder.decode("token-a");
+
+        verify(delegate, times(2)).decode("token-a");
+    }
+
+    @Test
+    void shouldNotCacheRejectedTokens() {
+        when(delegate.decode("token-a")).thenThrow(new BadJwtException("Invalid signature"));
+
+        assertThrows(BadJwtException.class, () -> decoder.decode("token-a"));
+        assertThrows(BadJwtException.class, () -> decoder.decode("token-a"));
+
+        verify(delegate, times(2)).decode("token-a");
+    }
+
+    @Test
+    void shouldCacheTokensSeparately() {
+        Jwt first = jwt("token-a", NOW.plusSeconds(60));
+        Jwt second = jwt("token-b", NOW.plusSeconds(60));
+        when(delegate.decode("token-a")).thenReturn(first);
+        when(delegate.decode("token-b")).thenReturn(second);
+
+        assertSame(first, decoder.decode("token-a"));
+        assertSame(second, decoder.decode("token-b"));
+        assertSame(first, decoder.decode("token-a"));
+
+        verify(delegate, times(1)).decode("token-a");
+        verify(delegate, times(1)).decode("token-b");
+    }
+
+    @Test
+    void shouldExposeCacheMetrics() {
+        when(delegate.decode("token-a")).thenReturn(jwt("token-a", NOW.plusSeconds(60)));
+        decoder.decode("token-a");
+        decoder.decode("token-a");
+
+        double hits = meterRegistry.get("cache.gets")
+                .tags("cache", CachingJwtDecoder.CACHE_NAME, "result", "hit")
+                .functionCounter().count();
+        assertEquals(1, hits);
+    }
+
+    private static Jwt jwt(String token, Instant expiresAt) {
+        Jwt.Builder builder = Jwt.withTokenValue(token)
+                .header("alg", "RS256")
+                .subject("user-1")
+                .claim("email", "user@wallet.dev")
+                .issuedAt(NOW.minusSeconds(1));
+        if (expiresAt != null) {
+            builder.expiresAt(expiresAt);
+        }
+        return builder.build();
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+    }
+}
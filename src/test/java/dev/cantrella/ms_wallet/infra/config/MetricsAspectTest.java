@@ -0,0 +1,125 @@
+package dev.cantrella.ms_wallet.infra.config;
+
+import dev.cantrella.ms_wallet.application.dto.DepositOrWithdrawCommand;
+import dev.cantrella.ms_wallet.application.port.DepositUseCase;
+import dev.cantrella.ms_wallet.domain.exception.WalletOperationException;
+import dev.cantrella.ms_wallet.domain.model.Money;
+import dev.cantrella.ms_wallet.domain.model.Transaction;
+import dev.cantrella.ms_wallet.ports.out.CachePort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricsAspectTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @SuppressWarnings("unchecked")
+    private <T> T proxy(T target, Object aspect) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addAspect(aspect);
+        return (T) factory.getProxy();
+    }
+
+    @Test
+    @DisplayName("Should time use cases with success and error outcomes")
+    void shouldTimeUseCases() {
+        DepositUseCase target = command -> {
+            if (command.amount().equals(Money.of("1.00"))) {
+                throw new WalletOperationException("Insufficient balance");
+            }
+            return Transaction.createDeposit(UUID.randomUUID(), command.amount());
+        };
+        DepositUseCase useCase = proxy(target, new UseCaseMetricsAspect(meterRegistry));
+
+        useCase.execute(new DepositOrWithdrawCommand("bob@mail.com", Money.of("10.00")));
+        assertThrows(WalletOperationException.class,
+                () -> useCase.execute(new DepositOrWithdrawCommand("bob@mail.com", Money.of("1.00"))));
+
+        assertEquals(1, meterRegistry.get(UseCaseMetricsAspect.USE_CASE_METRIC)
+                .tags("usecase", "DepositUseCase", "outcome", "success").timer().count());
+        assertEquals(1, meterRegistry.get(UseCaseMetricsAspect.USE_CASE_METRIC)
+                .tags("usecase", "DepositUseCase", "outcome", "error", "exception", "WalletOperationException").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should tag cache reads as hit or miss by key family")
+    void shouldTimeCacheReads() {
+        CachePort cachePort = proxy(new MapCachePort(), new CacheMetricsAspect(meterRegistry));
+        String key = "wallet:" + UUID.randomUUID() + ":balance:after:" + UUID.randomUUID();
+
+        assertNull(cachePort.get(key, String.class));
+        cachePort.getOrLoad(key, String.class, Duration.ofMinutes(1), () -> "loaded");
+        cachePort.getOrLoad(key, String.class, Duration.ofMinutes(1), () -> fail("must be cached"));
+        cachePort.evict(key);
+
+        assertEquals(1, cacheTimer("get", "miss"));
+        assertEquals(1, cacheTimer("get_or_load", "miss"));
+        assertEquals(1, cacheTimer("get_or_load", "hit"));
+        assertEquals(1, cacheTimer("evict", "none"));
+    }
+
+    private long cacheTimer(String operation, String result) {
+        return meterRegistry.get(CacheMetricsAspect.CACHE_METRIC)
+                .tags("adapter", "MapCachePort", "operation", operation, "family", "wallet:balance:after", "result", result)
+                .timer().count();
+    }
+
+    @Test
+    @DisplayName("Should reduce cache keys to a bounded family")
+    void shouldDeriveKeyFamilies() {
+        assertEquals("wallet:id", CacheMetricsAspect.familyOf("wallet:id:bob@mail.com"));
+        assertEquals("wallet:balance", CacheMetricsAspect.familyOf("wallet:" + UUID.randomUUID() + ":balance:initial"));
+        assertEquals("balance", CacheMetricsAspect.familyOf("bob@mail.com"));
+    }
+
+    static class MapCachePort implements CachePort {
+
+        private final Map<String, Object> values = new HashMap<>();
+
+        @Override
+        public <T> T get(String key, Class<T> type) {
+            return type.cast(values.get(key));
+        }
+
+        @Override
+        public void put(String key, Object value, Duration ttl) {
+            values.put(key, value);
+        }
+
+        @Override
+        public boolean putIfAbsent(String key, Object value, Duration ttl) {
+            return values.putIfAbsent(key, value) == null;
+        }
+
+        @Override
+        public boolean putIfNewer(String key, Object value, long version, Duration ttl) {
+            values.put(key, value);
+            return true;
+        }
+
+        @Override
+        public void evict(String key) {
+            values.remove(key);
+        }
+
+        @Override
+        public <T> T getOrLoad(String key, Class<T> type, Duration ttl, Supplier<T> loader) {
+            T value = get(key, type);
+            if (value == null) {
+                value = loader.get();
+                putIfAbsent(key, value, ttl);
+            }
+            return value;
+        }
+    }
+}
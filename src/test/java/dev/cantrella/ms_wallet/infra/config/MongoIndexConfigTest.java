@@ -0,0 +1,34 @@
+package dev.cantrella.ms_wallet.infra.config;
+
+import dev.cantrella.ms_wallet.infra.adapter.out.persistence.entity.TransactionMongoEntity;
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MongoIndexConfigTest {
+
+    @Test
+    @DisplayName("Should build the statement index on the stored transaction id field")
+    void shouldIndexTransactionIdField() {
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(new MongoCustomConversions(List.of()).getSimpleTypeHolder());
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.afterPropertiesSet();
+
+        // Index operations map the keys the same way before creating the index.
+        Document keys = new QueryMapper(converter).getMappedSort(
+                MongoIndexConfig.statementIndex("source_wallet_id", MongoIndexConfig.SOURCE_WALLET_TIMESTAMP_INDEX).getIndexKeys(),
+                mappingContext.getRequiredPersistentEntity(TransactionMongoEntity.class));
+
+        assertEquals(new Document("source_wallet_id", 1).append("timestamp", 1).append("id", 1), keys);
+    }
+}
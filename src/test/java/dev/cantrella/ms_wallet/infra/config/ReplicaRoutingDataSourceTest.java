@@ -0,0 +1,79 @@
+package dev.cantrella.ms_wallet.infra.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.springframework.transaction.support.TransactionSynchronizationManager.setCurrentTransactionReadOnly;
+
+class ReplicaRoutingDataSourceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ReplicaRoutingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-0", mock(DataSource.class));
+        replicas.put("replica-1", mock(DataSource.class));
+        dataSource = new ReplicaRoutingDataSource(mock(DataSource.class), replicas,
+                Duration.ofMillis(500), Duration.ofSeconds(1), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void shouldRouteWritesToPrimary() {
+        dataSource.updateLag("replica-0", 0);
+        dataSource.updateLag("replica-1", 0);
+
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, dataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void shouldBalanceReadOnlyTransactionsAcrossCurrentReplicas() {
+        dataSource.updateLag("replica-0", 0);
+        dataSource.updateLag("replica-1", 500);
+        setCurrentTransactionReadOnly(true);
+
+        Object first = dataSource.determineCurrentLookupKey();
+        Object second = dataSource.determineCurrentLookupKey();
+
+        assertNotEquals(first, second);
+        assertTrue(first.toString().startsWith("replica-"));
+        assertTrue(second.toString().startsWith("replica-"));
+        assertEquals(2, meterRegistry.counter(ReplicaRoutingDataSource.ROUTE_METRIC, "target", "replica").count());
+    }
+
+    @Test
+    void shouldSkipLaggingReplicasAndFallBackToPrimary() {
+        dataSource.updateLag("replica-0", 0);
+        dataSource.updateLag("replica-1", 501);
+        setCurrentTransactionReadOnly(true);
+
+        assertEquals("replica-0", dataSource.determineCurrentLookupKey());
+        assertEquals("replica-0", dataSource.determineCurrentLookupKey());
+
+        dataSource.updateLag("replica-0", Long.MAX_VALUE);
+
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, dataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void shouldStartWithReplicasUnknownUntilProbed() {
+        setCurrentTransactionReadOnly(true);
+
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, dataSource.determineCurrentLookupKey());
+    }
+}
@@ -0,0 +1,82 @@
+package dev.cantrella.ms_wallet.infra.config;
+
+import dev.cantrella.ms_wallet.application.dto.IngestSettlementFileCommand;
+import dev.cantrella.ms_wallet.application.dto.SettlementIngestionReport;
+import dev.cantrella.ms_wallet.application.port.IngestSettlementFileUseCase;
+import dev.cantrella.ms_wallet.infra.adapter.in.web.controller.SettlementController;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = SettlementController.class,
+        properties = {"spring.security.oauth2.resourceserver.jwt.issuer-uri=http://localhost/realms/test",
+                "management.server.port=8081"})
+@Import({SecurityConfig.class, SimpleMeterRegistry.class})
+class SecurityConfigTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @MockitoBean
+    private IngestSettlementFileUseCase ingestSettlementFileUseCase;
+
+    @Test
+    @DisplayName("Should reject settlement ingestion for a token without the admin scope")
+    void shouldForbidSettlementIngestionWithoutAdminScope() throws Exception {
+        mockMvc.perform(post("/admin/settlements/s.csv/ingestion")
+                        .with(jwt().authorities(new SimpleGrantedAuthority("SCOPE_wallet")))
+                        .with(csrf()))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(ingestSettlementFileUseCase);
+    }
+
+    @Test
+    @DisplayName("Should run settlement ingestion for a token with the admin scope")
+    void shouldAllowSettlementIngestionWithAdminScope() throws Exception {
+        when(ingestSettlementFileUseCase.execute(new IngestSettlementFileCommand("s.csv")))
+                .thenReturn(new SettlementIngestionReport("s.csv", 0, 0, 0, 0, List.of()));
+
+        mockMvc.perform(post("/admin/settlements/s.csv/ingestion")
+                        .with(jwt().authorities(new SimpleGrantedAuthority("SCOPE_wallet-admin")))
+                        .with(csrf()))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Should require authentication for actuator endpoints on the public port")
+    void shouldProtectActuatorOnPublicPort() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus").with(port(8080)))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("Should let anonymous scrapes through on the management port")
+    void shouldPermitScrapesOnManagementPort() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus").with(port(8081)))
+                .andExpect(result -> assertNotEquals(401, result.getResponse().getStatus()));
+    }
+
+    private static RequestPostProcessor port(int port) {
+        return request -> {
+            request.setLocalPort(port);
+            return request;
+        };
+    }
+}
@@ -36,6 +36,7 @@ public class TestSecurityConfig {
         return token -> Jwt.withTokenValue(token)
                 .header("alg", "none")
                 .claim("sub", "mock-user")
+                .claim("email", token)
                 .build();
     }
 }
\ No newline at end of file